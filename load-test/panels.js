@@ -0,0 +1,71 @@
+// k6 load test for the mechanic and admin panels.
+//
+//   k6 run -e BASE_URL=http://localhost:8080 -e MODE=platform \
+//          -e MECHANIC_USER=... -e MECHANIC_PASS=... -e ADMIN_USER=... -e ADMIN_PASS=... \
+//          --summary-export=load-test/results/platform.json load-test/panels.js
+//
+// Run it once against the default build (platform threads) and once against
+// "mvn -Pjava21 spring-boot:run" (vthreads profile) on the same machine and data set,
+// then compare http_reqs rate and the p(99) of http_req_duration per panel.
+import http from 'k6/http';
+import { check } from 'k6';
+
+const BASE_URL = __ENV.BASE_URL || 'http://localhost:8080';
+
+export const options = {
+    scenarios: {
+        mechanic: {
+            executor: 'ramping-vus',
+            exec: 'mechanicPanel',
+            stages: [
+                { duration: '30s', target: 50 },
+                { duration: '2m', target: 200 },
+                { duration: '30s', target: 0 },
+            ],
+        },
+        admin: {
+            executor: 'ramping-vus',
+            exec: 'adminPanel',
+            stages: [
+                { duration: '30s', target: 10 },
+                { duration: '2m', target: 40 },
+                { duration: '30s', target: 0 },
+            ],
+        },
+    },
+    thresholds: {
+        'http_req_duration{panel:mechanic}': ['p(99)<2000'],
+        'http_req_duration{panel:admin}': ['p(99)<2000'],
+        checks: ['rate>0.99'],
+    },
+    tags: { mode: __ENV.MODE || 'platform' },
+};
+
+function login(username, password) {
+
+    const page = http.get(`${BASE_URL}/login`, { tags: { panel: 'login' } });
+    const csrf = page.html().find('input[name="_csrf"]').attr('value');
+    const res = http.post(`${BASE_URL}/login`, { username, password, _csrf: csrf }, { tags: { panel: 'login' } });
+    check(res, { 'logged in': (r) => !r.url.includes('/login') });
+}
+
+export function mechanicPanel() {
+
+    if (__ITER === 0) {
+        login(__ENV.MECHANIC_USER, __ENV.MECHANIC_PASS);
+    }
+
+    const res = http.get(`${BASE_URL}/dashboard/mechanic`, { tags: { panel: 'mechanic' } });
+    check(res, { 'mechanic panel 200': (r) => r.status === 200 });
+}
+
+export function adminPanel() {
+
+    if (__ITER === 0) {
+        login(__ENV.ADMIN_USER, __ENV.ADMIN_PASS);
+    }
+
+    const pages = ['/dashboard/admin', '/dashboard/admin/orders', '/dashboard/admin/invoices'];
+    const res = http.get(`${BASE_URL}${pages[__ITER % pages.length]}`, { tags: { panel: 'admin' } });
+    check(res, { 'admin panel 200': (r) => r.status === 200 });
+}
@@ -0,0 +1,55 @@
+package com.softuni.gms.app.ai;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+// Model calls hold a thread for the whole generation, so they run on their own small pool instead of
+// Tomcat's. Once the pool and its queue are full, submit() throws and the caller answers 429.
+// Deliberately not an Executor bean, so Boot's applicationTaskExecutor stays in place.
+@Slf4j
+@Component
+public class AiInferenceExecutor {
+
+    private final ThreadPoolExecutor executor;
+    private final Counter rejected;
+
+    @Autowired
+    public AiInferenceExecutor(MeterRegistry meterRegistry,
+                               @Value("${gms.ai.inference.concurrency:2}") int concurrency,
+                               @Value("${gms.ai.inference.queue-capacity:8}") int queueCapacity) {
+        this.executor = new ThreadPoolExecutor(concurrency, concurrency, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), new CustomizableThreadFactory("ai-inference-"),
+                new ThreadPoolExecutor.AbortPolicy());
+        this.rejected = meterRegistry.counter("gms.ai.inference.rejected");
+        meterRegistry.gauge("gms.ai.inference.queued", executor, e -> e.getQueue().size());
+        meterRegistry.gauge("gms.ai.inference.active", executor, ThreadPoolExecutor::getActiveCount);
+    }
+
+    public void submit(Runnable task) {
+
+        try {
+            executor.execute(task);
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            log.warn("AI inference pool is saturated ({} queued), rejecting request", executor.getQueue().size());
+            throw e;
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+
+        executor.shutdownNow();
+    }
+}
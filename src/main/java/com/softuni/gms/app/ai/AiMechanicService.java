@@ -1,14 +1,33 @@
 package com.softuni.gms.app.ai;
 
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.ai.chat.model.ChatModel;
 import org.springframework.ai.chat.model.ChatResponse;
 import org.springframework.ai.chat.prompt.ChatOptions;
 import org.springframework.ai.chat.prompt.Prompt;
+import org.springframework.ai.embedding.EmbeddingModel;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Consumer;
+import java.util.function.UnaryOperator;
+
 @Slf4j
 @Service
 public class AiMechanicService {
@@ -21,46 +40,308 @@ public class AiMechanicService {
             Plain text only.
             """;
 
+    private static final int MAX_ANSWER_LENGTH = 200;
+
     private final ChatModel chatModel;
+    private final EmbeddingModel embeddingModel;
+    private final double similarityThreshold;
+    private final Duration streamTimeout;
+    private final Duration waitTimeout;
+
+    // Values are futures so a second caller with the same question waits for the first model call
+    // instead of starting its own; failed futures are removed so errors are never cached.
+    private final ConcurrentMap<String, CompletableFuture<String>> answers;
+    private final Cache<String, float[]> embeddings;
+
+    private final Counter hits;
+    private final Counter coalesced;
+    private final Counter semanticHits;
+    private final Counter misses;
+    private final Timer modelLatency;
 
     @Autowired
-    public AiMechanicService(ChatModel chatModel) {
+    public AiMechanicService(ChatModel chatModel, ObjectProvider<EmbeddingModel> embeddingModel, MeterRegistry meterRegistry,
+                             @Value("${gms.ai.cache.max-size:1000}") long maxSize,
+                             @Value("${gms.ai.cache.ttl:24h}") Duration ttl,
+                             @Value("${gms.ai.cache.similarity-threshold:0}") double similarityThreshold,
+                             @Value("${gms.ai.stream.timeout:60s}") Duration streamTimeout,
+                             @Value("${gms.ai.cache.wait-timeout:75s}") Duration waitTimeout) {
         this.chatModel = chatModel;
+        // A threshold of 0 turns the embedding lookup off and keeps the cache purely text-keyed.
+        this.embeddingModel = similarityThreshold > 0 ? embeddingModel.getIfAvailable() : null;
+        this.similarityThreshold = similarityThreshold;
+        this.streamTimeout = streamTimeout;
+        this.waitTimeout = waitTimeout;
+
+        Cache<String, CompletableFuture<String>> answerCache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .build();
+        this.answers = answerCache.asMap();
+        this.embeddings = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .build();
+
+        this.hits = meterRegistry.counter("gms.ai.cache.requests", "result", "hit");
+        this.coalesced = meterRegistry.counter("gms.ai.cache.requests", "result", "coalesced");
+        this.semanticHits = meterRegistry.counter("gms.ai.cache.requests", "result", "semantic");
+        this.misses = meterRegistry.counter("gms.ai.cache.requests", "result", "miss");
+        this.modelLatency = meterRegistry.timer("gms.ai.model.latency");
+        meterRegistry.gauge("gms.ai.cache.size", answerCache, Cache::estimatedSize);
     }
 
     public String askMechanic(String question) {
 
+        return ask(question, this::callModel, answer -> {
+        });
+    }
+
+    // Pushes the model output chunk by chunk as it is generated. Cached, coalesced and similar
+    // answers are already complete and arrive as a single chunk. The caller's own send failure is
+    // not reported here; it resurfaces on the caller's next write.
+    public String streamMechanic(String question, Consumer<String> onChunk) {
+
+        Consumer<String> client = new DetachingConsumer(onChunk);
+        return ask(question, trimmed -> streamModel(trimmed, client), client);
+    }
+
+    // The answer for this exact question if it is cached or being generated right now, without taking
+    // any thread: callers can finish the response when it completes instead of blocking on it.
+    // Returns null when the question needs a model call (or the similarity lookup).
+    public CompletableFuture<String> findAnswer(String question) {
+
+        if (question == null || question.trim().isEmpty()) {
+            return null;
+        }
+
+        CompletableFuture<String> existing = answers.get(normalize(question));
+        if (existing == null) {
+            return null;
+        }
+
+        (existing.isDone() ? hits : coalesced).increment();
+        return existing.copy().orTimeout(waitTimeout.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    private String ask(String question, UnaryOperator<String> model, Consumer<String> onReused) {
+
         if (question == null || question.trim().isEmpty()) {
             throw new IllegalArgumentException("Question must not be empty");
         }
 
+        String key = normalize(question);
+        CompletableFuture<String> created = new CompletableFuture<>();
+        CompletableFuture<String> existing = answers.putIfAbsent(key, created);
+        if (existing != null) {
+            (existing.isDone() ? hits : coalesced).increment();
+            String answer = await(existing, waitTimeout);
+            onReused.accept(answer);
+            return answer;
+        }
+
+        // Throwable, not RuntimeException: a future left incomplete by an Error would stay in the
+        // cache for the whole TTL with every later caller of this question parked on it.
+        try {
+            String answer = answer(key, question.trim(), model, onReused);
+            created.complete(answer);
+            return answer;
+        } catch (Throwable e) {
+            answers.remove(key, created);
+            created.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    private String answer(String key, String question, UnaryOperator<String> model, Consumer<String> onReused) {
+
+        float[] embedding = embed(key);
+        String similar = findSimilar(embedding);
+        if (similar != null) {
+            semanticHits.increment();
+            onReused.accept(similar);
+            return similar;
+        }
+
+        misses.increment();
+        String answer = modelLatency.record(() -> model.apply(question));
+        if (embedding != null) {
+            embeddings.put(key, embedding);
+        }
+
+        return answer;
+    }
+
+    private String callModel(String question) {
+
+        ChatResponse response = chatModel.call(prompt(question));
+
+        if (response == null || response.getResult() == null || response.getResult().getOutput() == null) {
+            throw new IllegalStateException("AI model returned empty response");
+        }
+
+        return finish(response.getResult().getOutput().getText());
+    }
+
+    // Blocks the calling (inference) thread until the stream ends or the stream timeout elapses.
+    private String streamModel(String question, Consumer<String> onChunk) {
+
+        StringBuilder text = new StringBuilder();
+        chatModel.stream(prompt(question))
+                .mapNotNull(AiMechanicService::chunkText)
+                .takeWhile(chunk -> text.length() < MAX_ANSWER_LENGTH)
+                .doOnNext(chunk -> {
+                    text.append(chunk);
+                    onChunk.accept(chunk);
+                })
+                .blockLast(streamTimeout);
+
+        return finish(text.toString());
+    }
+
+    private static Prompt prompt(String question) {
+
         ChatOptions options = ChatOptions.builder()
                 .maxTokens(50)
                 .temperature(0.2)
                 .build();
 
-        Prompt prompt = new Prompt(
-                SYSTEM_PROMPT + "\nUser description: " + question.trim(),
+        return new Prompt(
+                SYSTEM_PROMPT + "\nUser description: " + question,
                 options
         );
+    }
 
-        ChatResponse response = chatModel.call(prompt);
+    private static String chunkText(ChatResponse response) {
 
         if (response == null || response.getResult() == null || response.getResult().getOutput() == null) {
-            throw new IllegalStateException("AI model returned empty response");
+            return null;
         }
 
-        String text = response.getResult().getOutput().getText();
+        return response.getResult().getOutput().getText();
+    }
+
+    private static String finish(String text) {
 
         if (text == null || text.isBlank()) {
             throw new IllegalStateException("AI model returned empty text");
         }
 
         text = text.trim();
-        if (text.length() > 200) {
-            text = text.substring(0, 200);
+        if (text.length() > MAX_ANSWER_LENGTH) {
+            text = text.substring(0, MAX_ANSWER_LENGTH);
         }
 
         return text;
     }
+
+    private float[] embed(String key) {
+
+        if (embeddingModel == null) {
+            return null;
+        }
+
+        try {
+            return embeddingModel.embed(key);
+        } catch (RuntimeException e) {
+            log.warn("Could not embed question, falling back to exact matching: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    // Linear scan over at most max-size vectors; cheap next to a model call that takes seconds.
+    private String findSimilar(float[] embedding) {
+
+        if (embedding == null) {
+            return null;
+        }
+
+        String bestKey = null;
+        double best = similarityThreshold;
+        for (Map.Entry<String, float[]> entry : embeddings.asMap().entrySet()) {
+            double similarity = cosine(embedding, entry.getValue());
+            if (similarity >= best) {
+                best = similarity;
+                bestKey = entry.getKey();
+            }
+        }
+
+        CompletableFuture<String> answer = bestKey == null ? null : answers.get(bestKey);
+        if (answer == null || !answer.isDone() || answer.isCompletedExceptionally()) {
+            return null;
+        }
+
+        return answer.join();
+    }
+
+    // Waits on a copy so that a waiter giving up does not fail the shared future for the others.
+    private static String await(CompletableFuture<String> future, Duration timeout) {
+
+        try {
+            return future.copy().orTimeout(timeout.toMillis(), TimeUnit.MILLISECONDS).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof TimeoutException) {
+                throw new IllegalStateException("Timed out waiting for the AI answer to the same question", e.getCause());
+            }
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    // Other callers of the same question may be waiting on this generation, so a browser that goes
+    // away only stops the forwarding; the answer is still generated (at most 50 tokens) and cached.
+    private static final class DetachingConsumer implements Consumer<String> {
+
+        private final Consumer<String> target;
+        private boolean detached;
+
+        private DetachingConsumer(Consumer<String> target) {
+            this.target = target;
+        }
+
+        @Override
+        public void accept(String chunk) {
+
+            if (detached) {
+                return;
+            }
+
+            try {
+                target.accept(chunk);
+            } catch (RuntimeException e) {
+                detached = true;
+                log.debug("Stream client went away, finishing the answer without it: {}", e.getMessage());
+            }
+        }
+    }
+
+    static String normalize(String question) {
+
+        return question.toLowerCase(Locale.ROOT)
+                .replaceAll("[^\\p{L}\\p{Nd}]+", " ")
+                .trim();
+    }
+
+    static double cosine(float[] a, float[] b) {
+
+        if (a.length != b.length) {
+            return 0;
+        }
+
+        double dot = 0;
+        double normA = 0;
+        double normB = 0;
+        for (int i = 0; i < a.length; i++) {
+            dot += a[i] * b[i];
+            normA += a[i] * a[i];
+            normB += b[i] * b[i];
+        }
+
+        return normA == 0 || normB == 0 ? 0 : dot / Math.sqrt(normA * normB);
+    }
 }
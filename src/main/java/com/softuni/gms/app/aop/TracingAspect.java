@@ -0,0 +1,140 @@
+package com.softuni.gms.app.aop;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.annotation.Pointcut;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Method;
+import java.time.temporal.Temporal;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+// Times every service method with a per-method Micrometer timer. A sampled fraction of calls is also
+// logged at DEBUG as one key=value line; arguments are only formatted for those lines and never for
+// @NoLog methods. Everything derived from the Method (timers, names, logger) is built once and cached.
+@Aspect
+@Component
+public class TracingAspect {
+
+    static final String TIMER = "gms.service.calls";
+
+    private final MeterRegistry meterRegistry;
+    private final double sampleRate;
+    private final Map<Method, MethodTrace> traces = new ConcurrentHashMap<>();
+
+    @Autowired
+    public TracingAspect(MeterRegistry meterRegistry,
+                         @Value("${gms.tracing.sample-rate:0.01}") double sampleRate) {
+        this.meterRegistry = meterRegistry;
+        this.sampleRate = sampleRate;
+    }
+
+    @Pointcut("execution(* com.softuni.gms.app..service..*(..))")
+    public void allServiceMethods() {
+    }
+
+    @Around("allServiceMethods()")
+    public Object trace(ProceedingJoinPoint joinPoint) throws Throwable {
+
+        MethodTrace trace = traces.computeIfAbsent(((MethodSignature) joinPoint.getSignature()).getMethod(),
+                this::describe);
+
+        long start = System.nanoTime();
+        try {
+            Object result = joinPoint.proceed();
+            long elapsed = System.nanoTime() - start;
+            trace.success.record(elapsed, TimeUnit.NANOSECONDS);
+            if (sampled(trace)) {
+                trace.log.debug("trace method={} outcome=success durationUs={} args={} result={}",
+                        trace.name, elapsed / 1000, trace.arguments(joinPoint.getArgs()), describeResult(result));
+            }
+            return result;
+        } catch (Throwable ex) {
+            long elapsed = System.nanoTime() - start;
+            trace.failure.record(elapsed, TimeUnit.NANOSECONDS);
+            if (trace.log.isDebugEnabled()) {
+                trace.log.debug("trace method={} outcome=failure durationUs={} args={} error={}",
+                        trace.name, elapsed / 1000, trace.arguments(joinPoint.getArgs()), ex.toString());
+            }
+            throw ex;
+        }
+    }
+
+    private boolean sampled(MethodTrace trace) {
+
+        return trace.log.isDebugEnabled() && (sampleRate >= 1.0 || ThreadLocalRandom.current().nextDouble() < sampleRate);
+    }
+
+    private MethodTrace describe(Method method) {
+
+        String className = method.getDeclaringClass().getSimpleName();
+        return new MethodTrace(
+                className + "." + method.getName(),
+                LoggerFactory.getLogger(method.getDeclaringClass()),
+                !AnnotatedElementUtils.hasAnnotation(method, NoLog.class),
+                timer(className, method.getName(), "success"),
+                timer(className, method.getName(), "failure"));
+    }
+
+    private Timer timer(String className, String method, String outcome) {
+
+        return Timer.builder(TIMER)
+                .tag("class", className)
+                .tag("method", method)
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    // Only the type is logged: calling toString() or getters on entities can trigger lazy loading.
+    private static String describeResult(Object result) {
+
+        return result == null ? "null" : result.getClass().getSimpleName();
+    }
+
+    private record MethodTrace(String name, Logger log, boolean logArguments, Timer success, Timer failure) {
+
+        String arguments(Object[] args) {
+
+            if (!logArguments) {
+                return "[hidden]";
+            }
+
+            StringBuilder builder = new StringBuilder("[");
+            for (int i = 0; i < args.length; i++) {
+                if (i > 0) {
+                    builder.append(", ");
+                }
+                builder.append(formatArgument(args[i]));
+            }
+
+            return builder.append(']').toString();
+        }
+
+        // Scalar values are printed; entities and DTOs only by type, for the same reason as results.
+        private static String formatArgument(Object arg) {
+
+            if (arg == null) {
+                return "null";
+            }
+            if (arg instanceof CharSequence || arg instanceof Number || arg instanceof UUID
+                    || arg instanceof Enum<?> || arg instanceof Boolean || arg instanceof Temporal) {
+                return String.valueOf(arg);
+            }
+
+            return arg.getClass().getSimpleName();
+        }
+    }
+}
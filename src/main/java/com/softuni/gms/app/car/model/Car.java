@@ -13,7 +13,10 @@ import java.util.List;
 import java.util.UUID;
 
 @Entity
-@Table(name = "cars")
+@Table(name = "cars", indexes = {
+        @Index(name = "idx_cars_deleted_created", columnList = "isDeleted, createdAt, id"),
+        @Index(name = "idx_cars_owner_deleted", columnList = "owner_id, isDeleted")
+})
 @Getter
 @Setter
 @Builder
@@ -2,9 +2,14 @@ package com.softuni.gms.app.car.repository;
 
 import com.softuni.gms.app.car.model.Car;
 import com.softuni.gms.app.user.model.User;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -14,11 +19,21 @@ public interface CarRepository extends JpaRepository<Car, UUID> {
 
     List<Car> findByOwnerAndIsDeletedFalse(User owner);
 
+    List<Car> findByOwnerIdAndIsDeletedFalse(UUID ownerId);
+
     Optional<Car> findByVin(String vin);
 
     Optional<Car> findByPlateNumber(String plateNumber);
 
-    List<Car> findAllByIsDeletedTrueOrderByUpdatedAtDesc();
-
-    List<Car> findAllByIsDeletedFalseOrderByUpdatedAtDesc();
+    @EntityGraph(attributePaths = "owner")
+    @Query("""
+            SELECT c FROM Car c
+            WHERE c.isDeleted = :deleted
+              AND (:createdAt IS NULL OR c.createdAt < :createdAt OR (c.createdAt = :createdAt AND c.id < :id))
+            ORDER BY c.createdAt DESC, c.id DESC
+            """)
+    List<Car> findPage(@Param("deleted") boolean deleted,
+                       @Param("createdAt") LocalDateTime createdAt,
+                       @Param("id") UUID id,
+                       Limit limit);
 }
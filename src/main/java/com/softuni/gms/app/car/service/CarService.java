@@ -8,8 +8,11 @@ import com.softuni.gms.app.exeption.NotFoundException;
 import com.softuni.gms.app.user.model.User;
 import com.softuni.gms.app.web.dto.CarEditRequest;
 import com.softuni.gms.app.web.dto.CarRegisterRequest;
+import com.softuni.gms.app.web.dto.KeysetPage;
+import com.softuni.gms.app.web.dto.PageCursor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
@@ -23,6 +26,8 @@ import static com.softuni.gms.app.exeption.CarAlreadyExistsExceptionMessages.*;
 @Service
 public class CarService {
 
+    static final int ADMIN_PAGE_SIZE = 25;
+
     private final CarRepository carRepository;
 
     @Autowired
@@ -77,16 +82,18 @@ public class CarService {
                 .orElseThrow(() -> new NotFoundException("Car not found"));
     }
 
+    // Paged by creation time rather than updatedAt: the key never changes, so an edit made
+    // while an admin is paging cannot move a car onto a page they have already seen.
     @NoLog
-    public List<Car> findAllDeletedCars() {
-
-        return carRepository.findAllByIsDeletedTrueOrderByUpdatedAtDesc();
-    }
+    public KeysetPage<Car> findCarsPage(boolean deleted, PageCursor cursor) {
 
-    @NoLog
-    public List<Car> findAllActiveCars() {
+        List<Car> cars = carRepository.findPage(
+                deleted,
+                cursor == null ? null : cursor.getCreatedAt(),
+                cursor == null ? null : cursor.getId(),
+                Limit.of(ADMIN_PAGE_SIZE + 1));
 
-        return carRepository.findAllByIsDeletedFalseOrderByUpdatedAtDesc();
+        return KeysetPage.of(cars, ADMIN_PAGE_SIZE, car -> new PageCursor(car.getCreatedAt(), car.getId()));
     }
 
     public void updateCar(UUID carId, CarEditRequest carEditRequest) {
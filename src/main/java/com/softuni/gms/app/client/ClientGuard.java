@@ -0,0 +1,42 @@
+package com.softuni.gms.app.client;
+
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.function.Supplier;
+
+// Runs a downstream call through the client's bulkhead and circuit breaker. Rejections surface as
+// BulkheadFullException / CallNotPermittedException, which the services map to
+// MicroserviceDontRespondException like any other client failure.
+@Component
+public class ClientGuard {
+
+    private final CircuitBreakerRegistry circuitBreakerRegistry;
+    private final BulkheadRegistry bulkheadRegistry;
+
+    @Autowired
+    public ClientGuard(CircuitBreakerRegistry circuitBreakerRegistry, BulkheadRegistry bulkheadRegistry) {
+        this.circuitBreakerRegistry = circuitBreakerRegistry;
+        this.bulkheadRegistry = bulkheadRegistry;
+    }
+
+    public <T> T call(String client, Supplier<T> call) {
+
+        CircuitBreaker circuitBreaker = circuitBreakerRegistry.circuitBreaker(client);
+        Bulkhead bulkhead = bulkheadRegistry.bulkhead(client);
+
+        return Bulkhead.decorateSupplier(bulkhead, CircuitBreaker.decorateSupplier(circuitBreaker, call)).get();
+    }
+
+    public void run(String client, Runnable call) {
+
+        call(client, () -> {
+            call.run();
+            return null;
+        });
+    }
+}
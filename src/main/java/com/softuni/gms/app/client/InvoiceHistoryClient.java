@@ -2,13 +2,15 @@ package com.softuni.gms.app.client;
 
 import org.springframework.cloud.openfeign.FeignClient;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 
 import java.util.List;
 import java.util.Map;
 
-@FeignClient(name = "invoiceHistoryClient", url = "http://localhost:8081/api/v1/pdf")
+@FeignClient(name = "invoiceHistoryClient", url = "${gms.clients.invoice-history.url:http://localhost:8081/api/v1/pdf}")
 public interface InvoiceHistoryClient {
 
+    // since is an ISO-8601 generatedAt watermark; null asks for the full history.
     @GetMapping("/history")
-    List<Map<String, Object>> getInvoiceHistory();
+    List<Map<String, Object>> getInvoiceHistory(@RequestParam(value = "since", required = false) String since);
 }
@@ -1,61 +1,148 @@
 package com.softuni.gms.app.client;
 
 import com.softuni.gms.app.exeption.MicroserviceDontRespondException;
+import com.softuni.gms.app.invoice.model.InvoiceHistoryEntry;
+import com.softuni.gms.app.invoice.repository.InvoiceHistoryEntryRepository;
 import com.softuni.gms.app.web.dto.InvoiceHistoryData;
+import com.softuni.gms.app.web.dto.KeysetPage;
+import com.softuni.gms.app.web.dto.PageCursor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
-import java.util.Comparator;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 import java.util.UUID;
 
+import static com.softuni.gms.app.config.ClientResilienceConfig.INVOICE_HISTORY;
 import static com.softuni.gms.app.exeption.MicroserviceDontRespondExceptionMessages.INVOICE_SERVICE_NOT_AVAILABLE_TRY_AGAIN;
 
 @Slf4j
 @Service
 public class InvoiceHistoryService {
 
+    static final int HISTORY_PAGE_SIZE = 25;
+
     private final InvoiceHistoryClient historyClient;
+    private final ClientGuard clientGuard;
+    private final InvoiceHistoryEntryRepository historyRepository;
 
     @Autowired
-    public InvoiceHistoryService(InvoiceHistoryClient historyClient) {
+    public InvoiceHistoryService(InvoiceHistoryClient historyClient, ClientGuard clientGuard,
+                                 InvoiceHistoryEntryRepository historyRepository) {
         this.historyClient = historyClient;
+        this.clientGuard = clientGuard;
+        this.historyRepository = historyRepository;
     }
 
-    public List<InvoiceHistoryData> getHistory() {
+    public KeysetPage<InvoiceHistoryData> getHistoryPage(PageCursor cursor) {
 
-        try {
-            List<Map<String, Object>> raw = historyClient.getInvoiceHistory();
+        Limit limit = Limit.of(HISTORY_PAGE_SIZE + 1);
+
+        List<InvoiceHistoryEntry> entries = cursor == null
+                ? historyRepository.findAllByOrderByCreatedAtDescIdDesc(limit)
+                : historyRepository.findHistoryBefore(cursor.getCreatedAt(), cursor.getId(), limit);
+
+        KeysetPage<InvoiceHistoryEntry> page = KeysetPage.of(entries, HISTORY_PAGE_SIZE,
+                entry -> new PageCursor(entry.getCreatedAt(), entry.getId()));
+
+        return new KeysetPage<>(page.getContent().stream().map(InvoiceHistoryService::toDto).toList(),
+                page.getNextCursor());
+    }
 
-            return raw.stream()
-                    .map(this::toDto)
-                    .sorted(Comparator.comparing(InvoiceHistoryData::getCreatedAt).reversed())
-                    .toList();
+    // Pulls only invoices generated at or after the newest one already stored. Rows at the watermark
+    // itself are fetched again on purpose (several invoices can share a timestamp) and dropped by remote id.
+    @Transactional
+    public int syncHistory() {
 
+        LocalDateTime watermark = historyRepository.findLatestGeneratedAt().orElse(null);
+
+        List<Map<String, Object>> raw;
+        try {
+            raw = clientGuard.call(INVOICE_HISTORY,
+                    () -> historyClient.getInvoiceHistory(watermark == null ? null : watermark.toString()));
         } catch (Exception ex) {
             log.warn("Invoice history service failed: {}", ex.getMessage());
             throw new MicroserviceDontRespondException(INVOICE_SERVICE_NOT_AVAILABLE_TRY_AGAIN, ex);
         }
+
+        // Keyed by remote id so that a row repeated in the response is not inserted twice.
+        Map<String, InvoiceHistoryEntry> byRemoteId = new LinkedHashMap<>();
+        for (Map<String, Object> src : raw) {
+            InvoiceHistoryEntry entry = toEntry(src);
+            if (entry != null && (watermark == null || !entry.getGeneratedAt().isBefore(watermark))) {
+                byRemoteId.putIfAbsent(entry.getRemoteId(), entry);
+            }
+        }
+        List<InvoiceHistoryEntry> candidates = new ArrayList<>(byRemoteId.values());
+
+        if (candidates.isEmpty()) {
+            return 0;
+        }
+
+        Set<String> existing = historyRepository.findExistingRemoteIds(
+                candidates.stream().map(InvoiceHistoryEntry::getRemoteId).toList());
+        List<InvoiceHistoryEntry> fresh = candidates.stream()
+                .filter(entry -> !existing.contains(entry.getRemoteId()))
+                .toList();
+
+        historyRepository.saveAll(fresh);
+        log.info("Synced {} invoice history entries (watermark {})", fresh.size(), watermark);
+
+        return fresh.size();
+    }
+
+    // A malformed row is skipped rather than failing the sync; otherwise it would block every later invoice.
+    private InvoiceHistoryEntry toEntry(Map<String, Object> src) {
+
+        try {
+            return InvoiceHistoryEntry.builder()
+                    .remoteId(Objects.requireNonNull((String) src.get("id"), "id"))
+                    .repairId(UUID.fromString((String) src.get("repairId")))
+                    .createdAt(LocalDateTime.parse((String) src.get("createdAt")))
+                    .completedAt(parseNullable(src.get("completedAt")))
+                    .generatedAt(LocalDateTime.parse((String) src.get("generatedAt")))
+                    .customerFirstName((String) src.get("customerFirstName"))
+                    .customerLastName((String) src.get("customerLastName"))
+                    .customerPhone((String) src.get("customerPhone"))
+                    .mechanicFirstName((String) src.get("mechanicFirstName"))
+                    .mechanicLastName((String) src.get("mechanicLastName"))
+                    .carBrand((String) src.get("carBrand"))
+                    .carModel((String) src.get("carModel"))
+                    .build();
+        } catch (RuntimeException ex) {
+            log.warn("Skipping malformed invoice history entry {}: {}", src.get("id"), ex.getMessage());
+            return null;
+        }
+    }
+
+    private static LocalDateTime parseNullable(Object value) {
+
+        return value == null ? null : LocalDateTime.parse((String) value);
     }
 
-    private InvoiceHistoryData toDto(Map<String, Object> src) {
+    private static InvoiceHistoryData toDto(InvoiceHistoryEntry entry) {
 
         return InvoiceHistoryData.builder()
-                .id((String) src.get("id"))
-                .repairId(UUID.fromString((String) src.get("repairId")))
-                .createdAt(LocalDateTime.parse((String) src.get("createdAt")))
-                .completedAt(LocalDateTime.parse((String) src.get("completedAt")))
-                .generatedAt(LocalDateTime.parse((String) src.get("generatedAt")))
-                .customerFirstName((String) src.get("customerFirstName"))
-                .customerLastName((String) src.get("customerLastName"))
-                .customerPhone((String) src.get("customerPhone"))
-                .mechanicFirstName((String) src.get("mechanicFirstName"))
-                .mechanicLastName((String) src.get("mechanicLastName"))
-                .carBrand((String) src.get("carBrand"))
-                .carModel((String) src.get("carModel"))
+                .id(entry.getRemoteId())
+                .repairId(entry.getRepairId())
+                .createdAt(entry.getCreatedAt())
+                .completedAt(entry.getCompletedAt())
+                .generatedAt(entry.getGeneratedAt())
+                .customerFirstName(entry.getCustomerFirstName())
+                .customerLastName(entry.getCustomerLastName())
+                .customerPhone(entry.getCustomerPhone())
+                .mechanicFirstName(entry.getMechanicFirstName())
+                .mechanicLastName(entry.getMechanicLastName())
+                .carBrand(entry.getCarBrand())
+                .carModel(entry.getCarModel())
                 .build();
     }
 }
@@ -0,0 +1,91 @@
+package com.softuni.gms.app.client;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.UUID;
+
+// Keeps generated invoices on local disk as <root>/<repairId>/<sha256>.pdf. A small "latest" file
+// in the same directory names the current hash; both are written to a temp file and moved into
+// place, so readers never see a partially written invoice.
+@Slf4j
+@Component
+public class InvoiceStore {
+
+    private static final String LATEST = "latest";
+    private static final String EXTENSION = ".pdf";
+
+    private final Path root;
+
+    @Autowired
+    public InvoiceStore(@Value("${gms.invoice.store.dir:./data/invoices}") Path root) {
+        this.root = root.toAbsolutePath().normalize();
+    }
+
+    public StoredInvoice store(UUID repairId, byte[] pdf) {
+
+        String hash = sha256(pdf);
+        Path directory = root.resolve(repairId.toString());
+        Path target = directory.resolve(hash + EXTENSION);
+
+        try {
+            Files.createDirectories(directory);
+            if (!Files.exists(target)) {
+                moveIntoPlace(directory, target, pdf);
+            }
+            moveIntoPlace(directory, directory.resolve(LATEST), hash.getBytes(StandardCharsets.US_ASCII));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not store invoice for repair " + repairId, e);
+        }
+
+        return new StoredInvoice(target, hash, pdf.length);
+    }
+
+    public Optional<StoredInvoice> findLatest(UUID repairId) {
+
+        Path directory = root.resolve(repairId.toString());
+        try {
+            String hash = Files.readString(directory.resolve(LATEST), StandardCharsets.US_ASCII).trim();
+            Path file = directory.resolve(hash + EXTENSION);
+            return Optional.of(new StoredInvoice(file, hash, Files.size(file)));
+        } catch (NoSuchFileException e) {
+            return Optional.empty();
+        } catch (IOException e) {
+            log.warn("Could not read stored invoice for repair {}: {}", repairId, e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    private static void moveIntoPlace(Path directory, Path target, byte[] content) throws IOException {
+
+        Path temp = Files.createTempFile(directory, "invoice-", ".tmp");
+        try {
+            Files.write(temp, content);
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    private static String sha256(byte[] content) {
+
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(content));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
@@ -8,7 +8,7 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 
-@FeignClient(name = "pdfClient", url = "http://localhost:8081/api/v1/pdf")
+@FeignClient(name = "pdfClient", url = "${gms.clients.pdf.url:http://localhost:8081/api/v1/pdf}")
 public interface PdfClient {
 
     @PostMapping(value = "/invoices", consumes = MediaType.APPLICATION_JSON_VALUE)
@@ -6,6 +6,11 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
+import java.io.UncheckedIOException;
+import java.util.Optional;
+import java.util.UUID;
+
+import static com.softuni.gms.app.config.ClientResilienceConfig.PDF;
 import static com.softuni.gms.app.exeption.MicroserviceDontRespondExceptionMessages.INVOICE_SERVICE_UNAVAILABLE;
 
 @Slf4j
@@ -13,28 +18,60 @@ import static com.softuni.gms.app.exeption.MicroserviceDontRespondExceptionMessa
 public class PdfService {
 
     private final PdfClient pdfClient;
+    private final ClientGuard clientGuard;
+    private final InvoiceStore invoiceStore;
 
     @Autowired
-    public PdfService(PdfClient pdfClient) {
+    public PdfService(PdfClient pdfClient, ClientGuard clientGuard, InvoiceStore invoiceStore) {
         this.pdfClient = pdfClient;
+        this.clientGuard = clientGuard;
+        this.invoiceStore = invoiceStore;
     }
 
     public void generateInvoice(InvoiceRequest invoiceRequest) {
 
         log.info("Invoice Request: RepairId {}", invoiceRequest.getRepairId());
+        byte[] pdf;
         try {
-            pdfClient.generateInvoice(invoiceRequest);
+            pdf = clientGuard.call(PDF, () -> pdfClient.generateInvoice(invoiceRequest));
         } catch (Exception ex) {
             log.error("Failed to generate invoice for repair {}: {}", invoiceRequest.getRepairId(), ex.getMessage());
             throw new MicroserviceDontRespondException(INVOICE_SERVICE_UNAVAILABLE, ex);
         }
+
+        if (pdf == null || pdf.length == 0) {
+            return;
+        }
+
+        // The invoice exists remotely at this point; a failed local write only costs a remote fetch later.
+        try {
+            invoiceStore.store(invoiceRequest.getRepairId(), pdf);
+        } catch (UncheckedIOException ex) {
+            log.warn("Could not store generated invoice for repair {}: {}", invoiceRequest.getRepairId(), ex.getMessage());
+        }
+    }
+
+    // Serves the local copy; the PDF service is only asked when this instance has never seen the invoice.
+    public StoredInvoice getLatestInvoice(UUID repairId) {
+
+        Optional<StoredInvoice> stored = invoiceStore.findLatest(repairId);
+        if (stored.isPresent()) {
+            return stored.get();
+        }
+
+        byte[] pdf = downloadLatestInvoice(repairId);
+        if (pdf == null || pdf.length == 0) {
+            return null;
+        }
+
+        return invoiceStore.store(repairId, pdf);
     }
 
-    public byte[] downloadLatestInvoice(java.util.UUID repairId) {
+    public byte[] downloadLatestInvoice(UUID repairId) {
 
         log.info("Download Latest Invoice Request: RepairId {}", repairId);
         try {
-            return pdfClient.downloadLatestInvoice(repairId);
+            return clientGuard.call(PDF, () -> pdfClient.downloadLatestInvoice(repairId));
         } catch (Exception ex) {
             log.error("Failed to download invoice for repair {}: {}", repairId, ex.getMessage());
             throw new MicroserviceDontRespondException(INVOICE_SERVICE_UNAVAILABLE, ex);
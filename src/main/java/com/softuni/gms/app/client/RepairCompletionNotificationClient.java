@@ -6,7 +6,7 @@ import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 
-@FeignClient(name = "notificationClient", url = "http://localhost:8081/api/v1/whatsapp")
+@FeignClient(name = "notificationClient", url = "${gms.clients.notification.url:http://localhost:8081/api/v1/whatsapp}")
 public interface RepairCompletionNotificationClient {
 
     @PostMapping(value = "/complete-order", consumes = MediaType.APPLICATION_JSON_VALUE)
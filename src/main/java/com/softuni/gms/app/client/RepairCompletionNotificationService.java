@@ -1,11 +1,19 @@
 package com.softuni.gms.app.client;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.softuni.gms.app.exeption.MicroserviceDontRespondException;
+import com.softuni.gms.app.notification.model.CompletionNotification;
+import com.softuni.gms.app.notification.model.NotificationStatus;
+import com.softuni.gms.app.notification.repository.CompletionNotificationRepository;
 import com.softuni.gms.app.web.dto.RepairCompletionRequest;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
+import java.time.LocalDateTime;
+
+import static com.softuni.gms.app.config.ClientResilienceConfig.NOTIFICATION;
 import static com.softuni.gms.app.exeption.MicroserviceDontRespondExceptionMessages.NOTIFICATION_SERVICE_UNAVAILABLE;
 
 @Slf4j
@@ -13,20 +21,60 @@ import static com.softuni.gms.app.exeption.MicroserviceDontRespondExceptionMessa
 public class RepairCompletionNotificationService {
 
     private final RepairCompletionNotificationClient repairCompletionNotificationClient;
+    private final CompletionNotificationRepository completionNotificationRepository;
+    private final ObjectMapper objectMapper;
+    private final ClientGuard clientGuard;
 
     @Autowired
-    public RepairCompletionNotificationService(RepairCompletionNotificationClient repairCompletionNotificationClient) {
+    public RepairCompletionNotificationService(RepairCompletionNotificationClient repairCompletionNotificationClient,
+                                               CompletionNotificationRepository completionNotificationRepository,
+                                               ObjectMapper objectMapper, ClientGuard clientGuard) {
         this.repairCompletionNotificationClient = repairCompletionNotificationClient;
+        this.completionNotificationRepository = completionNotificationRepository;
+        this.objectMapper = objectMapper;
+        this.clientGuard = clientGuard;
+    }
+
+    // Stores the message for NotificationDispatchScheduler; the caller never waits on the gateway.
+    public void enqueueCompletion(RepairCompletionRequest repairCompletionRequest) {
+
+        LocalDateTime now = LocalDateTime.now();
+        completionNotificationRepository.save(CompletionNotification.builder()
+                .destination(repairCompletionRequest.getPhoneNumber())
+                .payload(write(repairCompletionRequest))
+                .status(NotificationStatus.PENDING)
+                .attempts(0)
+                .nextAttemptAt(now)
+                .createdAt(now)
+                .build());
     }
 
     public void sendMessageForCompletion(RepairCompletionRequest repairCompletionRequest) {
 
         log.info("RepairCompletionNotificationService send message for completion to {}", repairCompletionRequest.getPhoneNumber());
         try {
-            repairCompletionNotificationClient.sendMessageForCompletion(repairCompletionRequest);
+            clientGuard.run(NOTIFICATION, () -> repairCompletionNotificationClient.sendMessageForCompletion(repairCompletionRequest));
         } catch (Exception ex) {
             log.error("Failed to notify completion for phone {}: {}", repairCompletionRequest.getPhoneNumber(), ex.getMessage());
             throw new MicroserviceDontRespondException(NOTIFICATION_SERVICE_UNAVAILABLE, ex);
         }
     }
+
+    public RepairCompletionRequest read(CompletionNotification notification) {
+
+        try {
+            return objectMapper.readValue(notification.getPayload(), RepairCompletionRequest.class);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not read completion notification " + notification.getId(), e);
+        }
+    }
+
+    private String write(RepairCompletionRequest repairCompletionRequest) {
+
+        try {
+            return objectMapper.writeValueAsString(repairCompletionRequest);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not write completion notification", e);
+        }
+    }
 }
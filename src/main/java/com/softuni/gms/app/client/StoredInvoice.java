@@ -0,0 +1,6 @@
+package com.softuni.gms.app.client;
+
+import java.nio.file.Path;
+
+public record StoredInvoice(Path path, String contentHash, long size) {
+}
@@ -2,9 +2,16 @@ package com.softuni.gms.app.config;
 
 import com.fasterxml.jackson.annotation.JsonAutoDetect;
 import com.fasterxml.jackson.annotation.PropertyAccessor;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JavaType;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
-import org.springframework.cache.CacheManager;
+import com.softuni.gms.app.part.model.Part;
+import com.softuni.gms.app.web.dto.AdminDashboardData;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cache.annotation.EnableCaching;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -12,16 +19,40 @@ import org.springframework.context.annotation.Profile;
 import org.springframework.data.redis.cache.RedisCacheConfiguration;
 import org.springframework.data.redis.cache.RedisCacheManager;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
 import org.springframework.data.redis.serializer.RedisSerializationContext;
 
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
 @Profile("!test")
 @Configuration
 @EnableCaching
 public class CacheConfig {
 
+    // Bump when a cached entity changes shape; entries written with another version are read as misses.
+    static final int CACHE_SCHEMA_VERSION = 2;
+
+    @Value("${gms.cache.local.maximum-size:1000}")
+    private long localMaximumSize;
+
+    @Value("${gms.cache.local.ttl:30s}")
+    private Duration localTtl;
+
+    @Value("${gms.cache.redis.ttl:10m}")
+    private Duration redisTtl;
+
+    @Value("${gms.cache.admin-stats.ttl:30s}")
+    private Duration adminStatsTtl;
+
     @Bean
-    public CacheManager cacheManager(RedisConnectionFactory connectionFactory) {
+    public TwoLevelCacheManager cacheManager(RedisConnectionFactory connectionFactory,
+                                             StringRedisTemplate redisTemplate,
+                                             MeterRegistry meterRegistry) {
 
         ObjectMapper objectMapper = new ObjectMapper();
         objectMapper.setVisibility(PropertyAccessor.ALL, JsonAutoDetect.Visibility.ANY);
@@ -31,10 +62,60 @@ public class CacheConfig {
 
         RedisCacheConfiguration config = RedisCacheConfiguration.defaultCacheConfig()
                 .serializeValuesWith(RedisSerializationContext.SerializationPair.fromSerializer(serializer))
+                .entryTtl(redisTtl)
                 .disableCachingNullValues();
 
-        return RedisCacheManager.builder(connectionFactory)
+        ObjectMapper smileMapper = cacheObjectMapper();
+
+        RedisCacheManager redisCacheManager = RedisCacheManager.builder(connectionFactory)
                 .cacheDefaults(config)
+                .withCacheConfiguration("parts", typedConfig(config, smileMapper, Part.class))
+                .withCacheConfiguration("adminStats", typedConfig(config.entryTtl(adminStatsTtl), smileMapper,
+                        smileMapper.constructType(AdminDashboardData.class)))
                 .build();
+        redisCacheManager.initializeCaches();
+
+        // adminStats is read straight from Redis so that its own TTL bounds how old the dashboard can be.
+        return new TwoLevelCacheManager(redisCacheManager, redisTemplate, meterRegistry, localMaximumSize, localTtl,
+                Map.of("adminStats", Duration.ZERO));
+    }
+
+    public static ObjectMapper cacheObjectMapper() {
+
+        ObjectMapper objectMapper = new ObjectMapper(new SmileFactory());
+        objectMapper.setVisibility(PropertyAccessor.ALL, JsonAutoDetect.Visibility.NONE);
+        objectMapper.setVisibility(PropertyAccessor.FIELD, JsonAutoDetect.Visibility.ANY);
+        objectMapper.registerModule(new JavaTimeModule());
+        objectMapper.disable(SerializationFeature.FAIL_ON_EMPTY_BEANS);
+        objectMapper.disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+
+        return objectMapper;
+    }
+
+    private static RedisCacheConfiguration typedConfig(RedisCacheConfiguration defaults,
+                                                       ObjectMapper objectMapper,
+                                                       Class<?> elementType) {
+
+        return typedConfig(defaults, objectMapper,
+                objectMapper.getTypeFactory().constructCollectionType(List.class, elementType));
+    }
+
+    private static RedisCacheConfiguration typedConfig(RedisCacheConfiguration defaults,
+                                                       ObjectMapper objectMapper,
+                                                       JavaType valueType) {
+
+        return defaults.serializeValuesWith(RedisSerializationContext.SerializationPair.fromSerializer(
+                new VersionedCacheSerializer<>(objectMapper, valueType, CACHE_SCHEMA_VERSION)));
+    }
+
+    @Bean
+    public RedisMessageListenerContainer cacheInvalidationListenerContainer(RedisConnectionFactory connectionFactory,
+                                                                            TwoLevelCacheManager cacheManager) {
+
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        container.addMessageListener(cacheManager, new ChannelTopic(TwoLevelCacheManager.INVALIDATION_CHANNEL));
+
+        return container;
     }
 }
@@ -0,0 +1,81 @@
+package com.softuni.gms.app.config;
+
+import feign.FeignException;
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.micrometer.tagged.TaggedBulkheadMetrics;
+import io.github.resilience4j.micrometer.tagged.TaggedCircuitBreakerMetrics;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.Map;
+
+@Configuration
+public class ClientResilienceConfig {
+
+    public static final String PDF = "pdf";
+    public static final String INVOICE_HISTORY = "invoiceHistory";
+    public static final String NOTIFICATION = "notification";
+
+    // Only failures of the downstream service count: a 4xx is our request being rejected, so
+    // FeignClientException passes through without affecting the breaker. 5xx, I/O errors and read
+    // timeouts are recorded.
+    @Bean
+    public CircuitBreakerRegistry circuitBreakerRegistry(MeterRegistry meterRegistry,
+                                                         @Value("${gms.clients.circuit-breaker.failure-rate-threshold:50}") float failureRateThreshold,
+                                                         @Value("${gms.clients.circuit-breaker.slow-call-rate-threshold:80}") float slowCallRateThreshold,
+                                                         @Value("${gms.clients.circuit-breaker.slow-call-duration:5s}") Duration slowCallDuration,
+                                                         @Value("${gms.clients.circuit-breaker.sliding-window:20}") int slidingWindow,
+                                                         @Value("${gms.clients.circuit-breaker.wait-in-open:30s}") Duration waitInOpen,
+                                                         @Value("${gms.clients.pdf.slow-call-rate-threshold:80}") float pdfSlowCallRateThreshold,
+                                                         @Value("${gms.clients.pdf.slow-call-duration:12s}") Duration pdfSlowCallDuration) {
+
+        CircuitBreakerConfig config = CircuitBreakerConfig.custom()
+                .failureRateThreshold(failureRateThreshold)
+                .slowCallRateThreshold(slowCallRateThreshold)
+                .slowCallDurationThreshold(slowCallDuration)
+                .slidingWindowSize(slidingWindow)
+                .minimumNumberOfCalls(Math.max(1, slidingWindow / 2))
+                .waitDurationInOpenState(waitInOpen)
+                .permittedNumberOfCallsInHalfOpenState(2)
+                .ignoreExceptions(FeignException.FeignClientException.class)
+                .build();
+
+        CircuitBreakerRegistry registry = CircuitBreakerRegistry.of(config);
+        // Rendering an invoice routinely takes several seconds (read timeout 15s), so the PDF client
+        // gets its own slow-call settings instead of the 5s used for the quick lookups.
+        registry.circuitBreaker(PDF, CircuitBreakerConfig.from(config)
+                .slowCallRateThreshold(pdfSlowCallRateThreshold)
+                .slowCallDurationThreshold(pdfSlowCallDuration)
+                .build());
+
+        TaggedCircuitBreakerMetrics.ofCircuitBreakerRegistry(registry).bindTo(meterRegistry);
+        return registry;
+    }
+
+    // Bulkheads do not wait for a permit: when a downstream service hangs, callers fail fast
+    // instead of parking Tomcat threads behind it.
+    @Bean
+    public BulkheadRegistry bulkheadRegistry(MeterRegistry meterRegistry,
+                                             @Value("${gms.clients.pdf.max-concurrent-calls:10}") int pdfCalls,
+                                             @Value("${gms.clients.invoice-history.max-concurrent-calls:5}") int historyCalls,
+                                             @Value("${gms.clients.notification.max-concurrent-calls:4}") int notificationCalls) {
+
+        BulkheadRegistry registry = BulkheadRegistry.of(BulkheadConfig.custom()
+                .maxWaitDuration(Duration.ZERO)
+                .build());
+        Map.of(PDF, pdfCalls, INVOICE_HISTORY, historyCalls, NOTIFICATION, notificationCalls)
+                .forEach((name, calls) -> registry.bulkhead(name, BulkheadConfig.custom()
+                        .maxConcurrentCalls(calls)
+                        .maxWaitDuration(Duration.ZERO)
+                        .build()));
+
+        TaggedBulkheadMetrics.ofBulkheadRegistry(registry).bindTo(meterRegistry);
+        return registry;
+    }
+}
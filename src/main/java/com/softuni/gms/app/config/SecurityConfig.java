@@ -1,6 +1,7 @@
 package com.softuni.gms.app.config;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.security.servlet.PathRequest;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -8,6 +9,13 @@ import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.context.annotation.Profile;
+import org.springframework.core.annotation.Order;
+import org.springframework.security.authentication.ProviderManager;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
+import org.springframework.security.config.Customizer;
+import org.springframework.security.config.http.SessionCreationPolicy;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.provisioning.InMemoryUserDetailsManager;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
@@ -31,7 +39,42 @@ public class SecurityConfig {
         this.customLoginSuccessHandler = customLoginSuccessHandler;
     }
 
+    // Management endpoints get their own chain: Prometheus authenticates with HTTP basic against a
+    // dedicated account instead of being redirected to the login form, and a logged-in customer
+    // session never grants access. Health and info stay open for load balancer probes.
     @Bean
+    @Order(1)
+    public SecurityFilterChain actuatorFilterChain(HttpSecurity http,
+                                                   @Value("${gms.actuator.username}") String username,
+                                                   @Value("${gms.actuator.password}") String password) throws Exception {
+
+        // There is no default: metrics and cache eviction must not sit behind a password anyone can look up.
+        if (password == null || password.isBlank()) {
+            throw new IllegalStateException("gms.actuator.password (ACTUATOR_PASSWORD) must be set");
+        }
+
+        DaoAuthenticationProvider actuatorUsers = new DaoAuthenticationProvider();
+        actuatorUsers.setPasswordEncoder(passwordEncoder());
+        actuatorUsers.setUserDetailsService(new InMemoryUserDetailsManager(User.withUsername(username)
+                .password(passwordEncoder().encode(password))
+                .roles("ACTUATOR")
+                .build()));
+
+        http
+                .securityMatcher("/actuator/**")
+                .authorizeHttpRequests(matchers -> matchers
+                        .requestMatchers("/actuator/health", "/actuator/health/**", "/actuator/info").permitAll()
+                        .anyRequest().hasRole("ACTUATOR"))
+                .authenticationManager(new ProviderManager(actuatorUsers))
+                .httpBasic(Customizer.withDefaults())
+                .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
+                .csrf(csrf -> csrf.disable());
+
+        return http.build();
+    }
+
+    @Bean
+    @Order(2)
     public SecurityFilterChain filterChain(HttpSecurity http) throws Exception {
         http
                 .authorizeHttpRequests(matchers -> matchers
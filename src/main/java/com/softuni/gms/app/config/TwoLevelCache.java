@@ -0,0 +1,140 @@
+package com.softuni.gms.app.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import org.springframework.cache.Cache;
+import org.springframework.cache.support.AbstractValueAdaptingCache;
+
+import java.util.concurrent.Callable;
+import java.util.function.BiConsumer;
+
+public class TwoLevelCache extends AbstractValueAdaptingCache {
+
+    private static final String METRIC_NAME = "gms.cache.gets";
+
+    private final String name;
+    private final com.github.benmanes.caffeine.cache.Cache<Object, Object> localCache;
+    private final Cache remoteCache;
+    private final BiConsumer<String, Object> invalidationPublisher;
+
+    private final Counter localHits;
+    private final Counter localMisses;
+    private final Counter remoteHits;
+    private final Counter remoteMisses;
+
+    public TwoLevelCache(String name,
+                         com.github.benmanes.caffeine.cache.Cache<Object, Object> localCache,
+                         Cache remoteCache,
+                         BiConsumer<String, Object> invalidationPublisher,
+                         MeterRegistry meterRegistry) {
+        super(false);
+        this.name = name;
+        this.localCache = localCache;
+        this.remoteCache = remoteCache;
+        this.invalidationPublisher = invalidationPublisher;
+
+        this.localHits = counter(meterRegistry, "local", "hit");
+        this.localMisses = counter(meterRegistry, "local", "miss");
+        this.remoteHits = counter(meterRegistry, "redis", "hit");
+        this.remoteMisses = counter(meterRegistry, "redis", "miss");
+
+        meterRegistry.gauge("gms.cache.local.size", Tags.of("cache", name),
+                localCache, com.github.benmanes.caffeine.cache.Cache::estimatedSize);
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return localCache;
+    }
+
+    @Override
+    protected Object lookup(Object key) {
+
+        Object localValue = localCache.getIfPresent(key);
+        if (localValue != null) {
+            localHits.increment();
+            return localValue;
+        }
+        localMisses.increment();
+
+        ValueWrapper remoteValue = remoteCache.get(key);
+        if (remoteValue == null || remoteValue.get() == null) {
+            remoteMisses.increment();
+            return null;
+        }
+
+        remoteHits.increment();
+        localCache.put(key, remoteValue.get());
+        return remoteValue.get();
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+
+        Object cached = lookup(key);
+        if (cached != null) {
+            return (T) fromStoreValue(cached);
+        }
+
+        T loaded = remoteCache.get(key, valueLoader);
+        if (loaded != null) {
+            localCache.put(key, loaded);
+        }
+        return loaded;
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+
+        if (value == null) {
+            evict(key);
+            return;
+        }
+
+        remoteCache.put(key, value);
+        localCache.put(key, value);
+        invalidationPublisher.accept(name, key);
+    }
+
+    @Override
+    public void evict(Object key) {
+
+        remoteCache.evict(key);
+        localCache.invalidate(key);
+        invalidationPublisher.accept(name, key);
+    }
+
+    @Override
+    public void clear() {
+
+        remoteCache.clear();
+        localCache.invalidateAll();
+        invalidationPublisher.accept(name, null);
+    }
+
+    public void evictLocal(String keyAsString) {
+
+        if (keyAsString == null) {
+            localCache.invalidateAll();
+            return;
+        }
+
+        localCache.asMap().keySet().removeIf(key -> String.valueOf(key).equals(keyAsString));
+    }
+
+    private Counter counter(MeterRegistry meterRegistry, String tier, String result) {
+
+        return Counter.builder(METRIC_NAME)
+                .tag("cache", name)
+                .tag("tier", tier)
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,110 @@
+package com.softuni.gms.app.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+@Slf4j
+public class TwoLevelCacheManager implements CacheManager, MessageListener {
+
+    public static final String INVALIDATION_CHANNEL = "gms:cache-invalidation";
+
+    private static final String SEPARATOR = "|";
+
+    private final CacheManager remoteCacheManager;
+    private final StringRedisTemplate redisTemplate;
+    private final MeterRegistry meterRegistry;
+    private final long localMaximumSize;
+    private final Duration localTtl;
+    private final Map<String, Duration> localTtlOverrides;
+
+    private final String nodeId = UUID.randomUUID().toString();
+    private final ConcurrentMap<String, TwoLevelCache> caches = new ConcurrentHashMap<>();
+    private final Counter invalidationsReceived;
+
+    public TwoLevelCacheManager(CacheManager remoteCacheManager, StringRedisTemplate redisTemplate,
+                                MeterRegistry meterRegistry, long localMaximumSize, Duration localTtl,
+                                Map<String, Duration> localTtlOverrides) {
+        this.remoteCacheManager = remoteCacheManager;
+        this.redisTemplate = redisTemplate;
+        this.meterRegistry = meterRegistry;
+        this.localMaximumSize = localMaximumSize;
+        this.localTtl = localTtl;
+        this.localTtlOverrides = Map.copyOf(localTtlOverrides);
+        this.invalidationsReceived = meterRegistry.counter("gms.cache.invalidations.received");
+    }
+
+    @Override
+    public Cache getCache(String name) {
+
+        return caches.computeIfAbsent(name, this::createCache);
+    }
+
+    @Override
+    public Collection<String> getCacheNames() {
+
+        return remoteCacheManager.getCacheNames();
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+
+        String[] parts = new String(message.getBody(), StandardCharsets.UTF_8).split("\\" + SEPARATOR, 3);
+        if (parts.length < 2 || nodeId.equals(parts[0])) {
+            return;
+        }
+
+        TwoLevelCache cache = caches.get(parts[1]);
+        if (cache == null) {
+            return;
+        }
+
+        invalidationsReceived.increment();
+        cache.evictLocal(parts.length == 3 ? parts[2] : null);
+    }
+
+    private TwoLevelCache createCache(String name) {
+
+        Cache remoteCache = remoteCacheManager.getCache(name);
+        if (remoteCache == null) {
+            return null;
+        }
+
+        // A local entry can be filled from a Redis entry that is about to expire, so the worst-case
+        // staleness is the two TTLs added up; a zero override keeps the cache out of the local tier.
+        com.github.benmanes.caffeine.cache.Cache<Object, Object> localCache = Caffeine.newBuilder()
+                .maximumSize(localMaximumSize)
+                .expireAfterWrite(localTtlOverrides.getOrDefault(name, localTtl))
+                .build();
+
+        return new TwoLevelCache(name, localCache, remoteCache, this::publishInvalidation, meterRegistry);
+    }
+
+    private void publishInvalidation(String cacheName, Object key) {
+
+        String message = nodeId + SEPARATOR + cacheName;
+        if (key != null) {
+            message = message + SEPARATOR + key;
+        }
+
+        try {
+            redisTemplate.convertAndSend(INVALIDATION_CHANNEL, message);
+        } catch (Exception ex) {
+            log.warn("Failed to broadcast invalidation for cache {}: {}", cacheName, ex.getMessage());
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.softuni.gms.app.config;
+
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+
+@Slf4j
+public class VersionedCacheSerializer<T> implements RedisSerializer<T> {
+
+    static final byte MAGIC = (byte) 0xC5;
+
+    private static final int HEADER_LENGTH = 2;
+
+    private final ObjectWriter writer;
+    private final ObjectReader reader;
+    private final byte schemaVersion;
+
+    public VersionedCacheSerializer(ObjectMapper objectMapper, JavaType type, int schemaVersion) {
+        this.writer = objectMapper.writerFor(type);
+        this.reader = objectMapper.readerFor(type);
+        this.schemaVersion = (byte) schemaVersion;
+    }
+
+    @Override
+    public byte[] serialize(T value) throws SerializationException {
+
+        if (value == null) {
+            return new byte[0];
+        }
+
+        try {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            out.write(MAGIC);
+            out.write(schemaVersion);
+            writer.writeValue(out, value);
+            return out.toByteArray();
+        } catch (IOException e) {
+            throw new SerializationException("Could not write cache value", e);
+        }
+    }
+
+    @Override
+    public T deserialize(byte[] bytes) throws SerializationException {
+
+        if (bytes == null || bytes.length == 0) {
+            return null;
+        }
+
+        // Entries written by an older build (or by another serializer) are treated as a miss
+        // so the caller reloads from the database and overwrites them.
+        if (bytes.length <= HEADER_LENGTH || bytes[0] != MAGIC || bytes[1] != schemaVersion) {
+            log.debug("Ignoring cache entry with unknown header");
+            return null;
+        }
+
+        try {
+            return reader.readValue(bytes, HEADER_LENGTH, bytes.length - HEADER_LENGTH);
+        } catch (IOException e) {
+            log.warn("Could not read cache entry, treating as miss: {}", e.getMessage());
+            return null;
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package com.softuni.gms.app.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingStream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+// Streams JFR's jdk.VirtualThreadPinned events in-process so pinning hotspots (synchronized blocks
+// in drivers or clients that hold a carrier thread across blocking I/O) show up as a metric tagged
+// with the first application or library frame, plus a warning with the top of the stack.
+@Slf4j
+@Component
+@Profile("vthreads")
+public class VirtualThreadPinningMonitor {
+
+    static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+
+    private static final int LOGGED_FRAMES = 8;
+
+    private final MeterRegistry meterRegistry;
+    private final Duration threshold;
+    private RecordingStream stream;
+
+    @Autowired
+    public VirtualThreadPinningMonitor(MeterRegistry meterRegistry,
+                                       @Value("${gms.vthreads.pinned-threshold:20ms}") Duration threshold) {
+        this.meterRegistry = meterRegistry;
+        this.threshold = threshold;
+    }
+
+    @PostConstruct
+    public void start() {
+
+        if (Runtime.version().feature() < 21) {
+            log.warn("vthreads profile is active on JDK {}; virtual threads need JDK 21+, pinning monitor not started",
+                    Runtime.version().feature());
+            return;
+        }
+
+        stream = new RecordingStream();
+        stream.enable(PINNED_EVENT).withThreshold(threshold).withStackTrace();
+        stream.onEvent(PINNED_EVENT, this::record);
+        stream.startAsync();
+        log.info("Reporting virtual threads pinned for more than {}", threshold);
+    }
+
+    private void record(RecordedEvent event) {
+
+        String hotspot = hotspot(event.getStackTrace());
+        meterRegistry.counter("gms.vthreads.pinned", "frame", hotspot).increment();
+        meterRegistry.timer("gms.vthreads.pinned.duration").record(event.getDuration());
+        log.warn("Virtual thread pinned for {} ms at {}\n{}", event.getDuration().toMillis(), hotspot,
+                describe(event.getStackTrace()));
+    }
+
+    // The first frame outside java.*/jdk.*/sun.* is where the synchronized block or native call sits.
+    static String hotspot(RecordedStackTrace stackTrace) {
+
+        if (stackTrace == null) {
+            return "unknown";
+        }
+
+        for (RecordedFrame frame : stackTrace.getFrames()) {
+            String type = frame.getMethod().getType().getName();
+            if (!type.startsWith("java.") && !type.startsWith("jdk.") && !type.startsWith("sun.")) {
+                return type + "." + frame.getMethod().getName();
+            }
+        }
+
+        return "jdk";
+    }
+
+    private static String describe(RecordedStackTrace stackTrace) {
+
+        if (stackTrace == null) {
+            return "";
+        }
+
+        StringBuilder description = new StringBuilder();
+        stackTrace.getFrames().stream().limit(LOGGED_FRAMES).forEach(frame -> description.append("    at ")
+                .append(frame.getMethod().getType().getName()).append('.')
+                .append(frame.getMethod().getName()).append(':')
+                .append(frame.getLineNumber()).append('\n'));
+
+        return description.toString();
+    }
+
+    @PreDestroy
+    public void stop() {
+
+        if (stream != null) {
+            stream.close();
+        }
+    }
+}
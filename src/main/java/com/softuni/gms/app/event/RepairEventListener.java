@@ -1,25 +1,36 @@
 package com.softuni.gms.app.event;
 
-import com.softuni.gms.app.kafka.KafkaProducerService;
+import com.softuni.gms.app.outbox.service.OutboxService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Component;
 
+import java.util.List;
+
 import static com.softuni.gms.app.web.mapper.DtoMapper.mapRepairOrderForKafka;
 
 @Component
 public class RepairEventListener {
 
-    private final KafkaProducerService kafkaProducer;
+    private final OutboxService outboxService;
 
     @Autowired
-    public RepairEventListener(KafkaProducerService kafkaProducer) {
-        this.kafkaProducer = kafkaProducer;
+    public RepairEventListener(OutboxService outboxService) {
+        this.outboxService = outboxService;
     }
 
     @EventListener
     public void handleStatusChange(RepairStatusChangedEvent event) {
 
-        kafkaProducer.sendEvent(mapRepairOrderForKafka(event));
+        outboxService.enqueue(List.of(mapRepairOrderForKafka(event)));
+    }
+
+    @EventListener
+    public void handleBatchStatusChange(RepairStatusBatchChangedEvent event) {
+
+        outboxService.enqueue(event.getRepairOrders().stream()
+                .map(order -> mapRepairOrderForKafka(
+                        new RepairStatusChangedEvent(event.getSource(), order, event.getOldStatus(), event.getNewStatus())))
+                .toList());
     }
 }
@@ -5,6 +5,8 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Component;
 
+import java.util.List;
+
 @Component
 public class RepairEventPublisher {
 
@@ -19,4 +21,13 @@ public class RepairEventPublisher {
 
         eventPublisher.publishEvent(new RepairStatusChangedEvent(this, order, oldStatus, newStatus));
     }
+
+    public void publishRepairStatusesChanged(List<RepairOrder> orders, String oldStatus, String newStatus) {
+
+        if (orders.isEmpty()) {
+            return;
+        }
+
+        eventPublisher.publishEvent(new RepairStatusBatchChangedEvent(this, orders, oldStatus, newStatus));
+    }
 }
@@ -0,0 +1,22 @@
+package com.softuni.gms.app.event;
+
+import com.softuni.gms.app.repair.model.RepairOrder;
+import lombok.Getter;
+import org.springframework.context.ApplicationEvent;
+
+import java.util.List;
+
+@Getter
+public class RepairStatusBatchChangedEvent extends ApplicationEvent {
+
+    private final List<RepairOrder> repairOrders;
+    private final String oldStatus;
+    private final String newStatus;
+
+    public RepairStatusBatchChangedEvent(Object source, List<RepairOrder> repairOrders, String oldStatus, String newStatus) {
+        super(source);
+        this.repairOrders = List.copyOf(repairOrders);
+        this.oldStatus = oldStatus;
+        this.newStatus = newStatus;
+    }
+}
@@ -0,0 +1,53 @@
+package com.softuni.gms.app.invoice.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Entity
+@Table(name = "invoice_history", indexes = {
+        @Index(name = "idx_invoice_history_created", columnList = "createdAt, id"),
+        @Index(name = "idx_invoice_history_generated", columnList = "generatedAt")
+})
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class InvoiceHistoryEntry {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    private UUID id;
+
+    // Id of the invoice in the PDF service; unique so a re-delivered row is never stored twice.
+    @Column(nullable = false, unique = true)
+    private String remoteId;
+
+    @Column(nullable = false)
+    private UUID repairId;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+
+    private LocalDateTime completedAt;
+
+    @Column(nullable = false)
+    private LocalDateTime generatedAt;
+
+    private String customerFirstName;
+
+    private String customerLastName;
+
+    private String customerPhone;
+
+    private String mechanicFirstName;
+
+    private String mechanicLastName;
+
+    private String carBrand;
+
+    private String carModel;
+}
@@ -0,0 +1,36 @@
+package com.softuni.gms.app.invoice.repository;
+
+import com.softuni.gms.app.invoice.model.InvoiceHistoryEntry;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+
+@Repository
+public interface InvoiceHistoryEntryRepository extends JpaRepository<InvoiceHistoryEntry, UUID> {
+
+    @Query("SELECT MAX(e.generatedAt) FROM InvoiceHistoryEntry e")
+    Optional<LocalDateTime> findLatestGeneratedAt();
+
+    @Query("SELECT e.remoteId FROM InvoiceHistoryEntry e WHERE e.remoteId IN :remoteIds")
+    Set<String> findExistingRemoteIds(@Param("remoteIds") Collection<String> remoteIds);
+
+    List<InvoiceHistoryEntry> findAllByOrderByCreatedAtDescIdDesc(Limit limit);
+
+    @Query("""
+            SELECT e FROM InvoiceHistoryEntry e
+            WHERE e.createdAt < :createdAt OR (e.createdAt = :createdAt AND e.id < :id)
+            ORDER BY e.createdAt DESC, e.id DESC
+            """)
+    List<InvoiceHistoryEntry> findHistoryBefore(@Param("createdAt") LocalDateTime createdAt,
+                                                @Param("id") UUID id,
+                                                Limit limit);
+}
@@ -1,14 +1,17 @@
 package com.softuni.gms.app.kafka;
 
 import com.softuni.gms.app.shared.kafka.dto.RepairKafkaEventRequest;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.apache.kafka.clients.admin.NewTopic;
 import org.apache.kafka.clients.producer.ProducerConfig;
 import org.apache.kafka.common.serialization.StringSerializer;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.kafka.config.TopicBuilder;
 import org.springframework.kafka.core.DefaultKafkaProducerFactory;
 import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.core.MicrometerProducerListener;
 import org.springframework.kafka.core.ProducerFactory;
 import org.springframework.kafka.support.serializer.JsonSerializer;
 
@@ -20,6 +23,20 @@ public class KafkaConfig {
 
     private static final String BOOTSTRAP_SERVERS = "localhost:9092";
 
+    private final int lingerMs;
+    private final int batchSize;
+    private final MeterRegistry meterRegistry;
+
+    public KafkaConfig(@Value("${gms.kafka.producer.linger-ms:20}") int lingerMs,
+                       @Value("${gms.kafka.producer.batch-size:65536}") int batchSize,
+                       MeterRegistry meterRegistry) {
+        this.lingerMs = lingerMs;
+        this.batchSize = batchSize;
+        this.meterRegistry = meterRegistry;
+    }
+
+    // Only the outbox relay produces, so the producer is tuned for throughput: records are
+    // batched per partition and idempotence keeps retries from duplicating or reordering them.
     @Bean
     public ProducerFactory<String, RepairKafkaEventRequest> producerFactory() {
 
@@ -27,8 +44,17 @@ public class KafkaConfig {
         config.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, BOOTSTRAP_SERVERS);
         config.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
         config.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, JsonSerializer.class);
+        config.put(ProducerConfig.ENABLE_IDEMPOTENCE_CONFIG, true);
+        config.put(ProducerConfig.ACKS_CONFIG, "all");
+        config.put(ProducerConfig.MAX_IN_FLIGHT_REQUESTS_PER_CONNECTION, 5);
+        config.put(ProducerConfig.LINGER_MS_CONFIG, lingerMs);
+        config.put(ProducerConfig.BATCH_SIZE_CONFIG, batchSize);
+        config.put(ProducerConfig.COMPRESSION_TYPE_CONFIG, "lz4");
 
-        return new DefaultKafkaProducerFactory<>(config);
+        // The factory is built by hand, so the client metrics (batch size, record queue time, ...) are bound here.
+        DefaultKafkaProducerFactory<String, RepairKafkaEventRequest> factory = new DefaultKafkaProducerFactory<>(config);
+        factory.addListener(new MicrometerProducerListener<>(meterRegistry));
+        return factory;
     }
 
     @Bean
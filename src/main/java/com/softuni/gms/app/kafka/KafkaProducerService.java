@@ -1,21 +1,50 @@
 package com.softuni.gms.app.kafka;
 
 import com.softuni.gms.app.shared.kafka.dto.RepairKafkaEventRequest;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
 import org.springframework.stereotype.Service;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
 @Service
 public class KafkaProducerService {
 
-    private static final String TOPIC = "gms-events";
+    public static final String TOPIC = "gms-events";
 
     private final KafkaTemplate<String, RepairKafkaEventRequest> kafkaTemplate;
+    private final Timer sendSucceeded;
+    private final Timer sendFailed;
 
-    public KafkaProducerService(KafkaTemplate<String, RepairKafkaEventRequest> kafkaTemplate) {
+    public KafkaProducerService(KafkaTemplate<String, RepairKafkaEventRequest> kafkaTemplate, MeterRegistry meterRegistry) {
         this.kafkaTemplate = kafkaTemplate;
+        this.sendSucceeded = sendTimer(meterRegistry, "success");
+        this.sendFailed = sendTimer(meterRegistry, "failure");
+    }
+
+    private static Timer sendTimer(MeterRegistry meterRegistry, String result) {
+
+        return Timer.builder("gms.kafka.send")
+                .tag("topic", TOPIC)
+                .tag("result", result)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    // Measured from the send call to the broker ack, so linger and batching time are included.
+    public CompletableFuture<SendResult<String, RepairKafkaEventRequest>> send(String key, RepairKafkaEventRequest eventRequest) {
+
+        long start = System.nanoTime();
+        CompletableFuture<SendResult<String, RepairKafkaEventRequest>> future = kafkaTemplate.send(TOPIC, key, eventRequest);
+        future.whenComplete((result, error) ->
+                (error == null ? sendSucceeded : sendFailed).record(System.nanoTime() - start, TimeUnit.NANOSECONDS));
+        return future;
     }
 
-    public void sendEvent(RepairKafkaEventRequest eventRequest) {
-        kafkaTemplate.send(TOPIC, eventRequest);
+    public void flush() {
+        kafkaTemplate.flush();
     }
 }
@@ -0,0 +1,26 @@
+package com.softuni.gms.app.lock.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "scheduler_locks")
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SchedulerLock {
+
+    @Id
+    @Column(length = 64)
+    private String name;
+
+    @Column(nullable = false)
+    private String lockedBy;
+
+    @Column(nullable = false)
+    private LocalDateTime lockedUntil;
+}
@@ -0,0 +1,33 @@
+package com.softuni.gms.app.lock.repository;
+
+import com.softuni.gms.app.lock.model.SchedulerLock;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+@Repository
+public interface SchedulerLockRepository extends JpaRepository<SchedulerLock, String> {
+
+    // Renews the lock for its current holder or takes over an expired one. Returns 0 while another
+    // instance holds it.
+    @Transactional
+    @Modifying
+    @Query("""
+            UPDATE SchedulerLock l
+            SET l.lockedBy = :owner, l.lockedUntil = :until
+            WHERE l.name = :name AND (l.lockedBy = :owner OR l.lockedUntil <= :now)
+            """)
+    int acquire(@Param("name") String name, @Param("owner") String owner,
+                @Param("now") LocalDateTime now, @Param("until") LocalDateTime until);
+
+    // A plain insert rather than save(), which would merge over a row another instance just created.
+    @Transactional
+    @Modifying
+    @Query("INSERT INTO SchedulerLock (name, lockedBy, lockedUntil) VALUES (:name, :owner, :until)")
+    int create(@Param("name") String name, @Param("owner") String owner, @Param("until") LocalDateTime until);
+}
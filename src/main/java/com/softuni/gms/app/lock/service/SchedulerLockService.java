@@ -0,0 +1,43 @@
+package com.softuni.gms.app.lock.service;
+
+import com.softuni.gms.app.lock.repository.SchedulerLockRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+// Named leases in the shared database for scheduled jobs that must run on one instance at a time.
+@Service
+public class SchedulerLockService {
+
+    private final SchedulerLockRepository schedulerLockRepository;
+    private final String owner = UUID.randomUUID().toString();
+
+    @Autowired
+    public SchedulerLockService(SchedulerLockRepository schedulerLockRepository) {
+        this.schedulerLockRepository = schedulerLockRepository;
+    }
+
+    // Takes or renews the lock until now + duration. The row is created on first use; of two
+    // instances racing to create it, the one that loses the insert does not get the lock.
+    public boolean tryAcquire(String name, Duration duration) {
+
+        LocalDateTime now = LocalDateTime.now();
+        if (schedulerLockRepository.acquire(name, owner, now, now.plus(duration)) == 1) {
+            return true;
+        }
+
+        if (schedulerLockRepository.existsById(name)) {
+            return false;
+        }
+
+        try {
+            return schedulerLockRepository.create(name, owner, now.plus(duration)) == 1;
+        } catch (DataIntegrityViolationException e) {
+            return false;
+        }
+    }
+}
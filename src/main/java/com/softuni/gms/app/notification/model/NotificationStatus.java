@@ -0,0 +1,8 @@
+package com.softuni.gms.app.notification.model;
+
+public enum NotificationStatus {
+
+    PENDING,
+    SENT,
+    DEAD
+}
@@ -0,0 +1,77 @@
+package com.softuni.gms.app.notification.repository;
+
+import com.softuni.gms.app.notification.model.CompletionNotification;
+import com.softuni.gms.app.notification.model.NotificationStatus;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface CompletionNotificationRepository extends JpaRepository<CompletionNotification, UUID> {
+
+    List<CompletionNotification> findByStatusAndNextAttemptAtLessThanEqualOrderByNextAttemptAtAsc(NotificationStatus status,
+                                                                                                   LocalDateTime now,
+                                                                                                   Limit limit);
+
+    long countByStatus(NotificationStatus status);
+
+    // Pushes nextAttemptAt out to leaseUntil so that other pollers skip the row while it is being sent.
+    // Returns 0 when another worker leased it first.
+    @Transactional
+    @Modifying
+    @Query("""
+            UPDATE CompletionNotification n
+            SET n.nextAttemptAt = :leaseUntil
+            WHERE n.id = :id
+              AND n.status = com.softuni.gms.app.notification.model.NotificationStatus.PENDING
+              AND n.nextAttemptAt <= :now
+            """)
+    int lease(@Param("id") UUID id, @Param("now") LocalDateTime now, @Param("leaseUntil") LocalDateTime leaseUntil);
+
+    // The lease end a worker wrote is its fence: once the lease expires and another worker takes the
+    // row, nextAttemptAt no longer matches and these updates return 0.
+    @Transactional
+    @Modifying
+    @Query("""
+            UPDATE CompletionNotification n
+            SET n.nextAttemptAt = :leaseUntil
+            WHERE n.id = :id
+              AND n.status = com.softuni.gms.app.notification.model.NotificationStatus.PENDING
+              AND n.nextAttemptAt = :heldUntil
+            """)
+    int renewLease(@Param("id") UUID id, @Param("heldUntil") LocalDateTime heldUntil,
+                   @Param("leaseUntil") LocalDateTime leaseUntil);
+
+    @Transactional
+    @Modifying
+    @Query("""
+            UPDATE CompletionNotification n
+            SET n.status = :status, n.attempts = :attempts, n.lastError = :lastError,
+                n.nextAttemptAt = :nextAttemptAt, n.sentAt = :sentAt
+            WHERE n.id = :id
+              AND n.status = com.softuni.gms.app.notification.model.NotificationStatus.PENDING
+              AND n.nextAttemptAt = :heldUntil
+            """)
+    int recordOutcome(@Param("id") UUID id, @Param("heldUntil") LocalDateTime heldUntil,
+                      @Param("status") NotificationStatus status, @Param("attempts") int attempts,
+                      @Param("lastError") String lastError, @Param("nextAttemptAt") LocalDateTime nextAttemptAt,
+                      @Param("sentAt") LocalDateTime sentAt);
+
+    @Transactional
+    @Modifying
+    @Query("""
+            DELETE FROM CompletionNotification n
+            WHERE n.status IN (com.softuni.gms.app.notification.model.NotificationStatus.SENT,
+                               com.softuni.gms.app.notification.model.NotificationStatus.DEAD)
+              AND n.createdAt < :before
+            """)
+    int deleteFinishedBefore(@Param("before") LocalDateTime before);
+}
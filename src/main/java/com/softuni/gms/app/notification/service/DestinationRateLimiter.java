@@ -0,0 +1,10 @@
+package com.softuni.gms.app.notification.service;
+
+import java.time.Duration;
+
+// Allows at most one message per destination every per-destination-interval, across all instances.
+public interface DestinationRateLimiter {
+
+    // Returns Duration.ZERO when the caller may send now, otherwise how long it has to wait.
+    Duration tryAcquire(String destination);
+}
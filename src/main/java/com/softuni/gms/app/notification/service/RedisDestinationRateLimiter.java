@@ -0,0 +1,47 @@
+package com.softuni.gms.app.notification.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+
+@Component
+@Profile("!test")
+public class RedisDestinationRateLimiter implements DestinationRateLimiter {
+
+    static final String KEY_PREFIX = "gms:notification:destination:";
+
+    // The key lives for one interval after a send, so whichever instance sets it owns the slot and
+    // the others are told how long it has left.
+    static final RedisScript<Long> ACQUIRE_SCRIPT = RedisScript.of("""
+            if redis.call('SET', KEYS[1], '1', 'NX', 'PX', ARGV[1]) then
+                return 0
+            end
+            return redis.call('PTTL', KEYS[1])""", Long.class);
+
+    private final StringRedisTemplate redisTemplate;
+    private final Duration minInterval;
+
+    @Autowired
+    public RedisDestinationRateLimiter(StringRedisTemplate redisTemplate,
+                                       @Value("${gms.notification.per-destination-interval:2s}") Duration minInterval) {
+        this.redisTemplate = redisTemplate;
+        this.minInterval = minInterval;
+    }
+
+    @Override
+    public Duration tryAcquire(String destination) {
+
+        Long wait = redisTemplate.execute(ACQUIRE_SCRIPT, List.of(KEY_PREFIX + destination),
+                String.valueOf(minInterval.toMillis()));
+        if (wait == null || wait <= 0) {
+            return Duration.ZERO;
+        }
+        return Duration.ofMillis(wait);
+    }
+}
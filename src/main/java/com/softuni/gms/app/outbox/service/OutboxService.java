@@ -0,0 +1,63 @@
+package com.softuni.gms.app.outbox.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.softuni.gms.app.kafka.KafkaProducerService;
+import com.softuni.gms.app.outbox.model.OutboxEvent;
+import com.softuni.gms.app.outbox.repository.OutboxEventRepository;
+import com.softuni.gms.app.shared.kafka.dto.RepairKafkaEventRequest;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Service
+public class OutboxService {
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final ObjectMapper objectMapper;
+
+    @Autowired
+    public OutboxService(OutboxEventRepository outboxEventRepository, ObjectMapper objectMapper) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.objectMapper = objectMapper;
+    }
+
+    // Joins the caller's transaction, so the row commits or rolls back together with the status change.
+    @Transactional
+    public void enqueue(Collection<RepairKafkaEventRequest> events) {
+
+        LocalDateTime now = LocalDateTime.now();
+        List<OutboxEvent> rows = events.stream()
+                .map(event -> OutboxEvent.builder()
+                        .topic(KafkaProducerService.TOPIC)
+                        .messageKey(event.getRepairOrderId().toString())
+                        .payload(write(event))
+                        .createdAt(now)
+                        .build())
+                .toList();
+
+        outboxEventRepository.saveAll(rows);
+    }
+
+    public RepairKafkaEventRequest read(OutboxEvent event) {
+
+        try {
+            return objectMapper.readValue(event.getPayload(), RepairKafkaEventRequest.class);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not read outbox event " + event.getId(), e);
+        }
+    }
+
+    private String write(RepairKafkaEventRequest event) {
+
+        try {
+            return objectMapper.writeValueAsString(event);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not write outbox event for repair " + event.getRepairOrderId(), e);
+        }
+    }
+}
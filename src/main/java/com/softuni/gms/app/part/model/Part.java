@@ -12,7 +12,9 @@ import java.util.List;
 import java.util.UUID;
 
 @Entity
-@Table(name = "parts")
+@Table(name = "parts", indexes = {
+        @Index(name = "idx_parts_deleted_created", columnList = "isDeleted, createdAt, id")
+})
 @Getter
 @Setter
 @Builder
@@ -1,9 +1,13 @@
 package com.softuni.gms.app.part.repository;
 
 import com.softuni.gms.app.part.model.Part;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.UUID;
 
@@ -11,4 +15,14 @@ import java.util.UUID;
 public interface PartRepository extends JpaRepository<Part, UUID> {
 
     List<Part> findByIsDeletedFalse();
+
+    @Query("""
+            SELECT p FROM Part p
+            WHERE p.isDeleted = false
+              AND (:createdAt IS NULL OR p.createdAt < :createdAt OR (p.createdAt = :createdAt AND p.id < :id))
+            ORDER BY p.createdAt DESC, p.id DESC
+            """)
+    List<Part> findPage(@Param("createdAt") LocalDateTime createdAt,
+                        @Param("id") UUID id,
+                        Limit limit);
 }
@@ -4,22 +4,31 @@ import com.softuni.gms.app.aop.NoLog;
 import com.softuni.gms.app.exeption.NotFoundException;
 import com.softuni.gms.app.part.model.Part;
 import com.softuni.gms.app.part.repository.PartRepository;
+import com.softuni.gms.app.web.dto.KeysetPage;
+import com.softuni.gms.app.web.dto.PageCursor;
 import com.softuni.gms.app.web.dto.PartAddRequest;
 import com.softuni.gms.app.web.dto.PartEditRequest;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 import static com.softuni.gms.app.exeption.NotFoundExceptionMessages.PART_NOT_FOUND;
 
 @Service
 public class PartService {
 
+    static final int ADMIN_PAGE_SIZE = 25;
+
     private final PartRepository partRepository;
 
     @Autowired
@@ -32,6 +41,18 @@ public class PartService {
         return partRepository.findById(partId).orElseThrow(() -> new NotFoundException(PART_NOT_FOUND));
     }
 
+    public Map<UUID, Part> findPartsByIds(Set<UUID> partIds) {
+
+        Map<UUID, Part> parts = partRepository.findAllById(partIds).stream()
+                .collect(Collectors.toMap(Part::getId, Function.identity()));
+
+        if (parts.size() != partIds.size()) {
+            throw new NotFoundException(PART_NOT_FOUND);
+        }
+
+        return parts;
+    }
+
     @NoLog
     @Cacheable(value = "parts")
     public List<Part> findAllParts() {
@@ -39,6 +60,17 @@ public class PartService {
         return partRepository.findByIsDeletedFalse();
     }
 
+    @NoLog
+    public KeysetPage<Part> findPartsPage(PageCursor cursor) {
+
+        List<Part> parts = partRepository.findPage(
+                cursor == null ? null : cursor.getCreatedAt(),
+                cursor == null ? null : cursor.getId(),
+                Limit.of(ADMIN_PAGE_SIZE + 1));
+
+        return KeysetPage.of(parts, ADMIN_PAGE_SIZE, part -> new PageCursor(part.getCreatedAt(), part.getId()));
+    }
+
     @CacheEvict(value = "parts", allEntries = true)
     public void createPart(PartAddRequest partAddRequest) {
 
@@ -0,0 +1,127 @@
+package com.softuni.gms.app.repair.metrics;
+
+import com.softuni.gms.app.repair.model.RepairStatus;
+import com.softuni.gms.app.repair.model.RepairStatusCount;
+import com.softuni.gms.app.repair.repository.RepairOrderRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Kept outside the service packages so the tracing aspect does not wrap every recording call.
+// All meters are registered up front; the record methods only touch pre-built meters.
+@Slf4j
+@Component
+public class RepairOrderMetrics {
+
+    static final String TRANSITION = "gms.repair.transition";
+
+    private final RepairOrderRepository repairOrderRepository;
+    private final Map<RepairStatus, AtomicLong> statusCounts = new EnumMap<>(RepairStatus.class);
+    private final Counter created;
+    private final Timer pendingToAccepted;
+    private final Timer acceptedToCompleted;
+    private final Timer pendingToCanceled;
+    private final Timer acceptedToCanceled;
+    private final Counter pendingFromQueue;
+    private final Counter pendingFromDatabase;
+    private final DistributionSummary cleanupBatch;
+
+    @Autowired
+    public RepairOrderMetrics(RepairOrderRepository repairOrderRepository, MeterRegistry meterRegistry) {
+        this.repairOrderRepository = repairOrderRepository;
+        for (RepairStatus status : RepairStatus.values()) {
+            AtomicLong count = new AtomicLong();
+            statusCounts.put(status, count);
+            meterRegistry.gauge("gms.repair.orders", Tags.of("status", status.name()), count);
+        }
+        this.created = meterRegistry.counter("gms.repair.created");
+        this.pendingToAccepted = transition(meterRegistry, RepairStatus.PENDING, RepairStatus.ACCEPTED);
+        this.acceptedToCompleted = transition(meterRegistry, RepairStatus.ACCEPTED, RepairStatus.COMPLETED);
+        this.pendingToCanceled = transition(meterRegistry, RepairStatus.PENDING, RepairStatus.CANCELED);
+        this.acceptedToCanceled = transition(meterRegistry, RepairStatus.ACCEPTED, RepairStatus.CANCELED);
+        this.pendingFromQueue = meterRegistry.counter("gms.repair.pending.reads", "source", "queue");
+        this.pendingFromDatabase = meterRegistry.counter("gms.repair.pending.reads", "source", "database");
+        this.cleanupBatch = DistributionSummary.builder("gms.repair.cleanup.batch.size")
+                .baseUnit("orders")
+                .register(meterRegistry);
+    }
+
+    // Orders wait minutes to days between states, so the histogram buckets span that range.
+    private static Timer transition(MeterRegistry meterRegistry, RepairStatus from, RepairStatus to) {
+
+        return Timer.builder(TRANSITION)
+                .tag("from", from.name())
+                .tag("to", to.name())
+                .publishPercentileHistogram()
+                .minimumExpectedValue(Duration.ofSeconds(1))
+                .maximumExpectedValue(Duration.ofDays(7))
+                .register(meterRegistry);
+    }
+
+    public void recordCreated() {
+
+        created.increment();
+    }
+
+    public void recordAccepted(LocalDateTime createdAt, LocalDateTime acceptedAt) {
+
+        record(pendingToAccepted, createdAt, acceptedAt);
+    }
+
+    public void recordCompleted(LocalDateTime acceptedAt, LocalDateTime completedAt) {
+
+        record(acceptedToCompleted, acceptedAt, completedAt);
+    }
+
+    public void recordCanceled(RepairStatus from, LocalDateTime since, LocalDateTime canceledAt) {
+
+        record(from == RepairStatus.ACCEPTED ? acceptedToCanceled : pendingToCanceled, since, canceledAt);
+    }
+
+    public void recordPendingRead(boolean fromQueue) {
+
+        (fromQueue ? pendingFromQueue : pendingFromDatabase).increment();
+    }
+
+    public void recordCleanupBatch(int size) {
+
+        cleanupBatch.record(size);
+    }
+
+    private static void record(Timer timer, LocalDateTime from, LocalDateTime to) {
+
+        if (from == null || to == null) {
+            return;
+        }
+
+        timer.record(Math.max(0, ChronoUnit.MILLIS.between(from, to)), TimeUnit.MILLISECONDS);
+    }
+
+    // One grouped COUNT instead of a query per status on every scrape; statuses with no rows drop to 0.
+    @Scheduled(fixedDelayString = "${gms.metrics.status-refresh-interval-ms:30000}",
+            initialDelayString = "${gms.metrics.status-refresh-interval-ms:30000}")
+    public void refreshStatusCounts() {
+
+        Map<RepairStatus, Long> totals = new EnumMap<>(RepairStatus.class);
+        for (RepairStatusCount count : repairOrderRepository.countByStatus()) {
+            totals.put(count.status(), count.total());
+        }
+
+        statusCounts.forEach((status, count) -> count.set(totals.getOrDefault(status, 0L)));
+        log.debug("Refreshed repair order status counts: {}", totals);
+    }
+}
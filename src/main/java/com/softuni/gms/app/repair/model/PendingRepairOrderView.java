@@ -0,0 +1,43 @@
+package com.softuni.gms.app.repair.model;
+
+import com.softuni.gms.app.car.model.Car;
+import com.softuni.gms.app.user.model.User;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+public record PendingRepairOrderView(
+        UUID id,
+        String carBrand,
+        String carModel,
+        String plateNumber,
+        String vin,
+        String pictureUrl,
+        String customerFirstName,
+        String customerLastName,
+        String customerPhoneNumber,
+        String problemDescription,
+        RepairStatus status,
+        LocalDateTime createdAt
+) {
+
+    public static PendingRepairOrderView of(RepairOrder repairOrder) {
+
+        Car car = repairOrder.getCar();
+        User customer = repairOrder.getUser();
+
+        return new PendingRepairOrderView(
+                repairOrder.getId(),
+                car.getBrand(),
+                car.getModel(),
+                car.getPlateNumber(),
+                car.getVin(),
+                car.getPictureUrl(),
+                customer.getFirstName(),
+                customer.getLastName(),
+                customer.getPhoneNumber(),
+                repairOrder.getProblemDescription(),
+                repairOrder.getStatus(),
+                repairOrder.getCreatedAt());
+    }
+}
@@ -2,9 +2,11 @@ package com.softuni.gms.app.repair.model;
 
 import com.fasterxml.jackson.annotation.JsonManagedReference;
 import com.softuni.gms.app.car.model.Car;
+import com.softuni.gms.app.shared.id.TimeOrderedUuidGenerator;
 import com.softuni.gms.app.user.model.User;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.UuidGenerator;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
@@ -13,7 +15,14 @@ import java.util.List;
 import java.util.UUID;
 
 @Entity
-@Table(name = "repair_orders")
+@Table(name = "repair_orders", indexes = {
+        @Index(name = "idx_repair_orders_created", columnList = "createdAt, id"),
+        @Index(name = "idx_repair_orders_status_deleted_created", columnList = "status, isDeleted, createdAt, id"),
+        @Index(name = "idx_repair_orders_mechanic_status_accepted", columnList = "mechanic_id, status, acceptedAt"),
+        @Index(name = "idx_repair_orders_status_invoice", columnList = "status, invoiceGenerated"),
+        @Index(name = "idx_repair_orders_user_created", columnList = "user_id, isDeleted, createdAt, id"),
+        @Index(name = "idx_repair_orders_car_status_created", columnList = "car_id, status, createdAt")
+})
 @Getter
 @Setter
 @Builder
@@ -21,10 +30,15 @@ import java.util.UUID;
 @AllArgsConstructor
 public class RepairOrder {
 
+    // Time-ordered so new orders append to the clustered index instead of splitting random pages.
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @UuidGenerator(algorithm = TimeOrderedUuidGenerator.class)
     private UUID id;
 
+    @Version
+    @Column(nullable = false)
+    private long version;
+
     @ManyToOne(optional = false)
     private Car car;
 
@@ -50,6 +64,15 @@ public class RepairOrder {
 
     private BigDecimal price;
 
+    // Maintained with every used-part insert and price change, so totals never need the usedParts graph.
+    @Column(nullable = false)
+    @Builder.Default
+    private BigDecimal partsTotal = BigDecimal.ZERO;
+
+    @Column(nullable = false)
+    @Builder.Default
+    private BigDecimal grandTotal = BigDecimal.ZERO;
+
     @OneToMany(mappedBy = "repairOrder", orphanRemoval = true)
     @JsonManagedReference
     private List<UsedPart> usedParts = new ArrayList<>();
@@ -0,0 +1,4 @@
+package com.softuni.gms.app.repair.model;
+
+public record RepairStatusCount(RepairStatus status, long total) {
+}
@@ -2,8 +2,10 @@ package com.softuni.gms.app.repair.model;
 
 import com.fasterxml.jackson.annotation.JsonBackReference;
 import com.softuni.gms.app.part.model.Part;
+import com.softuni.gms.app.shared.id.TimeOrderedUuidGenerator;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.UuidGenerator;
 
 import java.math.BigDecimal;
 import java.util.UUID;
@@ -18,7 +20,7 @@ import java.util.UUID;
 public class UsedPart {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @UuidGenerator(algorithm = TimeOrderedUuidGenerator.class)
     private UUID id;
 
     @ManyToOne(optional = false)
@@ -1,14 +1,24 @@
 package com.softuni.gms.app.repair.repository;
 
 import com.softuni.gms.app.car.model.Car;
+import com.softuni.gms.app.repair.model.PendingRepairOrderView;
 import com.softuni.gms.app.repair.model.RepairOrder;
 import com.softuni.gms.app.repair.model.RepairStatus;
+import com.softuni.gms.app.repair.model.RepairStatusCount;
 import com.softuni.gms.app.user.model.User;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -20,12 +30,151 @@ public interface RepairOrderRepository extends JpaRepository<RepairOrder, UUID>
 
     List<RepairOrder> findByStatusAndIsDeletedFalseOrderByCreatedAtDesc(RepairStatus status);
 
+    @Query("""
+            SELECT new com.softuni.gms.app.repair.model.PendingRepairOrderView(
+                r.id, c.brand, c.model, c.plateNumber, c.vin, c.pictureUrl,
+                u.firstName, u.lastName, u.phoneNumber, r.problemDescription, r.status, r.createdAt)
+            FROM RepairOrder r
+            JOIN r.car c
+            JOIN r.user u
+            WHERE r.status = :status AND r.isDeleted = false
+            ORDER BY r.createdAt DESC
+            """)
+    List<PendingRepairOrderView> findViewsByStatus(@Param("status") RepairStatus status);
+
+    @Query("""
+            SELECT new com.softuni.gms.app.repair.model.RepairStatusCount(r.status, COUNT(r))
+            FROM RepairOrder r
+            WHERE r.isDeleted = false
+            GROUP BY r.status
+            """)
+    List<RepairStatusCount> countByStatus();
+
+    long countByStatusInAndIsDeletedFalse(Collection<RepairStatus> statuses);
+
+    long countByStatusInAndIsDeletedFalseAndCreatedAtGreaterThanEqual(Collection<RepairStatus> statuses,
+                                                                     LocalDateTime since);
+
     Optional<RepairOrder> findFirstByStatusAndMechanicAndIsDeletedFalseOrderByAcceptedAtDesc(RepairStatus status, User mechanic);
 
+    // Returns 1 when this caller won the order and 0 when it was no longer PENDING.
+    @Transactional
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("""
+            UPDATE RepairOrder r
+            SET r.status = com.softuni.gms.app.repair.model.RepairStatus.ACCEPTED,
+                r.mechanic = :mechanic,
+                r.acceptedAt = :acceptedAt,
+                r.updatedAt = :acceptedAt,
+                r.version = r.version + 1
+            WHERE r.id = :id
+              AND r.status = com.softuni.gms.app.repair.model.RepairStatus.PENDING
+              AND r.isDeleted = false
+            """)
+    int claimPendingOrder(@Param("id") UUID id,
+                          @Param("mechanic") User mechanic,
+                          @Param("acceptedAt") LocalDateTime acceptedAt);
+
+    // The invoice backlog is paged by id first and the invoice graph is loaded per page, so the
+    // usedParts fetch is never paginated in memory.
+    @Query("""
+            SELECT r.id FROM RepairOrder r
+            WHERE r.status = :status AND r.invoiceGenerated = false
+            ORDER BY r.id
+            """)
+    List<UUID> findInvoiceBacklogIds(@Param("status") RepairStatus status, Limit limit);
+
+    @Query("""
+            SELECT r.id FROM RepairOrder r
+            WHERE r.status = :status AND r.invoiceGenerated = false AND r.id > :id
+            ORDER BY r.id
+            """)
+    List<UUID> findInvoiceBacklogIdsAfter(@Param("status") RepairStatus status, @Param("id") UUID id, Limit limit);
+
     @EntityGraph(attributePaths = {"usedParts", "usedParts.part", "car", "user", "mechanic"})
-    List<RepairOrder> findAllByStatusAndInvoiceGeneratedFalse(RepairStatus status);
+    List<RepairOrder> findAllByIdIn(Collection<UUID> ids);
+
+    long countByStatusAndInvoiceGeneratedFalse(RepairStatus status);
+
+    @Transactional
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("""
+            UPDATE RepairOrder r
+            SET r.invoiceGenerated = true, r.version = r.version + 1
+            WHERE r.id IN :ids AND r.invoiceGenerated = false
+            """)
+    int markInvoicesGenerated(@Param("ids") Collection<UUID> ids);
+
+    @EntityGraph(attributePaths = {"car", "user"})
+    List<RepairOrder> findByStatusAndIsDeletedFalseAndCreatedAtBeforeOrderByCreatedAtAscIdAsc(RepairStatus status,
+                                                                                           LocalDateTime date,
+                                                                                           Limit limit);
+
+    @EntityGraph(attributePaths = {"car", "user"})
+    @Query("""
+            SELECT r FROM RepairOrder r
+            WHERE r.status = :status AND r.isDeleted = false AND r.createdAt < :before
+              AND (r.createdAt > :createdAt OR (r.createdAt = :createdAt AND r.id > :id))
+            ORDER BY r.createdAt ASC, r.id ASC
+            """)
+    List<RepairOrder> findByStatusCreatedBeforeAfterCursor(@Param("status") RepairStatus status,
+                                                           @Param("before") LocalDateTime before,
+                                                           @Param("createdAt") LocalDateTime createdAt,
+                                                           @Param("id") UUID id,
+                                                           Limit limit);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("""
+            SELECT r.id FROM RepairOrder r
+            WHERE r.id IN :ids AND r.status = :status AND r.isDeleted = false
+            """)
+    List<UUID> lockIdsByStatus(@Param("ids") Collection<UUID> ids, @Param("status") RepairStatus status);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("""
+            UPDATE RepairOrder r
+            SET r.status = com.softuni.gms.app.repair.model.RepairStatus.CANCELED,
+                r.updatedAt = :updatedAt,
+                r.version = r.version + 1
+            WHERE r.id IN :ids
+              AND r.status = com.softuni.gms.app.repair.model.RepairStatus.PENDING
+            """)
+    int cancelPendingOrders(@Param("ids") Collection<UUID> ids, @Param("updatedAt") LocalDateTime updatedAt);
+
+    // Filters and the cursor are optional; a null parameter disables its condition. The cursor is
+    // (createdAt, id) of the last row on the previous page, so every page is one index range scan.
+    @EntityGraph(attributePaths = {"car", "user", "mechanic"})
+    @Query("""
+            SELECT r FROM RepairOrder r
+            WHERE r.isDeleted = false
+              AND (:status IS NULL OR r.status = :status)
+              AND (:from IS NULL OR r.createdAt >= :from)
+              AND (:to IS NULL OR r.createdAt < :to)
+              AND (:createdAt IS NULL OR r.createdAt < :createdAt OR (r.createdAt = :createdAt AND r.id < :id))
+            ORDER BY r.createdAt DESC, r.id DESC
+            """)
+    List<RepairOrder> findAdminPage(@Param("status") RepairStatus status,
+                                    @Param("from") LocalDateTime from,
+                                    @Param("to") LocalDateTime to,
+                                    @Param("createdAt") LocalDateTime createdAt,
+                                    @Param("id") UUID id,
+                                    Limit limit);
+
+    @EntityGraph(attributePaths = {"car", "mechanic"})
+    List<RepairOrder> findByUserIdAndStatusInAndIsDeletedFalseOrderByCreatedAtDesc(UUID userId, List<RepairStatus> statuses);
 
-    List<RepairOrder> findByStatusAndIsDeletedFalseAndCreatedAtBefore(RepairStatus status, LocalDateTime date);
+    @EntityGraph(attributePaths = {"car", "mechanic"})
+    List<RepairOrder> findByUserIdAndIsDeletedFalseOrderByCreatedAtDescIdDesc(UUID userId, Limit limit);
 
-    List<RepairOrder> findByIsDeletedFalseOrderByCreatedAtDesc();
+    @EntityGraph(attributePaths = {"car", "mechanic"})
+    @Query("""
+            SELECT r FROM RepairOrder r
+            WHERE r.user.id = :userId AND r.isDeleted = false
+              AND (r.createdAt < :createdAt OR (r.createdAt = :createdAt AND r.id < :id))
+            ORDER BY r.createdAt DESC, r.id DESC
+            """)
+    List<RepairOrder> findUserOrdersBefore(@Param("userId") UUID userId,
+                                           @Param("createdAt") LocalDateTime createdAt,
+                                           @Param("id") UUID id,
+                                           Limit limit);
 }
@@ -0,0 +1,29 @@
+package com.softuni.gms.app.repair.service;
+
+import com.softuni.gms.app.repair.model.PendingRepairOrderView;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+public interface PendingRepairQueue {
+
+    // False once the queue is due for a rebuild from the database.
+    boolean isInitialized();
+
+    // Rebuilds from the loader unless another caller is already doing so. Returns false only when
+    // the queue has never been built, in which case the caller has to read the database itself.
+    boolean rebuild(Supplier<List<PendingRepairOrderView>> loader);
+
+    void add(PendingRepairOrderView order);
+
+    void remove(UUID repairOrderId);
+
+    void removeAll(Collection<UUID> repairOrderIds);
+
+    // Newest first; a negative limit returns everything from offset on.
+    List<PendingRepairOrderView> range(long offset, long limit);
+
+    long size();
+}
@@ -0,0 +1,267 @@
+package com.softuni.gms.app.repair.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.softuni.gms.app.repair.model.PendingRepairOrderView;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisOperations;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+@Slf4j
+@Component
+@Profile("!test")
+public class RedisPendingRepairQueue implements PendingRepairQueue {
+
+    static final String INDEX_KEY = "gms:pending-repairs:index";
+    static final String ORDERS_KEY = "gms:pending-repairs:orders";
+    static final String READY_KEY = "gms:pending-repairs:ready";
+    static final String BUILT_KEY = "gms:pending-repairs:built";
+    static final String LOCK_KEY = "gms:pending-repairs:rebuild-lock";
+    static final String ADDED_KEY = "gms:pending-repairs:journal:added";
+    static final String REMOVED_KEY = "gms:pending-repairs:journal:removed";
+
+    // Every add and remove is stamped with the Redis clock in a journal, so a rebuild can replay
+    // whatever changed after it started reading the database.
+    static final RedisScript<Long> ADD_SCRIPT = RedisScript.of("""
+            local time = redis.call('TIME')
+            redis.call('HSET', KEYS[2], ARGV[1], ARGV[3])
+            redis.call('ZADD', KEYS[1], ARGV[2], ARGV[1])
+            redis.call('ZADD', KEYS[3], time[1] * 1000 + math.floor(time[2] / 1000), ARGV[1])
+            return 1""", Long.class);
+
+    static final RedisScript<Long> REMOVE_SCRIPT = RedisScript.of("""
+            local time = redis.call('TIME')
+            local now = time[1] * 1000 + math.floor(time[2] / 1000)
+            for _, id in ipairs(ARGV) do
+                redis.call('ZREM', KEYS[1], id)
+                redis.call('HDEL', KEYS[2], id)
+                redis.call('ZADD', KEYS[3], now, id)
+            end
+            return #ARGV""", Long.class);
+
+    // Replays the journal since the snapshot onto the rebuilt keys and renames them into place.
+    // A rebuild whose lock expired meanwhile loses, so a slow snapshot never overwrites a newer one.
+    static final RedisScript<Long> SWAP_SCRIPT = RedisScript.of("""
+            if redis.call('GET', KEYS[9]) ~= ARGV[3] then
+                return 0
+            end
+            for _, id in ipairs(redis.call('ZRANGEBYSCORE', KEYS[5], ARGV[1], '+inf')) do
+                local value = redis.call('HGET', KEYS[4], id)
+                local score = redis.call('ZSCORE', KEYS[3], id)
+                if value and score then
+                    redis.call('HSET', KEYS[2], id, value)
+                    redis.call('ZADD', KEYS[1], score, id)
+                end
+            end
+            for _, id in ipairs(redis.call('ZRANGEBYSCORE', KEYS[6], ARGV[1], '+inf')) do
+                redis.call('ZREM', KEYS[1], id)
+                redis.call('HDEL', KEYS[2], id)
+            end
+            if redis.call('EXISTS', KEYS[1]) == 1 then
+                redis.call('RENAME', KEYS[1], KEYS[3])
+                redis.call('PERSIST', KEYS[3])
+                redis.call('RENAME', KEYS[2], KEYS[4])
+                redis.call('PERSIST', KEYS[4])
+            else
+                redis.call('DEL', KEYS[3], KEYS[4], KEYS[2])
+            end
+            redis.call('ZREMRANGEBYSCORE', KEYS[5], '-inf', '(' .. ARGV[1])
+            redis.call('ZREMRANGEBYSCORE', KEYS[6], '-inf', '(' .. ARGV[1])
+            redis.call('SET', KEYS[7], '1', 'EX', ARGV[2])
+            redis.call('SET', KEYS[8], '1')
+            return 1""", Long.class);
+
+    static final RedisScript<Long> UNLOCK_SCRIPT = RedisScript.of("""
+            if redis.call('GET', KEYS[1]) == ARGV[1] then
+                return redis.call('DEL', KEYS[1])
+            end
+            return 0""", Long.class);
+
+    private final StringRedisTemplate redisTemplate;
+    private final ObjectMapper objectMapper;
+    private final Duration rebuildInterval;
+    private final Duration lockTimeout;
+
+    @Autowired
+    public RedisPendingRepairQueue(StringRedisTemplate redisTemplate,
+                                   @Value("${gms.repair.pending-queue.rebuild-interval:1h}") Duration rebuildInterval,
+                                   @Value("${gms.repair.pending-queue.rebuild-lock-timeout:30s}") Duration lockTimeout) {
+        this.redisTemplate = redisTemplate;
+        this.rebuildInterval = rebuildInterval;
+        this.lockTimeout = lockTimeout;
+        this.objectMapper = new ObjectMapper()
+                .registerModule(new JavaTimeModule())
+                .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+    }
+
+    // The ready marker expires after rebuildInterval, so any drift between the queue and the
+    // database is bounded: after expiry one caller rebuilds while the others keep reading.
+    @Override
+    public boolean isInitialized() {
+
+        return Boolean.TRUE.equals(redisTemplate.hasKey(READY_KEY));
+    }
+
+    @Override
+    public boolean rebuild(Supplier<List<PendingRepairOrderView>> loader) {
+
+        String token = UUID.randomUUID().toString();
+        if (!Boolean.TRUE.equals(redisTemplate.opsForValue().setIfAbsent(LOCK_KEY, token, lockTimeout))) {
+            return Boolean.TRUE.equals(redisTemplate.hasKey(BUILT_KEY));
+        }
+
+        try {
+            Long since = redisTemplate.execute((RedisCallback<Long>) connection -> connection.serverCommands().time());
+            List<PendingRepairOrderView> orders = loader.get();
+
+            String index = INDEX_KEY + ":rebuild:" + token;
+            String values = ORDERS_KEY + ":rebuild:" + token;
+            writeSnapshot(index, values, orders);
+
+            Long swapped = redisTemplate.execute(SWAP_SCRIPT,
+                    List.of(index, values, INDEX_KEY, ORDERS_KEY, ADDED_KEY, REMOVED_KEY, READY_KEY, BUILT_KEY, LOCK_KEY),
+                    String.valueOf(since), String.valueOf(rebuildInterval.toSeconds()), token);
+
+            if (Long.valueOf(1).equals(swapped)) {
+                log.info("Rebuilt pending repair queue with {} orders", orders.size());
+            } else {
+                log.warn("Discarded pending repair queue rebuild: lock expired after {}", lockTimeout);
+                redisTemplate.delete(List.of(index, values));
+            }
+            return true;
+        } finally {
+            redisTemplate.execute(UNLOCK_SCRIPT, List.of(LOCK_KEY), token);
+        }
+    }
+
+    @Override
+    public void add(PendingRepairOrderView order) {
+
+        String id = order.id().toString();
+
+        redisTemplate.execute(ADD_SCRIPT, List.of(INDEX_KEY, ORDERS_KEY, ADDED_KEY),
+                id, String.valueOf(score(order)), write(order));
+    }
+
+    @Override
+    public void remove(UUID repairOrderId) {
+
+        removeAll(List.of(repairOrderId));
+    }
+
+    @Override
+    public void removeAll(Collection<UUID> repairOrderIds) {
+
+        if (repairOrderIds.isEmpty()) {
+            return;
+        }
+
+        Object[] ids = repairOrderIds.stream().map(UUID::toString).toArray();
+
+        redisTemplate.execute(REMOVE_SCRIPT, List.of(INDEX_KEY, ORDERS_KEY, REMOVED_KEY), ids);
+    }
+
+    @Override
+    public List<PendingRepairOrderView> range(long offset, long limit) {
+
+        long end = limit < 0 ? -1 : offset + limit - 1;
+        Set<String> ids = redisTemplate.opsForZSet().reverseRange(INDEX_KEY, offset, end);
+        if (ids == null || ids.isEmpty()) {
+            return List.of();
+        }
+
+        List<Object> keys = new ArrayList<>(ids);
+        List<Object> values = redisTemplate.opsForHash().multiGet(ORDERS_KEY, keys);
+
+        return values.stream()
+                .filter(Objects::nonNull)
+                .map(value -> read((String) value))
+                .filter(Objects::nonNull)
+                .toList();
+    }
+
+    @Override
+    public long size() {
+
+        Long size = redisTemplate.opsForZSet().zCard(INDEX_KEY);
+        return size == null ? 0 : size;
+    }
+
+    // The temporary keys expire with the lock, so an abandoned rebuild cleans up after itself.
+    private void writeSnapshot(String index, String values, List<PendingRepairOrderView> orders) {
+
+        if (orders.isEmpty()) {
+            return;
+        }
+
+        Set<ZSetOperations.TypedTuple<String>> tuples = new HashSet<>();
+        Map<String, String> entries = new LinkedHashMap<>();
+        for (PendingRepairOrderView order : orders) {
+            String id = order.id().toString();
+            tuples.add(ZSetOperations.TypedTuple.of(id, score(order)));
+            entries.put(id, write(order));
+        }
+
+        redisTemplate.execute(new SessionCallback<List<Object>>() {
+            @Override
+            @SuppressWarnings("unchecked")
+            public List<Object> execute(RedisOperations operations) throws DataAccessException {
+
+                operations.multi();
+                operations.opsForZSet().add(index, tuples);
+                operations.opsForHash().putAll(values, entries);
+                operations.expire(index, lockTimeout);
+                operations.expire(values, lockTimeout);
+                return operations.exec();
+            }
+        });
+    }
+
+    private static double score(PendingRepairOrderView order) {
+
+        return order.createdAt().toInstant(ZoneOffset.UTC).toEpochMilli();
+    }
+
+    private String write(PendingRepairOrderView order) {
+
+        try {
+            return objectMapper.writeValueAsString(order);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not write pending repair order " + order.id(), e);
+        }
+    }
+
+    private PendingRepairOrderView read(String value) {
+
+        try {
+            return objectMapper.readValue(value, PendingRepairOrderView.class);
+        } catch (JsonProcessingException e) {
+            log.warn("Skipping unreadable pending repair entry: {}", e.getMessage());
+            return null;
+        }
+    }
+}
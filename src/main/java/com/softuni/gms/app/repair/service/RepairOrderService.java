@@ -1,35 +1,46 @@
 package com.softuni.gms.app.repair.service;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.softuni.gms.app.aop.NoLog;
 import com.softuni.gms.app.car.model.Car;
 import com.softuni.gms.app.car.service.CarService;
+import com.softuni.gms.app.client.RepairCompletionNotificationService;
 import com.softuni.gms.app.event.RepairEventPublisher;
 import com.softuni.gms.app.exeption.CarOwnershipException;
 import com.softuni.gms.app.exeption.NotFoundException;
 import com.softuni.gms.app.part.model.Part;
 import com.softuni.gms.app.part.service.PartService;
+import com.softuni.gms.app.repair.metrics.RepairOrderMetrics;
+import com.softuni.gms.app.repair.model.PendingRepairOrderView;
 import com.softuni.gms.app.repair.model.RepairOrder;
 import com.softuni.gms.app.repair.model.RepairStatus;
 import com.softuni.gms.app.repair.repository.RepairOrderRepository;
 import com.softuni.gms.app.user.model.User;
+import com.softuni.gms.app.web.dto.KeysetPage;
+import com.softuni.gms.app.web.dto.PageCursor;
 import com.softuni.gms.app.web.dto.WorkOrderRequest;
+import com.softuni.gms.app.web.mapper.DtoMapper;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.cache.Cache;
-import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.CacheEvict;
-import org.springframework.cache.interceptor.SimpleKey;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.math.BigDecimal;
 import java.time.Duration;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
-import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 import java.util.UUID;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 import static com.softuni.gms.app.exeption.CarOwnershipExceptionMessages.*;
@@ -39,26 +50,33 @@ import static com.softuni.gms.app.exeption.NotFoundExceptionMessages.REPAIR_NOT_
 @Service
 public class RepairOrderService {
 
+    static final int ADMIN_PAGE_SIZE = 25;
+
+    private static final List<RepairStatus> ACTIVE_STATUSES = List.of(RepairStatus.PENDING, RepairStatus.ACCEPTED);
+
     private final RepairOrderRepository repairOrderRepository;
     private final CarService carService;
     private final PartService partService;
     private final UsedPartService usedPartService;
     private final RepairEventPublisher eventPublisher;
-    private final ObjectMapper objectMapper;
-    private final CacheManager cacheManager;
+    private final PendingRepairQueue pendingRepairQueue;
+    private final RepairOrderMetrics repairOrderMetrics;
+    private final RepairCompletionNotificationService repairNotificationService;
 
     @Autowired
     public RepairOrderService(RepairOrderRepository repairOrderRepository, CarService carService,
                               PartService partService, UsedPartService usedPartService,
-                              RepairEventPublisher eventPublisher, ObjectMapper objectMapper,
-                              CacheManager cacheManager) {
+                              RepairEventPublisher eventPublisher, PendingRepairQueue pendingRepairQueue,
+                              RepairOrderMetrics repairOrderMetrics,
+                              RepairCompletionNotificationService repairNotificationService) {
         this.repairOrderRepository = repairOrderRepository;
         this.carService = carService;
         this.partService = partService;
         this.usedPartService = usedPartService;
         this.eventPublisher = eventPublisher;
-        this.objectMapper = objectMapper;
-        this.cacheManager = cacheManager;
+        this.pendingRepairQueue = pendingRepairQueue;
+        this.repairOrderMetrics = repairOrderMetrics;
+        this.repairNotificationService = repairNotificationService;
     }
 
     @CacheEvict(value = {"acceptedRepairByMechanic"}, allEntries = true)
@@ -77,10 +95,12 @@ public class RepairOrderService {
                 .build();
 
         repairOrderRepository.save(repairOrder);
-        evictPendingRepairsCache();
+        afterCommit(() -> pendingRepairQueue.add(PendingRepairOrderView.of(repairOrder)));
+        repairOrderMetrics.recordCreated();
     }
 
     @CacheEvict(value = {"acceptedRepairByMechanic"}, allEntries = true)
+    @Transactional
     public void cancelRepairRequestByCarId(UUID carId, User user) {
 
         Car car = carService.findCarById(carId);
@@ -90,9 +110,8 @@ public class RepairOrderService {
             throw new CarOwnershipException(USER_DONT_OWN_CAR);
         }
 
-        List<RepairStatus> activeStatuses = Arrays.asList(RepairStatus.PENDING, RepairStatus.ACCEPTED);
         RepairOrder repairOrder = repairOrderRepository
-                .findFirstByCarAndStatusInOrderByCreatedAtDesc(car, activeStatuses)
+                .findFirstByCarAndStatusInOrderByCreatedAtDesc(car, ACTIVE_STATUSES)
                 .orElseThrow(() -> new NotFoundException("Active repair order not found"));
 
         if (!repairOrder.getUser().getId().equals(user.getId())) {
@@ -102,11 +121,12 @@ public class RepairOrderService {
 
         eventPublisher.publishRepairStatusChanged(repairOrder, repairOrder.getStatus().getDisplayName(), RepairStatus.USER_CANCELED.getDisplayName());
 
+        recordCanceled(repairOrder, LocalDateTime.now());
         repairOrder.setStatus(RepairStatus.USER_CANCELED);
         repairOrder.setUpdatedAt(LocalDateTime.now());
 
         repairOrderRepository.save(repairOrder);
-        evictPendingRepairsCache();
+        removeFromPendingQueue(repairOrder.getId());
     }
 
     @NoLog
@@ -130,34 +150,20 @@ public class RepairOrderService {
         repairOrder.setUpdatedAt(LocalDateTime.now());
 
         repairOrderRepository.save(repairOrder);
-        evictPendingRepairsCache();
+        removeFromPendingQueue(repairOrder.getId());
     }
 
     @NoLog
-    public List<RepairOrder> findPendingRepairOrders() {
-
-        Cache cache = cacheManager.getCache("pendingRepairs");
-        Object cacheKey = SimpleKey.EMPTY;
-
-        if (cache != null) {
-            Cache.ValueWrapper wrapper = cache.get(cacheKey);
-            if (wrapper != null) {
-                Object cachedValue = wrapper.get();
-                if (cachedValue instanceof List<?> cachedList) {
-
-                    return cachedList.stream()
-                            .map(this::ensureRepairOrderInstance)
-                            .distinct()
-                            .collect(Collectors.toList());
-                }
-            }
-        }
+    public List<PendingRepairOrderView> findPendingRepairOrders() {
+
+        boolean fresh = pendingRepairQueue.isInitialized();
+        repairOrderMetrics.recordPendingRead(fresh);
 
-        List<RepairOrder> orders = repairOrderRepository.findByStatusAndIsDeletedFalseOrderByCreatedAtDesc(RepairStatus.PENDING);
-        if (cache != null) {
-            cache.put(cacheKey, orders);
+        if (!fresh && !pendingRepairQueue.rebuild(() -> repairOrderRepository.findViewsByStatus(RepairStatus.PENDING))) {
+            return repairOrderRepository.findViewsByStatus(RepairStatus.PENDING);
         }
-        return orders;
+
+        return pendingRepairQueue.range(0, -1);
     }
 
     @NoLog
@@ -166,7 +172,20 @@ public class RepairOrderService {
         return repairOrderRepository.findByStatusAndIsDeletedFalseOrderByCreatedAtDesc(status);
     }
 
+    @NoLog
+    public long countActiveRepairOrders() {
+
+        return repairOrderRepository.countByStatusInAndIsDeletedFalse(ACTIVE_STATUSES);
+    }
+
+    @NoLog
+    public long countActiveRepairOrdersCreatedSince(LocalDateTime since) {
+
+        return repairOrderRepository.countByStatusInAndIsDeletedFalseAndCreatedAtGreaterThanEqual(ACTIVE_STATUSES, since);
+    }
+
     @CacheEvict(value = {"acceptedRepairByMechanic"}, allEntries = true)
+    @Transactional
     public void acceptRepairOrder(UUID repairOrderId, User mechanic) {
 
         RepairOrder repairOrder = findRepairOrderById(repairOrderId);
@@ -182,18 +201,22 @@ public class RepairOrderService {
             throw new IllegalStateException("Mechanic already has an accepted repair order");
         }
 
-        eventPublisher.publishRepairStatusChanged(repairOrder, repairOrder.getStatus().getDisplayName(), RepairStatus.ACCEPTED.getDisplayName());
+        LocalDateTime now = LocalDateTime.now();
+        if (repairOrderRepository.claimPendingOrder(repairOrderId, mechanic, now) == 0) {
+            log.info("acceptRepairOrder(): RepairOrder with id {} was claimed by another mechanic", repairOrderId);
+            throw new IllegalStateException("Repair order was already accepted by another mechanic");
+        }
 
-        repairOrder.setStatus(RepairStatus.ACCEPTED);
-        repairOrder.setMechanic(mechanic);
-        repairOrder.setAcceptedAt(LocalDateTime.now());
-        repairOrder.setUpdatedAt(LocalDateTime.now());
+        // The claim clears the persistence context, so the event is built from the order as committed.
+        RepairOrder accepted = findRepairOrderById(repairOrderId);
+        eventPublisher.publishRepairStatusChanged(accepted, RepairStatus.PENDING.getDisplayName(), accepted.getStatus().getDisplayName());
 
-        repairOrderRepository.save(repairOrder);
-        evictPendingRepairsCache();
+        removeFromPendingQueue(repairOrderId);
+        repairOrderMetrics.recordAccepted(accepted.getCreatedAt(), accepted.getAcceptedAt());
     }
 
-    @CacheEvict(value = {"pendingRepairs", "completedWithoutInvoice", "acceptedRepairByMechanic"}, allEntries = true)
+    @Transactional
+    @CacheEvict(value = {"completedWithoutInvoice", "acceptedRepairByMechanic"}, allEntries = true)
     public void completeRepairOrder(UUID repairOrderId, User mechanic) {
 
         RepairOrder repairOrder = findRepairOrderById(repairOrderId);
@@ -214,8 +237,19 @@ public class RepairOrderService {
 
         BigDecimal priceForWork = calculatePriceForWork(repairOrder, mechanic);
         repairOrder.setPrice(priceForWork);
+        updateGrandTotal(repairOrder);
 
         repairOrderRepository.save(repairOrder);
+        // Queued in the same transaction as the completion, so a committed order always has its notification.
+        repairNotificationService.enqueueCompletion(DtoMapper.maprepairordertorepaircompletitionrequest(repairOrder));
+        repairOrderMetrics.recordCompleted(repairOrder.getAcceptedAt(), repairOrder.getCompletedAt());
+    }
+
+    // The totals change together with the order row, so the @Version check covers concurrent updates.
+    private static void updateGrandTotal(RepairOrder repairOrder) {
+
+        BigDecimal labor = repairOrder.getPrice() != null ? repairOrder.getPrice() : BigDecimal.ZERO;
+        repairOrder.setGrandTotal(repairOrder.getPartsTotal().add(labor));
     }
 
     private BigDecimal calculatePriceForWork(RepairOrder repairOrder, User mechanic) {
@@ -238,6 +272,7 @@ public class RepairOrderService {
                 .orElse(null);
     }
 
+    @Transactional
     public void addWorkToRepairOrder(UUID repairOrderId, User mechanic, WorkOrderRequest workOrderRequest) {
 
         RepairOrder repairOrder = findRepairOrderById(repairOrderId);
@@ -253,10 +288,17 @@ public class RepairOrderService {
         }
 
         if (workOrderRequest.getParts() != null && !workOrderRequest.getParts().isEmpty()) {
+            // Repeated lines for the same part become one row; all parts are resolved in one query.
+            Map<UUID, Integer> quantities = new LinkedHashMap<>();
             for (WorkOrderRequest.PartUsageRequest partRequest : workOrderRequest.getParts()) {
-                Part part = partService.findPartById(partRequest.getPartId());
-                usedPartService.createUsedPart(repairOrder, part, partRequest.getQuantity());
+                quantities.merge(partRequest.getPartId(), partRequest.getQuantity(), Integer::sum);
             }
+
+            Map<UUID, Part> parts = partService.findPartsByIds(quantities.keySet());
+            BigDecimal added = usedPartService.createUsedParts(repairOrder, parts, quantities);
+
+            repairOrder.setPartsTotal(repairOrder.getPartsTotal().add(added));
+            updateGrandTotal(repairOrder);
         }
 
         repairOrder.setUpdatedAt(LocalDateTime.now());
@@ -269,23 +311,49 @@ public class RepairOrderService {
         return repairOrderRepository.findById(id).orElseThrow(() -> new NotFoundException(REPAIR_NOT_FOUND));
     }
 
+    // One keyset page of the invoice backlog in id order, with everything the invoice needs loaded.
     @NoLog
-    public List<RepairOrder> findAllCompletedWithoutInvoice() {
+    public List<RepairOrder> findCompletedWithoutInvoicePage(UUID afterId, int limit) {
+
+        List<UUID> ids = afterId == null
+                ? repairOrderRepository.findInvoiceBacklogIds(RepairStatus.COMPLETED, Limit.of(limit))
+                : repairOrderRepository.findInvoiceBacklogIdsAfter(RepairStatus.COMPLETED, afterId, Limit.of(limit));
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+
+        Map<UUID, RepairOrder> orders = repairOrderRepository.findAllByIdIn(ids).stream()
+                .collect(Collectors.toMap(RepairOrder::getId, Function.identity()));
 
-        List<RepairOrder> orders = repairOrderRepository.findAllByStatusAndInvoiceGeneratedFalse(RepairStatus.COMPLETED);
-        return orders.stream()
-                .map(this::ensureRepairOrderInstance)
-                .distinct()
-                .collect(Collectors.toList());
+        return ids.stream()
+                .map(orders::get)
+                .filter(Objects::nonNull)
+                .toList();
     }
 
     @NoLog
-    public List<RepairOrder> findAllRepairOrders() {
+    public long countCompletedWithoutInvoice() {
 
-        return repairOrderRepository.findByIsDeletedFalseOrderByCreatedAtDesc();
+        return repairOrderRepository.countByStatusAndInvoiceGeneratedFalse(RepairStatus.COMPLETED);
     }
 
-    @CacheEvict(value = {"pendingRepairs", "acceptedRepairByMechanic"}, allEntries = true)
+    // The date range is inclusive of both days: "to" covers the whole of that day.
+    @NoLog
+    public KeysetPage<RepairOrder> findRepairOrdersPage(RepairStatus status, LocalDate from, LocalDate to,
+                                                        PageCursor cursor) {
+
+        List<RepairOrder> orders = repairOrderRepository.findAdminPage(
+                status,
+                from == null ? null : from.atStartOfDay(),
+                to == null ? null : to.plusDays(1).atStartOfDay(),
+                cursor == null ? null : cursor.getCreatedAt(),
+                cursor == null ? null : cursor.getId(),
+                Limit.of(ADMIN_PAGE_SIZE + 1));
+
+        return KeysetPage.of(orders, ADMIN_PAGE_SIZE, order -> new PageCursor(order.getCreatedAt(), order.getId()));
+    }
+
+    @CacheEvict(value = {"acceptedRepairByMechanic"}, allEntries = true)
     @Transactional
     public void cancelRepairOrderByAdmin(UUID repairOrderId) {
 
@@ -305,69 +373,89 @@ public class RepairOrderService {
                 RepairStatus.CANCELED.getDisplayName()
         );
 
+        recordCanceled(repairOrder, LocalDateTime.now());
         repairOrder.setStatus(RepairStatus.CANCELED);
         repairOrder.setUpdatedAt(LocalDateTime.now());
         repairOrderRepository.save(repairOrder);
-        evictPendingRepairsCache();
+        removeFromPendingQueue(repairOrder.getId());
     }
 
-    public void changeStatusForGenerateInvoice(RepairOrder repairOrder) {
+    public int markInvoicesGenerated(Collection<UUID> repairOrderIds) {
 
-        repairOrder.setInvoiceGenerated(true);
-        repairOrderRepository.save(repairOrder);
+        if (repairOrderIds.isEmpty()) {
+            return 0;
+        }
+
+        return repairOrderRepository.markInvoicesGenerated(repairOrderIds);
     }
 
-    @CacheEvict(value = {"pendingRepairs", "acceptedRepairByMechanic"}, allEntries = true)
+    // Cancels one slice of stale PENDING orders in a single short transaction. Rows are locked first
+    // so that orders a mechanic claimed after the slice was read are left alone and get no event.
+    @CacheEvict(value = {"acceptedRepairByMechanic"}, allEntries = true)
     @Transactional
-    public void cancelOldPendingRepairOrder(RepairOrder repairOrder) {
+    public int cancelStalePendingOrders(List<RepairOrder> repairOrders) {
 
-        if (repairOrder.getStatus() != RepairStatus.PENDING) {
-            log.warn("cancelOldPendingRepairOrder(): RepairOrder with id {} is not PENDING, current status: {}",
-                    repairOrder.getId(), repairOrder.getStatus());
-            return;
+        if (repairOrders.isEmpty()) {
+            return 0;
         }
 
-        eventPublisher.publishRepairStatusChanged(
-                repairOrder,
-                repairOrder.getStatus().getDisplayName(),
+        List<UUID> ids = repairOrders.stream().map(RepairOrder::getId).toList();
+        Set<UUID> lockedIds = new HashSet<>(repairOrderRepository.lockIdsByStatus(ids, RepairStatus.PENDING));
+        if (lockedIds.isEmpty()) {
+            return 0;
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        repairOrderRepository.cancelPendingOrders(lockedIds, now);
+
+        List<RepairOrder> canceled = repairOrders.stream()
+                .filter(repairOrder -> lockedIds.contains(repairOrder.getId()))
+                .toList();
+
+        eventPublisher.publishRepairStatusesChanged(
+                canceled,
+                RepairStatus.PENDING.getDisplayName(),
                 RepairStatus.CANCELED.getDisplayName()
         );
 
-        LocalDateTime now = LocalDateTime.now();
-        repairOrder.setStatus(RepairStatus.CANCELED);
-        repairOrder.setUpdatedAt(now);
-        repairOrderRepository.save(repairOrder);
+        canceled.forEach(repairOrder -> {
+            recordCanceled(repairOrder, now);
+            repairOrder.setStatus(RepairStatus.CANCELED);
+            repairOrder.setUpdatedAt(now);
+        });
+
+        afterCommit(() -> pendingRepairQueue.removeAll(lockedIds));
 
-        evictPendingRepairsCache();
+        return canceled.size();
     }
 
-    private void evictPendingRepairsCache() {
+    // Must run before the status changes: the transition is timed from when the order entered its current state.
+    private void recordCanceled(RepairOrder repairOrder, LocalDateTime canceledAt) {
 
-        Cache cache = cacheManager.getCache("pendingRepairs");
-        if (cache != null) {
-            cache.clear();
-        }
+        LocalDateTime since = repairOrder.getStatus() == RepairStatus.ACCEPTED
+                ? repairOrder.getAcceptedAt()
+                : repairOrder.getCreatedAt();
+        repairOrderMetrics.recordCanceled(repairOrder.getStatus(), since, canceledAt);
     }
 
-    private RepairOrder ensureRepairOrderInstance(Object candidate) {
+    private void removeFromPendingQueue(UUID repairOrderId) {
 
-        if (candidate instanceof RepairOrder order) {
-            return order;
-        }
+        afterCommit(() -> pendingRepairQueue.remove(repairOrderId));
+    }
 
-        if (candidate instanceof Map<?, ?> map) {
-            return objectMapper.convertValue(map, RepairOrder.class);
-        }
+    // Queue updates must not run for a transaction that later rolls back.
+    private static void afterCommit(Runnable action) {
 
-        if (candidate instanceof String jsonString) {
-            try {
-                return objectMapper.readValue(jsonString, RepairOrder.class);
-            } catch (Exception e) {
-                log.error("Failed to deserialize RepairOrder from JSON string: {}", jsonString, e);
-                throw new IllegalStateException("Failed to deserialize cached RepairOrder from JSON string", e);
-            }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
         }
 
-        throw new IllegalStateException("Unexpected cached repair order type: " + candidate.getClass());
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
     }
 }
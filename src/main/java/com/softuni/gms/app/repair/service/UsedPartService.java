@@ -8,6 +8,9 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
 
 @Service
 public class UsedPartService {
@@ -19,17 +22,30 @@ public class UsedPartService {
         this.usedPartRepository = usedPartRepository;
     }
 
-    public void createUsedPart(RepairOrder repairOrder, Part part, int quantity) {
+    // Saved together so the inserts go out as one JDBC batch (hibernate.jdbc.batch_size).
+    // Returns the combined price of the new rows.
+    public BigDecimal createUsedParts(RepairOrder repairOrder, Map<UUID, Part> parts, Map<UUID, Integer> quantities) {
+
+        List<UsedPart> usedParts = quantities.entrySet().stream()
+                .map(entry -> usedPart(repairOrder, parts.get(entry.getKey()), entry.getValue()))
+                .toList();
+
+        usedPartRepository.saveAll(usedParts);
+
+        return usedParts.stream()
+                .map(UsedPart::getTotalPrice)
+                .reduce(BigDecimal.ZERO, BigDecimal::add);
+    }
+
+    private static UsedPart usedPart(RepairOrder repairOrder, Part part, int quantity) {
 
         BigDecimal totalPrice = part.getPrice().multiply(BigDecimal.valueOf(quantity));
 
-        UsedPart usedPart = UsedPart.builder()
+        return UsedPart.builder()
                 .repairOrder(repairOrder)
                 .part(part)
                 .quantity(quantity)
                 .totalPrice(totalPrice)
                 .build();
-
-        usedPartRepository.save(usedPart);
     }
 }
@@ -0,0 +1,57 @@
+package com.softuni.gms.app.scheduler;
+
+import com.softuni.gms.app.client.InvoiceHistoryService;
+import com.softuni.gms.app.exeption.MicroserviceDontRespondException;
+import com.softuni.gms.app.lock.service.SchedulerLockService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+
+@Slf4j
+@Service
+public class InvoiceHistorySyncScheduler {
+
+    static final String LOCK_NAME = "invoice-history-sync";
+
+    private final InvoiceHistoryService invoiceHistoryService;
+    private final SchedulerLockService schedulerLockService;
+    private final Duration lease;
+    private final Counter synced;
+    private final Counter failedRuns;
+
+    @Autowired
+    public InvoiceHistorySyncScheduler(InvoiceHistoryService invoiceHistoryService,
+                                       SchedulerLockService schedulerLockService, MeterRegistry meterRegistry,
+                                       @Value("${gms.invoice.history.sync-lease:5m}") Duration lease) {
+        this.invoiceHistoryService = invoiceHistoryService;
+        this.schedulerLockService = schedulerLockService;
+        this.lease = lease;
+        this.synced = meterRegistry.counter("gms.invoice.history.synced");
+        this.failedRuns = meterRegistry.counter("gms.invoice.history.sync.failures");
+    }
+
+    // The admin page reads only the local index, so an unavailable PDF service just delays new rows.
+    // Runs on one instance at a time: two syncs from the same watermark would insert the same remote
+    // ids, and the unique constraint would roll back the whole batch.
+    @Scheduled(fixedDelayString = "${gms.invoice.history.sync-interval-ms:60000}",
+            initialDelayString = "${gms.invoice.history.sync-initial-delay-ms:5000}")
+    public void sync() {
+
+        if (!schedulerLockService.tryAcquire(LOCK_NAME, lease)) {
+            return;
+        }
+
+        try {
+            synced.increment(invoiceHistoryService.syncHistory());
+        } catch (MicroserviceDontRespondException e) {
+            log.warn("Invoice history sync failed, keeping the current index: {}", e.getMessage());
+            failedRuns.increment();
+        }
+    }
+}
@@ -1,44 +1,234 @@
 package com.softuni.gms.app.scheduler;
 
 import com.softuni.gms.app.client.PdfService;
+import com.softuni.gms.app.lock.service.SchedulerLockService;
 import com.softuni.gms.app.repair.model.RepairOrder;
 import com.softuni.gms.app.repair.service.RepairOrderService;
+import com.softuni.gms.app.web.dto.InvoiceRequest;
 import com.softuni.gms.app.web.mapper.DtoMapper;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
 import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 
 @Slf4j
 @Service
 public class InvoiceScheduler {
 
+    static final String LOCK_NAME = "invoice-generation";
+
     private final RepairOrderService repairOrderService;
     private final PdfService pdfService;
+    private final SchedulerLockService schedulerLockService;
+    private final Duration lease;
+    private final int batchSize;
+    private final int maxInFlight;
+    private final ExecutorService executor;
+
+    private final AtomicBoolean running = new AtomicBoolean(false);
+    private final AtomicInteger backlog = new AtomicInteger();
+
+    private final Counter generated;
+    private final Counter failed;
+    private final Counter skippedRuns;
+    private final Timer runTimer;
 
     @Autowired
-    public InvoiceScheduler(RepairOrderService repairOrderService, PdfService pdfService) {
+    public InvoiceScheduler(RepairOrderService repairOrderService, PdfService pdfService,
+                            SchedulerLockService schedulerLockService, MeterRegistry meterRegistry,
+                            @Value("${gms.invoice.concurrency:4}") int concurrency,
+                            @Value("${gms.invoice.batch-size:50}") int batchSize,
+                            @Value("${gms.invoice.lease:5m}") Duration lease,
+                            @Value("${gms.clients.pdf.max-concurrent-calls:10}") int pdfConcurrentCalls) {
         this.repairOrderService = repairOrderService;
         this.pdfService = pdfService;
+        this.schedulerLockService = schedulerLockService;
+        this.lease = lease;
+        this.batchSize = batchSize;
+        // The batch shares the PDF bulkhead with admin downloads, which do not wait for a permit, so it
+        // takes at most half of it and a run never crowds out a download that misses the local store.
+        int workers = Math.max(1, Math.min(concurrency, pdfConcurrentCalls / 2));
+        if (workers < concurrency) {
+            log.warn("gms.invoice.concurrency={} exceeds half the PDF bulkhead ({}), using {}",
+                    concurrency, pdfConcurrentCalls, workers);
+        }
+        this.maxInFlight = workers * 2;
+        this.executor = Executors.newFixedThreadPool(workers, new CustomizableThreadFactory("invoice-"));
+
+        this.generated = meterRegistry.counter("gms.invoice.generated", "result", "success");
+        this.failed = meterRegistry.counter("gms.invoice.generated", "result", "failure");
+        this.skippedRuns = meterRegistry.counter("gms.invoice.runs.skipped");
+        this.runTimer = meterRegistry.timer("gms.invoice.run");
+        meterRegistry.gauge("gms.invoice.backlog", backlog);
     }
 
+    // One instance works the backlog at a time; otherwise every node pages the same uninvoiced orders
+    // and the PDF service renders each invoice once per node.
     @Scheduled(fixedRate = 60000)
     public void generateInvoice() {
 
-        List<RepairOrder> completedRepairOrders = repairOrderService.findAllCompletedWithoutInvoice();
-        if (completedRepairOrders.isEmpty()) {
+        if (!schedulerLockService.tryAcquire(LOCK_NAME, lease)) {
+            return;
+        }
+
+        if (!running.compareAndSet(false, true)) {
+            log.warn("Previous invoice run is still in progress, skipping this tick");
+            skippedRuns.increment();
+            return;
+        }
+
+        try {
+            runTimer.record(this::processBacklog);
+        } finally {
+            running.set(false);
+        }
+    }
+
+    // Pages through the backlog by id and keeps at most maxInFlight invoices queued or running, so
+    // memory stays flat however large the backlog grows. The lease is renewed before every page, so it
+    // only has to outlast one page (batch-size invoices at the PDF read timeout), not the whole pass.
+    private void processBacklog() {
+
+        backlog.set((int) Math.min(Integer.MAX_VALUE, repairOrderService.countCompletedWithoutInvoice()));
+        if (backlog.get() == 0) {
             log.info("No repair orders found");
+            return;
+        }
+
+        Deque<InvoiceTask> inFlight = new ArrayDeque<>(maxInFlight);
+        List<UUID> batch = new ArrayList<>(batchSize);
+        UUID cursor = null;
+        boolean rejected = false;
+
+        while (!rejected) {
+            if (cursor != null && !schedulerLockService.tryAcquire(LOCK_NAME, lease)) {
+                log.warn("Lost the invoice generation lease, leaving the rest of the backlog to its holder");
+                break;
+            }
+
+            List<RepairOrder> page = repairOrderService.findCompletedWithoutInvoicePage(cursor, batchSize);
+            for (RepairOrder repairOrder : page) {
+                if (inFlight.size() >= maxInFlight && complete(inFlight.poll(), batch) == Outcome.REJECTED) {
+                    rejected = true;
+                    break;
+                }
+
+                InvoiceRequest invoiceRequest = DtoMapper.mapRepairOrderToInvoiceRequest(repairOrder);
+                inFlight.add(new InvoiceTask(repairOrder.getId(),
+                        executor.submit(() -> pdfService.generateInvoice(invoiceRequest))));
+                cursor = repairOrder.getId();
+            }
+
+            if (page.size() < batchSize) {
+                break;
+            }
+        }
+
+        while (!inFlight.isEmpty()) {
+            if (complete(inFlight.poll(), batch) == Outcome.REJECTED) {
+                rejected = true;
+            }
+        }
+        flush(batch);
+
+        if (rejected) {
+            log.warn("PDF service is rejecting calls, leaving the rest of the backlog for a later run");
+        }
+    }
+
+    private Outcome complete(InvoiceTask task, List<UUID> batch) {
+
+        Outcome outcome = await(task);
+        backlog.updateAndGet(remaining -> Math.max(0, remaining - 1));
+        if (outcome != Outcome.GENERATED) {
+            return outcome;
+        }
+
+        generated.increment();
+        batch.add(task.repairOrderId());
+        if (batch.size() >= batchSize) {
+            flush(batch);
         }
+        return outcome;
+    }
+
+    // The PdfService already logs the failure with its cause, so only the order id is added here.
+    private Outcome await(InvoiceTask task) {
+
+        try {
+            task.future().get();
+            return Outcome.GENERATED;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            failed.increment();
+            return Outcome.FAILED;
+        } catch (ExecutionException e) {
+            log.warn("Invoice generation failed for repair order {}: {}", task.repairOrderId(), e.getCause().getMessage());
+            failed.increment();
+            return isRejection(e.getCause()) ? Outcome.REJECTED : Outcome.FAILED;
+        }
+    }
+
+    // An open circuit or a full bulkhead fails every further call fast; paging on would only walk the
+    // backlog logging one failure per order. The breaker's wait-in-open spaces out the next attempt.
+    private static boolean isRejection(Throwable failure) {
 
-        for (RepairOrder repairOrder : completedRepairOrders) {
-            try {
-                pdfService.generateInvoice(DtoMapper.mapRepairOrderToInvoiceRequest(repairOrder));
-                repairOrderService.changeStatusForGenerateInvoice(repairOrder);
-            } catch (Exception e) {
-                log.error(e.getMessage());
+        for (Throwable cause = failure; cause != null; cause = cause.getCause()) {
+            if (cause instanceof CallNotPermittedException || cause instanceof BulkheadFullException) {
+                return true;
             }
         }
+        return false;
+    }
+
+    private void flush(List<UUID> batch) {
+
+        if (batch.isEmpty()) {
+            return;
+        }
+
+        try {
+            repairOrderService.markInvoicesGenerated(List.copyOf(batch));
+        } catch (Exception e) {
+            // The orders stay uninvoiced and are retried on the next run.
+            log.error("Could not mark {} invoices as generated: {}", batch.size(), e.getMessage());
+        }
+        batch.clear();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+
+        executor.shutdown();
+    }
+
+    private record InvoiceTask(UUID repairOrderId, Future<?> future) {
+    }
+
+    private enum Outcome {
+        GENERATED,
+        FAILED,
+        REJECTED
     }
 }
@@ -0,0 +1,196 @@
+package com.softuni.gms.app.scheduler;
+
+import com.softuni.gms.app.client.RepairCompletionNotificationService;
+import com.softuni.gms.app.notification.model.CompletionNotification;
+import com.softuni.gms.app.notification.model.NotificationStatus;
+import com.softuni.gms.app.notification.repository.CompletionNotificationRepository;
+import com.softuni.gms.app.notification.service.DestinationRateLimiter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+
+@Slf4j
+@Service
+public class NotificationDispatchScheduler {
+
+    private static final int MAX_ERROR_LENGTH = 255;
+
+    private final CompletionNotificationRepository notificationRepository;
+    private final RepairCompletionNotificationService notificationService;
+    private final DestinationRateLimiter rateLimiter;
+    private final MeterRegistry meterRegistry;
+    private final ExecutorService executor;
+    private final int batchSize;
+    private final int maxAttempts;
+    private final Duration baseBackoff;
+    private final Duration maxBackoff;
+    private final Duration lease;
+    private final Duration retention;
+
+    @Autowired
+    public NotificationDispatchScheduler(CompletionNotificationRepository notificationRepository,
+                                         RepairCompletionNotificationService notificationService,
+                                         DestinationRateLimiter rateLimiter, MeterRegistry meterRegistry,
+                                         @Value("${gms.notification.workers:4}") int workers,
+                                         @Value("${gms.notification.batch-size:50}") int batchSize,
+                                         @Value("${gms.notification.max-attempts:6}") int maxAttempts,
+                                         @Value("${gms.notification.backoff.base:5s}") Duration baseBackoff,
+                                         @Value("${gms.notification.backoff.max:30m}") Duration maxBackoff,
+                                         @Value("${gms.notification.lease:5m}") Duration lease,
+                                         @Value("${gms.notification.retention:30d}") Duration retention) {
+        this.notificationRepository = notificationRepository;
+        this.notificationService = notificationService;
+        this.meterRegistry = meterRegistry;
+        this.rateLimiter = rateLimiter;
+        this.executor = Executors.newFixedThreadPool(workers, new CustomizableThreadFactory("notification-"));
+        this.batchSize = batchSize;
+        this.maxAttempts = maxAttempts;
+        this.baseBackoff = baseBackoff;
+        this.maxBackoff = maxBackoff;
+        this.lease = lease;
+        this.retention = retention;
+        meterRegistry.gauge("gms.notification.backlog", notificationRepository,
+                repository -> repository.countByStatus(NotificationStatus.PENDING));
+    }
+
+    // Each row is leased before it is handed to a worker, so several instances can poll the same
+    // table; a worker that dies mid-send releases its rows when the lease runs out. The
+    // per-destination limit is kept in a shared store for the same reason.
+    @Scheduled(fixedDelayString = "${gms.notification.poll-interval-ms:2000}",
+            initialDelayString = "${gms.notification.poll-interval-ms:2000}")
+    public void dispatch() {
+
+        LocalDateTime now = LocalDateTime.now();
+        List<CompletionNotification> due = notificationRepository
+                .findByStatusAndNextAttemptAtLessThanEqualOrderByNextAttemptAtAsc(NotificationStatus.PENDING, now, Limit.of(batchSize));
+
+        LocalDateTime leasedUntil = leaseUntil(now);
+        List<Future<?>> inFlight = new ArrayList<>(due.size());
+        for (CompletionNotification notification : due) {
+            if (notificationRepository.lease(notification.getId(), now, leasedUntil) == 1) {
+                inFlight.add(executor.submit(() -> deliver(notification, leasedUntil)));
+            }
+        }
+
+        for (Future<?> future : inFlight) {
+            try {
+                future.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (ExecutionException e) {
+                log.error("Notification worker failed: {}", e.getCause().getMessage());
+            }
+        }
+    }
+
+    // A row can wait in the executor queue past its lease, so the lease is renewed before sending; a
+    // worker that lost it skips the send, and its outcome is written only while it still holds the row.
+    private void deliver(CompletionNotification notification, LocalDateTime leasedUntil) {
+
+        LocalDateTime heldUntil = leaseUntil(LocalDateTime.now());
+        if (notificationRepository.renewLease(notification.getId(), leasedUntil, heldUntil) == 0) {
+            log.warn("Lease on completion notification {} expired before it was sent", notification.getId());
+            count("lease-lost");
+            return;
+        }
+
+        Duration wait = rateLimiter.tryAcquire(notification.getDestination());
+        if (!wait.isZero()) {
+            notification.setNextAttemptAt(LocalDateTime.now().plus(wait));
+            recordOutcome(notification, heldUntil);
+            count("throttled");
+            return;
+        }
+
+        try {
+            notificationService.sendMessageForCompletion(notificationService.read(notification));
+            notification.setStatus(NotificationStatus.SENT);
+            notification.setSentAt(LocalDateTime.now());
+            count("sent");
+        } catch (Exception e) {
+            notification.setAttempts(notification.getAttempts() + 1);
+            notification.setLastError(truncate(e.getMessage()));
+            if (notification.getAttempts() >= maxAttempts) {
+                log.error("Giving up on completion notification {} after {} attempts", notification.getId(), notification.getAttempts());
+                notification.setStatus(NotificationStatus.DEAD);
+                count("dead");
+            } else {
+                notification.setNextAttemptAt(LocalDateTime.now().plus(backoff(notification.getAttempts())));
+                count("retry");
+            }
+        }
+
+        recordOutcome(notification, heldUntil);
+    }
+
+    private void recordOutcome(CompletionNotification notification, LocalDateTime heldUntil) {
+
+        int updated = notificationRepository.recordOutcome(notification.getId(), heldUntil, notification.getStatus(),
+                notification.getAttempts(), notification.getLastError(), notification.getNextAttemptAt(),
+                notification.getSentAt());
+        if (updated == 0) {
+            log.warn("Lease on completion notification {} expired; outcome {} was not recorded",
+                    notification.getId(), notification.getStatus());
+        }
+    }
+
+    // Matched by equality in the conditional updates, so it is cut to the column's microsecond precision.
+    private LocalDateTime leaseUntil(LocalDateTime now) {
+
+        return now.plus(lease).truncatedTo(ChronoUnit.MICROS);
+    }
+
+    // Exponential backoff with +/-20% jitter so that a gateway outage does not end in a retry burst.
+    Duration backoff(int attempts) {
+
+        long base = baseBackoff.toMillis() << Math.min(attempts - 1, 20);
+        long capped = Math.min(base, maxBackoff.toMillis());
+        double jitter = 0.8 + ThreadLocalRandom.current().nextDouble() * 0.4;
+        return Duration.ofMillis((long) (capped * jitter));
+    }
+
+    private void count(String result) {
+
+        meterRegistry.counter("gms.notification.delivered", "result", result).increment();
+    }
+
+    private static String truncate(String message) {
+
+        if (message == null || message.length() <= MAX_ERROR_LENGTH) {
+            return message;
+        }
+        return message.substring(0, MAX_ERROR_LENGTH);
+    }
+
+    // SENT and DEAD rows are only kept for inspection; PENDING rows are never purged.
+    @Scheduled(cron = "0 45 3 * * ?")
+    public void purgeFinishedNotifications() {
+
+        int deleted = notificationRepository.deleteFinishedBefore(LocalDateTime.now().minus(retention));
+        log.info("Purged {} sent or dead completion notifications", deleted);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+
+        executor.shutdown();
+    }
+}
@@ -0,0 +1,128 @@
+package com.softuni.gms.app.scheduler;
+
+import com.softuni.gms.app.kafka.KafkaProducerService;
+import com.softuni.gms.app.lock.service.SchedulerLockService;
+import com.softuni.gms.app.outbox.model.OutboxEvent;
+import com.softuni.gms.app.outbox.repository.OutboxEventRepository;
+import com.softuni.gms.app.outbox.service.OutboxService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+@Slf4j
+@Service
+public class OutboxRelayScheduler {
+
+    static final String LOCK_NAME = "outbox-relay";
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final OutboxService outboxService;
+    private final KafkaProducerService kafkaProducerService;
+    private final SchedulerLockService schedulerLockService;
+    private final int batchSize;
+    private final Duration sendTimeout;
+    private final Duration retention;
+    private final Duration lease;
+    private final Counter relayed;
+    private final Counter failed;
+
+    @Autowired
+    public OutboxRelayScheduler(OutboxEventRepository outboxEventRepository, OutboxService outboxService,
+                                KafkaProducerService kafkaProducerService, SchedulerLockService schedulerLockService,
+                                MeterRegistry meterRegistry,
+                                @Value("${gms.outbox.batch-size:200}") int batchSize,
+                                @Value("${gms.outbox.send-timeout:10s}") Duration sendTimeout,
+                                @Value("${gms.outbox.retention:7d}") Duration retention,
+                                @Value("${gms.outbox.relay-lease:30s}") Duration lease) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.outboxService = outboxService;
+        this.kafkaProducerService = kafkaProducerService;
+        this.schedulerLockService = schedulerLockService;
+        this.batchSize = batchSize;
+        this.sendTimeout = sendTimeout;
+        this.retention = retention;
+        this.lease = lease;
+        this.relayed = meterRegistry.counter("gms.outbox.relayed", "result", "success");
+        this.failed = meterRegistry.counter("gms.outbox.relayed", "result", "failure");
+        meterRegistry.gauge("gms.outbox.backlog", outboxEventRepository, OutboxEventRepository::countBySentAtIsNull);
+    }
+
+    // Delivery is at-least-once: a crash between the broker ack and markSent resends those rows,
+    // so consumers must tolerate duplicates (the message key is the repair order id).
+    // Only the instance holding the relay lease polls, which keeps events in order across nodes; the
+    // lease is renewed before every batch and must outlast one batch (send-timeout plus the flush).
+    @Scheduled(fixedDelayString = "${gms.outbox.relay-interval-ms:1000}",
+            initialDelayString = "${gms.outbox.relay-interval-ms:1000}")
+    public void relay() {
+
+        while (schedulerLockService.tryAcquire(LOCK_NAME, lease)) {
+            List<OutboxEvent> batch = outboxEventRepository.findBySentAtIsNullOrderByCreatedAtAscIdAsc(Limit.of(batchSize));
+            if (batch.isEmpty()) {
+                return;
+            }
+
+            int sent = relayBatch(batch);
+            if (sent < batch.size() || batch.size() < batchSize) {
+                return;
+            }
+        }
+    }
+
+    private int relayBatch(List<OutboxEvent> batch) {
+
+        List<CompletableFuture<?>> futures = new ArrayList<>(batch.size());
+        for (OutboxEvent event : batch) {
+            try {
+                futures.add(kafkaProducerService.send(event.getMessageKey(), outboxService.read(event)));
+            } catch (Exception e) {
+                futures.add(CompletableFuture.failedFuture(e));
+                break;
+            }
+        }
+        kafkaProducerService.flush();
+
+        // Only the prefix up to the first failure is marked, so a failed event is never overtaken
+        // by a later event for the same order.
+        List<UUID> sentIds = new ArrayList<>(batch.size());
+        for (int i = 0; i < futures.size(); i++) {
+            try {
+                futures.get(i).get(sendTimeout.toMillis(), TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            } catch (Exception e) {
+                log.warn("Could not relay outbox event {}: {}", batch.get(i).getId(), e.getMessage());
+                failed.increment();
+                break;
+            }
+            sentIds.add(batch.get(i).getId());
+        }
+
+        if (!sentIds.isEmpty()) {
+            outboxEventRepository.markSent(sentIds, LocalDateTime.now());
+            relayed.increment(sentIds.size());
+        }
+
+        return sentIds.size();
+    }
+
+    @Scheduled(cron = "0 30 3 * * ?")
+    public void purgeSentEvents() {
+
+        int deleted = outboxEventRepository.deleteSentBefore(LocalDateTime.now().minus(retention));
+        log.info("Purged {} relayed outbox events", deleted);
+    }
+}
@@ -1,14 +1,16 @@
 package com.softuni.gms.app.scheduler;
 
+import com.softuni.gms.app.repair.metrics.RepairOrderMetrics;
 import com.softuni.gms.app.repair.model.RepairOrder;
 import com.softuni.gms.app.repair.model.RepairStatus;
 import com.softuni.gms.app.repair.repository.RepairOrderRepository;
 import com.softuni.gms.app.repair.service.RepairOrderService;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -19,40 +21,57 @@ public class RepairOrderCleanupScheduler {
 
     private final RepairOrderRepository repairOrderRepository;
     private final RepairOrderService repairOrderService;
+    private final RepairOrderMetrics repairOrderMetrics;
+    private final int chunkSize;
 
     @Autowired
     public RepairOrderCleanupScheduler(RepairOrderRepository repairOrderRepository,
-                                       RepairOrderService repairOrderService) {
+                                       RepairOrderService repairOrderService,
+                                       RepairOrderMetrics repairOrderMetrics,
+                                       @Value("${gms.repair.cleanup.chunk-size:500}") int chunkSize) {
         this.repairOrderRepository = repairOrderRepository;
         this.repairOrderService = repairOrderService;
+        this.repairOrderMetrics = repairOrderMetrics;
+        this.chunkSize = chunkSize;
     }
 
+    // Walks the stale orders in (createdAt, id) order one chunk at a time; each chunk is canceled
+    // in its own transaction so memory and lock hold time do not grow with the backlog.
     @Scheduled(cron = "0 0 2 * * ?")
-    @Transactional
     public void cancelOldPendingRepairOrders() {
 
         LocalDateTime oneWeekAgo = LocalDateTime.now().minusWeeks(1);
-        List<RepairOrder> oldPendingOrders = repairOrderRepository
-                .findByStatusAndIsDeletedFalseAndCreatedAtBefore(RepairStatus.PENDING, oneWeekAgo);
+        List<RepairOrder> chunk = repairOrderRepository
+                .findByStatusAndIsDeletedFalseAndCreatedAtBeforeOrderByCreatedAtAscIdAsc(
+                        RepairStatus.PENDING, oneWeekAgo, Limit.of(chunkSize));
 
-        if (oldPendingOrders.isEmpty()) {
+        if (chunk.isEmpty()) {
             log.info("No old pending repair orders found to cancel");
             return;
         }
 
-        log.info("Found {} old pending repair orders to cancel", oldPendingOrders.size());
-
-        for (RepairOrder repairOrder : oldPendingOrders) {
+        int scanned = 0;
+        int canceled = 0;
+        while (!chunk.isEmpty()) {
+            scanned += chunk.size();
             try {
-                repairOrderService.cancelOldPendingRepairOrder(repairOrder);
-
-                log.info("Canceled repair order {} (created at {}) - older than one week",
-                        repairOrder.getId(), repairOrder.getCreatedAt());
+                int chunkCanceled = repairOrderService.cancelStalePendingOrders(chunk);
+                repairOrderMetrics.recordCleanupBatch(chunkCanceled);
+                canceled += chunkCanceled;
             } catch (Exception e) {
-                log.error("Error canceling repair order {}: {}", repairOrder.getId(), e.getMessage(), e);
+                log.error("Error canceling chunk of {} repair orders starting at {}: {}",
+                        chunk.size(), chunk.get(0).getId(), e.getMessage(), e);
             }
+
+            if (chunk.size() < chunkSize) {
+                break;
+            }
+
+            RepairOrder last = chunk.get(chunk.size() - 1);
+            chunk = repairOrderRepository.findByStatusCreatedBeforeAfterCursor(
+                    RepairStatus.PENDING, oneWeekAgo, last.getCreatedAt(), last.getId(), Limit.of(chunkSize));
         }
 
-        log.info("Successfully canceled {} old pending repair orders", oldPendingOrders.size());
+        log.info("Canceled {} of {} old pending repair orders", canceled, scanned);
     }
 }
@@ -0,0 +1,71 @@
+package com.softuni.gms.app.security;
+
+import com.softuni.gms.app.event.UserUpdatedEvent;
+import com.softuni.gms.app.user.model.UserSummaryView;
+import com.softuni.gms.app.user.service.UserService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.MethodParameter;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.bind.support.WebDataBinderFactory;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.method.support.HandlerMethodArgumentResolver;
+import org.springframework.web.method.support.ModelAndViewContainer;
+
+@Component
+public class CurrentUserArgumentResolver implements HandlerMethodArgumentResolver {
+
+    static final String CURRENT_USER_ATTRIBUTE = CurrentUserArgumentResolver.class.getName() + ".CURRENT_USER";
+
+    private final UserService userService;
+
+    @Autowired
+    public CurrentUserArgumentResolver(UserService userService) {
+        this.userService = userService;
+    }
+
+    @Override
+    public boolean supportsParameter(MethodParameter parameter) {
+
+        return parameter.hasParameterAnnotation(CurrentUser.class)
+                && UserSummaryView.class.isAssignableFrom(parameter.getParameterType());
+    }
+
+    @Override
+    public Object resolveArgument(MethodParameter parameter, ModelAndViewContainer mavContainer,
+                                  NativeWebRequest webRequest, WebDataBinderFactory binderFactory) {
+
+        Object cached = webRequest.getAttribute(CURRENT_USER_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        if (cached instanceof UserSummaryView view) {
+            return view;
+        }
+
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !(authentication.getPrincipal() instanceof AuthenticationMetadata principal)) {
+            return null;
+        }
+
+        UserSummaryView view = userService.findUserSummaryById(principal.getUserId());
+        webRequest.setAttribute(CURRENT_USER_ATTRIBUTE, view, RequestAttributes.SCOPE_REQUEST);
+
+        return view;
+    }
+
+    @EventListener
+    public void onUserUpdated(UserUpdatedEvent event) {
+
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes == null) {
+            return;
+        }
+
+        Object cached = attributes.getAttribute(CURRENT_USER_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        if (cached instanceof UserSummaryView view && view.id().equals(event.getUserId())) {
+            attributes.removeAttribute(CURRENT_USER_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        }
+    }
+}
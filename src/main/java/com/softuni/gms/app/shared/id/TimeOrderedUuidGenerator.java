@@ -0,0 +1,37 @@
+package com.softuni.gms.app.shared.id;
+
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.id.uuid.UuidValueGenerator;
+
+import java.security.SecureRandom;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+// RFC 9562 version 7: 48-bit Unix millisecond timestamp, a 12-bit sequence, then 62 random bits.
+// Keys from one JVM are strictly increasing, so inserts land on the right edge of the clustered
+// index instead of splitting pages at random positions. Opt in per entity with
+// @UuidGenerator(algorithm = TimeOrderedUuidGenerator.class).
+public class TimeOrderedUuidGenerator implements UuidValueGenerator {
+
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    // Millis in the upper bits, sequence in the low 12; a full sequence borrows from the next millisecond.
+    private static final AtomicLong LAST = new AtomicLong();
+
+    @Override
+    public UUID generateUuid(SharedSessionContractImplementor session) {
+
+        return generate();
+    }
+
+    public static UUID generate() {
+
+        long now = System.currentTimeMillis() << 12;
+        long timeAndSequence = LAST.updateAndGet(last -> Math.max(now, last + 1));
+
+        long mostSigBits = (timeAndSequence >>> 12) << 16 | 0x7000L | (timeAndSequence & 0xFFFL);
+        long leastSigBits = RANDOM.nextLong() & 0x3FFFFFFFFFFFFFFFL | 0x8000000000000000L;
+
+        return new UUID(mostSigBits, leastSigBits);
+    }
+}
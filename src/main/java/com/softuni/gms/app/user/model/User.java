@@ -13,7 +13,11 @@ import java.util.List;
 import java.util.UUID;
 
 @Entity
-@Table(name = "users")
+@Table(name = "users", indexes = {
+        @Index(name = "idx_users_created", columnList = "createdAt, id"),
+        @Index(name = "idx_users_role_created", columnList = "role, createdAt, id"),
+        @Index(name = "idx_users_role_active", columnList = "role, isActive")
+})
 @Getter
 @Setter
 @Builder
@@ -58,15 +62,15 @@ public class User {
 
     private BigDecimal hourlyRate;
 
-    @OneToMany(mappedBy = "owner", fetch = FetchType.EAGER)
+    @OneToMany(mappedBy = "owner", fetch = FetchType.LAZY)
     @JsonIgnore
     private List<Car> cars = new ArrayList<>();
 
-    @OneToMany(mappedBy = "user", fetch = FetchType.EAGER)
+    @OneToMany(mappedBy = "user", fetch = FetchType.LAZY)
     @JsonIgnore
     private List<RepairOrder> repairOrders = new ArrayList<>();
 
-    @OneToMany(mappedBy = "mechanic", fetch = FetchType.EAGER)
+    @OneToMany(mappedBy = "mechanic", fetch = FetchType.LAZY)
     @JsonIgnore
     private List<RepairOrder> mechanicOrders = new ArrayList<>();
 }
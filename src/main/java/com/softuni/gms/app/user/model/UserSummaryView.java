@@ -0,0 +1,17 @@
+package com.softuni.gms.app.user.model;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+public record UserSummaryView(
+        UUID id,
+        String username,
+        String firstName,
+        String lastName,
+        String email,
+        String phoneNumber,
+        UserRole role,
+        Boolean isActive,
+        LocalDateTime createdAt
+) {
+}
@@ -1,8 +1,15 @@
 package com.softuni.gms.app.user.repository;
 
 import com.softuni.gms.app.user.model.User;
+import com.softuni.gms.app.user.model.UserRole;
+import com.softuni.gms.app.user.model.UserSummaryView;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -13,4 +20,29 @@ public interface UserRepository extends JpaRepository<User, UUID> {
     Optional<User> findByEmail(String email);
 
     Optional<User> findByPhoneNumber(String phoneNumber);
+
+    @Query("""
+            SELECT new com.softuni.gms.app.user.model.UserSummaryView(
+                u.id, u.username, u.firstName, u.lastName, u.email, u.phoneNumber, u.role, u.isActive, u.createdAt)
+            FROM User u
+            WHERE (:role IS NULL OR u.role = :role)
+              AND (:createdAt IS NULL OR u.createdAt < :createdAt OR (u.createdAt = :createdAt AND u.id < :id))
+            ORDER BY u.createdAt DESC, u.id DESC
+            """)
+    List<UserSummaryView> findSummaryPage(@Param("role") UserRole role,
+                                          @Param("createdAt") LocalDateTime createdAt,
+                                          @Param("id") UUID id,
+                                          Limit limit);
+
+    @Query("""
+            SELECT new com.softuni.gms.app.user.model.UserSummaryView(
+                u.id, u.username, u.firstName, u.lastName, u.email, u.phoneNumber, u.role, u.isActive, u.createdAt)
+            FROM User u
+            WHERE u.id = :id
+            """)
+    Optional<UserSummaryView> findSummaryById(@Param("id") UUID id);
+
+    long countByCreatedAtGreaterThanEqual(LocalDateTime since);
+
+    long countByRoleAndIsActiveTrue(UserRole role);
 }
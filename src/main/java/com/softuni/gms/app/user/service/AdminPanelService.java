@@ -1,17 +1,15 @@
 package com.softuni.gms.app.user.service;
 
 import com.softuni.gms.app.aop.NoLog;
-import com.softuni.gms.app.repair.model.RepairOrder;
-import com.softuni.gms.app.repair.model.RepairStatus;
 import com.softuni.gms.app.repair.service.RepairOrderService;
-import com.softuni.gms.app.user.model.User;
 import com.softuni.gms.app.user.model.UserRole;
 import com.softuni.gms.app.web.dto.AdminDashboardData;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDate;
-import java.util.List;
+import java.time.LocalDateTime;
 
 @Service
 public class AdminPanelService {
@@ -25,41 +23,20 @@ public class AdminPanelService {
         this.repairOrderService = repairOrderService;
     }
 
+    // Five COUNT queries instead of loading every user and active order; the short-lived
+    // cache keeps repeated panel loads from hitting the database at all.
     @NoLog
+    @Cacheable("adminStats")
     public AdminDashboardData generateDashboardStats() {
 
-        LocalDate today = LocalDate.now();
-        List<User> allUsers = userService.findAllUsersUncached();
-
-        long totalUsers = allUsers.size();
-        long usersToday = allUsers.stream()
-                .filter(u -> u.getCreatedAt() != null && u.getCreatedAt().toLocalDate().isEqual(today))
-                .count();
-
-        long activeMechanics = allUsers.stream()
-                .filter(u -> u.getRole() == UserRole.MECHANIC && Boolean.TRUE.equals(u.getIsActive()))
-                .count();
-
-        List<RepairOrder> pendingOrders = repairOrderService.findPendingRepairOrders();
-        List<RepairOrder> acceptedOrders = repairOrderService.findByStatus(RepairStatus.ACCEPTED);
-
-        long activeRepairs = pendingOrders.size() + acceptedOrders.size();
-
-        long repairsToday =
-                pendingOrders.stream().filter(o -> isToday(o, today)).count() +
-                        acceptedOrders.stream().filter(o -> isToday(o, today)).count();
+        LocalDateTime startOfToday = LocalDate.now().atStartOfDay();
 
         return new AdminDashboardData(
-                totalUsers,
-                usersToday,
-                activeMechanics,
-                activeRepairs,
-                repairsToday
+                userService.countUsers(),
+                userService.countUsersCreatedSince(startOfToday),
+                userService.countActiveUsersByRole(UserRole.MECHANIC),
+                repairOrderService.countActiveRepairOrders(),
+                repairOrderService.countActiveRepairOrdersCreatedSince(startOfToday)
         );
     }
-
-    @NoLog
-    private boolean isToday(RepairOrder o, LocalDate today) {
-        return o.getCreatedAt() != null && o.getCreatedAt().toLocalDate().isEqual(today);
-    }
 }
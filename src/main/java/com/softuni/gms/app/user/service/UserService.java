@@ -1,24 +1,29 @@
 package com.softuni.gms.app.user.service;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.softuni.gms.app.aop.NoLog;
 import com.softuni.gms.app.car.model.Car;
+import com.softuni.gms.app.car.repository.CarRepository;
+import com.softuni.gms.app.event.UserUpdatedEvent;
 import com.softuni.gms.app.exeption.NotFoundException;
 import com.softuni.gms.app.exeption.UserAlreadyExistException;
 import com.softuni.gms.app.repair.model.RepairOrder;
 import com.softuni.gms.app.repair.model.RepairStatus;
+import com.softuni.gms.app.repair.repository.RepairOrderRepository;
 import com.softuni.gms.app.security.AuthenticationMetadata;
 import com.softuni.gms.app.user.model.User;
 import com.softuni.gms.app.user.model.UserRole;
+import com.softuni.gms.app.user.model.UserSummaryView;
 import com.softuni.gms.app.user.repository.UserRepository;
+import com.softuni.gms.app.web.dto.KeysetPage;
+import com.softuni.gms.app.web.dto.PageCursor;
 import com.softuni.gms.app.web.dto.RegisterRequest;
 import com.softuni.gms.app.web.dto.UserAdminEditRequest;
 import com.softuni.gms.app.web.dto.UserDashboardData;
 import com.softuni.gms.app.web.dto.UserEditRequest;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.cache.annotation.CacheEvict;
-import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
@@ -28,10 +33,11 @@ import org.springframework.validation.BindingResult;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
-import java.util.Comparator;
 import java.util.List;
 import java.util.Objects;
+import java.util.Set;
 import java.util.UUID;
+import java.util.stream.Collectors;
 
 import static com.softuni.gms.app.exeption.NotFoundExceptionMessages.USER_NOT_FOUND;
 import static com.softuni.gms.app.exeption.UserAlreadyExistExceptionMessages.*;
@@ -40,15 +46,26 @@ import static com.softuni.gms.app.exeption.UserAlreadyExistExceptionMessages.*;
 @Service
 public class UserService implements UserDetailsService {
 
+    static final int ORDERS_PAGE_SIZE = 20;
+    static final int ADMIN_PAGE_SIZE = 25;
+
+    private static final List<RepairStatus> ACTIVE_STATUSES = List.of(RepairStatus.PENDING, RepairStatus.ACCEPTED);
+
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
-    private final ObjectMapper objectMapper;
+    private final CarRepository carRepository;
+    private final RepairOrderRepository repairOrderRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Autowired
-    public UserService(UserRepository userRepository, PasswordEncoder passwordEncoder, ObjectMapper objectMapper) {
+    public UserService(UserRepository userRepository, PasswordEncoder passwordEncoder,
+                       CarRepository carRepository, RepairOrderRepository repairOrderRepository,
+                       ApplicationEventPublisher eventPublisher) {
         this.userRepository = userRepository;
         this.passwordEncoder = passwordEncoder;
-        this.objectMapper = objectMapper;
+        this.carRepository = carRepository;
+        this.repairOrderRepository = repairOrderRepository;
+        this.eventPublisher = eventPublisher;
     }
 
     @Override
@@ -58,7 +75,6 @@ public class UserService implements UserDetailsService {
         return new AuthenticationMetadata(user.getId(), username, user.getPassword(), user.getRole(), user.getIsActive());
     }
 
-    @CacheEvict(value = "users", allEntries = true)
     public void registerUser(RegisterRequest registerRequest) {
 
         if (userRepository.findByUsername(registerRequest.getUsername()).isPresent()) {
@@ -105,7 +121,12 @@ public class UserService implements UserDetailsService {
         return userRepository.findById(id).orElseThrow(() -> new NotFoundException(USER_NOT_FOUND));
     }
 
-    @CacheEvict(value = "users", allEntries = true)
+    @NoLog
+    public UserSummaryView findUserSummaryById(UUID id) {
+
+        return userRepository.findSummaryById(id).orElseThrow(() -> new NotFoundException(USER_NOT_FOUND));
+    }
+
     public void updateUser(UUID userId, UserEditRequest userEditRequest) {
 
         UUID targetUserId = Objects.requireNonNull(userId, "User id must not be null");
@@ -135,17 +156,19 @@ public class UserService implements UserDetailsService {
         user.setUpdatedAt(LocalDateTime.now());
 
         userRepository.save(user);
+        eventPublisher.publishEvent(new UserUpdatedEvent(this, user.getId()));
     }
 
     @NoLog
-    @Cacheable(value = "users")
-    public List<User> findAllUsers() {
+    public KeysetPage<UserSummaryView> findUsersPage(UserRole role, PageCursor cursor) {
+
+        List<UserSummaryView> users = userRepository.findSummaryPage(
+                role,
+                cursor == null ? null : cursor.getCreatedAt(),
+                cursor == null ? null : cursor.getId(),
+                Limit.of(ADMIN_PAGE_SIZE + 1));
 
-        List<User> users = userRepository.findAll();
-        return users.stream()
-                .map(this::ensureUserInstance)
-                .distinct()
-                .toList();
+        return KeysetPage.of(users, ADMIN_PAGE_SIZE, user -> new PageCursor(user.createdAt(), user.id()));
     }
 
     @NoLog
@@ -154,7 +177,24 @@ public class UserService implements UserDetailsService {
         return userRepository.findAll();
     }
 
-    @CacheEvict(value = "users", allEntries = true)
+    @NoLog
+    public long countUsers() {
+
+        return userRepository.count();
+    }
+
+    @NoLog
+    public long countUsersCreatedSince(LocalDateTime since) {
+
+        return userRepository.countByCreatedAtGreaterThanEqual(since);
+    }
+
+    @NoLog
+    public long countActiveUsersByRole(UserRole role) {
+
+        return userRepository.countByRoleAndIsActiveTrue(role);
+    }
+
     public void toggleUserActiveStatus(UUID userId) {
 
         UUID targetUserId = Objects.requireNonNull(userId, "User id must not be null");
@@ -167,9 +207,9 @@ public class UserService implements UserDetailsService {
         user.setUpdatedAt(LocalDateTime.now());
 
         userRepository.save(user);
+        eventPublisher.publishEvent(new UserUpdatedEvent(this, user.getId()));
     }
 
-    @CacheEvict(value = "users", allEntries = true)
     public void updateUserByAdmin(UUID userId, UserAdminEditRequest userAdminEditRequest) {
 
         UUID targetUserId = Objects.requireNonNull(userId, "User id must not be null");
@@ -183,6 +223,7 @@ public class UserService implements UserDetailsService {
         user.setUpdatedAt(LocalDateTime.now());
 
         userRepository.save(user);
+        eventPublisher.publishEvent(new UserUpdatedEvent(this, user.getId()));
     }
 
     public void validateRegisterRequest(RegisterRequest registerRequest, BindingResult bindingResult) {
@@ -205,45 +246,30 @@ public class UserService implements UserDetailsService {
         }
     }
 
-    private User ensureUserInstance(Object candidate) {
-
-        if (candidate instanceof User u) {
-            return u;
-        }
-        if (candidate instanceof java.util.Map<?, ?> map) {
-            return objectMapper.convertValue(map, User.class);
-        }
-
-        log.error("ensureUserInstance(): candidate is not instance of User");
-        throw new IllegalStateException("Unexpected cached user type: " + candidate.getClass());
-    }
-
     @NoLog
     public UserDashboardData getDashboardData(UUID userId) {
 
-        User user = findUserById(userId);
+        List<Car> cars = carRepository.findByOwnerIdAndIsDeletedFalse(userId);
 
-        List<Car> cars = user.getCars().stream()
-                .filter(car -> !car.isDeleted())
-                .toList();
+        List<RepairOrder> active = repairOrderRepository
+                .findByUserIdAndStatusInAndIsDeletedFalseOrderByCreatedAtDesc(userId, ACTIVE_STATUSES);
 
-        List<RepairOrder> active = user.getRepairOrders().stream()
-                .filter(o -> !o.isDeleted())
-                .filter(o -> o.getStatus() == RepairStatus.PENDING
-                        || o.getStatus() == RepairStatus.ACCEPTED)
-                .toList();
+        Set<UUID> activeCarIds = active.stream()
+                .map(order -> order.getCar().getId())
+                .collect(Collectors.toSet());
 
-        return new UserDashboardData(cars, active);
+        return new UserDashboardData(cars, active, activeCarIds);
     }
 
     @NoLog
-    public List<RepairOrder> findUserOrdersSorted(UUID userId) {
+    public KeysetPage<RepairOrder> findUserOrdersPage(UUID userId, PageCursor cursor) {
+
+        Limit limit = Limit.of(ORDERS_PAGE_SIZE + 1);
 
-        User user = findUserById(userId);
+        List<RepairOrder> orders = cursor == null
+                ? repairOrderRepository.findByUserIdAndIsDeletedFalseOrderByCreatedAtDescIdDesc(userId, limit)
+                : repairOrderRepository.findUserOrdersBefore(userId, cursor.getCreatedAt(), cursor.getId(), limit);
 
-        return user.getRepairOrders().stream()
-                .filter(order -> !order.isDeleted())
-                .sorted(Comparator.comparing(RepairOrder::getCreatedAt).reversed())
-                .toList();
+        return KeysetPage.of(orders, ORDERS_PAGE_SIZE, order -> new PageCursor(order.getCreatedAt(), order.getId()));
     }
 }
@@ -4,23 +4,28 @@ import com.softuni.gms.app.car.model.Car;
 import com.softuni.gms.app.car.service.CarService;
 import com.softuni.gms.app.client.InvoiceHistoryService;
 import com.softuni.gms.app.client.PdfService;
+import com.softuni.gms.app.client.StoredInvoice;
 import com.softuni.gms.app.exeption.MicroserviceDontRespondException;
 import com.softuni.gms.app.part.model.Part;
 import com.softuni.gms.app.part.service.PartService;
 import com.softuni.gms.app.repair.model.RepairOrder;
+import com.softuni.gms.app.repair.model.RepairStatus;
 import com.softuni.gms.app.repair.service.RepairOrderService;
 import com.softuni.gms.app.security.AuthenticationMetadata;
+import com.softuni.gms.app.security.CurrentUser;
 import com.softuni.gms.app.user.model.User;
+import com.softuni.gms.app.user.model.UserSummaryView;
 import com.softuni.gms.app.user.model.UserRole;
 import com.softuni.gms.app.user.service.AdminPanelService;
 import com.softuni.gms.app.user.service.UserService;
 import com.softuni.gms.app.web.dto.*;
 import com.softuni.gms.app.web.mapper.DtoMapper;
+import com.softuni.gms.app.web.util.InvoiceResponses;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.http.HttpHeaders;
-import org.springframework.http.MediaType;
+import org.springframework.core.io.Resource;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
@@ -29,7 +34,8 @@ import org.springframework.validation.BindingResult;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.servlet.ModelAndView;
 
-import java.util.List;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.UUID;
 
 import static com.softuni.gms.app.exeption.MicroserviceDontRespondExceptionMessages.INVOICE_SERVICE_NOT_AVAILABLE_TRY_AGAIN;
@@ -61,9 +67,8 @@ public class AdminPanelController {
     }
 
     @GetMapping
-    public ModelAndView getAdminPanelPage(@AuthenticationPrincipal AuthenticationMetadata authenticationMetadata) {
+    public ModelAndView getAdminPanelPage(@CurrentUser UserSummaryView admin) {
 
-        User admin = userService.findUserById(authenticationMetadata.getUserId());
         AdminDashboardData stats = adminPanelService.generateDashboardStats();
 
         ModelAndView modelAndView = new ModelAndView("admin-panel");
@@ -78,15 +83,18 @@ public class AdminPanelController {
     }
 
     @GetMapping("/invoices")
-    public ModelAndView getInvoicesPage(@AuthenticationPrincipal AuthenticationMetadata authenticationMetadata,
-                                        @org.springframework.web.bind.annotation.RequestParam(value = "historyError", required = false) String historyError) {
+    public ModelAndView getInvoicesPage(@CurrentUser UserSummaryView admin,
+                                        @RequestParam(value = "historyError", required = false) String historyError,
+                                        @RequestParam(value = "before", required = false)
+                                        @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime before,
+                                        @RequestParam(value = "beforeId", required = false) UUID beforeId) {
 
-        User admin = userService.findUserById(authenticationMetadata.getUserId());
-        List<InvoiceHistoryData> invoices = invoiceHistoryService.getHistory();
+        KeysetPage<InvoiceHistoryData> page = invoiceHistoryService.getHistoryPage(PageCursor.of(before, beforeId));
 
         ModelAndView modelAndView = new ModelAndView("admin-invoices");
         modelAndView.addObject("user", admin);
-        modelAndView.addObject("invoices", invoices);
+        modelAndView.addObject("invoices", page.getContent());
+        modelAndView.addObject("nextCursor", page.getNextCursor());
 
         if (historyError != null) {
             modelAndView.addObject("historyErrorMessage", INVOICE_SERVICE_NOT_AVAILABLE_TRY_AGAIN);
@@ -96,26 +104,28 @@ public class AdminPanelController {
     }
 
     @GetMapping("/invoices/download/{repairId}")
-    public ResponseEntity<byte[]> downloadInvoiceFromHistory(@PathVariable java.util.UUID repairId) {
-
-        byte[] pdf = pdfService.downloadLatestInvoice(repairId);
-        return ResponseEntity
-                .ok()
-                .header(HttpHeaders.CONTENT_DISPOSITION,
-                        "attachment; filename=invoice-" + repairId + ".pdf")
-                .contentType(MediaType.APPLICATION_PDF)
-                .body(pdf);
+    public ResponseEntity<Resource> downloadInvoiceFromHistory(@PathVariable UUID repairId) {
+
+        StoredInvoice invoice = pdfService.getLatestInvoice(repairId);
+        if (invoice == null || invoice.size() == 0) {
+            return ResponseEntity.notFound().build();
+        }
+
+        return InvoiceResponses.attachment(repairId, invoice);
     }
 
     @GetMapping("/deleted-cars")
-    public ModelAndView getDeletedCarsPage(@AuthenticationPrincipal AuthenticationMetadata authenticationMetadata) {
+    public ModelAndView getDeletedCarsPage(@CurrentUser UserSummaryView admin,
+                                       @RequestParam(value = "before", required = false)
+                                       @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime before,
+                                       @RequestParam(value = "beforeId", required = false) UUID beforeId) {
 
-        User admin = userService.findUserById(authenticationMetadata.getUserId());
-        List<Car> deletedCars = carService.findAllDeletedCars();
+        KeysetPage<Car> page = carService.findCarsPage(true, PageCursor.of(before, beforeId));
 
         ModelAndView modelAndView = new ModelAndView("admin-deleted-cars");
         modelAndView.addObject("user", admin);
-        modelAndView.addObject("cars", deletedCars);
+        modelAndView.addObject("cars", page.getContent());
+        modelAndView.addObject("nextCursor", page.getNextCursor());
 
         return modelAndView;
     }
@@ -129,9 +139,8 @@ public class AdminPanelController {
 
     @GetMapping("/deleted-cars/edit/{id}")
     public ModelAndView getEditDeletedCarPage(@PathVariable UUID id,
-                                              @AuthenticationPrincipal AuthenticationMetadata authenticationMetadata) {
+                                              @CurrentUser UserSummaryView admin) {
 
-        User admin = userService.findUserById(authenticationMetadata.getUserId());
         Car car = carService.findCarById(id);
 
         ModelAndView modelAndView = new ModelAndView("admin-deleted-car-edit");
@@ -147,9 +156,7 @@ public class AdminPanelController {
     public ModelAndView editDeletedCar(@PathVariable UUID id,
                                        @Valid CarEditRequest carEditRequest,
                                        BindingResult bindingResult,
-                                       @AuthenticationPrincipal AuthenticationMetadata authenticationMetadata) {
-
-        User admin = userService.findUserById(authenticationMetadata.getUserId());
+                                       @CurrentUser UserSummaryView admin) {
 
         if (bindingResult.hasErrors()) {
             Car car = carService.findCarById(id);
@@ -168,23 +175,25 @@ public class AdminPanelController {
     }
 
     @GetMapping("/cars")
-    public ModelAndView getActiveCarsPage(@AuthenticationPrincipal AuthenticationMetadata authenticationMetadata) {
+    public ModelAndView getActiveCarsPage(@CurrentUser UserSummaryView admin,
+                                      @RequestParam(value = "before", required = false)
+                                      @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime before,
+                                      @RequestParam(value = "beforeId", required = false) UUID beforeId) {
 
-        User admin = userService.findUserById(authenticationMetadata.getUserId());
-        List<Car> activeCars = carService.findAllActiveCars();
+        KeysetPage<Car> page = carService.findCarsPage(false, PageCursor.of(before, beforeId));
 
         ModelAndView modelAndView = new ModelAndView("admin-cars");
         modelAndView.addObject("user", admin);
-        modelAndView.addObject("cars", activeCars);
+        modelAndView.addObject("cars", page.getContent());
+        modelAndView.addObject("nextCursor", page.getNextCursor());
 
         return modelAndView;
     }
 
     @GetMapping("/cars/edit/{id}")
     public ModelAndView getEditCarPage(@PathVariable UUID id,
-                                       @AuthenticationPrincipal AuthenticationMetadata authenticationMetadata) {
+                                       @CurrentUser UserSummaryView admin) {
 
-        User admin = userService.findUserById(authenticationMetadata.getUserId());
         Car car = carService.findCarById(id);
 
         ModelAndView modelAndView = new ModelAndView("admin-car-edit");
@@ -200,9 +209,7 @@ public class AdminPanelController {
     public ModelAndView editCar(@PathVariable UUID id,
                                 @Valid CarEditRequest carEditRequest,
                                 BindingResult bindingResult,
-                                @AuthenticationPrincipal AuthenticationMetadata authenticationMetadata) {
-
-        User admin = userService.findUserById(authenticationMetadata.getUserId());
+                                @CurrentUser UserSummaryView admin) {
 
         if (bindingResult.hasErrors()) {
             Car car = carService.findCarById(id);
@@ -227,15 +234,18 @@ public class AdminPanelController {
     }
 
     @GetMapping("/parts")
-    public ModelAndView getPartsPage(@AuthenticationPrincipal AuthenticationMetadata authenticationMetadata,
-                                     @org.springframework.web.bind.annotation.RequestParam(value = "added", required = false) String added) {
+    public ModelAndView getPartsPage(@CurrentUser UserSummaryView admin,
+                                     @RequestParam(value = "added", required = false) String added,
+                                     @RequestParam(value = "before", required = false)
+                                     @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime before,
+                                     @RequestParam(value = "beforeId", required = false) UUID beforeId) {
 
-        User admin = userService.findUserById(authenticationMetadata.getUserId());
-        List<Part> parts = partService.findAllParts();
+        KeysetPage<Part> page = partService.findPartsPage(PageCursor.of(before, beforeId));
 
         ModelAndView modelAndView = new ModelAndView("admin-parts");
         modelAndView.addObject("user", admin);
-        modelAndView.addObject("parts", parts);
+        modelAndView.addObject("parts", page.getContent());
+        modelAndView.addObject("nextCursor", page.getNextCursor());
         if (added != null) {
             modelAndView.addObject("successMessage", "Part added successfully.");
         }
@@ -244,9 +254,7 @@ public class AdminPanelController {
     }
 
     @GetMapping("/parts/add")
-    public ModelAndView getAddPartPage(@AuthenticationPrincipal AuthenticationMetadata authenticationMetadata) {
-
-        User admin = userService.findUserById(authenticationMetadata.getUserId());
+    public ModelAndView getAddPartPage(@CurrentUser UserSummaryView admin) {
 
         ModelAndView modelAndView = new ModelAndView("admin-parts-add");
         modelAndView.addObject("user", admin);
@@ -261,7 +269,7 @@ public class AdminPanelController {
                                 @AuthenticationPrincipal AuthenticationMetadata authenticationMetadata) {
 
         if (bindingResult.hasErrors()) {
-            User admin = userService.findUserById(authenticationMetadata.getUserId());
+            UserSummaryView admin = userService.findUserSummaryById(authenticationMetadata.getUserId());
 
             ModelAndView modelAndView = new ModelAndView("admin-parts-add");
             modelAndView.addObject("user", admin);
@@ -276,9 +284,8 @@ public class AdminPanelController {
 
     @GetMapping("/parts/edit/{id}")
     public ModelAndView getEditPartPage(@PathVariable UUID id,
-                                        @AuthenticationPrincipal AuthenticationMetadata authenticationMetadata) {
+                                        @CurrentUser UserSummaryView admin) {
 
-        User admin = userService.findUserById(authenticationMetadata.getUserId());
         Part part = partService.findPartById(id);
 
         ModelAndView modelAndView = new ModelAndView("admin-parts-edit");
@@ -296,7 +303,7 @@ public class AdminPanelController {
                                  @AuthenticationPrincipal AuthenticationMetadata authenticationMetadata) {
 
         if (bindingResult.hasErrors()) {
-            User admin = userService.findUserById(authenticationMetadata.getUserId());
+            UserSummaryView admin = userService.findUserSummaryById(authenticationMetadata.getUserId());
             Part part = partService.findPartById(id);
 
             ModelAndView modelAndView = new ModelAndView("admin-parts-edit");
@@ -319,14 +326,20 @@ public class AdminPanelController {
     }
 
     @GetMapping("/users")
-    public ModelAndView getUsersPage(@AuthenticationPrincipal AuthenticationMetadata authenticationMetadata) {
+    public ModelAndView getUsersPage(@CurrentUser UserSummaryView admin,
+                                     @RequestParam(value = "role", required = false) UserRole role,
+                                     @RequestParam(value = "before", required = false)
+                                     @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime before,
+                                     @RequestParam(value = "beforeId", required = false) UUID beforeId) {
 
-        User admin = userService.findUserById(authenticationMetadata.getUserId());
-        List<User> users = userService.findAllUsers();
+        KeysetPage<UserSummaryView> page = userService.findUsersPage(role, PageCursor.of(before, beforeId));
 
         ModelAndView modelAndView = new ModelAndView("admin-users");
         modelAndView.addObject("user", admin);
-        modelAndView.addObject("users", users);
+        modelAndView.addObject("users", page.getContent());
+        modelAndView.addObject("nextCursor", page.getNextCursor());
+        modelAndView.addObject("roles", UserRole.values());
+        modelAndView.addObject("selectedRole", role);
 
         return modelAndView;
     }
@@ -341,9 +354,8 @@ public class AdminPanelController {
 
     @GetMapping("/users/edit/{id}")
     public ModelAndView getEditUserPage(@PathVariable UUID id,
-                                        @AuthenticationPrincipal AuthenticationMetadata authenticationMetadata) {
+                                        @CurrentUser UserSummaryView admin) {
 
-        User admin = userService.findUserById(authenticationMetadata.getUserId());
         User userToEdit = userService.findUserById(id);
 
         ModelAndView modelAndView = new ModelAndView("admin-users-edit");
@@ -362,7 +374,7 @@ public class AdminPanelController {
                                  @AuthenticationPrincipal AuthenticationMetadata authenticationMetadata) {
 
         if (bindingResult.hasErrors()) {
-            User admin = userService.findUserById(authenticationMetadata.getUserId());
+            UserSummaryView admin = userService.findUserSummaryById(authenticationMetadata.getUserId());
             User userToEdit = userService.findUserById(id);
 
             ModelAndView modelAndView = new ModelAndView("admin-users-edit");
@@ -379,14 +391,27 @@ public class AdminPanelController {
     }
 
     @GetMapping("/orders")
-    public ModelAndView getOrdersPage(@AuthenticationPrincipal AuthenticationMetadata authenticationMetadata) {
-
-        User admin = userService.findUserById(authenticationMetadata.getUserId());
-        List<RepairOrder> repairOrders = repairOrderService.findAllRepairOrders();
+    public ModelAndView getOrdersPage(@CurrentUser UserSummaryView admin,
+                                      @RequestParam(value = "status", required = false) RepairStatus status,
+                                      @RequestParam(value = "from", required = false)
+                                      @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                                      @RequestParam(value = "to", required = false)
+                                      @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+                                      @RequestParam(value = "before", required = false)
+                                      @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime before,
+                                      @RequestParam(value = "beforeId", required = false) UUID beforeId) {
+
+        KeysetPage<RepairOrder> page = repairOrderService.findRepairOrdersPage(status, from, to,
+                PageCursor.of(before, beforeId));
 
         ModelAndView modelAndView = new ModelAndView("admin-orders");
         modelAndView.addObject("user", admin);
-        modelAndView.addObject("repairOrders", repairOrders);
+        modelAndView.addObject("repairOrders", page.getContent());
+        modelAndView.addObject("nextCursor", page.getNextCursor());
+        modelAndView.addObject("statuses", RepairStatus.values());
+        modelAndView.addObject("selectedStatus", status);
+        modelAndView.addObject("from", from);
+        modelAndView.addObject("to", to);
 
         return modelAndView;
     }
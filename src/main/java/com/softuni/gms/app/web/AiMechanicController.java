@@ -1,8 +1,15 @@
 package com.softuni.gms.app.web;
 
+import com.softuni.gms.app.ai.AiInferenceExecutor;
 import com.softuni.gms.app.ai.AiMechanicService;
 import jakarta.servlet.http.HttpServletRequest;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -10,20 +17,37 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.servlet.ModelAndView;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.net.URLEncoder;
 import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
 
+@Slf4j
 @Controller
 @RequestMapping("/ai")
 public class AiMechanicController {
 
+    private static final String STREAM_ERROR = "We could not get an answer right now. Please try again.";
+
     private final AiMechanicService aiMechanicService;
+    private final AiInferenceExecutor aiInferenceExecutor;
+    private final long streamTimeoutMillis;
 
     @Autowired
-    public AiMechanicController(AiMechanicService aiMechanicService) {
+    public AiMechanicController(AiMechanicService aiMechanicService, AiInferenceExecutor aiInferenceExecutor,
+                                @Value("${gms.ai.stream.timeout:60s}") Duration streamTimeout) {
         this.aiMechanicService = aiMechanicService;
+        this.aiInferenceExecutor = aiInferenceExecutor;
+        // A little longer than the model timeout so the error event can still be sent.
+        this.streamTimeoutMillis = streamTimeout.plusSeconds(5).toMillis();
     }
 
     @GetMapping("/ask")
@@ -58,6 +82,86 @@ public class AiMechanicController {
         return modelAndView;
     }
 
+    @GetMapping(value = "/ask/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> streamAnswer(@RequestParam UUID carId,
+                                                   @RequestParam String question) {
+
+        String sanitizedQuestion = question.trim();
+        if (sanitizedQuestion.isEmpty()) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        SseEmitter emitter = new SseEmitter(streamTimeoutMillis);
+
+        // Cached answers and questions already being generated are finished from the request thread or
+        // from the generating one; only a new model call takes a slot on the inference pool.
+        CompletableFuture<String> known = aiMechanicService.findAnswer(sanitizedQuestion);
+        if (known != null) {
+            known.whenComplete((answer, failure) -> replay(emitter, answer, failure));
+            return ResponseEntity.ok(emitter);
+        }
+
+        try {
+            aiInferenceExecutor.submit(() -> streamTo(emitter, sanitizedQuestion));
+        } catch (RejectedExecutionException e) {
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                    .header(HttpHeaders.RETRY_AFTER, "5")
+                    .build();
+        }
+
+        return ResponseEntity.ok(emitter);
+    }
+
+    // Runs on the inference pool; the servlet thread has already been released.
+    private void streamTo(SseEmitter emitter, String question) {
+
+        try {
+            String answer = aiMechanicService.streamMechanic(question, chunk -> send(emitter, "token", chunk));
+            send(emitter, "done", answer);
+            emitter.complete();
+        } catch (RuntimeException e) {
+            fail(emitter, e);
+        }
+    }
+
+    // A complete answer arrives as a single chunk, as it does for cached answers inside streamMechanic.
+    private void replay(SseEmitter emitter, String answer, Throwable failure) {
+
+        if (failure != null) {
+            fail(emitter, failure instanceof CompletionException && failure.getCause() != null ? failure.getCause() : failure);
+            return;
+        }
+
+        try {
+            send(emitter, "token", answer);
+            send(emitter, "done", answer);
+            emitter.complete();
+        } catch (RuntimeException e) {
+            fail(emitter, e);
+        }
+    }
+
+    private static void fail(SseEmitter emitter, Throwable failure) {
+
+        log.warn("Streaming AI answer failed: {}", failure.toString());
+        try {
+            emitter.send(SseEmitter.event().name("failure").data(Map.of("text", STREAM_ERROR), MediaType.APPLICATION_JSON));
+            emitter.complete();
+        } catch (IOException | IllegalStateException ignored) {
+            // The client is already gone.
+        }
+    }
+
+    private static void send(SseEmitter emitter, String event, String data) {
+
+        try {
+            // Wrapped in JSON so leading spaces of a token survive the SSE "data:" line.
+            emitter.send(SseEmitter.event().name(event).data(Map.of("text", data), MediaType.APPLICATION_JSON));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
     @PostMapping("/apply")
     public ModelAndView applyAnswer(@RequestParam UUID carId,
                                     @RequestParam String answer) {
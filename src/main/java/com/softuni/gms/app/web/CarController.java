@@ -4,7 +4,9 @@ import com.softuni.gms.app.car.model.Car;
 import com.softuni.gms.app.car.repository.CarRepository;
 import com.softuni.gms.app.car.service.CarService;
 import com.softuni.gms.app.security.AuthenticationMetadata;
+import com.softuni.gms.app.security.CurrentUser;
 import com.softuni.gms.app.user.model.User;
+import com.softuni.gms.app.user.model.UserSummaryView;
 import com.softuni.gms.app.user.service.UserService;
 import com.softuni.gms.app.web.dto.CarEditRequest;
 import com.softuni.gms.app.web.dto.CarRegisterRequest;
@@ -39,10 +41,9 @@ public class CarController {
     }
 
     @GetMapping
-    public ModelAndView getCarsPage(@AuthenticationPrincipal AuthenticationMetadata authenticationMetadata) {
+    public ModelAndView getCarsPage(@CurrentUser UserSummaryView user) {
 
-        User user = userService.findUserById(authenticationMetadata.getUserId());
-        List<Car> carList = carRepository.findByOwnerAndIsDeletedFalse(user);
+        List<Car> carList = carRepository.findByOwnerIdAndIsDeletedFalse(user.id());
 
         ModelAndView modelAndView = new ModelAndView("cars");
         modelAndView.addObject("user", user);
@@ -1,11 +1,10 @@
 package com.softuni.gms.app.web;
 
-import com.softuni.gms.app.security.AuthenticationMetadata;
-import com.softuni.gms.app.user.model.User;
+import com.softuni.gms.app.security.CurrentUser;
+import com.softuni.gms.app.user.model.UserSummaryView;
 import com.softuni.gms.app.user.service.UserService;
 import com.softuni.gms.app.web.dto.UserDashboardData;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.stereotype.Controller;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
@@ -23,15 +22,15 @@ public class DashboardController {
     }
 
     @GetMapping
-    public ModelAndView getDashboardPage(@AuthenticationPrincipal AuthenticationMetadata authenticationMetadata) {
+    public ModelAndView getDashboardPage(@CurrentUser UserSummaryView user) {
 
-        User user = userService.findUserById(authenticationMetadata.getUserId());
-        UserDashboardData userDashboardData = userService.getDashboardData(user.getId());
+        UserDashboardData userDashboardData = userService.getDashboardData(user.id());
 
         ModelAndView modelAndView = new ModelAndView("dashboard");
         modelAndView.addObject("user", user);
         modelAndView.addObject("carList", userDashboardData.getCars());
         modelAndView.addObject("repairList", userDashboardData.getActiveRepairs());
+        modelAndView.addObject("activeCarIds", userDashboardData.getActiveCarIds());
 
         return modelAndView;
     }
@@ -1,15 +1,16 @@
 package com.softuni.gms.app.web;
 
-import com.softuni.gms.app.client.RepairCompletionNotificationService;
 import com.softuni.gms.app.exeption.CarOwnershipException;
-import com.softuni.gms.app.exeption.MicroserviceDontRespondException;
 import com.softuni.gms.app.exeption.NotFoundException;
 import com.softuni.gms.app.part.model.Part;
 import com.softuni.gms.app.part.service.PartService;
+import com.softuni.gms.app.repair.model.PendingRepairOrderView;
 import com.softuni.gms.app.repair.model.RepairOrder;
 import com.softuni.gms.app.repair.service.RepairOrderService;
 import com.softuni.gms.app.security.AuthenticationMetadata;
+import com.softuni.gms.app.security.CurrentUser;
 import com.softuni.gms.app.user.model.User;
+import com.softuni.gms.app.user.model.UserSummaryView;
 import com.softuni.gms.app.user.service.UserService;
 import com.softuni.gms.app.web.dto.WorkOrderRequest;
 import com.softuni.gms.app.web.mapper.DtoMapper;
@@ -31,8 +32,6 @@ import org.springframework.web.servlet.ModelAndView;
 import java.util.List;
 import java.util.UUID;
 
-import static com.softuni.gms.app.exeption.MicroserviceDontRespondExceptionMessages.NOTIFICATION_SERVICE_TRY_AGAIN;
-
 @Slf4j
 @Controller
 @RequestMapping("/dashboard/mechanic")
@@ -42,35 +41,29 @@ public class MechanicPanelController {
     private final UserService userService;
     private final RepairOrderService repairOrderService;
     private final PartService partService;
-    private final RepairCompletionNotificationService repairNotificationService;
 
     @Autowired
     public MechanicPanelController(UserService userService, RepairOrderService repairOrderService,
-                                   PartService partService, RepairCompletionNotificationService repairNotificationService) {
+                                   PartService partService) {
         this.userService = userService;
         this.repairOrderService = repairOrderService;
         this.partService = partService;
-        this.repairNotificationService = repairNotificationService;
     }
 
     @GetMapping
     public ModelAndView getMechanicPanelPage(@AuthenticationPrincipal AuthenticationMetadata authenticationMetadata,
-                                             @RequestParam(value = "notificationError", required = false) String notificationError,
                                              @RequestParam(value = "accepted", required = false) String accepted,
                                              @RequestParam(value = "workSaved", required = false) String workSaved) {
 
         User mechanic = userService.findUserById(authenticationMetadata.getUserId());
         RepairOrder acceptedOrder = repairOrderService.findAcceptedRepairOrderByMechanic(mechanic);
-        List<RepairOrder> pendingOrders = repairOrderService.findPendingRepairOrders();
+        List<PendingRepairOrderView> pendingOrders = repairOrderService.findPendingRepairOrders();
 
         ModelAndView modelAndView = new ModelAndView("mechanic-panel");
         modelAndView.addObject("user", mechanic);
         modelAndView.addObject("acceptedOrder", acceptedOrder);
         modelAndView.addObject("pendingOrders", pendingOrders);
 
-        if (notificationError != null) {
-            modelAndView.addObject("notificationErrorMessage", NOTIFICATION_SERVICE_TRY_AGAIN);
-        }
         if (accepted != null) {
             modelAndView.addObject("acceptedSuccessMessage", "Order accepted successfully. You can start working on it.");
         }
@@ -96,20 +89,16 @@ public class MechanicPanelController {
 
         User mechanic = userService.findUserById(authenticationMetadata.getUserId());
         repairOrderService.completeRepairOrder(id, mechanic);
-
-        RepairOrder repairOrder = repairOrderService.findRepairOrderById(id);
-        repairNotificationService.sendMessageForCompletion(DtoMapper.maprepairordertorepaircompletitionrequest(repairOrder));
         return new ModelAndView("redirect:/dashboard/mechanic");
     }
 
     @GetMapping("/work/{id}")
     public ModelAndView getWorkOrderPage(@PathVariable UUID id,
-                                         @AuthenticationPrincipal AuthenticationMetadata authenticationMetadata) {
+                                         @CurrentUser UserSummaryView mechanic) {
 
-        User mechanic = userService.findUserById(authenticationMetadata.getUserId());
         RepairOrder repairOrder = repairOrderService.findRepairOrderById(id);
 
-        if (repairOrder.getMechanic() == null || !repairOrder.getMechanic().getId().equals(mechanic.getId())) {
+        if (repairOrder.getMechanic() == null || !repairOrder.getMechanic().getId().equals(mechanic.id())) {
             return new ModelAndView("redirect:/dashboard/mechanic");
         }
 
@@ -149,13 +138,6 @@ public class MechanicPanelController {
         return new ModelAndView("redirect:/dashboard/mechanic");
     }
 
-    @ExceptionHandler(MicroserviceDontRespondException.class)
-    public ModelAndView handleNotificationFailure(HttpServletRequest request, MicroserviceDontRespondException ex) {
-
-        log.warn("Notification service unavailable for {} {}: {}", request.getMethod(), request.getRequestURI(), ex.getMessage());
-        return new ModelAndView("redirect:/dashboard/mechanic?notificationError=true");
-    }
-
     @ExceptionHandler({CarOwnershipException.class, IllegalStateException.class, NotFoundException.class})
     public ModelAndView handleRepairFlowIssues(HttpServletRequest request, RuntimeException ex) {
 
@@ -2,19 +2,23 @@ package com.softuni.gms.app.web;
 
 import com.softuni.gms.app.exeption.NotFoundException;
 import com.softuni.gms.app.repair.model.RepairOrder;
-import com.softuni.gms.app.security.AuthenticationMetadata;
-import com.softuni.gms.app.user.model.User;
+import com.softuni.gms.app.security.CurrentUser;
+import com.softuni.gms.app.user.model.UserSummaryView;
 import com.softuni.gms.app.user.service.UserService;
+import com.softuni.gms.app.web.dto.KeysetPage;
+import com.softuni.gms.app.web.dto.PageCursor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.stereotype.Controller;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.servlet.ModelAndView;
 
-import java.util.List;
+import java.time.LocalDateTime;
+import java.util.UUID;
 
 @Slf4j
 @Controller
@@ -29,14 +33,17 @@ public class OrdersController {
     }
 
     @GetMapping
-    public ModelAndView getOrdersPage(@AuthenticationPrincipal AuthenticationMetadata authenticationMetadata) {
+    public ModelAndView getOrdersPage(@CurrentUser UserSummaryView user,
+                                      @RequestParam(value = "before", required = false)
+                                      @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime before,
+                                      @RequestParam(value = "beforeId", required = false) UUID beforeId) {
 
-        User user = userService.findUserById(authenticationMetadata.getUserId());
-        List<RepairOrder> repairList = userService.findUserOrdersSorted(authenticationMetadata.getUserId());
+        KeysetPage<RepairOrder> page = userService.findUserOrdersPage(user.id(), PageCursor.of(before, beforeId));
 
         ModelAndView modelAndView = new ModelAndView("orders");
         modelAndView.addObject("user", user);
-        modelAndView.addObject("repairList", repairList);
+        modelAndView.addObject("repairList", page.getContent());
+        modelAndView.addObject("nextCursor", page.getNextCursor());
 
         return modelAndView;
     }
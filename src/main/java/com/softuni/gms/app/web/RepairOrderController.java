@@ -3,21 +3,25 @@ package com.softuni.gms.app.web;
 import com.softuni.gms.app.car.model.Car;
 import com.softuni.gms.app.car.service.CarService;
 import com.softuni.gms.app.client.PdfService;
+import com.softuni.gms.app.client.StoredInvoice;
 import com.softuni.gms.app.exeption.CarOwnershipException;
 import com.softuni.gms.app.exeption.MicroserviceDontRespondException;
 import com.softuni.gms.app.exeption.NotFoundException;
 import com.softuni.gms.app.repair.model.RepairOrder;
 import com.softuni.gms.app.repair.service.RepairOrderService;
 import com.softuni.gms.app.security.AuthenticationMetadata;
+import com.softuni.gms.app.security.CurrentUser;
 import com.softuni.gms.app.user.model.User;
 import com.softuni.gms.app.user.model.UserRole;
+import com.softuni.gms.app.user.model.UserSummaryView;
 import com.softuni.gms.app.user.service.UserService;
+import com.softuni.gms.app.web.util.InvoiceResponses;
 import com.softuni.gms.app.web.util.RequestUtils;
 import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.io.Resource;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
-import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.stereotype.Controller;
@@ -52,9 +56,8 @@ public class RepairOrderController {
                                              @RequestParam(value = "aiSuggestion", required = false) String aiSuggestion) {
 
         Car car = carService.findCarById(carId);
-        User user = userService.findUserById(authenticationMetadata.getUserId());
 
-        if (!car.getOwner().getId().equals(user.getId())) {
+        if (!car.getOwner().getId().equals(authenticationMetadata.getUserId())) {
             return new ModelAndView("redirect:/dashboard");
         }
 
@@ -96,15 +99,14 @@ public class RepairOrderController {
 
     @GetMapping("/details/{id}")
     public ModelAndView getRepairOrderDetails(@PathVariable UUID id,
-                                              @AuthenticationPrincipal AuthenticationMetadata authenticationMetadata,
+                                              @CurrentUser UserSummaryView user,
                                               @RequestParam(value = "invoiceError", required = false) String invoiceError) {
 
-        User user = userService.findUserById(authenticationMetadata.getUserId());
         RepairOrder repairOrder = repairOrderService.findRepairOrderById(id);
 
-        if (!repairOrder.getUser().getId().equals(user.getId())
-                && !user.getRole().equals(UserRole.ADMIN)
-                && !user.getRole().equals(UserRole.MECHANIC)) {
+        if (!repairOrder.getUser().getId().equals(user.id())
+                && !user.role().equals(UserRole.ADMIN)
+                && !user.role().equals(UserRole.MECHANIC)) {
             return new ModelAndView("redirect:/dashboard");
         }
 
@@ -138,30 +140,24 @@ public class RepairOrderController {
     }
 
     @GetMapping("/{id}/invoice")
-    public ResponseEntity<byte[]> downloadInvoice(@PathVariable UUID id,
-                                                  @AuthenticationPrincipal AuthenticationMetadata authenticationMetadata) {
+    public ResponseEntity<Resource> downloadInvoice(@PathVariable UUID id,
+                                                    @AuthenticationPrincipal AuthenticationMetadata authenticationMetadata) {
 
-        User user = userService.findUserById(authenticationMetadata.getUserId());
         RepairOrder repairOrder = repairOrderService.findById(id);
 
-        if (!repairOrder.getUser().getId().equals(user.getId())) {
+        if (!repairOrder.getUser().getId().equals(authenticationMetadata.getUserId())) {
             return ResponseEntity.status(403).build();
         }
 
-        byte[] pdf = pdfService.downloadLatestInvoice(id);
-        if (pdf == null || pdf.length == 0) {
+        StoredInvoice invoice = pdfService.getLatestInvoice(id);
+        if (invoice == null || invoice.size() == 0) {
             return buildInvoiceRedirect(id, "missing");
         }
 
-        HttpHeaders headers = new HttpHeaders();
-        headers.set(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=invoice-" + id + ".pdf");
-        headers.setContentType(MediaType.APPLICATION_PDF);
-        return ResponseEntity.ok()
-                .headers(headers)
-                .body(pdf);
+        return InvoiceResponses.attachment(id, invoice);
     }
 
-    private ResponseEntity<byte[]> buildInvoiceRedirect(UUID repairId, String errorCode) {
+    private ResponseEntity<Resource> buildInvoiceRedirect(UUID repairId, String errorCode) {
 
         String redirectUrl = repairId == null
                 ? "/dashboard"
@@ -169,7 +165,7 @@ public class RepairOrderController {
 
         return ResponseEntity.status(HttpStatus.SEE_OTHER)
                 .header(HttpHeaders.LOCATION, redirectUrl)
-                .body(new byte[0]);
+                .build();
     }
 
     @ExceptionHandler({CarOwnershipException.class, IllegalStateException.class})
@@ -189,14 +185,14 @@ public class RepairOrderController {
     }
 
     @ExceptionHandler(MicroserviceDontRespondException.class)
-    public ResponseEntity<byte[]> handleInvoiceServiceDown(HttpServletRequest request) {
+    public ResponseEntity<Resource> handleInvoiceServiceDown(HttpServletRequest request) {
 
         UUID repairId = RequestUtils.getPathVariableAsUuid(request, "id");
         return buildInvoiceRedirect(repairId, "service");
     }
 
     @ExceptionHandler(Exception.class)
-    public ResponseEntity<byte[]> handleInvoiceDownloadIssue(HttpServletRequest request, Exception ex) throws Exception {
+    public ResponseEntity<Resource> handleInvoiceDownloadIssue(HttpServletRequest request, Exception ex) throws Exception {
 
         if (!request.getRequestURI().contains("/invoice")) {
             throw ex;
@@ -0,0 +1,31 @@
+package com.softuni.gms.app.web.dto;
+
+import lombok.*;
+
+import java.util.List;
+import java.util.function.Function;
+
+@Getter
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class KeysetPage<T> {
+
+    private List<T> content;
+    private PageCursor nextCursor;
+
+    public boolean hasNext() {
+        return nextCursor != null;
+    }
+
+    // Callers fetch pageSize + 1 rows; the extra row only tells us that another page exists.
+    public static <T> KeysetPage<T> of(List<T> rows, int pageSize, Function<T, PageCursor> cursorOf) {
+
+        if (rows.size() <= pageSize) {
+            return new KeysetPage<>(rows, null);
+        }
+
+        List<T> content = rows.subList(0, pageSize);
+        return new KeysetPage<>(content, cursorOf.apply(content.get(pageSize - 1)));
+    }
+}
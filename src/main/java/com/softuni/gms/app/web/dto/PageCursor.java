@@ -0,0 +1,21 @@
+package com.softuni.gms.app.web.dto;
+
+import lombok.*;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Getter
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class PageCursor {
+
+    private LocalDateTime createdAt;
+    private UUID id;
+
+    public static PageCursor of(LocalDateTime createdAt, UUID id) {
+
+        return createdAt != null && id != null ? new PageCursor(createdAt, id) : null;
+    }
+}
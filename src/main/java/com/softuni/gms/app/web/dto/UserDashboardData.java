@@ -5,6 +5,8 @@ import com.softuni.gms.app.repair.model.RepairOrder;
 import lombok.*;
 
 import java.util.List;
+import java.util.Set;
+import java.util.UUID;
 
 @Builder
 @Getter
@@ -15,4 +17,5 @@ public class UserDashboardData {
 
     private List<Car> cars;
     private List<RepairOrder> activeRepairs;
+    private Set<UUID> activeCarIds;
 }
@@ -82,14 +82,7 @@ public class DtoMapper {
 
     public static InvoiceRequest mapRepairOrderToInvoiceRequest(RepairOrder repairOrder) {
 
-        BigDecimal partsTotal = repairOrder.getUsedParts() != null && !repairOrder.getUsedParts().isEmpty()
-                ? repairOrder.getUsedParts().stream()
-                .map(UsedPart::getTotalPrice)
-                .reduce(BigDecimal.ZERO, BigDecimal::add)
-                : BigDecimal.ZERO;
-
         BigDecimal serviceFee = repairOrder.getPrice() != null ? repairOrder.getPrice() : BigDecimal.ZERO;
-        BigDecimal totalPrice = partsTotal.add(serviceFee);
 
         return InvoiceRequest.builder()
                 .repairId(repairOrder.getId())
@@ -102,9 +95,9 @@ public class DtoMapper {
                 .mechanicLastName(repairOrder.getMechanic() != null ? repairOrder.getMechanic().getLastName() : null)
                 .carBrand(repairOrder.getCar().getBrand())
                 .carModel(repairOrder.getCar().getModel())
-                .partsTotal(partsTotal)
+                .partsTotal(repairOrder.getPartsTotal())
                 .serviceFee(serviceFee)
-                .totalPrice(totalPrice)
+                .totalPrice(repairOrder.getGrandTotal())
                 .usedParts(repairOrder.getUsedParts() != null && !repairOrder.getUsedParts().isEmpty()
                         ? repairOrder.getUsedParts().stream()
                         .map(DtoMapper::mapPartToUsedPartRequest)
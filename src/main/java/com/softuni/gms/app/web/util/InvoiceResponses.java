@@ -0,0 +1,30 @@
+package com.softuni.gms.app.web.util;
+
+import com.softuni.gms.app.client.StoredInvoice;
+import lombok.experimental.UtilityClass;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+
+import java.util.UUID;
+
+@UtilityClass
+public class InvoiceResponses {
+
+    // Spring MVC answers If-None-Match with 304 from the ETag and serves Range requests as 206
+    // regions of the file resource, so neither path reads the PDF into the heap.
+    public static ResponseEntity<Resource> attachment(UUID repairId, StoredInvoice invoice) {
+
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=invoice-" + repairId + ".pdf")
+                .header(HttpHeaders.ACCEPT_RANGES, "bytes")
+                .eTag(invoice.contentHash())
+                .cacheControl(CacheControl.noCache().cachePrivate())
+                .contentType(MediaType.APPLICATION_PDF)
+                .contentLength(invoice.size())
+                .body(new FileSystemResource(invoice.path()));
+    }
+}
@@ -0,0 +1,81 @@
+-- Schema of the last release, as produced by ddl-auto=update before migrations were introduced.
+-- Existing databases are baselined at this version and skip this script; everything added since
+-- the release goes into a later version so that it also reaches those databases.
+
+create table users (
+    id binary(16) not null,
+    username varchar(255) not null,
+    password varchar(255) not null,
+    first_name varchar(255) not null,
+    last_name varchar(255) not null,
+    email varchar(255) not null,
+    phone_number varchar(255) not null,
+    role enum ('ADMIN','MECHANIC','USER') not null,
+    is_active bit not null,
+    created_at datetime(6) not null,
+    updated_at datetime(6) not null,
+    hourly_rate decimal(38,2),
+    primary key (id),
+    constraint uk_users_username unique (username),
+    constraint uk_users_email unique (email),
+    constraint uk_users_phone_number unique (phone_number)
+) engine=InnoDB;
+
+create table cars (
+    id binary(16) not null,
+    brand varchar(255) not null,
+    model varchar(255) not null,
+    vin varchar(255) not null,
+    plate_number varchar(255) not null,
+    owner_id binary(16) not null,
+    picture_url varchar(255) not null,
+    created_at datetime(6) not null,
+    updated_at datetime(6) not null,
+    is_deleted bit not null,
+    primary key (id),
+    constraint uk_cars_vin unique (vin),
+    constraint uk_cars_plate_number unique (plate_number),
+    constraint fk_cars_owner foreign key (owner_id) references users (id)
+) engine=InnoDB;
+
+create table parts (
+    id binary(16) not null,
+    name varchar(255) not null,
+    manufacturer varchar(255) not null,
+    price decimal(38,2) not null,
+    created_at datetime(6) not null,
+    updated_at datetime(6) not null,
+    is_deleted bit not null,
+    primary key (id)
+) engine=InnoDB;
+
+create table repair_orders (
+    id binary(16) not null,
+    car_id binary(16) not null,
+    user_id binary(16) not null,
+    mechanic_id binary(16),
+    status enum ('PENDING','ACCEPTED','COMPLETED','CANCELED','USER_CANCELED') not null,
+    created_at datetime(6) not null,
+    accepted_at datetime(6),
+    completed_at datetime(6),
+    updated_at datetime(6) not null,
+    price decimal(38,2),
+    problem_description TEXT not null,
+    is_deleted bit not null,
+    invoice_generated bit not null,
+    primary key (id),
+    constraint fk_repair_orders_car foreign key (car_id) references cars (id),
+    constraint fk_repair_orders_user foreign key (user_id) references users (id),
+    constraint fk_repair_orders_mechanic foreign key (mechanic_id) references users (id)
+) engine=InnoDB;
+
+create table used_parts (
+    id binary(16) not null,
+    repair_order_id binary(16) not null,
+    part_id binary(16) not null,
+    quantity integer not null,
+    total_price decimal(38,2) not null,
+    primary key (id),
+    constraint fk_used_parts_repair_order foreign key (repair_order_id) references repair_orders (id),
+    constraint fk_used_parts_part foreign key (part_id) references parts (id)
+) engine=InnoDB;
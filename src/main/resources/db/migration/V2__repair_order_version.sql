@@ -0,0 +1,2 @@
+-- Optimistic locking for repair orders; rows from before the release start at version 0.
+alter table repair_orders add column version bigint not null default 0;
@@ -0,0 +1,28 @@
+-- Repair status events waiting to be relayed to Kafka.
+create table outbox_events (
+    id binary(16) not null,
+    topic varchar(255) not null,
+    message_key varchar(255) not null,
+    payload longtext not null,
+    created_at datetime(6) not null,
+    sent_at datetime(6),
+    primary key (id)
+) engine=InnoDB;
+
+create index idx_outbox_sent_created on outbox_events (sent_at, created_at);
+
+-- Customer notifications for completed repairs, sent by the dispatch workers.
+create table completion_notifications (
+    id binary(16) not null,
+    destination varchar(255) not null,
+    payload longtext not null,
+    status enum ('PENDING','SENT','DEAD') not null,
+    attempts integer not null,
+    next_attempt_at datetime(6) not null,
+    last_error varchar(255),
+    created_at datetime(6) not null,
+    sent_at datetime(6),
+    primary key (id)
+) engine=InnoDB;
+
+create index idx_notification_status_next on completion_notifications (status, next_attempt_at);
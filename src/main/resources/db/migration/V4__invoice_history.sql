@@ -0,0 +1,21 @@
+-- Local, keyset-paged index of the invoices held by the PDF service.
+create table invoice_history (
+    id binary(16) not null,
+    remote_id varchar(255) not null,
+    repair_id binary(16) not null,
+    created_at datetime(6) not null,
+    completed_at datetime(6),
+    generated_at datetime(6) not null,
+    customer_first_name varchar(255),
+    customer_last_name varchar(255),
+    customer_phone varchar(255),
+    mechanic_first_name varchar(255),
+    mechanic_last_name varchar(255),
+    car_brand varchar(255),
+    car_model varchar(255),
+    primary key (id),
+    constraint uk_invoice_history_remote_id unique (remote_id)
+) engine=InnoDB;
+
+create index idx_invoice_history_created on invoice_history (created_at, id);
+create index idx_invoice_history_generated on invoice_history (generated_at);
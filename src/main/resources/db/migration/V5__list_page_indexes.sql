@@ -0,0 +1,11 @@
+-- Keyset pagination of the admin list pages: (created_at, id) ranges, optionally behind a filter.
+
+create index idx_users_created on users (created_at, id);
+create index idx_users_role_created on users (role, created_at, id);
+
+create index idx_cars_deleted_created on cars (is_deleted, created_at, id);
+
+create index idx_parts_deleted_created on parts (is_deleted, created_at, id);
+
+create index idx_repair_orders_created on repair_orders (created_at, id);
+create index idx_repair_orders_status_created on repair_orders (status, created_at, id);
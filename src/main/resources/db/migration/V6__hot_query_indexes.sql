@@ -0,0 +1,25 @@
+-- Composite indexes matching the access paths of the hot repository queries.
+
+-- Pending/accepted lists, status counts and the stale-order cleanup: equality on status and
+-- is_deleted, then a range or ordered scan on created_at with id as the tie-breaker.
+-- Supersedes (status, created_at, id), which left is_deleted to a per-row filter.
+drop index idx_repair_orders_status_created on repair_orders;
+create index idx_repair_orders_status_deleted_created on repair_orders (status, is_deleted, created_at, id);
+
+-- A mechanic's current order: latest accepted_at for (mechanic, ACCEPTED).
+create index idx_repair_orders_mechanic_status_accepted on repair_orders (mechanic_id, status, accepted_at);
+
+-- Completed orders still waiting for an invoice.
+create index idx_repair_orders_status_invoice on repair_orders (status, invoice_generated);
+
+-- A customer's order history pages and active orders.
+create index idx_repair_orders_user_created on repair_orders (user_id, is_deleted, created_at, id);
+
+-- Latest active order of a car, looked up when the customer cancels their request.
+create index idx_repair_orders_car_status_created on repair_orders (car_id, status, created_at);
+
+-- The cars on a customer's dashboard.
+create index idx_cars_owner_deleted on cars (owner_id, is_deleted);
+
+-- Active mechanic count on the admin dashboard.
+create index idx_users_role_active on users (role, is_active);
@@ -0,0 +1,11 @@
+-- Running totals kept on the order, so listings and invoices never sum the used_parts rows.
+
+alter table repair_orders add column parts_total decimal(38,2) not null default 0;
+alter table repair_orders add column grand_total decimal(38,2) not null default 0;
+
+-- Backfill from the parts already recorded and the labor price of completed orders.
+update repair_orders
+set parts_total = coalesce((select sum(u.total_price) from used_parts u where u.repair_order_id = repair_orders.id), 0);
+
+update repair_orders
+set grand_total = parts_total + coalesce(price, 0);
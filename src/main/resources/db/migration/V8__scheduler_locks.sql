@@ -0,0 +1,7 @@
+-- Leases for scheduled jobs that must run on a single instance, such as the outbox relay.
+create table scheduler_locks (
+    name varchar(64) not null,
+    locked_by varchar(255) not null,
+    locked_until datetime(6) not null,
+    primary key (name)
+) engine=InnoDB;
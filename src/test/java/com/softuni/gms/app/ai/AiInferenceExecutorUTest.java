@@ -0,0 +1,71 @@
+package com.softuni.gms.app.ai;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+class AiInferenceExecutorUTest {
+
+    private MeterRegistry meterRegistry;
+    private AiInferenceExecutor executor;
+
+    @BeforeEach
+    void setUp() {
+
+        meterRegistry = new SimpleMeterRegistry();
+        executor = new AiInferenceExecutor(meterRegistry, 1, 1);
+    }
+
+    @AfterEach
+    void tearDown() {
+
+        executor.shutdown();
+    }
+
+    @Test
+    void submit_whenPoolAndQueueAreFull_shouldRejectAndCount() throws InterruptedException {
+
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        executor.submit(() -> {
+            started.countDown();
+            awaitQuietly(release);
+        });
+        Assertions.assertTrue(started.await(5, TimeUnit.SECONDS));
+        executor.submit(() -> awaitQuietly(release));
+
+        Assertions.assertThrows(RejectedExecutionException.class, () -> executor.submit(() -> {
+        }));
+        Assertions.assertEquals(1.0, meterRegistry.get("gms.ai.inference.rejected").counter().count());
+        Assertions.assertEquals(1.0, meterRegistry.get("gms.ai.inference.queued").gauge().value());
+
+        release.countDown();
+    }
+
+    @Test
+    void submit_shouldRunTask() throws InterruptedException {
+
+        CountDownLatch ran = new CountDownLatch(1);
+
+        executor.submit(ran::countDown);
+
+        Assertions.assertTrue(ran.await(5, TimeUnit.SECONDS));
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -1,9 +1,11 @@
 package com.softuni.gms.app.ai;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
@@ -12,8 +14,19 @@ import org.springframework.ai.chat.model.ChatModel;
 import org.springframework.ai.chat.model.ChatResponse;
 import org.springframework.ai.chat.model.Generation;
 import org.springframework.ai.chat.prompt.Prompt;
+import org.springframework.ai.embedding.EmbeddingModel;
+import org.springframework.beans.factory.ObjectProvider;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 
 @ExtendWith(MockitoExtension.class)
 class AiMechanicServiceUTest {
@@ -21,18 +34,27 @@ class AiMechanicServiceUTest {
     @Mock
     private ChatModel chatModel;
 
-    @InjectMocks
+    @Mock
+    private EmbeddingModel embeddingModel;
+
+    @Mock
+    private ObjectProvider<EmbeddingModel> embeddingModelProvider;
+
+    private MeterRegistry meterRegistry;
     private AiMechanicService service;
 
+    @BeforeEach
+    void setUp() {
+
+        meterRegistry = new SimpleMeterRegistry();
+        service = new AiMechanicService(chatModel, embeddingModelProvider, meterRegistry, 100, Duration.ofHours(1), 0, Duration.ofSeconds(5), Duration.ofSeconds(5));
+    }
+
     @Test
     void testAskMechanic_success() {
 
-        AssistantMessage msg = new AssistantMessage("Faulty spark plug");
-        Generation gen = new Generation(msg);
-        ChatResponse resp = new ChatResponse(List.of(gen));
-
         Mockito.when(chatModel.call(Mockito.any(Prompt.class)))
-                .thenReturn(resp);
+                .thenReturn(response("Faulty spark plug"));
 
         String result = service.askMechanic("Engine knock");
 
@@ -79,14 +101,242 @@ class AiMechanicServiceUTest {
     @Test
     void testAskMechanic_emptyText_shouldThrow() {
 
-        AssistantMessage msg = new AssistantMessage("");
-        Generation gen = new Generation(msg);
-        ChatResponse resp = new ChatResponse(List.of(gen));
-
         Mockito.when(chatModel.call(Mockito.any(Prompt.class)))
-                .thenReturn(resp);
+                .thenReturn(response(""));
 
         Assertions.assertThrows(IllegalStateException.class,
                 () -> service.askMechanic("noise"));
     }
+
+    @Test
+    void testAskMechanic_sameNormalizedQuestion_shouldCallModelOnce() {
+
+        Mockito.when(chatModel.call(Mockito.any(Prompt.class)))
+                .thenReturn(response("Worn brake pads"));
+
+        Assertions.assertEquals("Worn brake pads", service.askMechanic("Squeaking brakes!"));
+        Assertions.assertEquals("Worn brake pads", service.askMechanic("  squeaking   BRAKES "));
+
+        Mockito.verify(chatModel, Mockito.times(1)).call(Mockito.any(Prompt.class));
+        Assertions.assertEquals(1.0, count("miss"));
+        Assertions.assertEquals(1.0, count("hit"));
+    }
+
+    @Test
+    void testAskMechanic_failure_shouldNotBeCached() {
+
+        Mockito.when(chatModel.call(Mockito.any(Prompt.class)))
+                .thenReturn(null)
+                .thenReturn(response("Faulty spark plug"));
+
+        Assertions.assertThrows(IllegalStateException.class, () -> service.askMechanic("noise"));
+        Assertions.assertEquals("Faulty spark plug", service.askMechanic("noise"));
+    }
+
+    @Test
+    void testAskMechanic_concurrentIdenticalQuestions_shouldShareOneModelCall() throws Exception {
+
+        CountDownLatch modelCalled = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Mockito.when(chatModel.call(Mockito.any(Prompt.class))).thenAnswer(invocation -> {
+            modelCalled.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return response("Loose heat shield");
+        });
+
+        CompletableFuture<String> first = CompletableFuture.supplyAsync(() -> service.askMechanic("rattle"));
+        Assertions.assertTrue(modelCalled.await(5, TimeUnit.SECONDS));
+        CompletableFuture<String> second = CompletableFuture.supplyAsync(() -> service.askMechanic("Rattle."));
+
+        while (count("coalesced") == 0) {
+            Thread.onSpinWait();
+        }
+        release.countDown();
+
+        Assertions.assertEquals("Loose heat shield", first.get(5, TimeUnit.SECONDS));
+        Assertions.assertEquals("Loose heat shield", second.get(5, TimeUnit.SECONDS));
+        Mockito.verify(chatModel, Mockito.times(1)).call(Mockito.any(Prompt.class));
+    }
+
+    @Test
+    void testAskMechanic_modelThrowsError_shouldReleaseQuestionForNextCaller() {
+
+        Mockito.when(chatModel.call(Mockito.any(Prompt.class)))
+                .thenThrow(new StackOverflowError("model client"))
+                .thenReturn(response("Loose heat shield"));
+
+        Assertions.assertThrows(StackOverflowError.class, () -> service.askMechanic("rattle"));
+
+        Assertions.assertTimeoutPreemptively(Duration.ofSeconds(5),
+                () -> Assertions.assertEquals("Loose heat shield", service.askMechanic("rattle")));
+    }
+
+    @Test
+    void testAskMechanic_waiterTimesOut_shouldNotFailTheSharedAnswer() throws Exception {
+
+        service = new AiMechanicService(chatModel, embeddingModelProvider, meterRegistry, 100, Duration.ofHours(1), 0,
+                Duration.ofSeconds(5), Duration.ofMillis(100));
+        CountDownLatch modelCalled = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Mockito.when(chatModel.call(Mockito.any(Prompt.class))).thenAnswer(invocation -> {
+            modelCalled.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return response("Loose heat shield");
+        });
+
+        CompletableFuture<String> leader = CompletableFuture.supplyAsync(() -> service.askMechanic("rattle"));
+        Assertions.assertTrue(modelCalled.await(5, TimeUnit.SECONDS));
+
+        Assertions.assertThrows(IllegalStateException.class, () -> service.askMechanic("rattle"));
+        release.countDown();
+
+        Assertions.assertEquals("Loose heat shield", leader.get(5, TimeUnit.SECONDS));
+        Assertions.assertEquals("Loose heat shield", service.askMechanic("rattle"));
+        Mockito.verify(chatModel, Mockito.times(1)).call(Mockito.any(Prompt.class));
+    }
+
+    @Test
+    void testAskMechanic_similarQuestion_shouldReuseAnswerWhenEmbeddingsAreClose() {
+
+        Mockito.when(embeddingModelProvider.getIfAvailable()).thenReturn(embeddingModel);
+        service = new AiMechanicService(chatModel, embeddingModelProvider, meterRegistry, 100, Duration.ofHours(1), 0.9, Duration.ofSeconds(5), Duration.ofSeconds(5));
+
+        Mockito.when(embeddingModel.embed("squeaking brakes")).thenReturn(new float[]{1f, 0f, 0.1f});
+        Mockito.when(embeddingModel.embed("brake squeal")).thenReturn(new float[]{0.95f, 0f, 0.15f});
+        Mockito.when(chatModel.call(Mockito.any(Prompt.class)))
+                .thenReturn(response("Worn brake pads"));
+
+        service.askMechanic("Squeaking brakes");
+        String result = service.askMechanic("Brake squeal");
+
+        Assertions.assertEquals("Worn brake pads", result);
+        Mockito.verify(chatModel, Mockito.times(1)).call(Mockito.any(Prompt.class));
+        Assertions.assertEquals(1.0, count("semantic"));
+    }
+
+    @Test
+    void testAskMechanic_dissimilarQuestion_shouldCallModel() {
+
+        Mockito.when(embeddingModelProvider.getIfAvailable()).thenReturn(embeddingModel);
+        service = new AiMechanicService(chatModel, embeddingModelProvider, meterRegistry, 100, Duration.ofHours(1), 0.9, Duration.ofSeconds(5), Duration.ofSeconds(5));
+
+        Mockito.when(embeddingModel.embed("squeaking brakes")).thenReturn(new float[]{1f, 0f});
+        Mockito.when(embeddingModel.embed("engine knock")).thenReturn(new float[]{0f, 1f});
+        Mockito.when(chatModel.call(Mockito.any(Prompt.class)))
+                .thenReturn(response("Worn brake pads"))
+                .thenReturn(response("Low octane fuel"));
+
+        service.askMechanic("Squeaking brakes");
+
+        Assertions.assertEquals("Low octane fuel", service.askMechanic("Engine knock"));
+    }
+
+    @Test
+    void testFindAnswer_shouldReturnCachedAnswerOnlyForKnownQuestions() {
+
+        Mockito.when(chatModel.call(Mockito.any(Prompt.class))).thenReturn(response("Worn brake pads"));
+        service.askMechanic("Squeaking brakes");
+
+        Assertions.assertNull(service.findAnswer("Engine knock"));
+        Assertions.assertEquals("Worn brake pads", service.findAnswer("squeaking  brakes!").join());
+        Assertions.assertEquals(1.0, count("hit"));
+    }
+
+    @Test
+    void testFindAnswer_inFlight_shouldCompleteWithTheLeadersAnswerWithoutBlocking() throws Exception {
+
+        CountDownLatch modelCalled = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Mockito.when(chatModel.call(Mockito.any(Prompt.class))).thenAnswer(invocation -> {
+            modelCalled.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return response("Loose heat shield");
+        });
+
+        CompletableFuture<String> leader = CompletableFuture.supplyAsync(() -> service.askMechanic("rattle"));
+        Assertions.assertTrue(modelCalled.await(5, TimeUnit.SECONDS));
+
+        CompletableFuture<String> waiter = service.findAnswer("Rattle");
+        Assertions.assertFalse(waiter.isDone());
+        release.countDown();
+
+        Assertions.assertEquals("Loose heat shield", waiter.get(5, TimeUnit.SECONDS));
+        Assertions.assertEquals("Loose heat shield", leader.get(5, TimeUnit.SECONDS));
+        Assertions.assertEquals(1.0, count("coalesced"));
+    }
+
+    @Test
+    void testStreamMechanic_shouldForwardChunksAndCacheFullAnswer() {
+
+        Mockito.when(chatModel.stream(Mockito.any(Prompt.class)))
+                .thenReturn(Flux.just(response("Worn"), response(" brake"), response(" pads ")));
+
+        List<String> chunks = new ArrayList<>();
+        String result = service.streamMechanic("Squeaking brakes", chunks::add);
+
+        Assertions.assertEquals("Worn brake pads", result);
+        Assertions.assertEquals(List.of("Worn", " brake", " pads "), chunks);
+
+        List<String> cachedChunks = new ArrayList<>();
+        Assertions.assertEquals("Worn brake pads", service.streamMechanic("squeaking brakes", cachedChunks::add));
+        Assertions.assertEquals(List.of("Worn brake pads"), cachedChunks);
+        Mockito.verify(chatModel, Mockito.times(1)).stream(Mockito.any(Prompt.class));
+    }
+
+    @Test
+    void testStreamMechanic_clientGone_shouldFinishAndCacheAnswer() {
+
+        Mockito.when(chatModel.stream(Mockito.any(Prompt.class)))
+                .thenReturn(Flux.just(response("Worn"), response(" brake pads")));
+
+        List<String> delivered = new ArrayList<>();
+        String result = service.streamMechanic("noise", chunk -> {
+            delivered.add(chunk);
+            throw new UncheckedIOException(new IOException("Broken pipe"));
+        });
+
+        Assertions.assertEquals("Worn brake pads", result);
+        Assertions.assertEquals(List.of("Worn"), delivered);
+        Assertions.assertEquals("Worn brake pads", service.askMechanic("noise"));
+        Mockito.verify(chatModel, Mockito.never()).call(Mockito.any(Prompt.class));
+    }
+
+    @Test
+    void testStreamMechanic_leaderClientGone_shouldNotFailCoalescedWaiter() throws Exception {
+
+        CountDownLatch firstChunkSent = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Mockito.when(chatModel.stream(Mockito.any(Prompt.class))).thenReturn(Flux.concat(
+                Mono.just(response("Worn")),
+                Mono.fromCallable(() -> {
+                    release.await(5, TimeUnit.SECONDS);
+                    return response(" brake pads");
+                })));
+
+        CompletableFuture<String> leader = CompletableFuture.supplyAsync(() -> service.streamMechanic("noise", chunk -> {
+            firstChunkSent.countDown();
+            throw new UncheckedIOException(new IOException("Broken pipe"));
+        }));
+        Assertions.assertTrue(firstChunkSent.await(5, TimeUnit.SECONDS));
+
+        CompletableFuture<String> waiter = CompletableFuture.supplyAsync(() -> service.streamMechanic("Noise", chunk -> {
+        }));
+        while (count("coalesced") == 0) {
+            Thread.onSpinWait();
+        }
+        release.countDown();
+
+        Assertions.assertEquals("Worn brake pads", waiter.get(5, TimeUnit.SECONDS));
+        Assertions.assertEquals("Worn brake pads", leader.get(5, TimeUnit.SECONDS));
+    }
+
+    private double count(String result) {
+
+        return meterRegistry.get("gms.ai.cache.requests").tag("result", result).counter().count();
+    }
+
+    private static ChatResponse response(String text) {
+
+        return new ChatResponse(List.of(new Generation(new AssistantMessage(text))));
+    }
 }
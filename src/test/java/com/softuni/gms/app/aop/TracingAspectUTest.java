@@ -0,0 +1,90 @@
+package com.softuni.gms.app.aop;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.UUID;
+
+@ExtendWith(MockitoExtension.class)
+class TracingAspectUTest {
+
+    @Mock
+    private ProceedingJoinPoint joinPoint;
+
+    @Mock
+    private MethodSignature signature;
+
+    private MeterRegistry meterRegistry;
+    private TracingAspect aspect;
+
+    @BeforeEach
+    void setUp() throws NoSuchMethodException {
+
+        meterRegistry = new SimpleMeterRegistry();
+        aspect = new TracingAspect(meterRegistry, 1.0);
+
+        Mockito.when(joinPoint.getSignature()).thenReturn(signature);
+        Mockito.when(signature.getMethod()).thenReturn(SampleService.class.getMethod("find", UUID.class));
+    }
+
+    @Test
+    void trace_success_shouldReturnResultAndRecordSuccessTimer() throws Throwable {
+
+        Mockito.when(joinPoint.proceed()).thenReturn("found");
+
+        Assertions.assertEquals("found", aspect.trace(joinPoint));
+        Assertions.assertEquals(1, timer("success").count());
+        Assertions.assertEquals(0, timer("failure").count());
+    }
+
+    @Test
+    void trace_failure_shouldRethrowAndRecordFailureTimer() throws Throwable {
+
+        IllegalStateException failure = new IllegalStateException("boom");
+        Mockito.when(joinPoint.proceed()).thenThrow(failure);
+
+        IllegalStateException thrown = Assertions.assertThrows(IllegalStateException.class, () -> aspect.trace(joinPoint));
+
+        Assertions.assertSame(failure, thrown);
+        Assertions.assertEquals(1, timer("failure").count());
+    }
+
+    @Test
+    void trace_repeatedCalls_shouldReuseCachedTimers() throws Throwable {
+
+        Mockito.when(joinPoint.proceed()).thenReturn("found");
+
+        for (int i = 0; i < 5; i++) {
+            aspect.trace(joinPoint);
+        }
+
+        Assertions.assertEquals(5, timer("success").count());
+        Assertions.assertEquals(2, meterRegistry.find(TracingAspect.TIMER).timers().size());
+    }
+
+    private Timer timer(String outcome) {
+
+        return meterRegistry.get(TracingAspect.TIMER)
+                .tag("class", "SampleService")
+                .tag("method", "find")
+                .tag("outcome", outcome)
+                .timer();
+    }
+
+    static class SampleService {
+
+        public String find(UUID id) {
+            return "found";
+        }
+    }
+}
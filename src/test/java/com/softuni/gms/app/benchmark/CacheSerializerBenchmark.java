@@ -0,0 +1,145 @@
+package com.softuni.gms.app.benchmark;
+
+import com.fasterxml.jackson.annotation.JsonAutoDetect;
+import com.fasterxml.jackson.annotation.PropertyAccessor;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.softuni.gms.app.car.model.Car;
+import com.softuni.gms.app.config.CacheConfig;
+import com.softuni.gms.app.config.VersionedCacheSerializer;
+import com.softuni.gms.app.repair.model.RepairOrder;
+import com.softuni.gms.app.repair.model.RepairStatus;
+import com.softuni.gms.app.user.model.User;
+import com.softuni.gms.app.user.model.UserRole;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+// Run with: mvn test-compile exec:java -Dexec.classpathScope=test
+//           -Dexec.mainClass=com.softuni.gms.app.benchmark.CacheSerializerBenchmark
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CacheSerializerBenchmark {
+
+    @Param({"10", "100"})
+    private int orders;
+
+    private GenericJackson2JsonRedisSerializer genericSerializer;
+    private VersionedCacheSerializer<List<RepairOrder>> typedSerializer;
+
+    private byte[] genericPayload;
+    private byte[] typedPayload;
+
+    @Setup
+    public void setUp() {
+
+        ObjectMapper genericMapper = new ObjectMapper();
+        genericMapper.setVisibility(PropertyAccessor.ALL, JsonAutoDetect.Visibility.ANY);
+        genericMapper.registerModule(new JavaTimeModule());
+        genericSerializer = new GenericJackson2JsonRedisSerializer(genericMapper);
+
+        ObjectMapper typedMapper = CacheConfig.cacheObjectMapper();
+        JavaType listType = typedMapper.getTypeFactory().constructCollectionType(List.class, RepairOrder.class);
+        typedSerializer = new VersionedCacheSerializer<>(typedMapper, listType, 1);
+
+        List<RepairOrder> value = pendingOrders(orders);
+        genericPayload = genericSerializer.serialize(value);
+        typedPayload = typedSerializer.serialize(value);
+
+        System.out.printf("%n[orders=%d] payload bytes: generic-json=%d, typed-smile=%d%n",
+                orders, genericPayload.length, typedPayload.length);
+    }
+
+    @Benchmark
+    public Object decodeGenericJson() {
+
+        return genericSerializer.deserialize(genericPayload);
+    }
+
+    @Benchmark
+    public Object decodeTypedSmile() {
+
+        return typedSerializer.deserialize(typedPayload);
+    }
+
+    @Benchmark
+    public byte[] encodeGenericJson() {
+
+        return genericSerializer.serialize(pendingOrders(orders));
+    }
+
+    @Benchmark
+    public byte[] encodeTypedSmile() {
+
+        return typedSerializer.serialize(pendingOrders(orders));
+    }
+
+    private static List<RepairOrder> pendingOrders(int count) {
+
+        List<RepairOrder> result = new ArrayList<>(count);
+        LocalDateTime now = LocalDateTime.of(2025, 1, 1, 10, 0);
+
+        for (int i = 0; i < count; i++) {
+            User user = User.builder()
+                    .id(UUID.nameUUIDFromBytes(("user" + i).getBytes()))
+                    .username("user" + i)
+                    .password("$2a$10$abcdefghijklmnopqrstuv")
+                    .firstName("First" + i)
+                    .lastName("Last" + i)
+                    .email("user" + i + "@gms.bg")
+                    .phoneNumber("35988800" + i)
+                    .role(UserRole.USER)
+                    .isActive(true)
+                    .createdAt(now)
+                    .updatedAt(now)
+                    .build();
+
+            Car car = Car.builder()
+                    .id(UUID.nameUUIDFromBytes(("car" + i).getBytes()))
+                    .brand("BMW")
+                    .model("320d")
+                    .vin("WBA0000000000" + i)
+                    .plateNumber("CA" + i + "AB")
+                    .owner(user)
+                    .pictureUrl("https://example.com/car.jpg")
+                    .createdAt(now)
+                    .updatedAt(now)
+                    .build();
+
+            result.add(RepairOrder.builder()
+                    .id(UUID.nameUUIDFromBytes(("order" + i).getBytes()))
+                    .car(car)
+                    .user(user)
+                    .status(RepairStatus.PENDING)
+                    .createdAt(now)
+                    .updatedAt(now)
+                    .price(BigDecimal.ZERO)
+                    .problemDescription("Engine makes a strange noise when cold")
+                    .usedParts(new ArrayList<>())
+                    .build());
+        }
+
+        return result;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+
+        new Runner(new OptionsBuilder()
+                .include(CacheSerializerBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
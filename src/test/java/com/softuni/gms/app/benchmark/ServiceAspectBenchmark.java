@@ -0,0 +1,142 @@
+package com.softuni.gms.app.benchmark;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import com.softuni.gms.app.aop.TracingAspect;
+import com.softuni.gms.app.benchmark.service.BenchmarkRepairService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.aspectj.lang.JoinPoint;
+import org.aspectj.lang.annotation.AfterReturning;
+import org.aspectj.lang.annotation.AfterThrowing;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.annotation.Before;
+import org.aspectj.lang.annotation.Pointcut;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.slf4j.LoggerFactory;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+// Per-invocation overhead of the old LoggingAspect vs. TracingAspect around a trivial service method.
+// Log output is discarded (root appenders detached) so the numbers show the cost of building the
+// messages, not of writing them.
+//
+// Run with: mvn test-compile exec:java -Dexec.classpathScope=test
+//           -Dexec.mainClass=com.softuni.gms.app.benchmark.ServiceAspectBenchmark
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ServiceAspectBenchmark {
+
+    private final UUID id = UUID.randomUUID();
+
+    private BenchmarkRepairService plain;
+    private BenchmarkRepairService legacyLogging;
+    private BenchmarkRepairService tracing;
+
+    @Setup
+    public void setUp() {
+
+        Logger root = (Logger) LoggerFactory.getLogger(org.slf4j.Logger.ROOT_LOGGER_NAME);
+        root.detachAndStopAllAppenders();
+        ((Logger) LoggerFactory.getLogger("com.softuni.gms")).setLevel(Level.INFO);
+
+        plain = new BenchmarkRepairService();
+        legacyLogging = proxy(new LegacyLoggingAspect());
+        tracing = proxy(new TracingAspect(new SimpleMeterRegistry(), 0.01));
+    }
+
+    @Benchmark
+    public Object noAspect() {
+
+        return plain.findOrder(id, "PENDING");
+    }
+
+    @Benchmark
+    public Object legacyLoggingAspect() {
+
+        return legacyLogging.findOrder(id, "PENDING");
+    }
+
+    @Benchmark
+    public Object tracingAspect() {
+
+        return tracing.findOrder(id, "PENDING");
+    }
+
+    private static BenchmarkRepairService proxy(Object aspect) {
+
+        AspectJProxyFactory factory = new AspectJProxyFactory(new BenchmarkRepairService());
+        factory.setProxyTargetClass(true);
+        factory.addAspect(aspect);
+        return factory.getProxy();
+    }
+
+    // Copy of the LoggingAspect that TracingAspect replaced, kept here as the "before" measurement.
+    @Aspect
+    @Slf4j
+    public static class LegacyLoggingAspect {
+
+        @Pointcut("execution(* com.softuni.gms.app..service..*(..))")
+        public void allServiceMethods() {
+        }
+
+        @Pointcut("@annotation(com.softuni.gms.app.aop.NoLog)")
+        public void noLogMethods() {
+        }
+
+        @Before("allServiceMethods() && !noLogMethods()")
+        public void beforeAllServiceMethods(JoinPoint joinPoint) {
+
+            String method = joinPoint.getSignature().toShortString();
+            Object[] args = joinPoint.getArgs();
+
+            log.info("[AOP] Starting method {} with arguments: {}", method, Arrays.toString(args));
+        }
+
+        @AfterReturning(pointcut = "allServiceMethods() && !noLogMethods()", returning = "result")
+        public void afterAllServiceMethods(JoinPoint joinPoint, Object result) {
+
+            String method = joinPoint.getSignature().toShortString();
+            String resultString = formatResult(result);
+
+            log.info("[AOP] Finished method {} ,Result: {}", method, resultString);
+        }
+
+        @AfterThrowing(pointcut = "allServiceMethods()", throwing = "exc")
+        public void afterThrowServiceMethods(JoinPoint joinPoint, Throwable exc) {
+
+            log.info("[AOP] exception in method: {} -> {}", joinPoint.getSignature(), exc.getMessage());
+        }
+
+        private String formatResult(Object result) {
+
+            if (result == null) return "null";
+
+            try {
+                Method getId = result.getClass().getMethod("getId");
+                Object id = getId.invoke(result);
+                return result.getClass().getSimpleName() + "(id=" + id + ")";
+            } catch (Exception e) {
+                return result.toString();
+            }
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+
+        new Runner(new OptionsBuilder()
+                .include(ServiceAspectBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,151 @@
+package com.softuni.gms.app.benchmark;
+
+import com.softuni.gms.app.shared.id.TimeOrderedUuidGenerator;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.nio.ByteBuffer;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+// Inserts repair_orders-shaped rows keyed by random (v4) or time-ordered (v7) BINARY(16) ids and
+// prints the table and index size at the end of each trial. Defaults to an H2 file database; pass
+// -Dgms.benchmark.url=jdbc:mysql://localhost:3306/gms_bench -Dgms.benchmark.user=... -Dgms.benchmark.password=...
+// to measure InnoDB, where the page-split difference is much larger.
+//
+// Run with: mvn test-compile exec:java -Dexec.classpathScope=test
+//           -Dexec.mainClass=com.softuni.gms.app.benchmark.UuidKeyInsertBenchmark
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class UuidKeyInsertBenchmark {
+
+    private static final int BATCH = 500;
+
+    @Param({"random", "time-ordered"})
+    private String keys;
+
+    // Rows already in the table, so inserts go into an index that no longer fits a handful of pages.
+    @Param({"200000"})
+    private int preload;
+
+    private String url;
+    private Connection connection;
+    private PreparedStatement insert;
+    private long rows;
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException {
+
+        url = System.getProperty("gms.benchmark.url",
+                "jdbc:h2:file:./target/uuid-bench-" + keys + ";MODE=MySQL");
+        connection = DriverManager.getConnection(url,
+                System.getProperty("gms.benchmark.user", "sa"),
+                System.getProperty("gms.benchmark.password", ""));
+        connection.setAutoCommit(false);
+
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("drop table if exists uuid_bench");
+            statement.execute("""
+                    create table uuid_bench (
+                        id binary(16) not null,
+                        user_id binary(16) not null,
+                        status varchar(20) not null,
+                        is_deleted bit not null,
+                        created_at datetime(6) not null,
+                        problem_description varchar(255) not null,
+                        primary key (id))""");
+            statement.execute("create index idx_uuid_bench_status_created on uuid_bench (status, is_deleted, created_at, id)");
+            statement.execute("create index idx_uuid_bench_user_created on uuid_bench (user_id, is_deleted, created_at, id)");
+        }
+        connection.commit();
+
+        insert = connection.prepareStatement("""
+                insert into uuid_bench (id, user_id, status, is_deleted, created_at, problem_description)
+                values (?, ?, 'PENDING', false, ?, 'Engine makes a strange noise when cold')""");
+
+        for (int loaded = 0; loaded < preload; loaded += BATCH) {
+            insertBatch();
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public void insertBatch() throws SQLException {
+
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+
+        for (int i = 0; i < BATCH; i++) {
+            insert.setBytes(1, bytes(nextId()));
+            insert.setBytes(2, bytes(new UUID(0, rows % 1000)));
+            insert.setTimestamp(3, now);
+            insert.addBatch();
+            rows++;
+        }
+
+        insert.executeBatch();
+        connection.commit();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException {
+
+        System.out.printf("%n[keys=%s] rows=%d, %s%n", keys, rows, size());
+
+        insert.close();
+        connection.close();
+    }
+
+    private UUID nextId() {
+
+        return keys.equals("random") ? UUID.randomUUID() : TimeOrderedUuidGenerator.generate();
+    }
+
+    private String size() throws SQLException {
+
+        try (Statement statement = connection.createStatement()) {
+            if (url.startsWith("jdbc:mysql")) {
+                statement.execute("analyze table uuid_bench");
+                try (ResultSet result = statement.executeQuery("""
+                        select data_length, index_length from information_schema.tables
+                        where table_schema = database() and table_name = 'uuid_bench'""")) {
+                    result.next();
+                    return "clustered bytes=%d, secondary index bytes=%d".formatted(result.getLong(1), result.getLong(2));
+                }
+            }
+
+            try (ResultSet result = statement.executeQuery("select disk_space_used('uuid_bench')")) {
+                result.next();
+                return "table and index bytes=%d".formatted(result.getLong(1));
+            }
+        }
+    }
+
+    private static byte[] bytes(UUID id) {
+
+        return ByteBuffer.allocate(16)
+                .putLong(id.getMostSignificantBits())
+                .putLong(id.getLeastSignificantBits())
+                .array();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+
+        new Runner(new OptionsBuilder()
+                .include(UuidKeyInsertBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
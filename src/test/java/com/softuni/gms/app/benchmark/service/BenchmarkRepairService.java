@@ -0,0 +1,32 @@
+package com.softuni.gms.app.benchmark.service;
+
+import java.util.UUID;
+
+// Lives in a "service" package so the service pointcuts of the aspects under benchmark match it.
+public class BenchmarkRepairService {
+
+    public Order findOrder(UUID id, String status) {
+
+        return new Order(id, status);
+    }
+
+    public static class Order {
+
+        private final UUID id;
+        private final String status;
+
+        Order(UUID id, String status) {
+            this.id = id;
+            this.status = status;
+        }
+
+        public UUID getId() {
+            return id;
+        }
+
+        @Override
+        public String toString() {
+            return "Order(id=" + id + ", status=" + status + ")";
+        }
+    }
+}
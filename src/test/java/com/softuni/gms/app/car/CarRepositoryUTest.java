@@ -12,10 +12,12 @@ import org.springframework.boot.autoconfigure.domain.EntityScan;
 import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
 import org.springframework.test.context.ActiveProfiles;
 
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
 import java.util.List;
 import java.util.UUID;
 
@@ -86,23 +88,21 @@ public class CarRepositoryUTest {
     }
 
     @Test
-    void findAllByIsDeletedTrueOrderByUpdatedAtDesc_shouldReturnDeletedCarsSorted() {
+    void findPage_shouldReturnDeletedCarsNewestFirst() {
 
         User owner = userRepository.save(createOwner());
 
-        Car deleted1 = createCar(owner, true, "VIN_A", "PL_A",
-                LocalDateTime.now().minusHours(1));
-        Car deleted2 = createCar(owner, true, "VIN_B", "PL_B",
-                LocalDateTime.now().minusHours(2));
-        Car deleted3_latest = createCar(owner, true, "VIN_C", "PL_C",
-                LocalDateTime.now());
+        Car deleted1 = createCar(owner, true, "VIN_A", "PL_A", LocalDateTime.now());
+        deleted1.setCreatedAt(LocalDateTime.now().minusHours(1));
+        Car deleted2 = createCar(owner, true, "VIN_B", "PL_B", LocalDateTime.now());
+        deleted2.setCreatedAt(LocalDateTime.now().minusHours(2));
+        Car deleted3_latest = createCar(owner, true, "VIN_C", "PL_C", LocalDateTime.now());
 
-        Car active = createCar(owner, false, "VIN_X", "PL_X",
-                LocalDateTime.now());
+        Car active = createCar(owner, false, "VIN_X", "PL_X", LocalDateTime.now());
 
         carRepository.saveAll(List.of(deleted1, deleted2, deleted3_latest, active));
 
-        List<Car> result = carRepository.findAllByIsDeletedTrueOrderByUpdatedAtDesc();
+        List<Car> result = carRepository.findPage(true, null, null, Limit.of(10));
 
         assertEquals(3, result.size());
 
@@ -112,31 +112,28 @@ public class CarRepositoryUTest {
     }
 
     @Test
-    void findAllByIsDeletedFalseOrderByUpdatedAtDesc_shouldReturnActiveCarsSorted() {
+    void findPage_shouldContinueAfterCursor() {
 
         User owner = userRepository.save(createOwner());
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
 
-        Car active1 = createCar(owner, false, "VIN_A", "PL_A",
-                LocalDateTime.now().minusMinutes(30));
-        Car active2 = createCar(owner, false, "VIN_B", "PL_B",
-                LocalDateTime.now().minusHours(1));
-        Car active3_latest = createCar(owner, false, "VIN_C", "PL_C",
-                LocalDateTime.now());
+        Car active1 = createCar(owner, false, "VIN_A", "PL_A", LocalDateTime.now());
+        active1.setCreatedAt(now.minusMinutes(30));
+        Car active2 = createCar(owner, false, "VIN_B", "PL_B", LocalDateTime.now());
+        active2.setCreatedAt(now.minusHours(1));
+        Car active3_latest = createCar(owner, false, "VIN_C", "PL_C", LocalDateTime.now());
+        active3_latest.setCreatedAt(now);
 
-        Car deleted = createCar(owner, true, "VIN_X", "PL_X",
-                LocalDateTime.now());
+        Car deleted = createCar(owner, true, "VIN_X", "PL_X", LocalDateTime.now());
 
         carRepository.saveAll(List.of(active1, active2, active3_latest, deleted));
 
-        List<Car> result = carRepository.findAllByIsDeletedFalseOrderByUpdatedAtDesc();
+        List<Car> firstPage = carRepository.findPage(false, null, null, Limit.of(2));
+        Car last = firstPage.get(1);
+        List<Car> secondPage = carRepository.findPage(false, last.getCreatedAt(), last.getId(), Limit.of(2));
 
-        assertEquals(3, result.size());
-
-        assertTrue(result.stream().noneMatch(Car::isDeleted));
-
-        assertEquals("VIN_C", result.get(0).getVin());
-        assertEquals("VIN_A", result.get(1).getVin());
-        assertEquals("VIN_B", result.get(2).getVin());
+        assertEquals(List.of("VIN_C", "VIN_A"), firstPage.stream().map(Car::getVin).toList());
+        assertEquals(List.of("VIN_B"), secondPage.stream().map(Car::getVin).toList());
     }
 
     private User createOwner() {
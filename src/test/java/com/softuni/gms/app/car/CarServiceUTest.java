@@ -8,13 +8,18 @@ import com.softuni.gms.app.exeption.NotFoundException;
 import com.softuni.gms.app.user.model.User;
 import com.softuni.gms.app.web.dto.CarEditRequest;
 import com.softuni.gms.app.web.dto.CarRegisterRequest;
+import com.softuni.gms.app.web.dto.KeysetPage;
+import com.softuni.gms.app.web.dto.PageCursor;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -189,25 +194,32 @@ public class CarServiceUTest {
     }
 
     @Test
-    void findAllDeletedCars_shouldReturnList() {
+    void findCarsPage_shouldReturnCursorOfLastRow_whenMoreRowsExist() {
 
-        List<Car> cars = List.of(Car.builder().id(UUID.randomUUID()).build());
-        when(carRepository.findAllByIsDeletedTrueOrderByUpdatedAtDesc()).thenReturn(cars);
+        List<Car> cars = new ArrayList<>();
+        for (int i = 0; i < 26; i++) {
+            cars.add(Car.builder().id(UUID.randomUUID()).createdAt(LocalDateTime.now().minusMinutes(i)).build());
+        }
+        when(carRepository.findPage(false, null, null, Limit.of(26))).thenReturn(cars);
 
-        List<Car> result = carService.findAllDeletedCars();
+        KeysetPage<Car> result = carService.findCarsPage(false, null);
 
-        assertEquals(1, result.size());
+        assertEquals(25, result.getContent().size());
+        assertEquals(cars.get(24).getId(), result.getNextCursor().getId());
+        assertEquals(cars.get(24).getCreatedAt(), result.getNextCursor().getCreatedAt());
     }
 
     @Test
-    void findAllActiveCars_shouldReturnList() {
+    void findCarsPage_shouldPassCursor_andEndOnShortPage() {
 
+        PageCursor cursor = new PageCursor(LocalDateTime.now(), UUID.randomUUID());
         List<Car> cars = List.of(Car.builder().id(UUID.randomUUID()).build());
-        when(carRepository.findAllByIsDeletedFalseOrderByUpdatedAtDesc()).thenReturn(cars);
+        when(carRepository.findPage(true, cursor.getCreatedAt(), cursor.getId(), Limit.of(26))).thenReturn(cars);
 
-        List<Car> result = carService.findAllActiveCars();
+        KeysetPage<Car> result = carService.findCarsPage(true, cursor);
 
-        assertEquals(1, result.size());
+        assertEquals(cars, result.getContent());
+        assertFalse(result.hasNext());
     }
 
     @Test
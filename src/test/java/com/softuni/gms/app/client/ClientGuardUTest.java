@@ -0,0 +1,79 @@
+package com.softuni.gms.app.client;
+
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+class ClientGuardUTest {
+
+    private CircuitBreakerRegistry circuitBreakerRegistry;
+    private ClientGuard clientGuard;
+
+    @BeforeEach
+    void setUp() {
+
+        circuitBreakerRegistry = CircuitBreakerRegistry.of(CircuitBreakerConfig.custom()
+                .slidingWindowSize(4)
+                .minimumNumberOfCalls(4)
+                .failureRateThreshold(50)
+                .waitDurationInOpenState(Duration.ofMinutes(1))
+                .build());
+        BulkheadRegistry bulkheadRegistry = BulkheadRegistry.of(BulkheadConfig.custom()
+                .maxConcurrentCalls(1)
+                .maxWaitDuration(Duration.ZERO)
+                .build());
+        clientGuard = new ClientGuard(circuitBreakerRegistry, bulkheadRegistry);
+    }
+
+    @Test
+    void call_shouldOpenCircuitAfterFailuresAndFailFast() {
+
+        AtomicInteger invocations = new AtomicInteger();
+        for (int i = 0; i < 4; i++) {
+            Assertions.assertThrows(IllegalStateException.class, () -> clientGuard.call("pdf", () -> {
+                invocations.incrementAndGet();
+                throw new IllegalStateException("down");
+            }));
+        }
+
+        Assertions.assertEquals(CircuitBreaker.State.OPEN, circuitBreakerRegistry.circuitBreaker("pdf").getState());
+        Assertions.assertThrows(CallNotPermittedException.class,
+                () -> clientGuard.call("pdf", invocations::incrementAndGet));
+        Assertions.assertEquals(4, invocations.get());
+    }
+
+    @Test
+    void call_shouldRejectImmediately_whenBulkheadIsFull() throws Exception {
+
+        CountDownLatch inCall = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Thread slowCall = new Thread(() -> clientGuard.run("pdf", () -> {
+            inCall.countDown();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }));
+        slowCall.start();
+        Assertions.assertTrue(inCall.await(5, TimeUnit.SECONDS));
+
+        Assertions.assertThrows(BulkheadFullException.class, () -> clientGuard.call("pdf", () -> "second"));
+        Assertions.assertEquals("other", clientGuard.call("invoiceHistory", () -> "other"));
+
+        release.countDown();
+        slowCall.join();
+    }
+}
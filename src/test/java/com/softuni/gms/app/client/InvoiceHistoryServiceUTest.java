@@ -1,19 +1,31 @@
 package com.softuni.gms.app.client;
 
 import com.softuni.gms.app.exeption.MicroserviceDontRespondException;
+import com.softuni.gms.app.invoice.model.InvoiceHistoryEntry;
+import com.softuni.gms.app.invoice.repository.InvoiceHistoryEntryRepository;
 import com.softuni.gms.app.web.dto.InvoiceHistoryData;
+import com.softuni.gms.app.web.dto.KeysetPage;
+import com.softuni.gms.app.web.dto.PageCursor;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 
 @ExtendWith(MockitoExtension.class)
@@ -22,56 +34,91 @@ class InvoiceHistoryServiceUTest {
     @Mock
     private InvoiceHistoryClient historyClient;
 
+    @Mock
+    private InvoiceHistoryEntryRepository historyRepository;
+
+    @Spy
+    private ClientGuard clientGuard = new ClientGuard(CircuitBreakerRegistry.ofDefaults(), BulkheadRegistry.ofDefaults());
+
     @InjectMocks
     private InvoiceHistoryService historyService;
 
     @Test
-    void testGetHistory_success() {
+    void testSyncHistory_emptyIndex_shouldRequestFullHistoryAndStoreAll() {
 
         LocalDateTime t1 = LocalDateTime.now().minusDays(1);
         LocalDateTime t2 = LocalDateTime.now();
 
-        List<Map<String, Object>> raw = getMaps(t1, t2);
+        Mockito.when(historyRepository.findLatestGeneratedAt()).thenReturn(Optional.empty());
+        Mockito.when(historyClient.getInvoiceHistory(null)).thenReturn(List.of(raw("a1", t1), raw("b2", t2)));
+        Mockito.when(historyRepository.findExistingRemoteIds(Mockito.anyCollection())).thenReturn(Set.of());
+
+        int synced = historyService.syncHistory();
+
+        Assertions.assertEquals(2, synced);
+        Assertions.assertEquals(List.of("a1", "b2"), savedRemoteIds());
+    }
+
+    @Test
+    void testSyncHistory_withWatermark_shouldPassItAndSkipOlderAndKnownEntries() {
+
+        LocalDateTime watermark = LocalDateTime.of(2025, 1, 10, 12, 0);
+
+        Mockito.when(historyRepository.findLatestGeneratedAt()).thenReturn(Optional.of(watermark));
+        Mockito.when(historyClient.getInvoiceHistory(watermark.toString())).thenReturn(List.of(
+                raw("old", watermark.minusMinutes(1)),
+                raw("known", watermark),
+                raw("same-time", watermark),
+                raw("new", watermark.plusMinutes(1))));
+        Mockito.when(historyRepository.findExistingRemoteIds(List.of("known", "same-time", "new")))
+                .thenReturn(Set.of("known"));
 
-        Mockito.when(historyClient.getInvoiceHistory()).thenReturn(raw);
+        int synced = historyService.syncHistory();
 
-        List<InvoiceHistoryData> result = historyService.getHistory();
+        Assertions.assertEquals(2, synced);
+        Assertions.assertEquals(List.of("same-time", "new"), savedRemoteIds());
+    }
+
+    @Test
+    void testSyncHistory_repeatedRemoteId_shouldStoreItOnce() {
+
+        LocalDateTime t1 = LocalDateTime.now();
+
+        Mockito.when(historyRepository.findLatestGeneratedAt()).thenReturn(Optional.empty());
+        Mockito.when(historyClient.getInvoiceHistory(null)).thenReturn(List.of(raw("a1", t1), raw("a1", t1)));
+        Mockito.when(historyRepository.findExistingRemoteIds(List.of("a1"))).thenReturn(Set.of());
 
-        Assertions.assertEquals(2, result.size());
-        Assertions.assertEquals("b2", result.get(0).getId());
-        Assertions.assertEquals("a1", result.get(1).getId());
-        Assertions.assertEquals(t2, result.get(0).getCreatedAt());
-        Assertions.assertEquals(t1, result.get(1).getCreatedAt());
+        Assertions.assertEquals(1, historyService.syncHistory());
+        Assertions.assertEquals(List.of("a1"), savedRemoteIds());
     }
 
     @Test
-    void testGetHistory_feignThrows_shouldThrowCustomException() {
+    void testSyncHistory_feignThrows_shouldThrowCustomException() {
 
-        Mockito.when(historyClient.getInvoiceHistory())
+        Mockito.when(historyRepository.findLatestGeneratedAt()).thenReturn(Optional.empty());
+        Mockito.when(historyClient.getInvoiceHistory(null))
                 .thenThrow(new RuntimeException("Feign down"));
 
         Assertions.assertThrows(MicroserviceDontRespondException.class,
-                () -> historyService.getHistory());
+                () -> historyService.syncHistory());
+        Mockito.verify(historyRepository, Mockito.never()).saveAll(Mockito.any());
     }
 
     @Test
-    void testGetHistory_createdAtNull_shouldThrowException() {
+    void testSyncHistory_createdAtNull_shouldSkipEntry() {
 
-        Map<String, Object> data = new HashMap<>();
-        data.put("_id", "a1");
-        data.put("repairId", "11111111-1111-1111-1111-111111111111");
-        data.put("createdAt", null);
-        data.put("customerFirstName", "Pesho");
-        data.put("customerLastName", "Peshov");
+        Map<String, Object> broken = raw("a1", LocalDateTime.now());
+        broken.put("createdAt", null);
 
-        Mockito.when(historyClient.getInvoiceHistory()).thenReturn(List.of(data));
+        Mockito.when(historyRepository.findLatestGeneratedAt()).thenReturn(Optional.empty());
+        Mockito.when(historyClient.getInvoiceHistory(null)).thenReturn(List.of(broken));
 
-        Assertions.assertThrows(MicroserviceDontRespondException.class,
-                () -> historyService.getHistory());
+        Assertions.assertEquals(0, historyService.syncHistory());
+        Mockito.verify(historyRepository, Mockito.never()).saveAll(Mockito.any());
     }
 
     @Test
-    void testToDto_mappingIsCorrect() {
+    void testSyncHistory_mappingIsCorrect() {
 
         LocalDateTime created = LocalDateTime.now();
         LocalDateTime completed = created.plusDays(1);
@@ -92,51 +139,103 @@ class InvoiceHistoryServiceUTest {
                 Map.entry("carModel", "E46")
         );
 
-        Mockito.when(historyClient.getInvoiceHistory())
-                .thenReturn(List.of(raw));
+        Mockito.when(historyRepository.findLatestGeneratedAt()).thenReturn(Optional.empty());
+        Mockito.when(historyClient.getInvoiceHistory(null)).thenReturn(List.of(raw));
+        Mockito.when(historyRepository.findExistingRemoteIds(Mockito.anyCollection())).thenReturn(Set.of());
+
+        historyService.syncHistory();
+
+        InvoiceHistoryEntry entry = savedEntries().get(0);
 
-        List<InvoiceHistoryData> result = historyService.getHistory();
+        Assertions.assertEquals("test-id", entry.getRemoteId());
+        Assertions.assertEquals(UUID.fromString("11111111-1111-1111-1111-111111111111"), entry.getRepairId());
 
-        InvoiceHistoryData dto = result.get(0);
+        Assertions.assertEquals(created, entry.getCreatedAt());
+        Assertions.assertEquals(completed, entry.getCompletedAt());
+        Assertions.assertEquals(generated, entry.getGeneratedAt());
 
-        Assertions.assertEquals("test-id", dto.getId());
-        Assertions.assertEquals(UUID.fromString("11111111-1111-1111-1111-111111111111"), dto.getRepairId());
+        Assertions.assertEquals("Ivan", entry.getCustomerFirstName());
+        Assertions.assertEquals("Petrov", entry.getCustomerLastName());
+        Assertions.assertEquals("+359888888888", entry.getCustomerPhone());
 
-        Assertions.assertEquals(created, dto.getCreatedAt());
-        Assertions.assertEquals(completed, dto.getCompletedAt());
-        Assertions.assertEquals(generated, dto.getGeneratedAt());
+        Assertions.assertEquals("Gosho", entry.getMechanicFirstName());
+        Assertions.assertEquals("Ganev", entry.getMechanicLastName());
+
+        Assertions.assertEquals("BMW", entry.getCarBrand());
+        Assertions.assertEquals("E46", entry.getCarModel());
+    }
 
-        Assertions.assertEquals("Ivan", dto.getCustomerFirstName());
-        Assertions.assertEquals("Petrov", dto.getCustomerLastName());
-        Assertions.assertEquals("+359888888888", dto.getCustomerPhone());
+    @Test
+    void testGetHistoryPage_firstPage_shouldReturnCursorWhenMoreRowsExist() {
+
+        List<InvoiceHistoryEntry> entries = new ArrayList<>();
+        LocalDateTime now = LocalDateTime.now();
+        for (int i = 0; i <= InvoiceHistoryService.HISTORY_PAGE_SIZE; i++) {
+            entries.add(entry("id" + i, now.minusMinutes(i)));
+        }
+
+        Mockito.when(historyRepository.findAllByOrderByCreatedAtDescIdDesc(
+                Limit.of(InvoiceHistoryService.HISTORY_PAGE_SIZE + 1))).thenReturn(entries);
+
+        KeysetPage<InvoiceHistoryData> page = historyService.getHistoryPage(null);
+
+        InvoiceHistoryEntry last = entries.get(InvoiceHistoryService.HISTORY_PAGE_SIZE - 1);
+        Assertions.assertEquals(InvoiceHistoryService.HISTORY_PAGE_SIZE, page.getContent().size());
+        Assertions.assertEquals("id0", page.getContent().get(0).getId());
+        Assertions.assertEquals(last.getCreatedAt(), page.getNextCursor().getCreatedAt());
+        Assertions.assertEquals(last.getId(), page.getNextCursor().getId());
+    }
+
+    @Test
+    void testGetHistoryPage_withCursor_shouldReadRowsBeforeIt() {
+
+        PageCursor cursor = new PageCursor(LocalDateTime.now(), UUID.randomUUID());
+        InvoiceHistoryEntry older = entry("older", cursor.getCreatedAt().minusDays(1));
+
+        Mockito.when(historyRepository.findHistoryBefore(cursor.getCreatedAt(), cursor.getId(),
+                Limit.of(InvoiceHistoryService.HISTORY_PAGE_SIZE + 1))).thenReturn(List.of(older));
+
+        KeysetPage<InvoiceHistoryData> page = historyService.getHistoryPage(cursor);
+
+        Assertions.assertEquals(1, page.getContent().size());
+        Assertions.assertEquals("older", page.getContent().get(0).getId());
+        Assertions.assertFalse(page.hasNext());
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<InvoiceHistoryEntry> savedEntries() {
+
+        ArgumentCaptor<List<InvoiceHistoryEntry>> captor = ArgumentCaptor.forClass(List.class);
+        Mockito.verify(historyRepository).saveAll(captor.capture());
+        return captor.getValue();
+    }
+
+    private List<String> savedRemoteIds() {
+
+        return savedEntries().stream().map(InvoiceHistoryEntry::getRemoteId).toList();
+    }
 
-        Assertions.assertEquals("Gosho", dto.getMechanicFirstName());
-        Assertions.assertEquals("Ganev", dto.getMechanicLastName());
+    private static InvoiceHistoryEntry entry(String remoteId, LocalDateTime createdAt) {
 
-        Assertions.assertEquals("BMW", dto.getCarBrand());
-        Assertions.assertEquals("E46", dto.getCarModel());
+        return InvoiceHistoryEntry.builder()
+                .id(UUID.randomUUID())
+                .remoteId(remoteId)
+                .repairId(UUID.randomUUID())
+                .createdAt(createdAt)
+                .generatedAt(createdAt)
+                .build();
     }
 
-    private static List<Map<String, Object>> getMaps(LocalDateTime t1, LocalDateTime t2) {
-        Map<String, Object> inv1 = new HashMap<>();
-        inv1.put("id", "a1");
-        inv1.put("repairId", "11111111-1111-1111-1111-111111111111");
-        inv1.put("createdAt", t1.toString());
-        inv1.put("completedAt", t1.toString());
-        inv1.put("generatedAt", t1.toString());
-        inv1.put("customerFirstName", "Pesho");
-        inv1.put("customerLastName", "Peshov");
-
-        Map<String, Object> inv2 = new HashMap<>();
-        inv2.put("id", "b2");
-        inv2.put("repairId", "22222222-2222-2222-2222-222222222222");
-        inv2.put("createdAt", t2.toString());
-        inv2.put("completedAt", t2.toString());
-        inv2.put("generatedAt", t2.toString());
-        inv2.put("customerFirstName", "Gosho");
-        inv2.put("customerLastName", "Goshev");
-
-        List<Map<String, Object>> raw = List.of(inv2, inv1);
-        return raw;
+    private static Map<String, Object> raw(String id, LocalDateTime generatedAt) {
+
+        Map<String, Object> invoice = new HashMap<>();
+        invoice.put("id", id);
+        invoice.put("repairId", UUID.randomUUID().toString());
+        invoice.put("createdAt", generatedAt.minusHours(1).toString());
+        invoice.put("completedAt", generatedAt.toString());
+        invoice.put("generatedAt", generatedAt.toString());
+        invoice.put("customerFirstName", "Pesho");
+        invoice.put("customerLastName", "Peshov");
+        return invoice;
     }
 }
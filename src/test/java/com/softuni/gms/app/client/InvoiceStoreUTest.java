@@ -0,0 +1,73 @@
+package com.softuni.gms.app.client;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class InvoiceStoreUTest {
+
+    @TempDir
+    Path root;
+
+    private InvoiceStore invoiceStore;
+
+    @BeforeEach
+    void setUp() {
+
+        invoiceStore = new InvoiceStore(root);
+    }
+
+    @Test
+    void store_shouldBeReadableAsLatest() throws IOException {
+
+        UUID repairId = UUID.randomUUID();
+        byte[] pdf = "PDF content".getBytes();
+
+        StoredInvoice stored = invoiceStore.store(repairId, pdf);
+        Optional<StoredInvoice> latest = invoiceStore.findLatest(repairId);
+
+        assertTrue(latest.isPresent());
+        assertEquals(stored, latest.get());
+        assertEquals(pdf.length, latest.get().size());
+        assertArrayEquals(pdf, Files.readAllBytes(latest.get().path()));
+    }
+
+    @Test
+    void store_withSameContent_shouldReuseFileAndHash() {
+
+        UUID repairId = UUID.randomUUID();
+
+        StoredInvoice first = invoiceStore.store(repairId, "PDF content".getBytes());
+        StoredInvoice second = invoiceStore.store(repairId, "PDF content".getBytes());
+
+        assertEquals(first.contentHash(), second.contentHash());
+        assertEquals(first.path(), second.path());
+    }
+
+    @Test
+    void store_withNewContent_shouldMoveLatestPointer() {
+
+        UUID repairId = UUID.randomUUID();
+
+        StoredInvoice first = invoiceStore.store(repairId, "first".getBytes());
+        StoredInvoice second = invoiceStore.store(repairId, "second".getBytes());
+
+        assertNotEquals(first.contentHash(), second.contentHash());
+        assertEquals(second, invoiceStore.findLatest(repairId).orElseThrow());
+        assertTrue(Files.exists(first.path()));
+    }
+
+    @Test
+    void findLatest_whenNothingStored_shouldReturnEmpty() {
+
+        assertTrue(invoiceStore.findLatest(UUID.randomUUID()).isEmpty());
+    }
+}
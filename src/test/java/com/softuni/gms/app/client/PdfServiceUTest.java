@@ -2,14 +2,19 @@ package com.softuni.gms.app.client;
 
 import com.softuni.gms.app.exeption.MicroserviceDontRespondException;
 import com.softuni.gms.app.web.dto.InvoiceRequest;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.nio.file.Path;
+import java.util.Optional;
 import java.util.UUID;
 
 @ExtendWith(MockitoExtension.class)
@@ -18,6 +23,12 @@ class PdfServiceUTest {
     @Mock
     private PdfClient pdfClient;
 
+    @Mock
+    private InvoiceStore invoiceStore;
+
+    @Spy
+    private ClientGuard clientGuard = new ClientGuard(CircuitBreakerRegistry.ofDefaults(), BulkheadRegistry.ofDefaults());
+
     @InjectMocks
     private PdfService pdfService;
 
@@ -78,4 +89,58 @@ class PdfServiceUTest {
         Assertions.assertThrows(MicroserviceDontRespondException.class,
                 () -> pdfService.downloadLatestInvoice(id));
     }
+
+    @Test
+    void testGenerateInvoice_shouldStoreReturnedPdf() {
+
+        UUID id = UUID.randomUUID();
+        InvoiceRequest request = InvoiceRequest.builder()
+                .repairId(id)
+                .build();
+        byte[] fakePdf = new byte[]{1, 2, 3};
+
+        Mockito.when(pdfClient.generateInvoice(request)).thenReturn(fakePdf);
+
+        pdfService.generateInvoice(request);
+
+        Mockito.verify(invoiceStore).store(id, fakePdf);
+    }
+
+    @Test
+    void testGetLatestInvoice_whenStoredLocally_shouldNotCallClient() {
+
+        UUID id = UUID.randomUUID();
+        StoredInvoice stored = new StoredInvoice(Path.of("invoice.pdf"), "hash", 3);
+
+        Mockito.when(invoiceStore.findLatest(id)).thenReturn(Optional.of(stored));
+
+        Assertions.assertSame(stored, pdfService.getLatestInvoice(id));
+        Mockito.verifyNoInteractions(pdfClient);
+    }
+
+    @Test
+    void testGetLatestInvoice_whenMissingLocally_shouldDownloadAndStore() {
+
+        UUID id = UUID.randomUUID();
+        byte[] fakePdf = new byte[]{1, 2, 3};
+        StoredInvoice stored = new StoredInvoice(Path.of("invoice.pdf"), "hash", 3);
+
+        Mockito.when(invoiceStore.findLatest(id)).thenReturn(Optional.empty());
+        Mockito.when(pdfClient.downloadLatestInvoice(id)).thenReturn(fakePdf);
+        Mockito.when(invoiceStore.store(id, fakePdf)).thenReturn(stored);
+
+        Assertions.assertSame(stored, pdfService.getLatestInvoice(id));
+    }
+
+    @Test
+    void testGetLatestInvoice_whenRemoteIsEmpty_shouldReturnNull() {
+
+        UUID id = UUID.randomUUID();
+
+        Mockito.when(invoiceStore.findLatest(id)).thenReturn(Optional.empty());
+        Mockito.when(pdfClient.downloadLatestInvoice(id)).thenReturn(new byte[0]);
+
+        Assertions.assertNull(pdfService.getLatestInvoice(id));
+        Mockito.verify(invoiceStore, Mockito.never()).store(Mockito.any(), Mockito.any());
+    }
 }
@@ -1,12 +1,20 @@
 package com.softuni.gms.app.client;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.softuni.gms.app.exeption.MicroserviceDontRespondException;
+import com.softuni.gms.app.notification.model.CompletionNotification;
+import com.softuni.gms.app.notification.model.NotificationStatus;
+import com.softuni.gms.app.notification.repository.CompletionNotificationRepository;
 import com.softuni.gms.app.web.dto.RepairCompletionRequest;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.junit.jupiter.api.extension.ExtendWith;
 
@@ -16,6 +24,15 @@ class RepairCompletionNotificationServiceUTest {
     @Mock
     private RepairCompletionNotificationClient notificationClient;
 
+    @Mock
+    private CompletionNotificationRepository notificationRepository;
+
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper();
+
+    @Spy
+    private ClientGuard clientGuard = new ClientGuard(CircuitBreakerRegistry.ofDefaults(), BulkheadRegistry.ofDefaults());
+
     @InjectMocks
     private RepairCompletionNotificationService service;
 
@@ -54,4 +71,27 @@ class RepairCompletionNotificationServiceUTest {
         Assertions.assertThrows(MicroserviceDontRespondException.class,
                 () -> service.sendMessageForCompletion(request));
     }
+
+    @Test
+    void testEnqueueCompletion_shouldStorePendingRowWithoutCallingClient() {
+
+        RepairCompletionRequest request = new RepairCompletionRequest(
+                "BMW",
+                "E46",
+                "Gosho",
+                "Mechanikov",
+                "0888123456"
+        );
+
+        service.enqueueCompletion(request);
+
+        ArgumentCaptor<CompletionNotification> captor = ArgumentCaptor.forClass(CompletionNotification.class);
+        Mockito.verify(notificationRepository).save(captor.capture());
+        Mockito.verifyNoInteractions(notificationClient);
+
+        CompletionNotification stored = captor.getValue();
+        Assertions.assertEquals(NotificationStatus.PENDING, stored.getStatus());
+        Assertions.assertEquals("0888123456", stored.getDestination());
+        Assertions.assertEquals("E46", service.read(stored).getCarModel());
+    }
 }
@@ -0,0 +1,79 @@
+package com.softuni.gms.app.config;
+
+import feign.FeignException;
+import feign.Request;
+import feign.Response;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Map;
+
+import static com.softuni.gms.app.config.ClientResilienceConfig.INVOICE_HISTORY;
+import static com.softuni.gms.app.config.ClientResilienceConfig.PDF;
+
+class ClientResilienceConfigUTest {
+
+    private CircuitBreakerRegistry registry;
+
+    @BeforeEach
+    void setUp() {
+
+        registry = new ClientResilienceConfig().circuitBreakerRegistry(new SimpleMeterRegistry(),
+                50, 80, Duration.ofSeconds(5), 4, Duration.ofMinutes(1), 90, Duration.ofSeconds(12));
+    }
+
+    @Test
+    void clientErrors_shouldNotOpenCircuit() {
+
+        CircuitBreaker circuitBreaker = registry.circuitBreaker(INVOICE_HISTORY);
+        for (int i = 0; i < 4; i++) {
+            Assertions.assertThrows(FeignException.NotFound.class,
+                    () -> circuitBreaker.executeSupplier(() -> { throw feignError(404); }));
+        }
+
+        Assertions.assertEquals(CircuitBreaker.State.CLOSED, circuitBreaker.getState());
+        Assertions.assertEquals(0, circuitBreaker.getMetrics().getNumberOfFailedCalls());
+    }
+
+    @Test
+    void serverErrors_shouldOpenCircuit() {
+
+        CircuitBreaker circuitBreaker = registry.circuitBreaker(INVOICE_HISTORY);
+        for (int i = 0; i < 2; i++) {
+            Assertions.assertThrows(FeignException.ServiceUnavailable.class,
+                    () -> circuitBreaker.executeSupplier(() -> { throw feignError(503); }));
+        }
+
+        Assertions.assertEquals(CircuitBreaker.State.OPEN, circuitBreaker.getState());
+    }
+
+    @Test
+    void pdfClient_shouldUseItsOwnSlowCallSettings() {
+
+        var pdf = registry.circuitBreaker(PDF).getCircuitBreakerConfig();
+        var history = registry.circuitBreaker(INVOICE_HISTORY).getCircuitBreakerConfig();
+
+        Assertions.assertEquals(Duration.ofSeconds(12), pdf.getSlowCallDurationThreshold());
+        Assertions.assertEquals(90, pdf.getSlowCallRateThreshold());
+        Assertions.assertEquals(Duration.ofSeconds(5), history.getSlowCallDurationThreshold());
+        Assertions.assertEquals(80, history.getSlowCallRateThreshold());
+        Assertions.assertEquals(50, pdf.getFailureRateThreshold());
+    }
+
+    private static FeignException feignError(int status) {
+
+        Request request = Request.create(Request.HttpMethod.GET, "http://localhost/api", Map.of(), null,
+                StandardCharsets.UTF_8, null);
+        return FeignException.errorStatus("Client#call()", Response.builder()
+                .status(status)
+                .request(request)
+                .headers(Map.of())
+                .build());
+    }
+}
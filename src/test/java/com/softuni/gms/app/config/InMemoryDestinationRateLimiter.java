@@ -0,0 +1,38 @@
+package com.softuni.gms.app.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.softuni.gms.app.notification.service.DestinationRateLimiter;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Idle destinations expire so the map stays bounded by the number of recently contacted numbers.
+public class InMemoryDestinationRateLimiter implements DestinationRateLimiter {
+
+    private final long minIntervalNanos;
+    private final Cache<String, AtomicLong> nextAllowed;
+
+    public InMemoryDestinationRateLimiter(Duration minInterval) {
+        this.minIntervalNanos = minInterval.toNanos();
+        this.nextAllowed = Caffeine.newBuilder()
+                .expireAfterAccess(minInterval.multipliedBy(2))
+                .build();
+    }
+
+    @Override
+    public Duration tryAcquire(String destination) {
+
+        AtomicLong slot = nextAllowed.get(destination, key -> new AtomicLong(Long.MIN_VALUE));
+        long now = System.nanoTime();
+        while (true) {
+            long allowedAt = slot.get();
+            if (allowedAt != Long.MIN_VALUE && allowedAt - now > 0) {
+                return Duration.ofNanos(allowedAt - now);
+            }
+            if (slot.compareAndSet(allowedAt, now + minIntervalNanos)) {
+                return Duration.ZERO;
+            }
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.softuni.gms.app.config;
+
+import com.softuni.gms.app.repair.model.PendingRepairOrderView;
+import com.softuni.gms.app.repair.service.PendingRepairQueue;
+
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+public class InMemoryPendingRepairQueue implements PendingRepairQueue {
+
+    private static final Comparator<PendingRepairOrderView> NEWEST_FIRST =
+            Comparator.comparing(PendingRepairOrderView::createdAt).reversed();
+
+    private final Map<UUID, PendingRepairOrderView> orders = new ConcurrentHashMap<>();
+    private volatile boolean initialized;
+
+    @Override
+    public boolean isInitialized() {
+
+        return initialized;
+    }
+
+    @Override
+    public synchronized boolean rebuild(Supplier<List<PendingRepairOrderView>> loader) {
+
+        orders.clear();
+        loader.get().forEach(this::add);
+        initialized = true;
+        return true;
+    }
+
+    @Override
+    public void add(PendingRepairOrderView order) {
+
+        orders.put(order.id(), order);
+    }
+
+    @Override
+    public void remove(UUID repairOrderId) {
+
+        orders.remove(repairOrderId);
+    }
+
+    @Override
+    public void removeAll(Collection<UUID> repairOrderIds) {
+
+        repairOrderIds.forEach(orders::remove);
+    }
+
+    @Override
+    public List<PendingRepairOrderView> range(long offset, long limit) {
+
+        return orders.values().stream()
+                .sorted(NEWEST_FIRST)
+                .skip(offset)
+                .limit(limit < 0 ? Long.MAX_VALUE : limit)
+                .toList();
+    }
+
+    @Override
+    public long size() {
+
+        return orders.size();
+    }
+}
@@ -0,0 +1,289 @@
+package com.softuni.gms.app.config;
+
+import jakarta.persistence.Entity;
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.output.MigrateResult;
+import org.junit.jupiter.api.BeforeAll;
+import org.hibernate.boot.MetadataSources;
+import org.hibernate.boot.registry.StandardServiceRegistry;
+import org.hibernate.boot.registry.StandardServiceRegistryBuilder;
+import org.hibernate.boot.model.naming.CamelCaseToUnderscoresNamingStrategy;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.dialect.MySQLDialect;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.orm.jpa.hibernate.SpringImplicitNamingStrategy;
+import org.springframework.context.annotation.ClassPathScanningCandidateComponentProvider;
+import org.springframework.core.type.filter.AnnotationTypeFilter;
+
+import java.nio.ByteBuffer;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Runs the real migrations on H2 in MySQL mode and checks the hot queries resolve to the intended index.
+// The tables are seeded and analyzed first; on empty tables every index costs the same.
+public class SchemaMigrationUTest {
+
+    private static final String URL = "jdbc:h2:mem:migrations;MODE=MySQL;DB_CLOSE_DELAY=-1";
+    private static final String[] STATUSES = {"PENDING", "ACCEPTED", "COMPLETED", "CANCELED"};
+    private static final int CUSTOMERS = 20;
+    private static final int MECHANICS = 5;
+    private static final int ORDERS = 2000;
+
+    private static final UUID CUSTOMER = id(1, 0);
+    private static final UUID MECHANIC = id(2, 0);
+
+    private static MigrateResult result;
+
+    @BeforeAll
+    static void migrate() throws SQLException {
+
+        result = Flyway.configure()
+                .dataSource(URL, "sa", "")
+                .load()
+                .migrate();
+
+        seed();
+    }
+
+    @Test
+    void migrate_shouldApplyAllVersions() {
+
+        assertTrue(result.success);
+        assertEquals("8", result.targetSchemaVersion);
+    }
+
+    @Test
+    void migratedSchema_shouldMatchEntityMappings() {
+
+        assertDoesNotThrow(() -> validateMappings(URL));
+    }
+
+    // A database created by the last release has no history table; it is baselined at V1 and must
+    // still end up with everything added since.
+    @Test
+    void releasedDatabase_shouldUpgradeWhenBaselined() throws SQLException {
+
+        String url = "jdbc:h2:mem:released;MODE=MySQL;DB_CLOSE_DELAY=-1";
+        Flyway.configure().dataSource(url, "sa", "").target("1").load().migrate();
+        try (Connection connection = DriverManager.getConnection(url, "sa", "");
+             Statement statement = connection.createStatement()) {
+            statement.execute("drop table \"flyway_schema_history\"");
+        }
+
+        MigrateResult upgrade = Flyway.configure()
+                .dataSource(url, "sa", "")
+                .baselineOnMigrate(true)
+                .baselineVersion("1")
+                .load()
+                .migrate();
+
+        assertTrue(upgrade.success);
+        assertEquals(result.migrationsExecuted - 1, upgrade.migrationsExecuted);
+        assertDoesNotThrow(() -> validateMappings(url));
+    }
+
+    @Test
+    void pendingAndAcceptedLists_shouldUseStatusDeletedCreatedIndex() throws SQLException {
+
+        assertUsesIndex("idx_repair_orders_status_deleted_created", """
+                select * from repair_orders r
+                where r.status = 'PENDING' and r.is_deleted = false
+                order by r.created_at desc""");
+    }
+
+    @Test
+    void staleCleanup_shouldUseStatusDeletedCreatedIndex() throws SQLException {
+
+        assertUsesIndex("idx_repair_orders_status_deleted_created", """
+                select * from repair_orders r
+                where r.status = 'PENDING' and r.is_deleted = false and r.created_at < '2025-01-01 00:00:00'
+                order by r.created_at, r.id
+                limit 500""");
+    }
+
+    @Test
+    void mechanicCurrentOrder_shouldUseMechanicStatusAcceptedIndex() throws SQLException {
+
+        assertUsesIndex("idx_repair_orders_mechanic_status_accepted", """
+                select * from repair_orders r
+                where r.status = 'ACCEPTED' and r.mechanic_id = %s and r.is_deleted = false
+                order by r.accepted_at desc
+                limit 1""".formatted(literal(MECHANIC)));
+    }
+
+    @Test
+    void completedWithoutInvoice_shouldUseStatusInvoiceIndex() throws SQLException {
+
+        assertUsesIndex("idx_repair_orders_status_invoice", """
+                select * from repair_orders r
+                where r.status = 'COMPLETED' and r.invoice_generated = false""");
+    }
+
+    @Test
+    void userOrderHistory_shouldUseUserCreatedIndex() throws SQLException {
+
+        assertUsesIndex("idx_repair_orders_user_created", """
+                select * from repair_orders r
+                where r.user_id = %s and r.is_deleted = false
+                order by r.created_at desc, r.id desc
+                limit 21""".formatted(literal(CUSTOMER)));
+    }
+
+    @Test
+    void ownerCars_shouldUseOwnerDeletedIndex() throws SQLException {
+
+        assertUsesIndex("idx_cars_owner_deleted", """
+                select * from cars c
+                where c.owner_id = %s and c.is_deleted = false""".formatted(literal(CUSTOMER)));
+    }
+
+    @Test
+    void activeMechanicCount_shouldUseRoleActiveIndex() throws SQLException {
+
+        assertUsesIndex("idx_users_role_active", """
+                select count(*) from users u
+                where u.role = 'MECHANIC' and u.is_active = true""");
+    }
+
+    private static void seed() throws SQLException {
+
+        LocalDateTime now = LocalDateTime.now();
+
+        try (Connection connection = DriverManager.getConnection(URL, "sa", "")) {
+            try (PreparedStatement users = connection.prepareStatement("""
+                    insert into users (id, username, password, first_name, last_name, email, phone_number,
+                                       role, is_active, created_at, updated_at)
+                    values (?, ?, 'pass', 'Ivan', 'Petrov', ?, ?, ?, true, ?, ?)""")) {
+                for (int i = 0; i < CUSTOMERS + MECHANICS; i++) {
+                    boolean mechanic = i >= CUSTOMERS;
+                    UUID userId = mechanic ? id(2, i - CUSTOMERS) : id(1, i);
+                    users.setBytes(1, bytes(userId));
+                    users.setString(2, "user" + i);
+                    users.setString(3, "user" + i + "@test.bg");
+                    users.setString(4, "35988800" + i);
+                    users.setString(5, mechanic ? "MECHANIC" : "USER");
+                    users.setTimestamp(6, Timestamp.valueOf(now));
+                    users.setTimestamp(7, Timestamp.valueOf(now));
+                    users.addBatch();
+                }
+                users.executeBatch();
+            }
+
+            try (PreparedStatement cars = connection.prepareStatement("""
+                    insert into cars (id, brand, model, vin, plate_number, owner_id, picture_url,
+                                      created_at, updated_at, is_deleted)
+                    values (?, 'BMW', 'e46', ?, ?, ?, '', ?, ?, ?)""")) {
+                for (int i = 0; i < CUSTOMERS * 2; i++) {
+                    cars.setBytes(1, bytes(id(3, i)));
+                    cars.setString(2, "VIN" + i);
+                    cars.setString(3, "PL" + i);
+                    cars.setBytes(4, bytes(id(1, i % CUSTOMERS)));
+                    cars.setTimestamp(5, Timestamp.valueOf(now));
+                    cars.setTimestamp(6, Timestamp.valueOf(now));
+                    cars.setBoolean(7, i % 4 == 0);
+                    cars.addBatch();
+                }
+                cars.executeBatch();
+            }
+
+            try (PreparedStatement orders = connection.prepareStatement("""
+                    insert into repair_orders (id, version, car_id, user_id, mechanic_id, status, created_at,
+                                               accepted_at, updated_at, problem_description, is_deleted,
+                                               invoice_generated)
+                    values (?, 0, ?, ?, ?, ?, ?, ?, ?, 'Noise', ?, ?)""")) {
+                for (int i = 0; i < ORDERS; i++) {
+                    String status = STATUSES[i % STATUSES.length];
+                    boolean assigned = !status.equals("PENDING");
+                    LocalDateTime createdAt = now.minusHours(i);
+                    orders.setBytes(1, bytes(id(4, i)));
+                    orders.setBytes(2, bytes(id(3, i % (CUSTOMERS * 2))));
+                    orders.setBytes(3, bytes(id(1, i % CUSTOMERS)));
+                    orders.setBytes(4, assigned ? bytes(id(2, i % MECHANICS)) : null);
+                    orders.setString(5, status);
+                    orders.setTimestamp(6, Timestamp.valueOf(createdAt));
+                    orders.setTimestamp(7, assigned ? Timestamp.valueOf(createdAt.plusMinutes(30)) : null);
+                    orders.setTimestamp(8, Timestamp.valueOf(createdAt));
+                    orders.setBoolean(9, i % 50 == 0);
+                    orders.setBoolean(10, status.equals("COMPLETED") && i > 40);
+                    orders.addBatch();
+                }
+                orders.executeBatch();
+            }
+
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("analyze");
+            }
+        }
+    }
+
+    // Boots Hibernate with the production naming strategies and ddl-auto=validate over every entity.
+    private static void validateMappings(String url) {
+
+        StandardServiceRegistry registry = new StandardServiceRegistryBuilder()
+                .applySetting(AvailableSettings.JAKARTA_JDBC_URL, url)
+                .applySetting(AvailableSettings.JAKARTA_JDBC_USER, "sa")
+                .applySetting(AvailableSettings.JAKARTA_JDBC_PASSWORD, "")
+                .applySetting(AvailableSettings.DIALECT, MySQLDialect.class.getName())
+                .applySetting(AvailableSettings.HBM2DDL_AUTO, "validate")
+                .applySetting(AvailableSettings.PHYSICAL_NAMING_STRATEGY, new CamelCaseToUnderscoresNamingStrategy())
+                .applySetting(AvailableSettings.IMPLICIT_NAMING_STRATEGY, new SpringImplicitNamingStrategy())
+                .build();
+
+        try {
+            MetadataSources sources = new MetadataSources(registry);
+            ClassPathScanningCandidateComponentProvider scanner = new ClassPathScanningCandidateComponentProvider(false);
+            scanner.addIncludeFilter(new AnnotationTypeFilter(Entity.class));
+            scanner.findCandidateComponents("com.softuni.gms.app")
+                    .forEach(entity -> sources.addAnnotatedClassName(entity.getBeanClassName()));
+
+            sources.buildMetadata().buildSessionFactory().close();
+        } finally {
+            StandardServiceRegistryBuilder.destroy(registry);
+        }
+    }
+
+    private static void assertUsesIndex(String index, String sql) throws SQLException {
+
+        String plan = explain(sql);
+        assertTrue(plan.toLowerCase().contains(index), "Expected " + index + " in plan:\n" + plan);
+    }
+
+    private static String explain(String sql) throws SQLException {
+
+        try (Connection connection = DriverManager.getConnection(URL, "sa", "");
+             Statement statement = connection.createStatement();
+             ResultSet plan = statement.executeQuery("explain " + sql)) {
+            plan.next();
+            return plan.getString(1);
+        }
+    }
+
+    private static UUID id(int kind, int index) {
+
+        return new UUID(kind, index);
+    }
+
+    private static byte[] bytes(UUID id) {
+
+        return ByteBuffer.allocate(16)
+                .putLong(id.getMostSignificantBits())
+                .putLong(id.getLeastSignificantBits())
+                .array();
+    }
+
+    private static String literal(UUID id) {
+
+        return "X'" + "%016x%016x".formatted(id.getMostSignificantBits(), id.getLeastSignificantBits()) + "'";
+    }
+}
@@ -1,10 +1,14 @@
 package com.softuni.gms.app.config;
 
+import com.softuni.gms.app.notification.service.DestinationRateLimiter;
+import com.softuni.gms.app.repair.service.PendingRepairQueue;
 import org.springframework.boot.test.context.TestConfiguration;
 import org.springframework.cache.CacheManager;
 import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
 import org.springframework.context.annotation.Bean;
 
+import java.time.Duration;
+
 @TestConfiguration
 public class TestCacheConfig {
 
@@ -12,9 +16,21 @@ public class TestCacheConfig {
     public CacheManager cacheManager() {
 
         return new ConcurrentMapCacheManager(
-                "pendingRepairs",
                 "acceptedRepairByMechanic",
-                "completedWithoutInvoice"
+                "completedWithoutInvoice",
+                "adminStats"
         );
     }
+
+    @Bean
+    public PendingRepairQueue pendingRepairQueue() {
+
+        return new InMemoryPendingRepairQueue();
+    }
+
+    @Bean
+    public DestinationRateLimiter destinationRateLimiter() {
+
+        return new InMemoryDestinationRateLimiter(Duration.ofSeconds(2));
+    }
 }
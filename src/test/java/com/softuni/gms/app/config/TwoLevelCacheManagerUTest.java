@@ -0,0 +1,64 @@
+package com.softuni.gms.app.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.support.SimpleValueWrapper;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.time.Duration;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class TwoLevelCacheManagerUTest {
+
+    @Mock
+    private CacheManager remoteCacheManager;
+
+    @Mock
+    private StringRedisTemplate redisTemplate;
+
+    @Mock
+    private Cache remoteCache;
+
+    private TwoLevelCacheManager cacheManager;
+
+    @BeforeEach
+    void setUp() {
+
+        cacheManager = new TwoLevelCacheManager(remoteCacheManager, redisTemplate, new SimpleMeterRegistry(),
+                100, Duration.ofMinutes(1), Map.of("adminStats", Duration.ZERO));
+        when(remoteCacheManager.getCache(anyString())).thenReturn(remoteCache);
+        when(remoteCache.get("key")).thenReturn(new SimpleValueWrapper("value"));
+    }
+
+    @Test
+    void getCache_shouldKeepEntriesLocally_byDefault() {
+
+        Cache cache = cacheManager.getCache("parts");
+
+        assertEquals("value", cache.get("key").get());
+        assertEquals("value", cache.get("key").get());
+
+        verify(remoteCache, times(1)).get("key");
+    }
+
+    @Test
+    void getCache_withZeroLocalTtl_shouldReadRedisEveryTime() {
+
+        Cache cache = cacheManager.getCache("adminStats");
+
+        assertEquals("value", cache.get("key").get());
+        assertEquals("value", cache.get("key").get());
+
+        verify(remoteCache, times(2)).get("key");
+    }
+}
@@ -0,0 +1,109 @@
+package com.softuni.gms.app.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.Cache;
+import org.springframework.cache.support.SimpleValueWrapper;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class TwoLevelCacheUTest {
+
+    @Mock
+    private Cache remoteCache;
+
+    private MeterRegistry meterRegistry;
+    private List<String> publishedInvalidations;
+    private TwoLevelCache cache;
+
+    @BeforeEach
+    void setUp() {
+
+        meterRegistry = new SimpleMeterRegistry();
+        publishedInvalidations = new ArrayList<>();
+        cache = new TwoLevelCache("parts",
+                Caffeine.newBuilder().maximumSize(10).build(),
+                remoteCache,
+                (name, key) -> publishedInvalidations.add(name + ":" + key),
+                meterRegistry);
+    }
+
+    @Test
+    void get_whenMissingLocally_shouldReadRedisOnceAndServeFollowingReadsFromLocal() {
+
+        when(remoteCache.get("key")).thenReturn(new SimpleValueWrapper("value"));
+
+        assertEquals("value", cache.get("key").get());
+        assertEquals("value", cache.get("key").get());
+
+        verify(remoteCache, times(1)).get("key");
+        assertEquals(1.0, count("local", "hit"));
+        assertEquals(1.0, count("local", "miss"));
+        assertEquals(1.0, count("redis", "hit"));
+    }
+
+    @Test
+    void get_whenMissingInBothTiers_shouldReturnNullAndCountMisses() {
+
+        when(remoteCache.get("key")).thenReturn(null);
+
+        assertNull(cache.get("key"));
+        assertEquals(1.0, count("redis", "miss"));
+    }
+
+    @Test
+    void put_shouldWriteBothTiersAndBroadcastInvalidation() {
+
+        cache.put("key", "value");
+
+        verify(remoteCache).put("key", "value");
+        assertEquals("value", cache.get("key").get());
+        assertEquals(List.of("parts:key"), publishedInvalidations);
+    }
+
+    @Test
+    void clear_shouldClearBothTiersAndBroadcastInvalidation() {
+
+        cache.put("key", "value");
+        cache.clear();
+
+        verify(remoteCache).clear();
+        when(remoteCache.get("key")).thenReturn(null);
+        assertNull(cache.get("key"));
+        assertEquals("parts:null", publishedInvalidations.get(1));
+    }
+
+    @Test
+    void evictLocal_shouldDropOnlyLocalEntry() {
+
+        cache.put("key", "value");
+        cache.put("other", "value");
+
+        cache.evictLocal("key");
+
+        when(remoteCache.get("key")).thenReturn(null);
+        assertNull(cache.get("key"));
+        assertEquals("value", cache.get("other").get());
+        verify(remoteCache, never()).evict(any());
+    }
+
+    private double count(String tier, String result) {
+
+        return meterRegistry.get("gms.cache.gets")
+                .tag("tier", tier)
+                .tag("result", result)
+                .counter()
+                .count();
+    }
+}
@@ -0,0 +1,134 @@
+package com.softuni.gms.app.config;
+
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.softuni.gms.app.car.model.Car;
+import com.softuni.gms.app.part.model.Part;
+import com.softuni.gms.app.repair.model.PendingRepairOrderView;
+import com.softuni.gms.app.repair.model.RepairOrder;
+import com.softuni.gms.app.repair.model.RepairStatus;
+import com.softuni.gms.app.repair.model.UsedPart;
+import com.softuni.gms.app.user.model.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class VersionedCacheSerializerUTest {
+
+    private ObjectMapper objectMapper;
+    private JavaType listType;
+
+    @BeforeEach
+    void setUp() {
+
+        objectMapper = CacheConfig.cacheObjectMapper();
+        listType = objectMapper.getTypeFactory().constructCollectionType(List.class, RepairOrder.class);
+    }
+
+    @Test
+    void roundTrip_shouldReturnTypedRepairOrders() {
+
+        VersionedCacheSerializer<List<RepairOrder>> serializer = new VersionedCacheSerializer<>(objectMapper, listType, 1);
+        RepairOrder order = repairOrder();
+
+        List<RepairOrder> result = serializer.deserialize(serializer.serialize(List.of(order)));
+
+        assertEquals(1, result.size());
+        RepairOrder restored = result.get(0);
+        assertEquals(order.getId(), restored.getId());
+        assertEquals(RepairStatus.PENDING, restored.getStatus());
+        assertEquals(order.getCreatedAt(), restored.getCreatedAt());
+        assertEquals("Ivan", restored.getUser().getFirstName());
+        assertEquals("CA1234AB", restored.getCar().getPlateNumber());
+        assertSame(restored, restored.getUsedParts().get(0).getRepairOrder());
+        assertEquals("Filter", restored.getUsedParts().get(0).getPart().getName());
+    }
+
+    @Test
+    void roundTrip_shouldReturnPendingOrderViews() {
+
+        JavaType viewListType = objectMapper.getTypeFactory()
+                .constructCollectionType(List.class, PendingRepairOrderView.class);
+        VersionedCacheSerializer<List<PendingRepairOrderView>> serializer =
+                new VersionedCacheSerializer<>(objectMapper, viewListType, 1);
+        PendingRepairOrderView view = new PendingRepairOrderView(UUID.randomUUID(), "BMW", "320d", "CA1234AB",
+                "WBA00000000000000", "/images/car.jpg", "Ivan", "Petrov", "359888123456",
+                "Strange noise", RepairStatus.PENDING, LocalDateTime.now());
+
+        assertEquals(List.of(view), serializer.deserialize(serializer.serialize(List.of(view))));
+    }
+
+    @Test
+    void deserialize_shouldTreatOtherSchemaVersionAsMiss() {
+
+        VersionedCacheSerializer<List<RepairOrder>> writer = new VersionedCacheSerializer<>(objectMapper, listType, 1);
+        VersionedCacheSerializer<List<RepairOrder>> reader = new VersionedCacheSerializer<>(objectMapper, listType, 2);
+
+        assertNull(reader.deserialize(writer.serialize(List.of(repairOrder()))));
+    }
+
+    @Test
+    void deserialize_shouldTreatForeignPayloadAsMiss() {
+
+        VersionedCacheSerializer<List<RepairOrder>> serializer = new VersionedCacheSerializer<>(objectMapper, listType, 1);
+
+        assertNull(serializer.deserialize("[\"java.util.ArrayList\",[]]".getBytes()));
+        assertNull(serializer.deserialize(new byte[0]));
+    }
+
+    static RepairOrder repairOrder() {
+
+        User user = User.builder()
+                .id(UUID.randomUUID())
+                .username("ivan")
+                .firstName("Ivan")
+                .lastName("Petrov")
+                .phoneNumber("359888123456")
+                .createdAt(LocalDateTime.now())
+                .build();
+
+        Car car = Car.builder()
+                .id(UUID.randomUUID())
+                .brand("BMW")
+                .model("320d")
+                .vin("WBA00000000000000")
+                .plateNumber("CA1234AB")
+                .owner(user)
+                .build();
+
+        Part part = Part.builder()
+                .id(UUID.randomUUID())
+                .name("Filter")
+                .manufacturer("Bosch")
+                .price(BigDecimal.TEN)
+                .build();
+
+        RepairOrder order = RepairOrder.builder()
+                .id(UUID.randomUUID())
+                .car(car)
+                .user(user)
+                .status(RepairStatus.PENDING)
+                .createdAt(LocalDateTime.now())
+                .updatedAt(LocalDateTime.now())
+                .problemDescription("Strange noise")
+                .usedParts(new ArrayList<>())
+                .build();
+
+        order.getUsedParts().add(UsedPart.builder()
+                .id(UUID.randomUUID())
+                .repairOrder(order)
+                .part(part)
+                .quantity(1)
+                .totalPrice(BigDecimal.TEN)
+                .build());
+
+        return order;
+    }
+}
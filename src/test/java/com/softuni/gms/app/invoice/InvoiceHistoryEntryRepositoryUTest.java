@@ -0,0 +1,86 @@
+package com.softuni.gms.app.invoice;
+
+import com.softuni.gms.app.config.TestJpaConfig;
+import com.softuni.gms.app.invoice.model.InvoiceHistoryEntry;
+import com.softuni.gms.app.invoice.repository.InvoiceHistoryEntryRepository;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@EntityScan("com.softuni.gms.app")
+@EnableJpaRepositories("com.softuni.gms.app")
+@Import(TestJpaConfig.class)
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+public class InvoiceHistoryEntryRepositoryUTest {
+
+    private static final LocalDateTime BASE = LocalDateTime.of(2025, 1, 1, 10, 0);
+
+    @Autowired
+    private TestEntityManager testEntityManager;
+
+    @Autowired
+    private InvoiceHistoryEntryRepository historyRepository;
+
+    @Test
+    void findLatestGeneratedAt_shouldReturnNewestOrEmpty() {
+
+        Assertions.assertTrue(historyRepository.findLatestGeneratedAt().isEmpty());
+
+        createEntry("a", 1);
+        createEntry("b", 3);
+        createEntry("c", 2);
+
+        Assertions.assertEquals(BASE.plusHours(3), historyRepository.findLatestGeneratedAt().orElseThrow());
+    }
+
+    @Test
+    void findExistingRemoteIds_shouldReturnOnlyStoredIds() {
+
+        createEntry("a", 1);
+
+        Assertions.assertEquals(Set.of("a"), historyRepository.findExistingRemoteIds(List.of("a", "b")));
+    }
+
+    @Test
+    void keysetQueries_shouldWalkHistoryNewestFirstWithoutGapsOrDuplicates() {
+
+        for (int i = 0; i < 5; i++) {
+            createEntry("inv" + i, i);
+        }
+
+        List<InvoiceHistoryEntry> first = historyRepository.findAllByOrderByCreatedAtDescIdDesc(Limit.of(2));
+        InvoiceHistoryEntry last = first.get(1);
+        List<InvoiceHistoryEntry> rest = historyRepository.findHistoryBefore(last.getCreatedAt(), last.getId(), Limit.of(10));
+
+        Assertions.assertEquals(List.of("inv4", "inv3"), first.stream().map(InvoiceHistoryEntry::getRemoteId).toList());
+        Assertions.assertEquals(List.of("inv2", "inv1", "inv0"), rest.stream().map(InvoiceHistoryEntry::getRemoteId).toList());
+    }
+
+    private InvoiceHistoryEntry createEntry(String remoteId, int hours) {
+
+        return testEntityManager.persistAndFlush(InvoiceHistoryEntry.builder()
+                .remoteId(remoteId)
+                .repairId(UUID.randomUUID())
+                .createdAt(BASE.plusHours(hours).minusMinutes(30))
+                .completedAt(BASE.plusHours(hours).minusMinutes(5))
+                .generatedAt(BASE.plusHours(hours))
+                .customerFirstName("Ivan")
+                .customerLastName("Petrov")
+                .build());
+    }
+}
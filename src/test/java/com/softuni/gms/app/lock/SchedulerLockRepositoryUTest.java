@@ -0,0 +1,81 @@
+package com.softuni.gms.app.lock;
+
+import com.softuni.gms.app.config.TestJpaConfig;
+import com.softuni.gms.app.lock.model.SchedulerLock;
+import com.softuni.gms.app.lock.repository.SchedulerLockRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@EntityScan("com.softuni.gms.app")
+@EnableJpaRepositories("com.softuni.gms.app")
+@Import(TestJpaConfig.class)
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+public class SchedulerLockRepositoryUTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2025, 1, 1, 10, 0);
+
+    @Autowired
+    private TestEntityManager testEntityManager;
+
+    @Autowired
+    private SchedulerLockRepository schedulerLockRepository;
+
+    @Test
+    void create_shouldInsertLockForOwner() {
+
+        int created = schedulerLockRepository.create("relay", "node-a", NOW.plusSeconds(30));
+
+        testEntityManager.clear();
+        SchedulerLock lock = schedulerLockRepository.findById("relay").orElseThrow();
+
+        assertThat(created).isEqualTo(1);
+        assertThat(lock.getLockedBy()).isEqualTo("node-a");
+        assertThat(lock.getLockedUntil()).isEqualTo(NOW.plusSeconds(30));
+    }
+
+    @Test
+    void acquire_shouldRenewForHolder_andRefuseOthersUntilExpiry() {
+
+        schedulerLockRepository.create("relay", "node-a", NOW.plusSeconds(30));
+
+        assertThat(schedulerLockRepository.acquire("relay", "node-a", NOW, NOW.plusSeconds(60))).isEqualTo(1);
+        assertThat(schedulerLockRepository.acquire("relay", "node-b", NOW.plusSeconds(59), NOW.plusSeconds(90)))
+                .isEqualTo(0);
+
+        testEntityManager.clear();
+        assertThat(schedulerLockRepository.findById("relay").orElseThrow().getLockedBy()).isEqualTo("node-a");
+    }
+
+    @Test
+    void acquire_shouldHandOverExpiredLock() {
+
+        schedulerLockRepository.create("relay", "node-a", NOW.plusSeconds(30));
+
+        assertThat(schedulerLockRepository.acquire("relay", "node-b", NOW.plusSeconds(30), NOW.plusSeconds(60)))
+                .isEqualTo(1);
+
+        testEntityManager.clear();
+        SchedulerLock lock = schedulerLockRepository.findById("relay").orElseThrow();
+        assertThat(lock.getLockedBy()).isEqualTo("node-b");
+        assertThat(lock.getLockedUntil()).isEqualTo(NOW.plusSeconds(60));
+    }
+
+    @Test
+    void acquire_shouldNotMatch_whenLockRowDoesNotExist() {
+
+        assertThat(schedulerLockRepository.acquire("relay", "node-a", NOW, NOW.plusSeconds(30))).isEqualTo(0);
+    }
+}
@@ -0,0 +1,71 @@
+package com.softuni.gms.app.lock;
+
+import com.softuni.gms.app.lock.repository.SchedulerLockRepository;
+import com.softuni.gms.app.lock.service.SchedulerLockService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class SchedulerLockServiceUTest {
+
+    @Mock
+    private SchedulerLockRepository schedulerLockRepository;
+
+    @InjectMocks
+    private SchedulerLockService schedulerLockService;
+
+    @Test
+    void tryAcquire_shouldSucceed_whenRenewedOrTakenOver() {
+
+        when(schedulerLockRepository.acquire(eq("relay"), anyString(), any(), any())).thenReturn(1);
+
+        assertTrue(schedulerLockService.tryAcquire("relay", Duration.ofSeconds(30)));
+
+        verify(schedulerLockRepository, never()).create(any(), any(), any());
+    }
+
+    @Test
+    void tryAcquire_shouldFail_whenHeldByAnotherInstance() {
+
+        when(schedulerLockRepository.acquire(eq("relay"), anyString(), any(), any())).thenReturn(0);
+        when(schedulerLockRepository.existsById("relay")).thenReturn(true);
+
+        assertFalse(schedulerLockService.tryAcquire("relay", Duration.ofSeconds(30)));
+
+        verify(schedulerLockRepository, never()).create(any(), any(), any());
+    }
+
+    @Test
+    void tryAcquire_shouldCreateLock_onFirstUse() {
+
+        when(schedulerLockRepository.acquire(eq("relay"), anyString(), any(), any())).thenReturn(0);
+        when(schedulerLockRepository.existsById("relay")).thenReturn(false);
+        when(schedulerLockRepository.create(eq("relay"), anyString(), any())).thenReturn(1);
+
+        assertTrue(schedulerLockService.tryAcquire("relay", Duration.ofSeconds(30)));
+    }
+
+    @Test
+    void tryAcquire_shouldFail_whenAnotherInstanceCreatedLockFirst() {
+
+        when(schedulerLockRepository.acquire(eq("relay"), anyString(), any(), any())).thenReturn(0);
+        when(schedulerLockRepository.existsById("relay")).thenReturn(false);
+        when(schedulerLockRepository.create(eq("relay"), anyString(), any()))
+                .thenThrow(new DataIntegrityViolationException("duplicate key"));
+
+        assertFalse(schedulerLockService.tryAcquire("relay", Duration.ofSeconds(30)));
+    }
+}
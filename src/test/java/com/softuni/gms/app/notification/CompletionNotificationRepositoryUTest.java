@@ -0,0 +1,107 @@
+package com.softuni.gms.app.notification;
+
+import com.softuni.gms.app.config.TestJpaConfig;
+import com.softuni.gms.app.notification.model.CompletionNotification;
+import com.softuni.gms.app.notification.model.NotificationStatus;
+import com.softuni.gms.app.notification.repository.CompletionNotificationRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@EntityScan("com.softuni.gms.app")
+@EnableJpaRepositories("com.softuni.gms.app")
+@Import(TestJpaConfig.class)
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+public class CompletionNotificationRepositoryUTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2025, 1, 1, 10, 0);
+
+    @Autowired
+    private TestEntityManager testEntityManager;
+
+    @Autowired
+    private CompletionNotificationRepository completionNotificationRepository;
+
+    @Test
+    void recordOutcome_shouldBeRejected_afterAnotherWorkerTookTheExpiredLease() {
+
+        CompletionNotification notification = createNotification(NOW);
+        LocalDateTime firstLease = NOW.plusMinutes(5);
+        LocalDateTime secondLease = NOW.plusMinutes(11);
+
+        assertThat(completionNotificationRepository.lease(notification.getId(), NOW, firstLease)).isEqualTo(1);
+        assertThat(completionNotificationRepository.lease(notification.getId(), NOW.plusMinutes(6), secondLease)).isEqualTo(1);
+        assertThat(completionNotificationRepository.recordOutcome(notification.getId(), secondLease,
+                NotificationStatus.SENT, 0, null, secondLease, NOW.plusMinutes(7))).isEqualTo(1);
+
+        int stale = completionNotificationRepository.recordOutcome(notification.getId(), firstLease,
+                NotificationStatus.PENDING, 1, "Down", NOW.plusMinutes(8), null);
+
+        testEntityManager.clear();
+        CompletionNotification stored = completionNotificationRepository.findById(notification.getId()).orElseThrow();
+        assertThat(stale).isEqualTo(0);
+        assertThat(stored.getStatus()).isEqualTo(NotificationStatus.SENT);
+        assertThat(stored.getAttempts()).isEqualTo(0);
+    }
+
+    @Test
+    void renewLease_shouldOnlyExtendTheHoldersLease() {
+
+        CompletionNotification notification = createNotification(NOW);
+        LocalDateTime leased = NOW.plusMinutes(5);
+        completionNotificationRepository.lease(notification.getId(), NOW, leased);
+
+        assertThat(completionNotificationRepository.renewLease(notification.getId(), NOW, NOW.plusMinutes(9))).isEqualTo(0);
+        assertThat(completionNotificationRepository.renewLease(notification.getId(), leased, NOW.plusMinutes(9))).isEqualTo(1);
+
+        testEntityManager.clear();
+        assertThat(completionNotificationRepository.findById(notification.getId()).orElseThrow().getNextAttemptAt())
+                .isEqualTo(NOW.plusMinutes(9));
+    }
+
+    @Test
+    void deleteFinishedBefore_shouldOnlyDeleteOldSentAndDeadRows() {
+
+        CompletionNotification oldSent = createNotification(NOW.minusDays(40));
+        CompletionNotification oldDead = createNotification(NOW.minusDays(40));
+        CompletionNotification oldPending = createNotification(NOW.minusDays(40));
+        CompletionNotification recentSent = createNotification(NOW.minusDays(1));
+        oldSent.setStatus(NotificationStatus.SENT);
+        oldDead.setStatus(NotificationStatus.DEAD);
+        recentSent.setStatus(NotificationStatus.SENT);
+        testEntityManager.flush();
+
+        int deleted = completionNotificationRepository.deleteFinishedBefore(NOW.minusDays(30));
+
+        testEntityManager.clear();
+        assertThat(deleted).isEqualTo(2);
+        assertThat(completionNotificationRepository.findById(oldPending.getId())).isPresent();
+        assertThat(completionNotificationRepository.findById(recentSent.getId())).isPresent();
+        assertThat(completionNotificationRepository.findById(oldSent.getId())).isEmpty();
+    }
+
+    private CompletionNotification createNotification(LocalDateTime nextAttemptAt) {
+
+        CompletionNotification notification = CompletionNotification.builder()
+                .destination("0888000001")
+                .payload("{}")
+                .status(NotificationStatus.PENDING)
+                .attempts(0)
+                .nextAttemptAt(nextAttemptAt)
+                .createdAt(nextAttemptAt)
+                .build();
+        return testEntityManager.persistFlushFind(notification);
+    }
+}
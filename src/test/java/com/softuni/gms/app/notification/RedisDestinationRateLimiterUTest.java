@@ -0,0 +1,51 @@
+package com.softuni.gms.app.notification;
+
+import com.softuni.gms.app.notification.service.RedisDestinationRateLimiter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentMatchers;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class RedisDestinationRateLimiterUTest {
+
+    private static final String KEY = "gms:notification:destination:0888000001";
+
+    @Mock
+    private StringRedisTemplate redisTemplate;
+
+    private RedisDestinationRateLimiter rateLimiter;
+
+    @BeforeEach
+    void setUp() {
+
+        rateLimiter = new RedisDestinationRateLimiter(redisTemplate, Duration.ofSeconds(2));
+    }
+
+    @Test
+    void tryAcquire_shouldAllowSend_whenNoInstanceHoldsTheDestination() {
+
+        when(redisTemplate.execute(ArgumentMatchers.<RedisScript<Long>>any(), eq(List.of(KEY)), eq("2000"))).thenReturn(0L);
+
+        assertEquals(Duration.ZERO, rateLimiter.tryAcquire("0888000001"));
+    }
+
+    @Test
+    void tryAcquire_shouldReturnRemainingWait_whenAnotherInstanceSentRecently() {
+
+        when(redisTemplate.execute(ArgumentMatchers.<RedisScript<Long>>any(), eq(List.of(KEY)), eq("2000"))).thenReturn(1500L);
+
+        assertEquals(Duration.ofMillis(1500), rateLimiter.tryAcquire("0888000001"));
+    }
+}
@@ -15,7 +15,9 @@ import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.math.BigDecimal;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -71,6 +73,33 @@ public class PartServiceUTest {
         assertEquals(1, partResultSize);
     }
 
+    @Test
+    void findPartsByIds_shouldReturnPartsById() {
+
+        UUID oilId = UUID.randomUUID();
+        UUID filterId = UUID.randomUUID();
+        Part oil = Part.builder().id(oilId).build();
+        Part filter = Part.builder().id(filterId).build();
+
+        when(partRepository.findAllById(Set.of(oilId, filterId))).thenReturn(List.of(oil, filter));
+
+        Map<UUID, Part> result = partService.findPartsByIds(Set.of(oilId, filterId));
+
+        assertSame(oil, result.get(oilId));
+        assertSame(filter, result.get(filterId));
+    }
+
+    @Test
+    void findPartsByIds_shouldThrow_whenAnyPartIsMissing() {
+
+        UUID oilId = UUID.randomUUID();
+        Set<UUID> ids = Set.of(oilId, UUID.randomUUID());
+
+        when(partRepository.findAllById(ids)).thenReturn(List.of(Part.builder().id(oilId).build()));
+
+        assertThrows(NotFoundException.class, () -> partService.findPartsByIds(ids));
+    }
+
     @Test
     void createPart_shouldCreatePart() {
 
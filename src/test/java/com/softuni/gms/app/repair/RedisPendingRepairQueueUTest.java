@@ -0,0 +1,147 @@
+package com.softuni.gms.app.repair;
+
+import com.softuni.gms.app.repair.model.PendingRepairOrderView;
+import com.softuni.gms.app.repair.model.RepairStatus;
+import com.softuni.gms.app.repair.service.RedisPendingRepairQueue;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentMatchers;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class RedisPendingRepairQueueUTest {
+
+    private static final String INDEX_KEY = "gms:pending-repairs:index";
+    private static final String ORDERS_KEY = "gms:pending-repairs:orders";
+    private static final String LOCK_KEY = "gms:pending-repairs:rebuild-lock";
+    private static final Supplier<List<PendingRepairOrderView>> UNUSED_LOADER = () -> fail("loader must not run");
+
+    @Mock
+    private StringRedisTemplate redisTemplate;
+
+    @Mock
+    private ValueOperations<String, String> valueOperations;
+
+    private RedisPendingRepairQueue queue;
+
+    @BeforeEach
+    void setUp() {
+
+        queue = new RedisPendingRepairQueue(redisTemplate, Duration.ofHours(1), Duration.ofSeconds(30));
+    }
+
+    @Test
+    void rebuild_shouldKeepServingPreviousIndex_whenAnotherNodeIsRebuilding() {
+
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(valueOperations.setIfAbsent(eq(LOCK_KEY), anyString(), eq(Duration.ofSeconds(30)))).thenReturn(false);
+        when(redisTemplate.hasKey("gms:pending-repairs:built")).thenReturn(true);
+
+        assertTrue(queue.rebuild(UNUSED_LOADER));
+
+        verify(redisTemplate, never()).execute(ArgumentMatchers.<RedisScript<Long>>any(), anyList(), any(Object[].class));
+    }
+
+    @Test
+    void rebuild_shouldSendCallerToDatabase_whenNeverBuiltAndAnotherNodeIsRebuilding() {
+
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(valueOperations.setIfAbsent(eq(LOCK_KEY), anyString(), any(Duration.class))).thenReturn(false);
+        when(redisTemplate.hasKey("gms:pending-repairs:built")).thenReturn(false);
+
+        assertFalse(queue.rebuild(UNUSED_LOADER));
+    }
+
+    @Test
+    void rebuild_shouldReplayChangesSinceSnapshotAndSwapUnderLock() {
+
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(valueOperations.setIfAbsent(eq(LOCK_KEY), anyString(), any(Duration.class))).thenReturn(true);
+        when(redisTemplate.execute(ArgumentMatchers.<RedisCallback<Long>>any())).thenReturn(1_700_000_000_000L);
+        when(redisTemplate.execute(ArgumentMatchers.<SessionCallback<List<Object>>>any())).thenReturn(List.of());
+        when(redisTemplate.execute(ArgumentMatchers.<RedisScript<Long>>any(), anyList(), any(Object[].class))).thenReturn(1L);
+
+        assertTrue(queue.rebuild(() -> List.of(pendingOrder())));
+
+        verify(redisTemplate).execute(
+                argThat(script -> script.getScriptAsString().contains("RENAME")),
+                argThat(keys -> keys.get(0).toString().startsWith(INDEX_KEY + ":rebuild:")
+                        && keys.get(2).equals(INDEX_KEY)
+                        && keys.get(3).equals(ORDERS_KEY)
+                        && keys.get(8).equals(LOCK_KEY)),
+                eq("1700000000000"), eq("3600"), anyString());
+        verify(redisTemplate).execute(argThat(script -> script.getScriptAsString().contains("'DEL', KEYS[1]")),
+                eq(List.of(LOCK_KEY)), anyString());
+        verify(redisTemplate, never()).delete(anyCollection());
+    }
+
+    @Test
+    void rebuild_shouldDiscardSnapshot_whenLockExpiredBeforeSwap() {
+
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(valueOperations.setIfAbsent(eq(LOCK_KEY), anyString(), any(Duration.class))).thenReturn(true);
+        when(redisTemplate.execute(ArgumentMatchers.<RedisCallback<Long>>any())).thenReturn(1_700_000_000_000L);
+        when(redisTemplate.execute(ArgumentMatchers.<SessionCallback<List<Object>>>any())).thenReturn(List.of());
+        when(redisTemplate.execute(ArgumentMatchers.<RedisScript<Long>>any(), anyList(), any(Object[].class))).thenReturn(0L);
+
+        assertTrue(queue.rebuild(() -> List.of(pendingOrder())));
+
+        verify(redisTemplate).delete(argThat((List<String> keys) -> keys.size() == 2
+                && keys.stream().allMatch(key -> key.contains(":rebuild:"))));
+    }
+
+    @Test
+    void rebuild_shouldReleaseLock_whenLoaderFails() {
+
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(valueOperations.setIfAbsent(eq(LOCK_KEY), anyString(), any(Duration.class))).thenReturn(true);
+        when(redisTemplate.execute(ArgumentMatchers.<RedisCallback<Long>>any())).thenReturn(1_700_000_000_000L);
+
+        assertThrows(IllegalStateException.class, () -> queue.rebuild(() -> {
+            throw new IllegalStateException("database down");
+        }));
+
+        verify(redisTemplate).execute(argThat(script -> script.getScriptAsString().contains("'DEL', KEYS[1]")),
+                eq(List.of(LOCK_KEY)), anyString());
+    }
+
+    @Test
+    void addAndRemove_shouldJournalEveryChange() {
+
+        PendingRepairOrderView order = pendingOrder();
+
+        queue.add(order);
+        queue.remove(order.id());
+
+        verify(redisTemplate).execute(ArgumentMatchers.<RedisScript<Long>>any(),
+                eq(List.of(INDEX_KEY, ORDERS_KEY, "gms:pending-repairs:journal:added")),
+                eq(order.id().toString()), anyString(), anyString());
+        verify(redisTemplate).execute(ArgumentMatchers.<RedisScript<Long>>any(),
+                eq(List.of(INDEX_KEY, ORDERS_KEY, "gms:pending-repairs:journal:removed")),
+                eq(order.id().toString()));
+    }
+
+    private static PendingRepairOrderView pendingOrder() {
+
+        return new PendingRepairOrderView(UUID.randomUUID(), "BMW", "320d", "CA1234AB", "WBA00000000000000",
+                "/images/car.jpg", "Ivan", "Petrov", "359888123456", "Strange noise", RepairStatus.PENDING,
+                LocalDateTime.of(2025, 1, 1, 10, 0));
+    }
+}
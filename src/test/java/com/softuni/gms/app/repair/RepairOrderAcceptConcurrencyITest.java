@@ -0,0 +1,184 @@
+package com.softuni.gms.app.repair;
+
+import com.softuni.gms.app.car.model.Car;
+import com.softuni.gms.app.car.repository.CarRepository;
+import com.softuni.gms.app.config.TestCacheConfig;
+import com.softuni.gms.app.config.TestSecurityConfig;
+import com.softuni.gms.app.kafka.KafkaProducerService;
+import com.softuni.gms.app.outbox.model.OutboxEvent;
+import com.softuni.gms.app.outbox.repository.OutboxEventRepository;
+import com.softuni.gms.app.repair.model.RepairOrder;
+import com.softuni.gms.app.repair.model.RepairStatus;
+import com.softuni.gms.app.repair.repository.RepairOrderRepository;
+import com.softuni.gms.app.repair.service.RepairOrderService;
+import com.softuni.gms.app.user.model.User;
+import com.softuni.gms.app.user.model.UserRole;
+import com.softuni.gms.app.user.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Not @Transactional: every claimer has to commit on its own connection for the race to be real.
+@SpringBootTest
+@ActiveProfiles("test")
+@Import({TestCacheConfig.class, TestSecurityConfig.class})
+public class RepairOrderAcceptConcurrencyITest {
+
+    private static final int CLAIMERS = 200;
+    private static final int THREADS = 32;
+
+    @Autowired
+    private RepairOrderService repairOrderService;
+
+    @Autowired
+    private RepairOrderRepository repairOrderRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CarRepository carRepository;
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @MockitoBean
+    private KafkaProducerService kafkaProducerService;
+
+    private User customer;
+    private Car car;
+    private RepairOrder order;
+    private List<User> mechanics;
+
+    @BeforeEach
+    void setUp() {
+
+        customer = userRepository.save(user("race-customer", "0897000000", UserRole.USER));
+        car = carRepository.save(Car.builder()
+                .brand("Audi")
+                .model("A4")
+                .vin("WAUZZZ8K0000RACE1")
+                .plateNumber("CA7777RC")
+                .owner(customer)
+                .pictureUrl("")
+                .createdAt(LocalDateTime.now())
+                .updatedAt(LocalDateTime.now())
+                .isDeleted(false)
+                .build());
+        order = repairOrderRepository.save(RepairOrder.builder()
+                .car(car)
+                .user(customer)
+                .status(RepairStatus.PENDING)
+                .createdAt(LocalDateTime.now())
+                .updatedAt(LocalDateTime.now())
+                .problemDescription("Race")
+                .usedParts(new ArrayList<>())
+                .build());
+
+        List<User> toSave = new ArrayList<>();
+        for (int i = 0; i < CLAIMERS; i++) {
+            toSave.add(user("race-mechanic-" + i, String.format("0896%06d", i), UserRole.MECHANIC));
+        }
+        mechanics = userRepository.saveAll(toSave);
+    }
+
+    @AfterEach
+    void tearDown() {
+
+        outboxEventRepository.deleteAll(outboxEvents());
+        repairOrderRepository.deleteById(order.getId());
+        carRepository.deleteById(car.getId());
+        userRepository.deleteAll(mechanics);
+        userRepository.deleteById(customer.getId());
+    }
+
+    @Test
+    void acceptRepairOrder_shouldHaveExactlyOneWinner_underConcurrentClaims() throws Exception {
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger wins = new AtomicInteger();
+        AtomicInteger losses = new AtomicInteger();
+        ConcurrentLinkedQueue<User> winners = new ConcurrentLinkedQueue<>();
+        ConcurrentLinkedQueue<Throwable> unexpected = new ConcurrentLinkedQueue<>();
+
+        List<Future<?>> futures = new ArrayList<>();
+        for (User mechanic : mechanics) {
+            futures.add(executor.submit(() -> {
+                try {
+                    start.await();
+                    repairOrderService.acceptRepairOrder(order.getId(), mechanic);
+                    wins.incrementAndGet();
+                    winners.add(mechanic);
+                } catch (IllegalStateException e) {
+                    losses.incrementAndGet();
+                } catch (Throwable e) {
+                    unexpected.add(e);
+                }
+                return null;
+            }));
+        }
+
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(60, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+
+        Assertions.assertTrue(unexpected.isEmpty(), () -> "Unexpected failures: " + unexpected);
+        Assertions.assertEquals(1, wins.get());
+        Assertions.assertEquals(CLAIMERS - 1, losses.get());
+
+        RepairOrder stored = repairOrderRepository.findById(order.getId()).orElseThrow();
+        Assertions.assertEquals(RepairStatus.ACCEPTED, stored.getStatus());
+        Assertions.assertEquals(winners.peek().getId(), stored.getMechanic().getId());
+        Assertions.assertEquals(order.getVersion() + 1, stored.getVersion());
+
+        // Losing claims roll back, so only the winner's status event reaches the outbox.
+        Assertions.assertEquals(1, outboxEvents().size());
+        Mockito.verifyNoInteractions(kafkaProducerService);
+    }
+
+    private List<OutboxEvent> outboxEvents() {
+
+        return outboxEventRepository.findAll().stream()
+                .filter(event -> event.getMessageKey().equals(order.getId().toString()))
+                .toList();
+    }
+
+    private static User user(String username, String phoneNumber, UserRole role) {
+
+        return User.builder()
+                .username(username)
+                .firstName(username)
+                .lastName("Racer")
+                .password("pass")
+                .email(username + "@test.bg")
+                .phoneNumber(phoneNumber)
+                .hourlyRate(BigDecimal.TEN)
+                .role(role)
+                .createdAt(LocalDateTime.now())
+                .updatedAt(LocalDateTime.now())
+                .isActive(true)
+                .build();
+    }
+}
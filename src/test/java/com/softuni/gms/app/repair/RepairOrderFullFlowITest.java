@@ -5,6 +5,8 @@ import com.softuni.gms.app.car.repository.CarRepository;
 import com.softuni.gms.app.config.TestCacheConfig;
 import com.softuni.gms.app.config.TestSecurityConfig;
 import com.softuni.gms.app.kafka.KafkaProducerService;
+import com.softuni.gms.app.notification.model.NotificationStatus;
+import com.softuni.gms.app.notification.repository.CompletionNotificationRepository;
 import com.softuni.gms.app.part.model.Part;
 import com.softuni.gms.app.part.repository.PartRepository;
 import com.softuni.gms.app.repair.model.RepairOrder;
@@ -49,6 +51,9 @@ public class RepairOrderFullFlowITest {
     @Autowired
     private PartRepository partRepository;
 
+    @Autowired
+    private CompletionNotificationRepository completionNotificationRepository;
+
     @MockitoBean
     private KafkaProducerService kafkaProducerService;
 
@@ -82,6 +87,8 @@ public class RepairOrderFullFlowITest {
                 .name("oil filer")
                 .manufacturer("bmw")
                 .price(BigDecimal.TEN)
+                .createdAt(LocalDateTime.now())
+                .updatedAt(LocalDateTime.now())
                 .build();
         part = partRepository.save(part);
 
@@ -103,6 +110,7 @@ public class RepairOrderFullFlowITest {
                 mechanic.getHourlyRate().multiply(BigDecimal.valueOf(2)),
                 completed.getPrice()
         );
+        Assertions.assertEquals(1, completionNotificationRepository.countByStatus(NotificationStatus.PENDING));
     }
 
     @Test
@@ -0,0 +1,106 @@
+package com.softuni.gms.app.repair;
+
+import com.softuni.gms.app.repair.metrics.RepairOrderMetrics;
+import com.softuni.gms.app.repair.model.RepairStatus;
+import com.softuni.gms.app.repair.model.RepairStatusCount;
+import com.softuni.gms.app.repair.repository.RepairOrderRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class RepairOrderMetricsUTest {
+
+    @Mock
+    private RepairOrderRepository repairOrderRepository;
+
+    private MeterRegistry meterRegistry;
+    private RepairOrderMetrics repairOrderMetrics;
+
+    @BeforeEach
+    void setUp() {
+
+        meterRegistry = new SimpleMeterRegistry();
+        repairOrderMetrics = new RepairOrderMetrics(repairOrderRepository, meterRegistry);
+    }
+
+    @Test
+    void recordAccepted_shouldTimeTimeSpentPending() {
+
+        LocalDateTime createdAt = LocalDateTime.of(2025, 1, 1, 10, 0);
+
+        repairOrderMetrics.recordAccepted(createdAt, createdAt.plusMinutes(30));
+
+        Timer timer = transition("PENDING", "ACCEPTED");
+        assertEquals(1, timer.count());
+        assertEquals(30, timer.totalTime(TimeUnit.MINUTES), 0.001);
+    }
+
+    @Test
+    void recordCanceled_shouldPickTimerByPreviousStatusAndIgnoreMissingTimestamps() {
+
+        LocalDateTime acceptedAt = LocalDateTime.of(2025, 1, 1, 10, 0);
+
+        repairOrderMetrics.recordCanceled(RepairStatus.ACCEPTED, acceptedAt, acceptedAt.plusHours(1));
+        repairOrderMetrics.recordCanceled(RepairStatus.PENDING, null, acceptedAt);
+
+        assertEquals(1, transition("ACCEPTED", "CANCELED").count());
+        assertEquals(0, transition("PENDING", "CANCELED").count());
+    }
+
+    @Test
+    void refreshStatusCounts_shouldPublishCountsAndZeroMissingStatuses() {
+
+        when(repairOrderRepository.countByStatus()).thenReturn(List.of(
+                new RepairStatusCount(RepairStatus.PENDING, 4),
+                new RepairStatusCount(RepairStatus.COMPLETED, 10)));
+
+        repairOrderMetrics.refreshStatusCounts();
+
+        assertEquals(4, statusGauge("PENDING"));
+        assertEquals(10, statusGauge("COMPLETED"));
+        assertEquals(0, statusGauge("ACCEPTED"));
+
+        when(repairOrderRepository.countByStatus()).thenReturn(List.of(new RepairStatusCount(RepairStatus.COMPLETED, 11)));
+
+        repairOrderMetrics.refreshStatusCounts();
+
+        assertEquals(0, statusGauge("PENDING"));
+        assertEquals(11, statusGauge("COMPLETED"));
+    }
+
+    @Test
+    void recordPendingReadAndCleanupBatch_shouldUpdateMeters() {
+
+        repairOrderMetrics.recordPendingRead(true);
+        repairOrderMetrics.recordPendingRead(true);
+        repairOrderMetrics.recordPendingRead(false);
+        repairOrderMetrics.recordCleanupBatch(25);
+
+        assertEquals(2, meterRegistry.get("gms.repair.pending.reads").tag("source", "queue").counter().count());
+        assertEquals(1, meterRegistry.get("gms.repair.pending.reads").tag("source", "database").counter().count());
+        assertEquals(25, meterRegistry.get("gms.repair.cleanup.batch.size").summary().totalAmount());
+    }
+
+    private Timer transition(String from, String to) {
+
+        return meterRegistry.get("gms.repair.transition").tag("from", from).tag("to", to).timer();
+    }
+
+    private double statusGauge(String status) {
+
+        return meterRegistry.get("gms.repair.orders").tag("status", status).gauge().value();
+    }
+}
@@ -2,8 +2,10 @@ package com.softuni.gms.app.repair;
 
 import com.softuni.gms.app.config.TestJpaConfig;
 import com.softuni.gms.app.car.model.Car;
+import com.softuni.gms.app.repair.model.PendingRepairOrderView;
 import com.softuni.gms.app.repair.model.RepairOrder;
 import com.softuni.gms.app.repair.model.RepairStatus;
+import com.softuni.gms.app.repair.model.RepairStatusCount;
 import com.softuni.gms.app.repair.repository.RepairOrderRepository;
 import com.softuni.gms.app.user.model.User;
 import com.softuni.gms.app.user.model.UserRole;
@@ -15,6 +17,7 @@ import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabas
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
 import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
 import org.springframework.test.context.ActiveProfiles;
 
@@ -100,20 +103,163 @@ public class RepairOrderRepositoryUTest {
     }
 
     @Test
-    void findAllByStatusAndInvoiceGeneratedFalse_shouldReturnOnlyWithoutInvoice() {
+    void findInvoiceBacklogIds_shouldPageOnlyOrdersWithoutInvoice() {
 
         User user = createUser();
         Car car = createCar(user);
 
+        createOrderInvoice(car, user, false);
         createOrderInvoice(car, user, false);
         createOrderInvoice(car, user, false);
         createOrderInvoice(car, user, true);
+        testEntityManager.clear();
 
-        List<RepairOrder> result =
-                repairOrderRepository.findAllByStatusAndInvoiceGeneratedFalse(RepairStatus.COMPLETED);
+        List<UUID> firstPage = repairOrderRepository.findInvoiceBacklogIds(RepairStatus.COMPLETED, Limit.of(2));
+        List<UUID> secondPage = repairOrderRepository.findInvoiceBacklogIdsAfter(RepairStatus.COMPLETED,
+                firstPage.get(1), Limit.of(2));
+
+        Assertions.assertEquals(2, firstPage.size());
+        Assertions.assertEquals(1, secondPage.size());
+        Assertions.assertFalse(firstPage.contains(secondPage.get(0)));
+        Assertions.assertEquals(3, repairOrderRepository.countByStatusAndInvoiceGeneratedFalse(RepairStatus.COMPLETED));
+
+        List<RepairOrder> loaded = repairOrderRepository.findAllByIdIn(firstPage);
+
+        Assertions.assertEquals(2, loaded.size());
+        Assertions.assertTrue(loaded.stream().noneMatch(RepairOrder::isInvoiceGenerated));
+    }
+
+    @Test
+    void findViewsByStatus_shouldReturnFlatViewsNewestFirst() {
+
+        User user = createUser();
+        Car car = createCar(user);
+
+        RepairOrder older = createOrder(car, user, RepairStatus.PENDING, 20);
+        RepairOrder newer = createOrder(car, user, RepairStatus.PENDING, 5);
+        createOrder(car, user, RepairStatus.ACCEPTED, 1);
+
+        List<PendingRepairOrderView> result = repairOrderRepository.findViewsByStatus(RepairStatus.PENDING);
+
+        Assertions.assertEquals(2, result.size());
+        Assertions.assertEquals(newer.getId(), result.get(0).id());
+        Assertions.assertEquals(older.getId(), result.get(1).id());
+        Assertions.assertEquals("BMW", result.get(0).carBrand());
+        Assertions.assertEquals("CB1234TT", result.get(0).plateNumber());
+        Assertions.assertEquals("Valentin", result.get(0).customerFirstName());
+    }
+
+    @Test
+    void countByStatus_shouldGroupNonDeletedOrders() {
+
+        User user = createUser();
+        Car car = createCar(user);
+
+        createOrder(car, user, RepairStatus.PENDING, 20);
+        createOrder(car, user, RepairStatus.PENDING, 10);
+        createOrder(car, user, RepairStatus.COMPLETED, 5);
+        RepairOrder deleted = createOrder(car, user, RepairStatus.COMPLETED, 1);
+        deleted.setDeleted(true);
+        testEntityManager.persistAndFlush(deleted);
+
+        List<RepairStatusCount> result = repairOrderRepository.countByStatus();
 
         Assertions.assertEquals(2, result.size());
-        Assertions.assertTrue(result.stream().noneMatch(RepairOrder::isInvoiceGenerated));
+        Assertions.assertTrue(result.contains(new RepairStatusCount(RepairStatus.PENDING, 2)));
+        Assertions.assertTrue(result.contains(new RepairStatusCount(RepairStatus.COMPLETED, 1)));
+    }
+
+    @Test
+    void countByStatusIn_shouldCountActiveOrdersAndTodaysShare() {
+
+        User user = createUser();
+        Car car = createCar(user);
+        List<RepairStatus> active = List.of(RepairStatus.PENDING, RepairStatus.ACCEPTED);
+
+        createOrder(car, user, RepairStatus.PENDING, 5);
+        RepairOrder old = createOrder(car, user, RepairStatus.ACCEPTED, 5);
+        old.setCreatedAt(LocalDateTime.now().minusDays(2));
+        testEntityManager.persistAndFlush(old);
+        createOrder(car, user, RepairStatus.COMPLETED, 5);
+
+        Assertions.assertEquals(2, repairOrderRepository.countByStatusInAndIsDeletedFalse(active));
+        Assertions.assertEquals(1, repairOrderRepository.countByStatusInAndIsDeletedFalseAndCreatedAtGreaterThanEqual(
+                active, LocalDateTime.now().minusDays(1)));
+    }
+
+    @Test
+    void findUserOrdersBefore_shouldContinueAfterCursor() {
+
+        User user = createUser();
+        Car car = createCar(user);
+
+        RepairOrder newest = createOrder(car, user, RepairStatus.COMPLETED, 1);
+        RepairOrder middle = createOrder(car, user, RepairStatus.COMPLETED, 2);
+        RepairOrder oldest = createOrder(car, user, RepairStatus.COMPLETED, 3);
+
+        List<RepairOrder> firstPage = repairOrderRepository
+                .findByUserIdAndIsDeletedFalseOrderByCreatedAtDescIdDesc(user.getId(), Limit.of(1));
+        List<RepairOrder> nextPage = repairOrderRepository
+                .findUserOrdersBefore(user.getId(), newest.getCreatedAt(), newest.getId(), Limit.of(5));
+
+        Assertions.assertEquals(List.of(newest.getId()), firstPage.stream().map(RepairOrder::getId).toList());
+        Assertions.assertEquals(List.of(middle.getId(), oldest.getId()),
+                nextPage.stream().map(RepairOrder::getId).toList());
+    }
+
+    @Test
+    void findAdminPage_shouldApplyOptionalFiltersAndCursor() {
+
+        User user = createUser();
+        Car car = createCar(user);
+
+        RepairOrder newest = createOrder(car, user, RepairStatus.COMPLETED, 1);
+        createOrder(car, user, RepairStatus.PENDING, 2);
+        RepairOrder middle = createOrder(car, user, RepairStatus.COMPLETED, 3);
+        RepairOrder old = createOrder(car, user, RepairStatus.COMPLETED, 4);
+        old.setCreatedAt(LocalDateTime.now().minusDays(3));
+        testEntityManager.persistAndFlush(old);
+
+        List<RepairOrder> all = repairOrderRepository.findAdminPage(null, null, null, null, null, Limit.of(10));
+        List<RepairOrder> completedFirst = repairOrderRepository.findAdminPage(
+                RepairStatus.COMPLETED, LocalDateTime.now().minusDays(1), null, null, null, Limit.of(1));
+        List<RepairOrder> completedNext = repairOrderRepository.findAdminPage(
+                RepairStatus.COMPLETED, LocalDateTime.now().minusDays(1), null,
+                newest.getCreatedAt(), newest.getId(), Limit.of(5));
+
+        Assertions.assertEquals(4, all.size());
+        Assertions.assertEquals(List.of(newest.getId()), completedFirst.stream().map(RepairOrder::getId).toList());
+        Assertions.assertEquals(List.of(middle.getId()), completedNext.stream().map(RepairOrder::getId).toList());
+    }
+
+    @Test
+    void staleSlices_shouldWalkOldestFirstAndCancelOnlyLockedPendingRows() {
+
+        User user = createUser();
+        Car car = createCar(user);
+
+        RepairOrder oldest = createOrder(car, user, RepairStatus.PENDING, 30);
+        RepairOrder middle = createOrder(car, user, RepairStatus.PENDING, 20);
+        RepairOrder accepted = createOrder(car, user, RepairStatus.ACCEPTED, 15);
+        createOrder(car, user, RepairStatus.PENDING, 1);
+        LocalDateTime cutoff = LocalDateTime.now().minusMinutes(10);
+
+        List<RepairOrder> firstSlice = repairOrderRepository
+                .findByStatusAndIsDeletedFalseAndCreatedAtBeforeOrderByCreatedAtAscIdAsc(
+                        RepairStatus.PENDING, cutoff, Limit.of(1));
+        List<RepairOrder> nextSlice = repairOrderRepository.findByStatusCreatedBeforeAfterCursor(
+                RepairStatus.PENDING, cutoff, oldest.getCreatedAt(), oldest.getId(), Limit.of(5));
+
+        Assertions.assertEquals(List.of(oldest.getId()), firstSlice.stream().map(RepairOrder::getId).toList());
+        Assertions.assertEquals(List.of(middle.getId()), nextSlice.stream().map(RepairOrder::getId).toList());
+
+        List<UUID> locked = repairOrderRepository.lockIdsByStatus(
+                List.of(oldest.getId(), middle.getId(), accepted.getId()), RepairStatus.PENDING);
+        int updated = repairOrderRepository.cancelPendingOrders(locked, LocalDateTime.now());
+
+        Assertions.assertEquals(2, updated);
+        Assertions.assertEquals(RepairStatus.CANCELED, repairOrderRepository.findById(oldest.getId()).orElseThrow().getStatus());
+        Assertions.assertEquals(RepairStatus.ACCEPTED, repairOrderRepository.findById(accepted.getId()).orElseThrow().getStatus());
     }
 
     private User createUser() {
@@ -2,18 +2,24 @@ package com.softuni.gms.app.repair;
 
 import com.softuni.gms.app.car.model.Car;
 import com.softuni.gms.app.car.service.CarService;
+import com.softuni.gms.app.client.RepairCompletionNotificationService;
 import com.softuni.gms.app.event.RepairEventPublisher;
 import com.softuni.gms.app.exeption.CarOwnershipException;
 import com.softuni.gms.app.exeption.NotFoundException;
 import com.softuni.gms.app.part.model.Part;
 import com.softuni.gms.app.part.service.PartService;
+import com.softuni.gms.app.repair.metrics.RepairOrderMetrics;
+import com.softuni.gms.app.repair.model.PendingRepairOrderView;
 import com.softuni.gms.app.repair.model.RepairOrder;
 import com.softuni.gms.app.repair.model.RepairStatus;
 import com.softuni.gms.app.repair.repository.RepairOrderRepository;
+import com.softuni.gms.app.repair.service.PendingRepairQueue;
 import com.softuni.gms.app.repair.service.RepairOrderService;
 import com.softuni.gms.app.repair.service.UsedPartService;
 import com.softuni.gms.app.user.model.User;
 import com.softuni.gms.app.user.model.UserRole;
+import com.softuni.gms.app.web.dto.KeysetPage;
+import com.softuni.gms.app.web.dto.PageCursor;
 import com.softuni.gms.app.web.dto.WorkOrderRequest;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -21,14 +27,18 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.cache.CacheManager;
+import org.springframework.data.domain.Limit;
 
 import java.lang.reflect.Method;
 import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import java.util.function.Supplier;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -52,7 +62,13 @@ public class RepairOrderServiceUTest {
     private RepairEventPublisher repairEventPublisher;
 
     @Mock
-    private CacheManager cacheManager;
+    private PendingRepairQueue pendingRepairQueue;
+
+    @Mock
+    private RepairOrderMetrics repairOrderMetrics;
+
+    @Mock
+    private RepairCompletionNotificationService repairNotificationService;
 
     @InjectMocks
     private RepairOrderService repairOrderService;
@@ -84,6 +100,10 @@ public class RepairOrderServiceUTest {
         assertFalse(repairOrder.isInvoiceGenerated());
         assertNotNull(repairOrder.getCreatedAt());
         assertNotNull(repairOrder.getUpdatedAt());
+
+        ArgumentCaptor<PendingRepairOrderView> viewCaptor = ArgumentCaptor.forClass(PendingRepairOrderView.class);
+        verify(pendingRepairQueue).add(viewCaptor.capture());
+        assertEquals("Problem with clutch", viewCaptor.getValue().problemDescription());
     }
 
     @Test
@@ -253,20 +273,59 @@ public class RepairOrderServiceUTest {
     @Test
     void findPendingRepairOrders_shouldFindPendingRepairOrders() {
 
-        RepairOrder repairOrder = RepairOrder.builder()
-                .id(UUID.randomUUID())
-                .status(RepairStatus.PENDING)
-                .build();
-
-        when(repairOrderRepository.findByStatusAndIsDeletedFalseOrderByCreatedAtDesc(RepairStatus.PENDING))
+        PendingRepairOrderView repairOrder = new PendingRepairOrderView(UUID.randomUUID(), "BMW", "320d",
+                "CA1234AB", "WBA00000000000000", "/images/car.jpg", "Ivan", "Petrov", "359888123456",
+                "Strange noise", RepairStatus.PENDING, LocalDateTime.now());
+
+        when(pendingRepairQueue.isInitialized()).thenReturn(false);
+        when(pendingRepairQueue.rebuild(any())).thenAnswer(invocation -> {
+            Supplier<List<PendingRepairOrderView>> loader = invocation.getArgument(0);
+            assertEquals(List.of(repairOrder), loader.get());
+            return true;
+        });
+        when(repairOrderRepository.findViewsByStatus(RepairStatus.PENDING))
                 .thenReturn(List.of(repairOrder));
+        when(pendingRepairQueue.range(0, -1)).thenReturn(List.of(repairOrder));
 
-        List<RepairOrder> result = repairOrderService.findPendingRepairOrders();
+        List<PendingRepairOrderView> result = repairOrderService.findPendingRepairOrders();
 
         assertEquals(1, result.size());
         assertSame(repairOrder, result.get(0));
 
-        verify(repairOrderRepository).findByStatusAndIsDeletedFalseOrderByCreatedAtDesc(RepairStatus.PENDING);
+        verify(repairOrderRepository).findViewsByStatus(RepairStatus.PENDING);
+        verify(repairOrderMetrics).recordPendingRead(false);
+    }
+
+    @Test
+    void findPendingRepairOrders_shouldReadDatabase_whenQueueNeverBuiltAndRebuildIsElsewhere() {
+
+        PendingRepairOrderView repairOrder = new PendingRepairOrderView(UUID.randomUUID(), "BMW", "320d",
+                "CA1234AB", "WBA00000000000000", "/images/car.jpg", "Ivan", "Petrov", "359888123456",
+                "Strange noise", RepairStatus.PENDING, LocalDateTime.now());
+
+        when(pendingRepairQueue.isInitialized()).thenReturn(false);
+        when(pendingRepairQueue.rebuild(any())).thenReturn(false);
+        when(repairOrderRepository.findViewsByStatus(RepairStatus.PENDING)).thenReturn(List.of(repairOrder));
+
+        assertEquals(List.of(repairOrder), repairOrderService.findPendingRepairOrders());
+
+        verify(pendingRepairQueue, never()).range(anyLong(), anyLong());
+    }
+
+    @Test
+    void findPendingRepairOrders_shouldReadQueueWithoutDatabase_whenInitialized() {
+
+        PendingRepairOrderView repairOrder = new PendingRepairOrderView(UUID.randomUUID(), "BMW", "320d",
+                "CA1234AB", "WBA00000000000000", "/images/car.jpg", "Ivan", "Petrov", "359888123456",
+                "Strange noise", RepairStatus.PENDING, LocalDateTime.now());
+
+        when(pendingRepairQueue.isInitialized()).thenReturn(true);
+        when(pendingRepairQueue.range(0, -1)).thenReturn(List.of(repairOrder));
+
+        assertEquals(List.of(repairOrder), repairOrderService.findPendingRepairOrders());
+
+        verifyNoInteractions(repairOrderRepository);
+        verify(repairOrderMetrics).recordPendingRead(true);
     }
 
     @Test
@@ -286,25 +345,62 @@ public class RepairOrderServiceUTest {
                 .status(RepairStatus.PENDING)
                 .build();
 
-        when(repairOrderRepository.findById(repairId)).thenReturn(Optional.of(pendingOrder));
+        RepairOrder acceptedOrder = RepairOrder.builder()
+                .id(repairId)
+                .status(RepairStatus.ACCEPTED)
+                .mechanic(mechanic)
+                .createdAt(LocalDateTime.now().minusHours(1))
+                .acceptedAt(LocalDateTime.now())
+                .build();
+
+        when(repairOrderRepository.findById(repairId))
+                .thenReturn(Optional.of(pendingOrder))
+                .thenReturn(Optional.of(acceptedOrder));
 
         when(repairOrderRepository.findFirstByStatusAndMechanicAndIsDeletedFalseOrderByAcceptedAtDesc(RepairStatus.ACCEPTED, mechanic))
                 .thenReturn(Optional.empty());
+        when(repairOrderRepository.claimPendingOrder(eq(repairId), eq(mechanic), any(LocalDateTime.class)))
+                .thenReturn(1);
 
         repairOrderService.acceptRepairOrder(repairId, mechanic);
 
-        assertEquals(RepairStatus.ACCEPTED, pendingOrder.getStatus());
-        assertEquals(mechanic, pendingOrder.getMechanic());
-        assertNotNull(pendingOrder.getAcceptedAt());
-        assertNotNull(pendingOrder.getUpdatedAt());
-
         verify(repairEventPublisher).publishRepairStatusChanged(
-                eq(pendingOrder),
+                eq(acceptedOrder),
                 eq(RepairStatus.PENDING.getDisplayName()),
                 eq(RepairStatus.ACCEPTED.getDisplayName())
         );
 
-        verify(repairOrderRepository).save(pendingOrder);
+        verify(repairOrderRepository, never()).save(any());
+        verify(pendingRepairQueue).remove(repairId);
+        verify(repairOrderMetrics).recordAccepted(acceptedOrder.getCreatedAt(), acceptedOrder.getAcceptedAt());
+    }
+
+    @Test
+    void acceptRepairOrder_shouldThrow_whenClaimLost() {
+
+        UUID repairId = UUID.randomUUID();
+
+        User mechanic = User.builder()
+                .id(UUID.randomUUID())
+                .role(UserRole.MECHANIC)
+                .build();
+
+        RepairOrder pendingOrder = RepairOrder.builder()
+                .id(repairId)
+                .status(RepairStatus.PENDING)
+                .build();
+
+        when(repairOrderRepository.findById(repairId)).thenReturn(Optional.of(pendingOrder));
+        when(repairOrderRepository.findFirstByStatusAndMechanicAndIsDeletedFalseOrderByAcceptedAtDesc(RepairStatus.ACCEPTED, mechanic))
+                .thenReturn(Optional.empty());
+        when(repairOrderRepository.claimPendingOrder(eq(repairId), eq(mechanic), any(LocalDateTime.class)))
+                .thenReturn(0);
+
+        assertThrows(IllegalStateException.class,
+                () -> repairOrderService.acceptRepairOrder(repairId, mechanic));
+
+        assertEquals(RepairStatus.PENDING, pendingOrder.getStatus());
+        verifyNoInteractions(repairEventPublisher, pendingRepairQueue);
     }
 
     @Test
@@ -376,8 +472,15 @@ public class RepairOrderServiceUTest {
 
         LocalDateTime acceptedAt = LocalDateTime.now().minusMinutes(90);
 
+        User customer = User.builder()
+                .id(UUID.randomUUID())
+                .phoneNumber("0888123456")
+                .build();
+
         RepairOrder repairOrder = RepairOrder.builder()
                 .id(repairId)
+                .car(Car.builder().brand("BMW").model("320d").build())
+                .user(customer)
                 .mechanic(mechanic)
                 .status(RepairStatus.ACCEPTED)
                 .acceptedAt(acceptedAt)
@@ -391,8 +494,12 @@ public class RepairOrderServiceUTest {
         assertNotNull(repairOrder.getCompletedAt());
         assertNotNull(repairOrder.getCompletedAt());
         assertEquals(new BigDecimal(100), repairOrder.getPrice());
+        assertEquals(new BigDecimal(100), repairOrder.getGrandTotal());
 
         verify(repairOrderRepository).save(repairOrder);
+        verify(repairNotificationService).enqueueCompletion(argThat(request ->
+                request.getPhoneNumber().equals("0888123456") && request.getCarBrand().equals("BMW")));
+        verify(repairOrderMetrics).recordCompleted(acceptedAt, repairOrder.getCompletedAt());
     }
 
     @Test
@@ -560,6 +667,8 @@ public class RepairOrderServiceUTest {
                 .id(repairId)
                 .mechanic(mechanic)
                 .status(RepairStatus.ACCEPTED)
+                .partsTotal(BigDecimal.valueOf(5))
+                .grandTotal(BigDecimal.valueOf(5))
                 .build();
 
         when(repairOrderRepository.findById(repairId)).thenReturn(Optional.of(order));
@@ -569,7 +678,9 @@ public class RepairOrderServiceUTest {
                 .price(BigDecimal.valueOf(10))
                 .build();
 
-        when(partService.findPartById(partId)).thenReturn(part);
+        when(partService.findPartsByIds(Set.of(partId))).thenReturn(Map.of(partId, part));
+        when(usedPartService.createUsedParts(order, Map.of(partId, part), Map.of(partId, 3)))
+                .thenReturn(BigDecimal.valueOf(30));
 
         WorkOrderRequest.PartUsageRequest partReq = new WorkOrderRequest.PartUsageRequest();
         partReq.setPartId(partId);
@@ -580,11 +691,50 @@ public class RepairOrderServiceUTest {
 
         repairOrderService.addWorkToRepairOrder(repairId, mechanic, request);
 
-        verify(partService).findPartById(partId);
-        verify(usedPartService).createUsedPart(order, part, 3);
+        verify(partService).findPartsByIds(Set.of(partId));
+        verify(usedPartService).createUsedParts(order, Map.of(partId, part), Map.of(partId, 3));
         verify(repairOrderRepository).save(order);
 
         assertNotNull(order.getUpdatedAt());
+        assertEquals(BigDecimal.valueOf(35), order.getPartsTotal());
+        assertEquals(BigDecimal.valueOf(35), order.getGrandTotal());
+    }
+
+    @Test
+    void addWorkToRepairOrder_shouldMergeRepeatedPartsAndResolveThemInOneLookup() {
+
+        UUID repairId = UUID.randomUUID();
+        UUID oilId = UUID.randomUUID();
+        UUID filterId = UUID.randomUUID();
+
+        User mechanic = User.builder()
+                .id(UUID.randomUUID())
+                .build();
+
+        RepairOrder order = RepairOrder.builder()
+                .id(repairId)
+                .mechanic(mechanic)
+                .status(RepairStatus.ACCEPTED)
+                .build();
+
+        when(repairOrderRepository.findById(repairId)).thenReturn(Optional.of(order));
+
+        Map<UUID, Part> parts = Map.of(
+                oilId, Part.builder().id(oilId).price(BigDecimal.ONE).build(),
+                filterId, Part.builder().id(filterId).price(BigDecimal.TEN).build());
+        when(partService.findPartsByIds(Set.of(oilId, filterId))).thenReturn(parts);
+        when(usedPartService.createUsedParts(any(), any(), any())).thenReturn(BigDecimal.valueOf(15));
+
+        WorkOrderRequest request = new WorkOrderRequest();
+        request.setParts(List.of(
+                new WorkOrderRequest.PartUsageRequest(oilId, 2),
+                new WorkOrderRequest.PartUsageRequest(filterId, 1),
+                new WorkOrderRequest.PartUsageRequest(oilId, 3)));
+
+        repairOrderService.addWorkToRepairOrder(repairId, mechanic, request);
+
+        verify(partService, times(1)).findPartsByIds(any());
+        verify(usedPartService).createUsedParts(order, parts, Map.of(oilId, 5, filterId, 1));
     }
 
     @Test
@@ -608,8 +758,8 @@ public class RepairOrderServiceUTest {
 
         repairOrderService.addWorkToRepairOrder(repairId, mechanic, request);
 
-        verify(usedPartService, never()).createUsedPart(any(), any(), anyInt());
-        verify(partService, never()).findPartById(any());
+        verify(usedPartService, never()).createUsedParts(any(), any(), any());
+        verify(partService, never()).findPartsByIds(any());
         verify(repairOrderRepository).save(order);
 
         assertNotNull(order.getUpdatedAt());
@@ -637,7 +787,7 @@ public class RepairOrderServiceUTest {
         assertThrows(IllegalStateException.class,
                 () -> repairOrderService.addWorkToRepairOrder(repairId, mechanic, request));
 
-        verify(usedPartService, never()).createUsedPart(any(), any(), anyInt());
+        verify(usedPartService, never()).createUsedParts(any(), any(), any());
         verify(repairOrderRepository, never()).save(any());
     }
 
@@ -667,7 +817,7 @@ public class RepairOrderServiceUTest {
         assertThrows(CarOwnershipException.class,
                 () -> repairOrderService.addWorkToRepairOrder(id, requestMechanic, request));
 
-        verify(usedPartService, never()).createUsedPart(any(), any(), anyInt());
+        verify(usedPartService, never()).createUsedParts(any(), any(), any());
         verify(repairOrderRepository, never()).save(any());
     }
 
@@ -686,6 +836,25 @@ public class RepairOrderServiceUTest {
         assertSame(order, result);
     }
 
+    @Test
+    void findRepairOrdersPage_shouldTurnDatesIntoHalfOpenRange_andPassCursor() {
+
+        LocalDate from = LocalDate.of(2025, 3, 1);
+        LocalDate to = LocalDate.of(2025, 3, 31);
+        PageCursor cursor = new PageCursor(LocalDateTime.of(2025, 3, 20, 12, 0), UUID.randomUUID());
+        RepairOrder order = RepairOrder.builder().id(UUID.randomUUID()).build();
+
+        when(repairOrderRepository.findAdminPage(RepairStatus.COMPLETED,
+                from.atStartOfDay(), LocalDate.of(2025, 4, 1).atStartOfDay(),
+                cursor.getCreatedAt(), cursor.getId(), Limit.of(26)))
+                .thenReturn(List.of(order));
+
+        KeysetPage<RepairOrder> result = repairOrderService.findRepairOrdersPage(RepairStatus.COMPLETED, from, to, cursor);
+
+        assertEquals(List.of(order), result.getContent());
+        assertFalse(result.hasNext());
+    }
+
     @Test
     void findById_shouldThrow_whenNotFound() {
 
@@ -699,45 +868,87 @@ public class RepairOrderServiceUTest {
     }
 
     @Test
-    void findAllCompletedWithoutInvoice_shouldReturnOrders() {
+    void findCompletedWithoutInvoicePage_shouldLoadPageInIdOrder() {
 
-        RepairOrder order = new RepairOrder();
-        order.setId(UUID.randomUUID());
-        order.setStatus(RepairStatus.COMPLETED);
+        UUID cursor = UUID.randomUUID();
+        RepairOrder first = RepairOrder.builder().id(UUID.randomUUID()).status(RepairStatus.COMPLETED).build();
+        RepairOrder second = RepairOrder.builder().id(UUID.randomUUID()).status(RepairStatus.COMPLETED).build();
 
-        when(repairOrderRepository
-                .findAllByStatusAndInvoiceGeneratedFalse(RepairStatus.COMPLETED))
-                .thenReturn(List.of(order));
+        when(repairOrderRepository.findInvoiceBacklogIdsAfter(RepairStatus.COMPLETED, cursor, Limit.of(2)))
+                .thenReturn(List.of(first.getId(), second.getId()));
+        when(repairOrderRepository.findAllByIdIn(List.of(first.getId(), second.getId())))
+                .thenReturn(List.of(second, first));
 
-        List<RepairOrder> result = repairOrderService.findAllCompletedWithoutInvoice();
+        List<RepairOrder> result = repairOrderService.findCompletedWithoutInvoicePage(cursor, 2);
 
-        assertEquals(1, result.size());
-        assertSame(order, result.get(0));
+        assertEquals(List.of(first, second), result);
     }
 
     @Test
-    void changeStatusForGenerateInvoice_shouldSetFlagAndSave() {
+    void findCompletedWithoutInvoicePage_shouldSkipGraphLoad_whenBacklogEmpty() {
 
-        RepairOrder order = new RepairOrder();
-        order.setInvoiceGenerated(false);
+        when(repairOrderRepository.findInvoiceBacklogIds(RepairStatus.COMPLETED, Limit.of(2))).thenReturn(List.of());
 
-        repairOrderService.changeStatusForGenerateInvoice(order);
+        assertTrue(repairOrderService.findCompletedWithoutInvoicePage(null, 2).isEmpty());
 
-        assertTrue(order.isInvoiceGenerated());
-        verify(repairOrderRepository).save(order);
+        verify(repairOrderRepository, never()).findAllByIdIn(any());
     }
 
     @Test
-    void ensureRepairOrderInstance_shouldReturnSameInstance_whenAlreadyRepairOrder() throws Exception {
+    void markInvoicesGenerated_shouldUpdateAllIdsInOneStatement() {
 
-        Method method = RepairOrderService.class.getDeclaredMethod("ensureRepairOrderInstance", Object.class);
-        method.setAccessible(true);
+        List<UUID> ids = List.of(UUID.randomUUID(), UUID.randomUUID());
+        when(repairOrderRepository.markInvoicesGenerated(ids)).thenReturn(2);
+
+        assertEquals(2, repairOrderService.markInvoicesGenerated(ids));
+        verify(repairOrderRepository, never()).save(any());
+    }
+
+    @Test
+    void markInvoicesGenerated_shouldSkipDatabase_whenNothingToMark() {
+
+        assertEquals(0, repairOrderService.markInvoicesGenerated(List.of()));
+        verifyNoInteractions(repairOrderRepository);
+    }
+
+    @Test
+    void cancelStalePendingOrders_shouldCancelOnlyLockedOrdersInOneBatch() {
+
+        RepairOrder stillPending = new RepairOrder();
+        stillPending.setId(UUID.randomUUID());
+        stillPending.setStatus(RepairStatus.PENDING);
+        RepairOrder claimedMeanwhile = new RepairOrder();
+        claimedMeanwhile.setId(UUID.randomUUID());
+        claimedMeanwhile.setStatus(RepairStatus.PENDING);
+        List<RepairOrder> chunk = List.of(stillPending, claimedMeanwhile);
+
+        when(repairOrderRepository.lockIdsByStatus(List.of(stillPending.getId(), claimedMeanwhile.getId()),
+                RepairStatus.PENDING)).thenReturn(List.of(stillPending.getId()));
+
+        int canceled = repairOrderService.cancelStalePendingOrders(chunk);
+
+        assertEquals(1, canceled);
+        assertEquals(RepairStatus.CANCELED, stillPending.getStatus());
+        assertEquals(RepairStatus.PENDING, claimedMeanwhile.getStatus());
+        verify(repairOrderRepository).cancelPendingOrders(eq(Set.of(stillPending.getId())), any(LocalDateTime.class));
+        verify(repairEventPublisher).publishRepairStatusesChanged(List.of(stillPending),
+                RepairStatus.PENDING.getDisplayName(), RepairStatus.CANCELED.getDisplayName());
+        verify(pendingRepairQueue).removeAll(Set.of(stillPending.getId()));
+        verify(repairOrderRepository, never()).save(any());
+    }
+
+    @Test
+    void cancelStalePendingOrders_shouldDoNothing_whenNoOrderIsStillPending() {
 
         RepairOrder order = new RepairOrder();
+        order.setId(UUID.randomUUID());
+        when(repairOrderRepository.lockIdsByStatus(List.of(order.getId()), RepairStatus.PENDING))
+                .thenReturn(List.of());
 
-        RepairOrder result = (RepairOrder) method.invoke(repairOrderService, order);
+        assertEquals(0, repairOrderService.cancelStalePendingOrders(List.of(order)));
 
-        assertSame(order, result);
+        verify(repairOrderRepository, never()).cancelPendingOrders(any(), any());
+        verifyNoInteractions(repairEventPublisher, pendingRepairQueue);
     }
 
     @Test
@@ -794,6 +1005,7 @@ public class RepairOrderServiceUTest {
         );
 
         verify(repairOrderRepository).save(repairOrder);
+        verify(repairOrderMetrics).recordCanceled(eq(RepairStatus.ACCEPTED), isNull(), any(LocalDateTime.class));
     }
 
     @Test
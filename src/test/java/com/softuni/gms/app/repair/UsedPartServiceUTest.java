@@ -8,11 +8,16 @@ import com.softuni.gms.app.repair.service.UsedPartService;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.math.BigDecimal;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.Mockito.verify;
@@ -26,26 +31,35 @@ public class UsedPartServiceUTest {
     @InjectMocks
     private UsedPartService usedPartService;
 
+    @Captor
+    private ArgumentCaptor<List<UsedPart>> captor;
+
     @Test
-    void createUsedPart_shouldCreate() {
+    void createUsedParts_shouldSaveAllRowsInOneCall() {
 
         RepairOrder repairOrder = new RepairOrder();
-        Part part = Part.builder()
-                .price(BigDecimal.ONE)
-                .build();
+        UUID oilId = UUID.randomUUID();
+        UUID filterId = UUID.randomUUID();
+        Part oil = Part.builder().id(oilId).price(BigDecimal.ONE).build();
+        Part filter = Part.builder().id(filterId).price(BigDecimal.TEN).build();
 
-        int quantity = 3;
+        Map<UUID, Integer> quantities = new LinkedHashMap<>();
+        quantities.put(oilId, 3);
+        quantities.put(filterId, 2);
 
-        usedPartService.createUsedPart(repairOrder, part, quantity);
+        BigDecimal added = usedPartService.createUsedParts(repairOrder, Map.of(oilId, oil, filterId, filter), quantities);
 
-        ArgumentCaptor<UsedPart> captor = ArgumentCaptor.forClass(UsedPart.class);
-        verify(usedPartRepository).save(captor.capture());
+        verify(usedPartRepository).saveAll(captor.capture());
 
-        UsedPart usedPart = captor.getValue();
+        List<UsedPart> usedParts = captor.getValue();
 
-        assertEquals(repairOrder, usedPart.getRepairOrder());
-        assertEquals(part, usedPart.getPart());
-        assertEquals(3, usedPart.getQuantity());
-        assertEquals(BigDecimal.valueOf(3), usedPart.getTotalPrice());
+        assertEquals(2, usedParts.size());
+        assertEquals(repairOrder, usedParts.get(0).getRepairOrder());
+        assertEquals(oil, usedParts.get(0).getPart());
+        assertEquals(3, usedParts.get(0).getQuantity());
+        assertEquals(BigDecimal.valueOf(3), usedParts.get(0).getTotalPrice());
+        assertEquals(filter, usedParts.get(1).getPart());
+        assertEquals(BigDecimal.valueOf(20), usedParts.get(1).getTotalPrice());
+        assertEquals(BigDecimal.valueOf(23), added);
     }
 }
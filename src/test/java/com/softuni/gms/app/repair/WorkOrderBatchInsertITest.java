@@ -0,0 +1,174 @@
+package com.softuni.gms.app.repair;
+
+import com.softuni.gms.app.car.model.Car;
+import com.softuni.gms.app.car.repository.CarRepository;
+import com.softuni.gms.app.config.TestCacheConfig;
+import com.softuni.gms.app.config.TestSecurityConfig;
+import com.softuni.gms.app.kafka.KafkaProducerService;
+import com.softuni.gms.app.part.model.Part;
+import com.softuni.gms.app.part.repository.PartRepository;
+import com.softuni.gms.app.repair.model.RepairOrder;
+import com.softuni.gms.app.repair.model.RepairStatus;
+import com.softuni.gms.app.repair.model.UsedPart;
+import com.softuni.gms.app.repair.repository.RepairOrderRepository;
+import com.softuni.gms.app.repair.service.RepairOrderService;
+import com.softuni.gms.app.user.model.User;
+import com.softuni.gms.app.user.model.UserRole;
+import com.softuni.gms.app.user.repository.UserRepository;
+import com.softuni.gms.app.web.dto.WorkOrderRequest;
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@ActiveProfiles("test")
+@Import({TestCacheConfig.class, TestSecurityConfig.class})
+@Transactional
+public class WorkOrderBatchInsertITest {
+
+    private static final int PARTS = 20;
+
+    // Load the order, load the parts, one batched insert, update the order.
+    private static final long MAX_STATEMENTS = 4;
+
+    @Autowired
+    private RepairOrderService repairOrderService;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CarRepository carRepository;
+
+    @Autowired
+    private PartRepository partRepository;
+
+    @Autowired
+    private RepairOrderRepository repairOrderRepository;
+
+    @MockitoBean
+    private KafkaProducerService kafkaProducerService;
+
+    private User mechanic;
+    private RepairOrder order;
+    private List<Part> parts;
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+
+        User customer = userRepository.save(newUser("customer", "0898000001", UserRole.USER));
+        mechanic = userRepository.save(newUser("mechanic", "0898000002", UserRole.MECHANIC));
+        Car car = carRepository.save(Car.builder()
+                .brand("BMW")
+                .model("e46")
+                .vin("VIN00000000000001")
+                .plateNumber("CA0001AB")
+                .owner(customer)
+                .pictureUrl("")
+                .createdAt(LocalDateTime.now())
+                .updatedAt(LocalDateTime.now())
+                .isDeleted(false)
+                .build());
+
+        order = repairOrderRepository.save(RepairOrder.builder()
+                .car(car)
+                .user(customer)
+                .mechanic(mechanic)
+                .status(RepairStatus.ACCEPTED)
+                .createdAt(LocalDateTime.now())
+                .acceptedAt(LocalDateTime.now())
+                .updatedAt(LocalDateTime.now())
+                .problemDescription("Brakes squeal")
+                .build());
+
+        parts = new ArrayList<>();
+        for (int i = 0; i < PARTS; i++) {
+            parts.add(partRepository.save(Part.builder()
+                    .name("Part " + i)
+                    .manufacturer("Bosch")
+                    .price(BigDecimal.valueOf(i + 1))
+                    .createdAt(LocalDateTime.now())
+                    .updatedAt(LocalDateTime.now())
+                    .build()));
+        }
+
+        entityManager.flush();
+        entityManager.clear();
+
+        statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void addWorkToRepairOrder_shouldInsertAllPartsInOneBatch() {
+
+        List<WorkOrderRequest.PartUsageRequest> lines = new ArrayList<>();
+        parts.forEach(part -> lines.add(new WorkOrderRequest.PartUsageRequest(part.getId(), 1)));
+        lines.add(new WorkOrderRequest.PartUsageRequest(parts.get(0).getId(), 2));
+
+        WorkOrderRequest request = new WorkOrderRequest();
+        request.setParts(lines);
+
+        repairOrderService.addWorkToRepairOrder(order.getId(), mechanic, request);
+        entityManager.flush();
+
+        long statements = statistics.getPrepareStatementCount();
+        Assertions.assertTrue(statements <= MAX_STATEMENTS,
+                "addWorkToRepairOrder executed " + statements + " statements");
+        Assertions.assertEquals(PARTS, statistics.getEntityInsertCount());
+
+        entityManager.clear();
+        Map<UUID, Integer> quantities = entityManager
+                .createQuery("SELECT u FROM UsedPart u WHERE u.repairOrder.id = :id", UsedPart.class)
+                .setParameter("id", order.getId())
+                .getResultStream()
+                .collect(Collectors.toMap(usedPart -> usedPart.getPart().getId(), UsedPart::getQuantity));
+
+        Assertions.assertEquals(PARTS, quantities.size());
+        Assertions.assertEquals(3, quantities.get(parts.get(0).getId()));
+        Assertions.assertEquals(1, quantities.get(parts.get(1).getId()));
+
+        // Prices 1..20 once each, plus two more of the first part.
+        RepairOrder updated = entityManager.find(RepairOrder.class, order.getId());
+        Assertions.assertEquals(0, BigDecimal.valueOf(212).compareTo(updated.getPartsTotal()));
+        Assertions.assertEquals(0, BigDecimal.valueOf(212).compareTo(updated.getGrandTotal()));
+    }
+
+    private static User newUser(String username, String phoneNumber, UserRole role) {
+
+        return User.builder()
+                .username(username)
+                .firstName(username)
+                .lastName("Testov")
+                .password("pass")
+                .email(username + "@test.bg")
+                .phoneNumber(phoneNumber)
+                .hourlyRate(BigDecimal.TEN)
+                .role(role)
+                .createdAt(LocalDateTime.now())
+                .updatedAt(LocalDateTime.now())
+                .isActive(true)
+                .build();
+    }
+}
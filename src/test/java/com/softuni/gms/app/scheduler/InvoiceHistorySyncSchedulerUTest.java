@@ -0,0 +1,71 @@
+package com.softuni.gms.app.scheduler;
+
+import com.softuni.gms.app.client.InvoiceHistoryService;
+import com.softuni.gms.app.exeption.MicroserviceDontRespondException;
+import com.softuni.gms.app.lock.service.SchedulerLockService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class InvoiceHistorySyncSchedulerUTest {
+
+    private static final Duration LEASE = Duration.ofMinutes(5);
+
+    @Mock
+    private InvoiceHistoryService invoiceHistoryService;
+
+    @Mock
+    private SchedulerLockService schedulerLockService;
+
+    private SimpleMeterRegistry meterRegistry;
+    private InvoiceHistorySyncScheduler scheduler;
+
+    @BeforeEach
+    void setUp() {
+
+        meterRegistry = new SimpleMeterRegistry();
+        scheduler = new InvoiceHistorySyncScheduler(invoiceHistoryService, schedulerLockService, meterRegistry, LEASE);
+    }
+
+    @Test
+    void sync_shouldSkip_whenAnotherInstanceIsSyncing() {
+
+        Mockito.when(schedulerLockService.tryAcquire("invoice-history-sync", LEASE)).thenReturn(false);
+
+        scheduler.sync();
+
+        verifyNoInteractions(invoiceHistoryService);
+    }
+
+    @Test
+    void sync_shouldCountSyncedEntries_whenHoldingTheLease() {
+
+        Mockito.when(schedulerLockService.tryAcquire("invoice-history-sync", LEASE)).thenReturn(true);
+        Mockito.when(invoiceHistoryService.syncHistory()).thenReturn(3);
+
+        scheduler.sync();
+
+        Assertions.assertEquals(3.0, meterRegistry.counter("gms.invoice.history.synced").count());
+    }
+
+    @Test
+    void sync_serviceDown_shouldCountFailedRun() {
+
+        Mockito.when(schedulerLockService.tryAcquire("invoice-history-sync", LEASE)).thenReturn(true);
+        Mockito.when(invoiceHistoryService.syncHistory()).thenThrow(new MicroserviceDontRespondException("Down"));
+
+        scheduler.sync();
+
+        Assertions.assertEquals(1.0, meterRegistry.counter("gms.invoice.history.sync.failures").count());
+    }
+}
@@ -2,37 +2,91 @@ package com.softuni.gms.app.scheduler;
 
 import com.softuni.gms.app.car.model.Car;
 import com.softuni.gms.app.client.PdfService;
+import com.softuni.gms.app.exeption.MicroserviceDontRespondException;
+import com.softuni.gms.app.lock.service.SchedulerLockService;
 import com.softuni.gms.app.repair.model.RepairOrder;
 import com.softuni.gms.app.repair.service.RepairOrderService;
 import com.softuni.gms.app.user.model.User;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 
 @ExtendWith(MockitoExtension.class)
 class InvoiceSchedulerUTest {
 
+    private static final Duration LEASE = Duration.ofMinutes(5);
+
     @Mock
     private RepairOrderService repairOrderService;
 
     @Mock
     private PdfService pdfService;
 
-    @InjectMocks
+    @Mock
+    private SchedulerLockService schedulerLockService;
+
+    private SimpleMeterRegistry meterRegistry;
     private InvoiceScheduler scheduler;
 
+    @BeforeEach
+    void setUp() {
+
+        meterRegistry = new SimpleMeterRegistry();
+        scheduler = new InvoiceScheduler(repairOrderService, pdfService, schedulerLockService, meterRegistry, 2, 2, LEASE, 10);
+        Mockito.lenient().when(schedulerLockService.tryAcquire("invoice-generation", LEASE)).thenReturn(true);
+    }
+
+    @Test
+    void testGenerateInvoice_shouldSkipRun_whenAnotherInstanceHoldsTheLease() {
+
+        Mockito.when(schedulerLockService.tryAcquire("invoice-generation", LEASE)).thenReturn(false);
+
+        scheduler.generateInvoice();
+
+        Mockito.verifyNoInteractions(repairOrderService, pdfService);
+    }
+
+    @Test
+    void testGenerateInvoice_shouldStopPaging_whenTheLeaseIsLost() {
+
+        List<RepairOrder> orders = List.of(order(), order(), order());
+
+        Mockito.when(schedulerLockService.tryAcquire("invoice-generation", LEASE)).thenReturn(true, false);
+        Mockito.when(repairOrderService.countCompletedWithoutInvoice()).thenReturn(3L);
+        Mockito.when(repairOrderService.findCompletedWithoutInvoicePage(null, 2)).thenReturn(orders.subList(0, 2));
+
+        scheduler.generateInvoice();
+
+        Mockito.verify(pdfService, Mockito.times(2)).generateInvoice(Mockito.any());
+        Mockito.verify(repairOrderService, Mockito.never()).findCompletedWithoutInvoicePage(orders.get(1).getId(), 2);
+        Mockito.verify(repairOrderService).markInvoicesGenerated(List.of(orders.get(0).getId(), orders.get(1).getId()));
+    }
+
+    @AfterEach
+    void tearDown() {
+
+        scheduler.shutdown();
+    }
+
     @Test
     void testGenerateInvoice_noCompletedOrders_logsOnly() {
 
-        Mockito.when(repairOrderService.findAllCompletedWithoutInvoice())
-                .thenReturn(List.of());
+        Mockito.when(repairOrderService.countCompletedWithoutInvoice()).thenReturn(0L);
 
         scheduler.generateInvoice();
 
@@ -40,7 +94,7 @@ class InvoiceSchedulerUTest {
                 .generateInvoice(Mockito.any());
 
         Mockito.verify(repairOrderService, Mockito.never())
-                .changeStatusForGenerateInvoice(Mockito.any());
+                .markInvoicesGenerated(Mockito.any());
     }
 
     @Test
@@ -63,7 +117,8 @@ class InvoiceSchedulerUTest {
         order.setCompletedAt(LocalDateTime.now());
         order.setUsedParts(List.of());
 
-        Mockito.when(repairOrderService.findAllCompletedWithoutInvoice())
+        Mockito.when(repairOrderService.countCompletedWithoutInvoice()).thenReturn(1L);
+        Mockito.when(repairOrderService.findCompletedWithoutInvoicePage(null, 2))
                 .thenReturn(List.of(order));
 
         scheduler.generateInvoice();
@@ -72,7 +127,8 @@ class InvoiceSchedulerUTest {
                 .generateInvoice(Mockito.any());
 
         Mockito.verify(repairOrderService, Mockito.times(1))
-                .changeStatusForGenerateInvoice(order);
+                .markInvoicesGenerated(List.of(order.getId()));
+        Assertions.assertEquals(1.0, meterRegistry.get("gms.invoice.generated").tag("result", "success").counter().count());
     }
 
     @Test
@@ -103,8 +159,11 @@ class InvoiceSchedulerUTest {
         o2.setCompletedAt(LocalDateTime.now());
         o2.setUsedParts(List.of());
 
-        Mockito.when(repairOrderService.findAllCompletedWithoutInvoice())
+        Mockito.when(repairOrderService.countCompletedWithoutInvoice()).thenReturn(2L);
+        Mockito.when(repairOrderService.findCompletedWithoutInvoicePage(null, 2))
                 .thenReturn(List.of(o1, o2));
+        Mockito.when(repairOrderService.findCompletedWithoutInvoicePage(o2.getId(), 2))
+                .thenReturn(List.of());
 
         Mockito.doThrow(new RuntimeException("PDF FAIL"))
                 .when(pdfService)
@@ -116,7 +175,156 @@ class InvoiceSchedulerUTest {
                 .generateInvoice(Mockito.any());
 
         Mockito.verify(repairOrderService, Mockito.never())
-                .changeStatusForGenerateInvoice(Mockito.any());
+                .markInvoicesGenerated(Mockito.any());
+        Assertions.assertEquals(2.0, meterRegistry.get("gms.invoice.generated").tag("result", "failure").counter().count());
+    }
+
+    @Test
+    void testGenerateInvoice_shouldMarkInvoicesInBatches() {
+
+        List<RepairOrder> orders = List.of(order(), order(), order());
+
+        Mockito.when(repairOrderService.countCompletedWithoutInvoice()).thenReturn(3L);
+        Mockito.when(repairOrderService.findCompletedWithoutInvoicePage(null, 2))
+                .thenReturn(orders.subList(0, 2));
+        Mockito.when(repairOrderService.findCompletedWithoutInvoicePage(orders.get(1).getId(), 2))
+                .thenReturn(orders.subList(2, 3));
+
+        scheduler.generateInvoice();
+
+        Mockito.verify(repairOrderService)
+                .markInvoicesGenerated(List.of(orders.get(0).getId(), orders.get(1).getId()));
+        Mockito.verify(repairOrderService)
+                .markInvoicesGenerated(List.of(orders.get(2).getId()));
+        Assertions.assertEquals(0.0, meterRegistry.get("gms.invoice.backlog").gauge().value());
     }
 
+    @Test
+    void testGenerateInvoice_shouldSkipRun_whenPreviousRunStillInProgress() throws Exception {
+
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        Mockito.when(repairOrderService.countCompletedWithoutInvoice())
+                .thenAnswer(invocation -> {
+                    started.countDown();
+                    release.await(5, TimeUnit.SECONDS);
+                    return 0L;
+                });
+
+        Thread firstRun = new Thread(scheduler::generateInvoice);
+        firstRun.start();
+        Assertions.assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        scheduler.generateInvoice();
+        release.countDown();
+        firstRun.join();
+
+        Mockito.verify(repairOrderService, Mockito.times(1)).countCompletedWithoutInvoice();
+        Assertions.assertEquals(1.0, meterRegistry.get("gms.invoice.runs.skipped").counter().count());
+    }
+
+    @Test
+    void testGenerateInvoice_shouldStopPagingWhileTwiceConcurrencyIsInFlight() throws Exception {
+
+        List<RepairOrder> orders = List.of(order(), order(), order(), order(), order(), order(), order(), order());
+        CountDownLatch release = new CountDownLatch(1);
+
+        Mockito.when(repairOrderService.countCompletedWithoutInvoice()).thenReturn(8L);
+        Mockito.when(repairOrderService.findCompletedWithoutInvoicePage(null, 2)).thenReturn(orders.subList(0, 2));
+        for (int i = 2; i < orders.size(); i += 2) {
+            Mockito.when(repairOrderService.findCompletedWithoutInvoicePage(orders.get(i - 1).getId(), 2))
+                    .thenReturn(orders.subList(i, i + 2));
+        }
+        Mockito.doAnswer(invocation -> release.await(5, TimeUnit.SECONDS))
+                .when(pdfService).generateInvoice(Mockito.any());
+
+        Thread run = new Thread(scheduler::generateInvoice);
+        run.start();
+
+        // Concurrency 2 allows four invoices in flight, so the run blocks on the third page.
+        Mockito.verify(repairOrderService, Mockito.timeout(5000))
+                .findCompletedWithoutInvoicePage(orders.get(3).getId(), 2);
+        Mockito.verify(repairOrderService, Mockito.after(200).never())
+                .findCompletedWithoutInvoicePage(orders.get(5).getId(), 2);
+
+        release.countDown();
+        run.join();
+
+        Mockito.verify(pdfService, Mockito.times(8)).generateInvoice(Mockito.any());
+    }
+
+    @Test
+    void testGenerateInvoice_shouldStopPaging_whenPdfCircuitIsOpen() {
+
+        List<RepairOrder> orders = List.of(order(), order(), order(), order(), order(), order(), order(), order());
+
+        Mockito.when(repairOrderService.countCompletedWithoutInvoice()).thenReturn(8L);
+        Mockito.when(repairOrderService.findCompletedWithoutInvoicePage(null, 2)).thenReturn(orders.subList(0, 2));
+        Mockito.when(repairOrderService.findCompletedWithoutInvoicePage(orders.get(1).getId(), 2))
+                .thenReturn(orders.subList(2, 4));
+        Mockito.when(repairOrderService.findCompletedWithoutInvoicePage(orders.get(3).getId(), 2))
+                .thenReturn(orders.subList(4, 6));
+        Mockito.doThrow(new MicroserviceDontRespondException("PDF down",
+                        CallNotPermittedException.createCallNotPermittedException(CircuitBreaker.ofDefaults("pdf"))))
+                .when(pdfService).generateInvoice(Mockito.any());
+
+        scheduler.generateInvoice();
+
+        // Four invoices were in flight when the first rejection came back; nothing else is submitted.
+        Mockito.verify(pdfService, Mockito.times(4)).generateInvoice(Mockito.any());
+        Mockito.verify(repairOrderService, Mockito.never()).findCompletedWithoutInvoicePage(orders.get(5).getId(), 2);
+        Mockito.verify(repairOrderService, Mockito.never()).markInvoicesGenerated(Mockito.any());
+    }
+
+    @Test
+    void testGenerateInvoice_shouldUseAtMostHalfThePdfBulkhead() throws Exception {
+
+        scheduler.shutdown();
+        scheduler = new InvoiceScheduler(repairOrderService, pdfService, schedulerLockService, meterRegistry, 8, 2, LEASE, 2);
+
+        List<RepairOrder> orders = List.of(order(), order(), order(), order());
+        CountDownLatch release = new CountDownLatch(1);
+
+        Mockito.when(repairOrderService.countCompletedWithoutInvoice()).thenReturn(4L);
+        Mockito.when(repairOrderService.findCompletedWithoutInvoicePage(null, 2)).thenReturn(orders.subList(0, 2));
+        Mockito.when(repairOrderService.findCompletedWithoutInvoicePage(orders.get(1).getId(), 2))
+                .thenReturn(orders.subList(2, 4));
+        Mockito.doAnswer(invocation -> release.await(5, TimeUnit.SECONDS))
+                .when(pdfService).generateInvoice(Mockito.any());
+
+        Thread run = new Thread(scheduler::generateInvoice);
+        run.start();
+
+        // One worker (half of a 2-call bulkhead) allows two invoices in flight, so only one is running.
+        Mockito.verify(pdfService, Mockito.timeout(5000)).generateInvoice(Mockito.any());
+        Mockito.verify(pdfService, Mockito.after(200).times(1)).generateInvoice(Mockito.any());
+
+        release.countDown();
+        run.join();
+
+        Mockito.verify(pdfService, Mockito.times(4)).generateInvoice(Mockito.any());
+    }
+
+    private static RepairOrder order() {
+
+        User user = new User();
+        user.setFirstName("Test");
+        user.setLastName("User");
+        user.setPhoneNumber("0000");
+
+        Car car = new Car();
+        car.setBrand("BMW");
+        car.setModel("E46");
+
+        RepairOrder order = new RepairOrder();
+        order.setId(UUID.randomUUID());
+        order.setUser(user);
+        order.setCar(car);
+        order.setCreatedAt(LocalDateTime.now());
+        order.setCompletedAt(LocalDateTime.now());
+        order.setUsedParts(List.of());
+
+        return order;
+    }
 }
@@ -0,0 +1,201 @@
+package com.softuni.gms.app.scheduler;
+
+import com.softuni.gms.app.client.RepairCompletionNotificationService;
+import com.softuni.gms.app.config.InMemoryDestinationRateLimiter;
+import com.softuni.gms.app.exeption.MicroserviceDontRespondException;
+import com.softuni.gms.app.notification.model.CompletionNotification;
+import com.softuni.gms.app.notification.model.NotificationStatus;
+import com.softuni.gms.app.notification.repository.CompletionNotificationRepository;
+import com.softuni.gms.app.web.dto.RepairCompletionRequest;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class NotificationDispatchSchedulerUTest {
+
+    private static final int MAX_ATTEMPTS = 3;
+
+    @Mock
+    private CompletionNotificationRepository notificationRepository;
+
+    @Mock
+    private RepairCompletionNotificationService notificationService;
+
+    private SimpleMeterRegistry meterRegistry;
+    private NotificationDispatchScheduler scheduler;
+
+    @BeforeEach
+    void setUp() {
+
+        meterRegistry = new SimpleMeterRegistry();
+        scheduler = new NotificationDispatchScheduler(notificationRepository, notificationService,
+                new InMemoryDestinationRateLimiter(Duration.ofMinutes(1)), meterRegistry,
+                2, 10, MAX_ATTEMPTS, Duration.ofSeconds(5), Duration.ofMinutes(1),
+                Duration.ofMinutes(5), Duration.ofDays(30));
+    }
+
+    @AfterEach
+    void tearDown() {
+
+        scheduler.shutdown();
+    }
+
+    @Test
+    void dispatch_success_shouldMarkSent() {
+
+        CompletionNotification notification = notification("0888000001", 0);
+        givenDue(notification);
+        Mockito.when(notificationRepository.lease(eq(notification.getId()), any(), any())).thenReturn(1);
+
+        scheduler.dispatch();
+
+        ArgumentCaptor<LocalDateTime> leased = ArgumentCaptor.forClass(LocalDateTime.class);
+        ArgumentCaptor<LocalDateTime> renewed = ArgumentCaptor.forClass(LocalDateTime.class);
+        verify(notificationRepository).lease(eq(notification.getId()), any(), leased.capture());
+        verify(notificationRepository).renewLease(eq(notification.getId()), eq(leased.getValue()), renewed.capture());
+        verify(notificationService).sendMessageForCompletion(any());
+        Assertions.assertEquals(NotificationStatus.SENT, notification.getStatus());
+        Assertions.assertNotNull(notification.getSentAt());
+        verify(notificationRepository).recordOutcome(eq(notification.getId()), eq(renewed.getValue()),
+                eq(NotificationStatus.SENT), eq(0), isNull(), any(), eq(notification.getSentAt()));
+        verify(notificationRepository, never()).save(any());
+    }
+
+    @Test
+    void dispatch_leaseExpiredWhileQueued_shouldNotSendOrWrite() {
+
+        CompletionNotification notification = notification("0888000001", 0);
+        givenDue(notification);
+        Mockito.when(notificationRepository.lease(eq(notification.getId()), any(), any())).thenReturn(1);
+        Mockito.when(notificationRepository.renewLease(eq(notification.getId()), any(), any())).thenReturn(0);
+
+        scheduler.dispatch();
+
+        verify(notificationService, never()).sendMessageForCompletion(any());
+        verify(notificationRepository, never()).recordOutcome(any(), any(), any(), anyInt(), any(), any(), any());
+        Assertions.assertEquals(1.0, meterRegistry.get("gms.notification.delivered").tag("result", "lease-lost").counter().count());
+    }
+
+    @Test
+    void dispatch_failure_shouldScheduleRetryWithBackoff() {
+
+        CompletionNotification notification = notification("0888000001", 0);
+        givenDue(notification);
+        Mockito.when(notificationRepository.lease(eq(notification.getId()), any(), any())).thenReturn(1);
+        doThrow(new MicroserviceDontRespondException("Down")).when(notificationService).sendMessageForCompletion(any());
+
+        scheduler.dispatch();
+
+        Assertions.assertEquals(NotificationStatus.PENDING, notification.getStatus());
+        Assertions.assertEquals(1, notification.getAttempts());
+        Assertions.assertEquals("Down", notification.getLastError());
+        Assertions.assertTrue(notification.getNextAttemptAt().isAfter(LocalDateTime.now().plusSeconds(3)));
+    }
+
+    @Test
+    void dispatch_lastAttemptFails_shouldDeadLetter() {
+
+        CompletionNotification notification = notification("0888000001", MAX_ATTEMPTS - 1);
+        givenDue(notification);
+        Mockito.when(notificationRepository.lease(eq(notification.getId()), any(), any())).thenReturn(1);
+        doThrow(new MicroserviceDontRespondException("Down")).when(notificationService).sendMessageForCompletion(any());
+
+        scheduler.dispatch();
+
+        Assertions.assertEquals(NotificationStatus.DEAD, notification.getStatus());
+        Assertions.assertEquals(1.0, meterRegistry.get("gms.notification.delivered").tag("result", "dead").counter().count());
+    }
+
+    @Test
+    void dispatch_sameDestinationTwice_shouldThrottleSecondMessage() {
+
+        CompletionNotification first = notification("0888000001", 0);
+        CompletionNotification second = notification("0888000001", 0);
+        givenDue(first, second);
+        Mockito.when(notificationRepository.lease(any(), any(), any())).thenReturn(1);
+
+        scheduler.dispatch();
+
+        verify(notificationService, times(1)).sendMessageForCompletion(any());
+        CompletionNotification throttled = first.getStatus() == NotificationStatus.SENT ? second : first;
+        Assertions.assertEquals(NotificationStatus.PENDING, throttled.getStatus());
+        Assertions.assertEquals(0, throttled.getAttempts());
+        Assertions.assertTrue(throttled.getNextAttemptAt().isAfter(LocalDateTime.now()));
+    }
+
+    @Test
+    void dispatch_leaseLost_shouldNotSend() {
+
+        CompletionNotification notification = notification("0888000001", 0);
+        givenDue(notification);
+        Mockito.when(notificationRepository.lease(eq(notification.getId()), any(), any())).thenReturn(0);
+
+        scheduler.dispatch();
+
+        verifyNoInteractions(notificationService);
+        verify(notificationRepository, never()).renewLease(any(), any(), any());
+        verify(notificationRepository, never()).recordOutcome(any(), any(), any(), anyInt(), any(), any(), any());
+    }
+
+    @Test
+    void purgeFinishedNotifications_shouldDeleteRowsOlderThanRetention() {
+
+        scheduler.purgeFinishedNotifications();
+
+        ArgumentCaptor<LocalDateTime> before = ArgumentCaptor.forClass(LocalDateTime.class);
+        verify(notificationRepository).deleteFinishedBefore(before.capture());
+        Assertions.assertTrue(before.getValue().isBefore(LocalDateTime.now().minusDays(29)));
+        Assertions.assertTrue(before.getValue().isAfter(LocalDateTime.now().minusDays(31)));
+    }
+
+    @Test
+    void backoff_shouldGrowExponentiallyAndRespectCap() {
+
+        Duration first = scheduler.backoff(1);
+        Duration third = scheduler.backoff(3);
+        Duration tenth = scheduler.backoff(10);
+
+        Assertions.assertTrue(first.toMillis() >= 4000 && first.toMillis() <= 6000);
+        Assertions.assertTrue(third.toMillis() >= 16000 && third.toMillis() <= 24000);
+        Assertions.assertTrue(tenth.toMillis() <= Duration.ofMinutes(1).multipliedBy(12).dividedBy(10).toMillis());
+    }
+
+    private void givenDue(CompletionNotification... notifications) {
+
+        Mockito.when(notificationRepository.findByStatusAndNextAttemptAtLessThanEqualOrderByNextAttemptAtAsc(
+                eq(NotificationStatus.PENDING), any(LocalDateTime.class), any()))
+                .thenReturn(List.of(notifications));
+        Mockito.lenient().when(notificationService.read(any())).thenReturn(new RepairCompletionRequest());
+        Mockito.lenient().when(notificationRepository.renewLease(any(), any(), any())).thenReturn(1);
+        Mockito.lenient().when(notificationRepository.recordOutcome(any(), any(), any(), anyInt(), any(), any(), any()))
+                .thenReturn(1);
+    }
+
+    private static CompletionNotification notification(String destination, int attempts) {
+
+        return CompletionNotification.builder()
+                .id(UUID.randomUUID())
+                .destination(destination)
+                .payload("{}")
+                .status(NotificationStatus.PENDING)
+                .attempts(attempts)
+                .nextAttemptAt(LocalDateTime.now())
+                .createdAt(LocalDateTime.now())
+                .build();
+    }
+}
@@ -0,0 +1,144 @@
+package com.softuni.gms.app.scheduler;
+
+import com.softuni.gms.app.kafka.KafkaProducerService;
+import com.softuni.gms.app.lock.service.SchedulerLockService;
+import com.softuni.gms.app.outbox.model.OutboxEvent;
+import com.softuni.gms.app.outbox.repository.OutboxEventRepository;
+import com.softuni.gms.app.outbox.service.OutboxService;
+import com.softuni.gms.app.shared.kafka.dto.RepairKafkaEventRequest;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OutboxRelaySchedulerUTest {
+
+    private static final int BATCH_SIZE = 2;
+
+    @Mock
+    private OutboxEventRepository outboxEventRepository;
+
+    @Mock
+    private OutboxService outboxService;
+
+    @Mock
+    private KafkaProducerService kafkaProducerService;
+
+    @Mock
+    private SchedulerLockService schedulerLockService;
+
+    private OutboxRelayScheduler scheduler;
+
+    @BeforeEach
+    void setUp() {
+
+        scheduler = new OutboxRelayScheduler(outboxEventRepository, outboxService, kafkaProducerService,
+                schedulerLockService, new SimpleMeterRegistry(), BATCH_SIZE, Duration.ofSeconds(1),
+                Duration.ofDays(7), Duration.ofSeconds(30));
+        lenient().when(schedulerLockService.tryAcquire("outbox-relay", Duration.ofSeconds(30))).thenReturn(true);
+    }
+
+    @Test
+    void relay_shouldNotPoll_whenAnotherInstanceHoldsTheLease() {
+
+        Mockito.when(schedulerLockService.tryAcquire("outbox-relay", Duration.ofSeconds(30))).thenReturn(false);
+
+        scheduler.relay();
+
+        verifyNoInteractions(outboxEventRepository, kafkaProducerService);
+    }
+
+    @Test
+    void relay_shouldStopBetweenBatches_whenTheLeaseIsLost() {
+
+        OutboxEvent e1 = event();
+        OutboxEvent e2 = event();
+
+        Mockito.when(schedulerLockService.tryAcquire("outbox-relay", Duration.ofSeconds(30))).thenReturn(true, false);
+        Mockito.when(outboxEventRepository.findBySentAtIsNullOrderByCreatedAtAscIdAsc(Limit.of(BATCH_SIZE)))
+                .thenReturn(List.of(e1, e2));
+        Mockito.when(outboxService.read(any())).thenReturn(new RepairKafkaEventRequest());
+        Mockito.when(kafkaProducerService.send(any(), any())).thenReturn(CompletableFuture.completedFuture(null));
+
+        scheduler.relay();
+
+        verify(outboxEventRepository, times(1)).findBySentAtIsNullOrderByCreatedAtAscIdAsc(any());
+        verify(outboxEventRepository).markSent(eq(List.of(e1.getId(), e2.getId())), any(LocalDateTime.class));
+    }
+
+    @Test
+    void relay_noPendingEvents_shouldNotTouchKafka() {
+
+        Mockito.when(outboxEventRepository.findBySentAtIsNullOrderByCreatedAtAscIdAsc(Limit.of(BATCH_SIZE)))
+                .thenReturn(List.of());
+
+        scheduler.relay();
+
+        verifyNoInteractions(kafkaProducerService);
+        verify(outboxEventRepository, never()).markSent(any(), any());
+    }
+
+    @Test
+    void relay_shouldSendBatchesUntilDrainedAndMarkThemSent() {
+
+        OutboxEvent e1 = event();
+        OutboxEvent e2 = event();
+        OutboxEvent e3 = event();
+
+        Mockito.when(outboxEventRepository.findBySentAtIsNullOrderByCreatedAtAscIdAsc(Limit.of(BATCH_SIZE)))
+                .thenReturn(List.of(e1, e2), List.of(e3));
+        Mockito.when(outboxService.read(any())).thenReturn(new RepairKafkaEventRequest());
+        Mockito.when(kafkaProducerService.send(any(), any())).thenReturn(CompletableFuture.completedFuture(null));
+
+        scheduler.relay();
+
+        verify(kafkaProducerService, times(3)).send(any(), any());
+        verify(kafkaProducerService, times(2)).flush();
+        verify(outboxEventRepository).markSent(eq(List.of(e1.getId(), e2.getId())), any(LocalDateTime.class));
+        verify(outboxEventRepository).markSent(eq(List.of(e3.getId())), any(LocalDateTime.class));
+    }
+
+    @Test
+    void relay_onFailedSend_shouldMarkOnlyThePrefixAndStop() {
+
+        OutboxEvent e1 = event();
+        OutboxEvent e2 = event();
+
+        Mockito.when(outboxEventRepository.findBySentAtIsNullOrderByCreatedAtAscIdAsc(Limit.of(BATCH_SIZE)))
+                .thenReturn(List.of(e1, e2));
+        Mockito.when(outboxService.read(any())).thenReturn(new RepairKafkaEventRequest());
+        Mockito.when(kafkaProducerService.send(eq(e1.getMessageKey()), any()))
+                .thenReturn(CompletableFuture.failedFuture(new RuntimeException("broker down")));
+        Mockito.when(kafkaProducerService.send(eq(e2.getMessageKey()), any()))
+                .thenReturn(CompletableFuture.completedFuture(null));
+
+        scheduler.relay();
+
+        verify(outboxEventRepository, never()).markSent(any(), any());
+        verify(outboxEventRepository, times(1)).findBySentAtIsNullOrderByCreatedAtAscIdAsc(Limit.of(BATCH_SIZE));
+    }
+
+    private static OutboxEvent event() {
+
+        return OutboxEvent.builder()
+                .id(UUID.randomUUID())
+                .topic(KafkaProducerService.TOPIC)
+                .messageKey(UUID.randomUUID().toString())
+                .payload("{}")
+                .createdAt(LocalDateTime.now())
+                .build();
+    }
+}
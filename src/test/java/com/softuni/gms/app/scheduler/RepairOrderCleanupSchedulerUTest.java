@@ -1,15 +1,17 @@
 package com.softuni.gms.app.scheduler;
 
+import com.softuni.gms.app.repair.metrics.RepairOrderMetrics;
 import com.softuni.gms.app.repair.model.RepairOrder;
 import com.softuni.gms.app.repair.model.RepairStatus;
 import com.softuni.gms.app.repair.repository.RepairOrderRepository;
 import com.softuni.gms.app.repair.service.RepairOrderService;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -20,77 +22,122 @@ import static org.mockito.Mockito.*;
 @ExtendWith(MockitoExtension.class)
 class RepairOrderCleanupSchedulerUTest {
 
+    private static final int CHUNK_SIZE = 2;
+
     @Mock
     private RepairOrderRepository repairOrderRepository;
 
     @Mock
     private RepairOrderService repairOrderService;
 
-    @InjectMocks
+    @Mock
+    private RepairOrderMetrics repairOrderMetrics;
+
     private RepairOrderCleanupScheduler scheduler;
 
+    @BeforeEach
+    void setUp() {
+
+        scheduler = new RepairOrderCleanupScheduler(repairOrderRepository, repairOrderService, repairOrderMetrics, CHUNK_SIZE);
+    }
+
     @Test
     void testCancelOldPendingRepairOrders_noOldOrders_shouldDoNothing() {
 
-        Mockito.when(repairOrderRepository.findByStatusAndIsDeletedFalseAndCreatedAtBefore(
+        Mockito.when(repairOrderRepository.findByStatusAndIsDeletedFalseAndCreatedAtBeforeOrderByCreatedAtAscIdAsc(
                 Mockito.eq(RepairStatus.PENDING),
-                Mockito.any(LocalDateTime.class)
+                Mockito.any(LocalDateTime.class),
+                Mockito.eq(Limit.of(CHUNK_SIZE))
         )).thenReturn(List.of());
 
         scheduler.cancelOldPendingRepairOrders();
 
-        verify(repairOrderService, never()).cancelOldPendingRepairOrder(Mockito.any());
+        verify(repairOrderService, never()).cancelStalePendingOrders(Mockito.any());
     }
 
     @Test
-    void testCancelOldPendingRepairOrders_withOrders_shouldCancelEach() {
+    void testCancelOldPendingRepairOrders_lastChunk_shouldCancelOnceAndStop() {
+
+        RepairOrder o1 = order(3);
+
+        Mockito.when(repairOrderRepository.findByStatusAndIsDeletedFalseAndCreatedAtBeforeOrderByCreatedAtAscIdAsc(
+                Mockito.eq(RepairStatus.PENDING),
+                Mockito.any(LocalDateTime.class),
+                Mockito.eq(Limit.of(CHUNK_SIZE))
+        )).thenReturn(List.of(o1));
+
+        scheduler.cancelOldPendingRepairOrders();
 
-        RepairOrder o1 = new RepairOrder();
-        o1.setId(UUID.randomUUID());
-        o1.setCreatedAt(LocalDateTime.now().minusWeeks(2));
+        verify(repairOrderService, times(1)).cancelStalePendingOrders(List.of(o1));
+        verify(repairOrderRepository, never()).findByStatusCreatedBeforeAfterCursor(
+                Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any());
+    }
+
+    @Test
+    void testCancelOldPendingRepairOrders_fullChunk_shouldContinueFromLastRow() {
 
-        RepairOrder o2 = new RepairOrder();
-        o2.setId(UUID.randomUUID());
-        o2.setCreatedAt(LocalDateTime.now().minusWeeks(3));
+        RepairOrder o1 = order(4);
+        RepairOrder o2 = order(3);
+        RepairOrder o3 = order(2);
 
-        Mockito.when(repairOrderRepository.findByStatusAndIsDeletedFalseAndCreatedAtBefore(
+        Mockito.when(repairOrderRepository.findByStatusAndIsDeletedFalseAndCreatedAtBeforeOrderByCreatedAtAscIdAsc(
                 Mockito.eq(RepairStatus.PENDING),
-                Mockito.any(LocalDateTime.class)
+                Mockito.any(LocalDateTime.class),
+                Mockito.eq(Limit.of(CHUNK_SIZE))
         )).thenReturn(List.of(o1, o2));
+        Mockito.when(repairOrderRepository.findByStatusCreatedBeforeAfterCursor(
+                Mockito.eq(RepairStatus.PENDING),
+                Mockito.any(LocalDateTime.class),
+                Mockito.eq(o2.getCreatedAt()),
+                Mockito.eq(o2.getId()),
+                Mockito.eq(Limit.of(CHUNK_SIZE))
+        )).thenReturn(List.of(o3));
+        Mockito.when(repairOrderService.cancelStalePendingOrders(List.of(o1, o2))).thenReturn(2);
+        Mockito.when(repairOrderService.cancelStalePendingOrders(List.of(o3))).thenReturn(1);
 
         scheduler.cancelOldPendingRepairOrders();
 
-        verify(repairOrderService, times(1)).cancelOldPendingRepairOrder(o1);
-        verify(repairOrderService, times(1)).cancelOldPendingRepairOrder(o2);
+        verify(repairOrderService, times(1)).cancelStalePendingOrders(List.of(o1, o2));
+        verify(repairOrderService, times(1)).cancelStalePendingOrders(List.of(o3));
+        verify(repairOrderMetrics).recordCleanupBatch(2);
+        verify(repairOrderMetrics).recordCleanupBatch(1);
     }
 
     @Test
-    void testCancelOldPendingRepairOrders_onException_shouldContinueProcessing() {
-
-        RepairOrder o1 = new RepairOrder();
-        o1.setId(UUID.randomUUID());
-        o1.setCreatedAt(LocalDateTime.now().minusWeeks(2));
+    void testCancelOldPendingRepairOrders_onException_shouldContinueWithNextChunk() {
 
-        RepairOrder o2 = new RepairOrder();
-        o2.setId(UUID.randomUUID());
-        o2.setCreatedAt(LocalDateTime.now().minusWeeks(2));
+        RepairOrder o1 = order(4);
+        RepairOrder o2 = order(3);
+        RepairOrder o3 = order(2);
 
-        Mockito.when(repairOrderRepository.findByStatusAndIsDeletedFalseAndCreatedAtBefore(
+        Mockito.when(repairOrderRepository.findByStatusAndIsDeletedFalseAndCreatedAtBeforeOrderByCreatedAtAscIdAsc(
                 Mockito.eq(RepairStatus.PENDING),
-                Mockito.any(LocalDateTime.class)
+                Mockito.any(LocalDateTime.class),
+                Mockito.eq(Limit.of(CHUNK_SIZE))
         )).thenReturn(List.of(o1, o2));
+        Mockito.when(repairOrderRepository.findByStatusCreatedBeforeAfterCursor(
+                Mockito.eq(RepairStatus.PENDING),
+                Mockito.any(LocalDateTime.class),
+                Mockito.eq(o2.getCreatedAt()),
+                Mockito.eq(o2.getId()),
+                Mockito.eq(Limit.of(CHUNK_SIZE))
+        )).thenReturn(List.of(o3));
 
         doThrow(new RuntimeException("Test fail"))
                 .when(repairOrderService)
-                .cancelOldPendingRepairOrder(o1);
-
-        doNothing()
-                .when(repairOrderService)
-                .cancelOldPendingRepairOrder(o2);
+                .cancelStalePendingOrders(List.of(o1, o2));
 
         scheduler.cancelOldPendingRepairOrders();
 
-        verify(repairOrderService, times(1)).cancelOldPendingRepairOrder(o1);
-        verify(repairOrderService, times(1)).cancelOldPendingRepairOrder(o2);
+        verify(repairOrderService, times(1)).cancelStalePendingOrders(List.of(o3));
+    }
+
+    private static RepairOrder order(int weeksAgo) {
+
+        RepairOrder order = new RepairOrder();
+        order.setId(UUID.randomUUID());
+        order.setStatus(RepairStatus.PENDING);
+        order.setCreatedAt(LocalDateTime.now().minusWeeks(weeksAgo));
+        return order;
     }
 }
@@ -0,0 +1,129 @@
+package com.softuni.gms.app.security;
+
+import com.softuni.gms.app.event.UserUpdatedEvent;
+import com.softuni.gms.app.user.model.UserRole;
+import com.softuni.gms.app.user.model.UserSummaryView;
+import com.softuni.gms.app.user.service.UserService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.MethodParameter;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class CurrentUserArgumentResolverUTest {
+
+    @Mock
+    private UserService userService;
+
+    @InjectMocks
+    private CurrentUserArgumentResolver resolver;
+
+    private UUID userId;
+    private ServletWebRequest webRequest;
+
+    @BeforeEach
+    void setUp() {
+
+        userId = UUID.randomUUID();
+        AuthenticationMetadata principal = new AuthenticationMetadata(userId, "ivan", "pass", UserRole.USER, true);
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities()));
+
+        webRequest = new ServletWebRequest(new MockHttpServletRequest());
+        RequestContextHolder.setRequestAttributes(webRequest);
+    }
+
+    @AfterEach
+    void tearDown() {
+
+        SecurityContextHolder.clearContext();
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    void supportsParameter_shouldRequireAnnotatedSummaryView() throws Exception {
+
+        assertTrue(resolver.supportsParameter(parameter("annotated")));
+        assertFalse(resolver.supportsParameter(parameter("notAnnotated")));
+    }
+
+    @Test
+    void resolveArgument_shouldLoadViewOncePerRequest() throws Exception {
+
+        UserSummaryView view = view(userId);
+        when(userService.findUserSummaryById(userId)).thenReturn(view);
+
+        assertSame(view, resolver.resolveArgument(parameter("annotated"), null, webRequest, null));
+        assertSame(view, resolver.resolveArgument(parameter("annotated"), null, webRequest, null));
+
+        verify(userService, times(1)).findUserSummaryById(userId);
+    }
+
+    @Test
+    void onUserUpdated_shouldDropCachedViewOfUpdatedUser() throws Exception {
+
+        when(userService.findUserSummaryById(userId)).thenReturn(view(userId));
+
+        resolver.resolveArgument(parameter("annotated"), null, webRequest, null);
+        resolver.onUserUpdated(new UserUpdatedEvent(this, userId));
+        resolver.resolveArgument(parameter("annotated"), null, webRequest, null);
+
+        verify(userService, times(2)).findUserSummaryById(userId);
+    }
+
+    @Test
+    void onUserUpdated_shouldKeepCachedViewWhenAnotherUserChanges() throws Exception {
+
+        when(userService.findUserSummaryById(userId)).thenReturn(view(userId));
+
+        resolver.resolveArgument(parameter("annotated"), null, webRequest, null);
+        resolver.onUserUpdated(new UserUpdatedEvent(this, UUID.randomUUID()));
+        resolver.resolveArgument(parameter("annotated"), null, webRequest, null);
+
+        verify(userService, times(1)).findUserSummaryById(userId);
+    }
+
+    @Test
+    void resolveArgument_shouldReturnNull_whenNotAuthenticated() throws Exception {
+
+        SecurityContextHolder.clearContext();
+
+        assertNull(resolver.resolveArgument(parameter("annotated"), null, webRequest, null));
+        verifyNoInteractions(userService);
+    }
+
+    private static UserSummaryView view(UUID id) {
+
+        return new UserSummaryView(id, "ivan", "Ivan", "Petrov", "ivan@gms.bg", "359888123456",
+                UserRole.USER, true, null);
+    }
+
+    private static MethodParameter parameter(String methodName) throws NoSuchMethodException {
+
+        return new MethodParameter(Handlers.class.getDeclaredMethod(methodName, UserSummaryView.class), 0);
+    }
+
+    @SuppressWarnings("unused")
+    private static class Handlers {
+
+        void annotated(@CurrentUser UserSummaryView user) {
+        }
+
+        void notAnnotated(UserSummaryView user) {
+        }
+    }
+}
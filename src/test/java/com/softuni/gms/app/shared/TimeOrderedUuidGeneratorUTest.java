@@ -0,0 +1,39 @@
+package com.softuni.gms.app.shared;
+
+import com.softuni.gms.app.shared.id.TimeOrderedUuidGenerator;
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class TimeOrderedUuidGeneratorUTest {
+
+    @Test
+    void generate_shouldProduceVersion7WithCurrentTimestamp() {
+
+        long now = System.currentTimeMillis();
+        UUID id = TimeOrderedUuidGenerator.generate();
+
+        long timestamp = id.getMostSignificantBits() >>> 16;
+
+        assertEquals(7, id.version());
+        assertEquals(2, id.variant());
+        assertTrue(Math.abs(timestamp - now) < 1000, "timestamp " + timestamp + " vs now " + now);
+    }
+
+    @Test
+    void generate_shouldBeStrictlyIncreasingInByteOrder() {
+
+        UUID previous = TimeOrderedUuidGenerator.generate();
+
+        // More than one millisecond's worth of sequence numbers, so the overflow path is exercised too.
+        for (int i = 0; i < 20_000; i++) {
+            UUID next = TimeOrderedUuidGenerator.generate();
+            assertTrue(Long.compareUnsigned(next.getMostSignificantBits(), previous.getMostSignificantBits()) > 0,
+                    previous + " -> " + next);
+            previous = next;
+        }
+    }
+}
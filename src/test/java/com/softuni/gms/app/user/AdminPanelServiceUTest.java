@@ -0,0 +1,55 @@
+package com.softuni.gms.app.user;
+
+import com.softuni.gms.app.repair.service.RepairOrderService;
+import com.softuni.gms.app.user.model.UserRole;
+import com.softuni.gms.app.user.service.AdminPanelService;
+import com.softuni.gms.app.user.service.UserService;
+import com.softuni.gms.app.web.dto.AdminDashboardData;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class AdminPanelServiceUTest {
+
+    @Mock
+    private UserService userService;
+
+    @Mock
+    private RepairOrderService repairOrderService;
+
+    @InjectMocks
+    private AdminPanelService adminPanelService;
+
+    @Test
+    void generateDashboardStats_shouldUseCountQueriesOnly() {
+
+        LocalDateTime startOfToday = LocalDate.now().atStartOfDay();
+
+        when(userService.countUsers()).thenReturn(120L);
+        when(userService.countUsersCreatedSince(startOfToday)).thenReturn(3L);
+        when(userService.countActiveUsersByRole(UserRole.MECHANIC)).thenReturn(7L);
+        when(repairOrderService.countActiveRepairOrders()).thenReturn(15L);
+        when(repairOrderService.countActiveRepairOrdersCreatedSince(startOfToday)).thenReturn(4L);
+
+        AdminDashboardData stats = adminPanelService.generateDashboardStats();
+
+        assertEquals(120, stats.getTotalUsers());
+        assertEquals(3, stats.getUsersToday());
+        assertEquals(7, stats.getActiveMechanics());
+        assertEquals(15, stats.getActiveRepairs());
+        assertEquals(4, stats.getRepairsToday());
+
+        verify(userService, never()).findAllUsersUncached();
+        verify(repairOrderService, never()).findPendingRepairOrders();
+        verify(repairOrderService, never()).findByStatus(any());
+    }
+}
@@ -3,6 +3,7 @@ package com.softuni.gms.app.user;
 import com.softuni.gms.app.config.TestJpaConfig;
 import com.softuni.gms.app.user.model.User;
 import com.softuni.gms.app.user.model.UserRole;
+import com.softuni.gms.app.user.model.UserSummaryView;
 import com.softuni.gms.app.user.repository.UserRepository;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
@@ -12,11 +13,13 @@ import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabas
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
 import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
 import org.springframework.test.context.ActiveProfiles;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 
 import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
@@ -79,8 +82,63 @@ public class UserRepositoryUTest {
         assertThat(result).isEmpty();
     }
 
+    @Test
+    void findSummaryPage_shouldReturnFlatViewsNewestFirst() {
+
+        User older = createUser("anna", "anna@test.com", "359899000004");
+        older.setCreatedAt(LocalDateTime.now().minusDays(1));
+        createUser("boris", "boris@test.com", "359899000007");
+        em.flush();
+
+        List<UserSummaryView> result = userRepository.findSummaryPage(null, null, null, Limit.of(10));
+
+        assertThat(result.size()).isEqualTo(2);
+        assertThat(result.get(0).username()).isEqualTo("boris");
+        assertThat(result.get(1).username()).isEqualTo("anna");
+        assertThat(result.get(1).email()).isEqualTo("anna@test.com");
+        assertThat(result.get(1).isActive()).isTrue();
+    }
+
+    @Test
+    void findSummaryPage_shouldFilterByRoleAndContinueAfterCursor() {
+
+        User mechanic1 = createUser("mech1", "mech1@test.com", "359899000005");
+        mechanic1.setRole(UserRole.MECHANIC);
+        User mechanic2 = createUser("mech2", "mech2@test.com", "359899000006");
+        mechanic2.setRole(UserRole.MECHANIC);
+        mechanic2.setCreatedAt(LocalDateTime.now().minusHours(1));
+        createUser("anna", "anna@test.com", "359899000004");
+        em.flush();
+
+        List<UserSummaryView> firstPage = userRepository.findSummaryPage(UserRole.MECHANIC, null, null, Limit.of(1));
+        UserSummaryView last = firstPage.get(0);
+        List<UserSummaryView> secondPage = userRepository.findSummaryPage(
+                UserRole.MECHANIC, last.createdAt(), last.id(), Limit.of(1));
+
+        assertThat(last.username()).isEqualTo("mech1");
+        assertThat(secondPage.size()).isEqualTo(1);
+        assertThat(secondPage.get(0).username()).isEqualTo("mech2");
+    }
+
+    @Test
+    void countQueries_shouldCountSignupsAndActiveMechanics() {
+
+        User oldMechanic = createUser("mech1", "mech1@test.com", "359899000005");
+        oldMechanic.setRole(UserRole.MECHANIC);
+        oldMechanic.setCreatedAt(LocalDateTime.now().minusDays(3));
+        User inactiveMechanic = createUser("mech2", "mech2@test.com", "359899000006");
+        inactiveMechanic.setRole(UserRole.MECHANIC);
+        inactiveMechanic.setIsActive(false);
+        createUser("anna", "anna@test.com", "359899000004");
+        em.flush();
+
+        LocalDateTime startOfToday = LocalDateTime.now().toLocalDate().atStartOfDay();
+
+        assertThat(userRepository.countByCreatedAtGreaterThanEqual(startOfToday)).isEqualTo(2L);
+        assertThat(userRepository.countByRoleAndIsActiveTrue(UserRole.MECHANIC)).isEqualTo(1L);
+    }
 
-    private void createUser(String username, String email, String phone) {
+    private User createUser(String username, String email, String phone) {
 
         User user = User.builder()
                 .username(username)
@@ -96,6 +154,6 @@ public class UserRepositoryUTest {
                 .updatedAt(LocalDateTime.now())
                 .build();
 
-        em.persistFlushFind(user);
+        return em.persistFlushFind(user);
     }
 }
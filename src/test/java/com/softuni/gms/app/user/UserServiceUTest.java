@@ -1,13 +1,23 @@
 package com.softuni.gms.app.user;
 
+import com.softuni.gms.app.car.model.Car;
+import com.softuni.gms.app.car.repository.CarRepository;
+import com.softuni.gms.app.event.UserUpdatedEvent;
 import com.softuni.gms.app.exeption.NotFoundException;
+import com.softuni.gms.app.repair.model.RepairOrder;
+import com.softuni.gms.app.repair.model.RepairStatus;
+import com.softuni.gms.app.repair.repository.RepairOrderRepository;
 import com.softuni.gms.app.exeption.UserAlreadyExistException;
 import com.softuni.gms.app.user.model.User;
 import com.softuni.gms.app.user.model.UserRole;
+import com.softuni.gms.app.user.model.UserSummaryView;
 import com.softuni.gms.app.user.repository.UserRepository;
 import com.softuni.gms.app.user.service.UserService;
+import com.softuni.gms.app.web.dto.KeysetPage;
+import com.softuni.gms.app.web.dto.PageCursor;
 import com.softuni.gms.app.web.dto.RegisterRequest;
 import com.softuni.gms.app.web.dto.UserAdminEditRequest;
+import com.softuni.gms.app.web.dto.UserDashboardData;
 import com.softuni.gms.app.web.dto.UserEditRequest;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -15,10 +25,14 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.validation.BindingResult;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -35,6 +49,15 @@ public class UserServiceUTest {
     @Mock
     private PasswordEncoder passwordEncoder;
 
+    @Mock
+    private CarRepository carRepository;
+
+    @Mock
+    private RepairOrderRepository repairOrderRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private UserService userService;
 
@@ -197,6 +220,30 @@ public class UserServiceUTest {
                 () -> userService.findUserById(id));
     }
 
+    @Test
+    void findUserSummaryById_shouldReturnView() {
+
+        UUID id = UUID.randomUUID();
+        UserSummaryView view = new UserSummaryView(id, "username", "First", "Last", "mail@mail.com",
+                "359891234567", UserRole.USER, true, LocalDateTime.now());
+
+        when(userRepository.findSummaryById(id)).thenReturn(Optional.of(view));
+
+        assertSame(view, userService.findUserSummaryById(id));
+        verify(userRepository, never()).findById(any());
+    }
+
+    @Test
+    void findUserSummaryById_shouldThrow_notFound() {
+
+        UUID id = UUID.randomUUID();
+
+        when(userRepository.findSummaryById(id)).thenReturn(Optional.empty());
+
+        assertThrows(NotFoundException.class,
+                () -> userService.findUserSummaryById(id));
+    }
+
     @Test
     void updateUser_shouldUpdateSuccessfully() {
 
@@ -227,6 +274,10 @@ public class UserServiceUTest {
         assertNotNull(existing.getUpdatedAt());
 
         verify(userRepository).save(existing);
+
+        ArgumentCaptor<UserUpdatedEvent> eventCaptor = ArgumentCaptor.forClass(UserUpdatedEvent.class);
+        verify(eventPublisher).publishEvent(eventCaptor.capture());
+        assertEquals(userId, eventCaptor.getValue().getUserId());
     }
 
     @Test
@@ -298,20 +349,23 @@ public class UserServiceUTest {
     }
 
     @Test
-    void findAllUsers_shouldReturnAllUsers() {
-
-        User user1 = new User();
-        User user2 = new User();
+    void findUsersPage_shouldFilterByRole_andReturnNextCursor() {
 
-        when(userRepository.findAll()).thenReturn(List.of(user1, user2));
+        LocalDateTime now = LocalDateTime.now();
+        List<UserSummaryView> users = new ArrayList<>();
+        for (int i = 0; i < 26; i++) {
+            users.add(new UserSummaryView(UUID.randomUUID(), "mech" + i, "Ivan", "Petrov",
+                    "mech" + i + "@test.com", "35988812345" + i, UserRole.MECHANIC, true, now.minusMinutes(i)));
+        }
 
-        List<User> result = userService.findAllUsers();
+        when(userRepository.findSummaryPage(UserRole.MECHANIC, null, null, Limit.of(26))).thenReturn(users);
 
-        assertEquals(2, result.size());
-        assertSame(user1, result.get(0));
-        assertSame(user2, result.get(1));
+        KeysetPage<UserSummaryView> result = userService.findUsersPage(UserRole.MECHANIC, null);
 
-        verify(userRepository).findAll();
+        assertEquals(25, result.getContent().size());
+        assertSame(users.get(0), result.getContent().get(0));
+        assertEquals(users.get(24).id(), result.getNextCursor().getId());
+        assertEquals(users.get(24).createdAt(), result.getNextCursor().getCreatedAt());
     }
 
     @Test
@@ -459,4 +513,77 @@ public class UserServiceUTest {
         verify(bindingResult)
                 .rejectValue(eq("phoneNumber"), eq("error.phoneNumber"), anyString());
     }
+
+    @Test
+    void getDashboardData_shouldUseTargetedQueries() {
+
+        UUID userId = UUID.randomUUID();
+        Car car = Car.builder().id(UUID.randomUUID()).build();
+        Car otherCar = Car.builder().id(UUID.randomUUID()).build();
+        RepairOrder active = RepairOrder.builder()
+                .id(UUID.randomUUID())
+                .car(car)
+                .status(RepairStatus.PENDING)
+                .build();
+
+        when(carRepository.findByOwnerIdAndIsDeletedFalse(userId)).thenReturn(List.of(car, otherCar));
+        when(repairOrderRepository.findByUserIdAndStatusInAndIsDeletedFalseOrderByCreatedAtDesc(
+                userId, List.of(RepairStatus.PENDING, RepairStatus.ACCEPTED)))
+                .thenReturn(List.of(active));
+
+        UserDashboardData result = userService.getDashboardData(userId);
+
+        assertEquals(List.of(car, otherCar), result.getCars());
+        assertEquals(List.of(active), result.getActiveRepairs());
+        assertTrue(result.getActiveCarIds().contains(car.getId()));
+        assertFalse(result.getActiveCarIds().contains(otherCar.getId()));
+        verify(userRepository, never()).findById(any());
+    }
+
+    @Test
+    void findUserOrdersPage_shouldReturnFirstPageWithCursor_whenMoreOrdersExist() {
+
+        UUID userId = UUID.randomUUID();
+        List<RepairOrder> orders = orders(21);
+
+        when(repairOrderRepository.findByUserIdAndIsDeletedFalseOrderByCreatedAtDescIdDesc(userId, Limit.of(21)))
+                .thenReturn(orders);
+
+        KeysetPage<RepairOrder> result = userService.findUserOrdersPage(userId, null);
+
+        assertEquals(20, result.getContent().size());
+        assertTrue(result.hasNext());
+        assertEquals(orders.get(19).getId(), result.getNextCursor().getId());
+        assertEquals(orders.get(19).getCreatedAt(), result.getNextCursor().getCreatedAt());
+    }
+
+    @Test
+    void findUserOrdersPage_shouldReadAfterCursor_andReturnLastPage() {
+
+        UUID userId = UUID.randomUUID();
+        PageCursor cursor = new PageCursor(LocalDateTime.now(), UUID.randomUUID());
+        List<RepairOrder> orders = orders(3);
+
+        when(repairOrderRepository.findUserOrdersBefore(userId, cursor.getCreatedAt(), cursor.getId(), Limit.of(21)))
+                .thenReturn(orders);
+
+        KeysetPage<RepairOrder> result = userService.findUserOrdersPage(userId, cursor);
+
+        assertEquals(orders, result.getContent());
+        assertFalse(result.hasNext());
+        verify(repairOrderRepository, never()).findByUserIdAndIsDeletedFalseOrderByCreatedAtDescIdDesc(any(), any());
+    }
+
+    private List<RepairOrder> orders(int count) {
+
+        List<RepairOrder> orders = new ArrayList<>();
+        LocalDateTime now = LocalDateTime.now();
+        for (int i = 0; i < count; i++) {
+            orders.add(RepairOrder.builder()
+                    .id(UUID.randomUUID())
+                    .createdAt(now.minusMinutes(i))
+                    .build());
+        }
+        return orders;
+    }
 }
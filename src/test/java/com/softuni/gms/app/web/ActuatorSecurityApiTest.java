@@ -0,0 +1,85 @@
+package com.softuni.gms.app.web;
+
+import com.softuni.gms.app.config.CustomLoginSuccessHandler;
+import com.softuni.gms.app.config.SecurityConfig;
+import com.softuni.gms.app.user.service.UserService;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.httpBasic;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+// The actuator endpoints are not part of the MVC slice, so a request the chain lets through ends in 404.
+@WebMvcTest(controllers = IndexController.class,
+        properties = {"gms.actuator.username=scraper", "gms.actuator.password=secret"})
+@Import({SecurityConfig.class, CustomLoginSuccessHandler.class})
+public class ActuatorSecurityApiTest {
+
+    @MockitoBean
+    private UserService userService;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void actuatorChain_shouldRefuseToStart_withoutPassword() {
+
+        SecurityConfig securityConfig = new SecurityConfig(new CustomLoginSuccessHandler());
+
+        IllegalStateException exception = Assertions.assertThrows(IllegalStateException.class,
+                () -> securityConfig.actuatorFilterChain(null, "scraper", " "));
+        Assertions.assertTrue(exception.getMessage().contains("ACTUATOR_PASSWORD"));
+    }
+
+    @Test
+    void prometheus_withoutCredentials_shouldChallengeForBasicAuth() throws Exception {
+
+        mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isUnauthorized())
+                .andExpect(header().string(HttpHeaders.WWW_AUTHENTICATE, "Basic realm=\"Realm\""));
+    }
+
+    @Test
+    void prometheus_withCustomerSession_shouldBeForbidden() throws Exception {
+
+        mockMvc.perform(get("/actuator/prometheus").with(user("customer").roles("USER")))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    void prometheus_withWrongPassword_shouldBeUnauthorized() throws Exception {
+
+        mockMvc.perform(get("/actuator/prometheus").with(httpBasic("scraper", "wrong")))
+                .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    void prometheus_withActuatorCredentials_shouldPassTheChain() throws Exception {
+
+        mockMvc.perform(get("/actuator/prometheus").with(httpBasic("scraper", "secret")))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void health_shouldBeOpen() throws Exception {
+
+        mockMvc.perform(get("/actuator/health"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void applicationPages_shouldStillUseFormLogin() throws Exception {
+
+        mockMvc.perform(get("/dashboard"))
+                .andExpect(status().is3xxRedirection())
+                .andExpect(redirectedUrlPattern("**/login"));
+    }
+}
@@ -4,6 +4,7 @@ import com.softuni.gms.app.car.model.Car;
 import com.softuni.gms.app.car.service.CarService;
 import com.softuni.gms.app.client.InvoiceHistoryService;
 import com.softuni.gms.app.client.PdfService;
+import com.softuni.gms.app.client.StoredInvoice;
 import com.softuni.gms.app.exeption.MicroserviceDontRespondException;
 import com.softuni.gms.app.part.model.Part;
 import com.softuni.gms.app.part.service.PartService;
@@ -13,10 +14,13 @@ import com.softuni.gms.app.repair.service.RepairOrderService;
 import com.softuni.gms.app.security.AuthenticationMetadata;
 import com.softuni.gms.app.user.model.User;
 import com.softuni.gms.app.user.model.UserRole;
+import com.softuni.gms.app.user.model.UserSummaryView;
 import com.softuni.gms.app.user.service.AdminPanelService;
 import com.softuni.gms.app.user.service.UserService;
 import com.softuni.gms.app.web.dto.*;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.http.MediaType;
@@ -24,13 +28,20 @@ import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
 
+import java.io.IOException;
 import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.Collections;
 import java.util.List;
 import java.util.UUID;
 
 import static com.softuni.gms.app.exeption.MicroserviceDontRespondExceptionMessages.INVOICE_SERVICE_NOT_AVAILABLE_TRY_AGAIN;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
@@ -43,6 +54,9 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 @WebMvcTest(AdminPanelController.class)
 public class AdminPanelControllerApiTest {
 
+    @TempDir
+    Path invoiceDir;
+
     @MockitoBean
     private UserService userService;
 
@@ -71,7 +85,7 @@ public class AdminPanelControllerApiTest {
     void getAdminPanelPage_shouldReturnAdminPanelView_withStats() throws Exception {
 
         UUID adminId = UUID.randomUUID();
-        User admin = mockAdmin(adminId);
+        UserSummaryView admin = mockAdmin(adminId);
         AdminDashboardData stats = AdminDashboardData.builder()
                 .totalUsers(10L)
                 .usersToday(2L)
@@ -80,7 +94,7 @@ public class AdminPanelControllerApiTest {
                 .repairsToday(3L)
                 .build();
 
-        when(userService.findUserById(adminId)).thenReturn(admin);
+        when(userService.findUserSummaryById(adminId)).thenReturn(admin);
         when(adminPanelService.generateDashboardStats()).thenReturn(stats);
 
         MockHttpServletRequestBuilder requestBuilder = get("/dashboard/admin")
@@ -103,7 +117,7 @@ public class AdminPanelControllerApiTest {
         UUID adminId = UUID.randomUUID();
         UUID repairId = UUID.randomUUID();
 
-        User admin = mockAdmin(adminId);
+        UserSummaryView admin = mockAdmin(adminId);
         LocalDateTime createdAt = LocalDateTime.now();
         LocalDateTime completedAt = createdAt.plusHours(1);
         LocalDateTime generatedAt = createdAt.plusMinutes(30);
@@ -125,8 +139,8 @@ public class AdminPanelControllerApiTest {
 
         List<InvoiceHistoryData> invoices = List.of(invoice);
 
-        when(userService.findUserById(adminId)).thenReturn(admin);
-        when(invoiceHistoryService.getHistory()).thenReturn(invoices);
+        when(userService.findUserSummaryById(adminId)).thenReturn(admin);
+        when(invoiceHistoryService.getHistoryPage(null)).thenReturn(new KeysetPage<>(invoices, null));
 
         MockHttpServletRequestBuilder requestBuilder = get("/dashboard/admin/invoices")
                 .with(user(mockAuth(adminId)));
@@ -138,15 +152,41 @@ public class AdminPanelControllerApiTest {
                 .andExpect(model().attribute("invoices", invoices));
     }
 
+    @Test
+    void getInvoicesPage_shouldPassCursor_whenOlderPageRequested() throws Exception {
+
+        UUID adminId = UUID.randomUUID();
+        UserSummaryView admin = mockAdmin(adminId);
+        LocalDateTime before = LocalDateTime.of(2025, 3, 1, 10, 30);
+        UUID beforeId = UUID.randomUUID();
+        PageCursor next = new PageCursor(before.minusDays(1), UUID.randomUUID());
+
+        when(userService.findUserSummaryById(adminId)).thenReturn(admin);
+        when(invoiceHistoryService.getHistoryPage(any(PageCursor.class)))
+                .thenReturn(new KeysetPage<>(Collections.emptyList(), next));
+
+        MockHttpServletRequestBuilder requestBuilder = get("/dashboard/admin/invoices")
+                .param("before", before.toString())
+                .param("beforeId", beforeId.toString())
+                .with(user(mockAuth(adminId)));
+
+        mockMvc.perform(requestBuilder)
+                .andExpect(status().isOk())
+                .andExpect(model().attribute("nextCursor", next));
+
+        verify(invoiceHistoryService).getHistoryPage(argThat(cursor ->
+                before.equals(cursor.getCreatedAt()) && beforeId.equals(cursor.getId())));
+    }
+
 
     @Test
     void getInvoicesPage_shouldIncludeErrorMessage_whenHistoryError() throws Exception {
 
         UUID adminId = UUID.randomUUID();
-        User admin = mockAdmin(adminId);
+        UserSummaryView admin = mockAdmin(adminId);
 
-        when(userService.findUserById(adminId)).thenReturn(admin);
-        when(invoiceHistoryService.getHistory()).thenReturn(Collections.emptyList());
+        when(userService.findUserSummaryById(adminId)).thenReturn(admin);
+        when(invoiceHistoryService.getHistoryPage(null)).thenReturn(new KeysetPage<>(Collections.emptyList(), null));
 
         MockHttpServletRequestBuilder requestBuilder = get("/dashboard/admin/invoices")
                 .param("historyError", "true")
@@ -163,7 +203,7 @@ public class AdminPanelControllerApiTest {
         UUID repairId = UUID.randomUUID();
         byte[] pdfContent = "PDF content".getBytes();
 
-        when(pdfService.downloadLatestInvoice(repairId)).thenReturn(pdfContent);
+        when(pdfService.getLatestInvoice(repairId)).thenReturn(storedInvoice(pdfContent));
 
         MockHttpServletRequestBuilder requestBuilder = get("/dashboard/admin/invoices/download/" + repairId)
                 .with(user(mockAuth(UUID.randomUUID())));
@@ -179,11 +219,11 @@ public class AdminPanelControllerApiTest {
     void getDeletedCarsPage_shouldReturnDeletedCarsView() throws Exception {
 
         UUID adminId = UUID.randomUUID();
-        User admin = mockAdmin(adminId);
+        UserSummaryView admin = mockAdmin(adminId);
         List<Car> deletedCars = Collections.emptyList();
 
-        when(userService.findUserById(adminId)).thenReturn(admin);
-        when(carService.findAllDeletedCars()).thenReturn(deletedCars);
+        when(userService.findUserSummaryById(adminId)).thenReturn(admin);
+        when(carService.findCarsPage(true, null)).thenReturn(new KeysetPage<>(deletedCars, null));
 
         MockHttpServletRequestBuilder requestBuilder = get("/dashboard/admin/deleted-cars")
                 .with(user(mockAuth(adminId)));
@@ -216,10 +256,10 @@ public class AdminPanelControllerApiTest {
 
         UUID adminId = UUID.randomUUID();
         UUID carId = UUID.randomUUID();
-        User admin = mockAdmin(adminId);
+        UserSummaryView admin = mockAdmin(adminId);
         Car car = mockCar(carId, null);
 
-        when(userService.findUserById(adminId)).thenReturn(admin);
+        when(userService.findUserSummaryById(adminId)).thenReturn(admin);
         when(carService.findCarById(carId)).thenReturn(car);
 
         MockHttpServletRequestBuilder requestBuilder = get("/dashboard/admin/deleted-cars/edit/" + carId)
@@ -239,9 +279,9 @@ public class AdminPanelControllerApiTest {
 
         UUID adminId = UUID.randomUUID();
         UUID carId = UUID.randomUUID();
-        User admin = mockAdmin(adminId);
+        UserSummaryView admin = mockAdmin(adminId);
 
-        when(userService.findUserById(adminId)).thenReturn(admin);
+        when(userService.findUserSummaryById(adminId)).thenReturn(admin);
 
         MockHttpServletRequestBuilder requestBuilder = post("/dashboard/admin/deleted-cars/edit/" + carId)
                 .with(user(mockAuth(adminId)))
@@ -264,10 +304,10 @@ public class AdminPanelControllerApiTest {
 
         UUID adminId = UUID.randomUUID();
         UUID carId = UUID.randomUUID();
-        User admin = mockAdmin(adminId);
+        UserSummaryView admin = mockAdmin(adminId);
         Car car = mockCar(carId, null);
 
-        when(userService.findUserById(adminId)).thenReturn(admin);
+        when(userService.findUserSummaryById(adminId)).thenReturn(admin);
         when(carService.findCarById(carId)).thenReturn(car);
 
         MockHttpServletRequestBuilder requestBuilder = post("/dashboard/admin/deleted-cars/edit/" + carId)
@@ -291,11 +331,11 @@ public class AdminPanelControllerApiTest {
     void getActiveCarsPage_shouldReturnActiveCarsView() throws Exception {
 
         UUID adminId = UUID.randomUUID();
-        User admin = mockAdmin(adminId);
+        UserSummaryView admin = mockAdmin(adminId);
         List<Car> activeCars = Collections.emptyList();
 
-        when(userService.findUserById(adminId)).thenReturn(admin);
-        when(carService.findAllActiveCars()).thenReturn(activeCars);
+        when(userService.findUserSummaryById(adminId)).thenReturn(admin);
+        when(carService.findCarsPage(false, null)).thenReturn(new KeysetPage<>(activeCars, null));
 
         MockHttpServletRequestBuilder requestBuilder = get("/dashboard/admin/cars")
                 .with(user(mockAuth(adminId)));
@@ -312,10 +352,10 @@ public class AdminPanelControllerApiTest {
 
         UUID adminId = UUID.randomUUID();
         UUID carId = UUID.randomUUID();
-        User admin = mockAdmin(adminId);
+        UserSummaryView admin = mockAdmin(adminId);
         Car car = mockCar(carId, null);
 
-        when(userService.findUserById(adminId)).thenReturn(admin);
+        when(userService.findUserSummaryById(adminId)).thenReturn(admin);
         when(carService.findCarById(carId)).thenReturn(car);
 
         MockHttpServletRequestBuilder requestBuilder = get("/dashboard/admin/cars/edit/" + carId)
@@ -335,9 +375,9 @@ public class AdminPanelControllerApiTest {
 
         UUID adminId = UUID.randomUUID();
         UUID carId = UUID.randomUUID();
-        User admin = mockAdmin(adminId);
+        UserSummaryView admin = mockAdmin(adminId);
 
-        when(userService.findUserById(adminId)).thenReturn(admin);
+        when(userService.findUserSummaryById(adminId)).thenReturn(admin);
 
         MockHttpServletRequestBuilder requestBuilder = post("/dashboard/admin/cars/edit/" + carId)
                 .with(user(mockAuth(adminId)))
@@ -360,10 +400,10 @@ public class AdminPanelControllerApiTest {
 
         UUID adminId = UUID.randomUUID();
         UUID carId = UUID.randomUUID();
-        User admin = mockAdmin(adminId);
+        UserSummaryView admin = mockAdmin(adminId);
         Car car = mockCar(carId, null);
 
-        when(userService.findUserById(adminId)).thenReturn(admin);
+        when(userService.findUserSummaryById(adminId)).thenReturn(admin);
         when(carService.findCarById(carId)).thenReturn(car);
 
         MockHttpServletRequestBuilder requestBuilder = post("/dashboard/admin/cars/edit/" + carId)
@@ -403,11 +443,11 @@ public class AdminPanelControllerApiTest {
     void getPartsPage_shouldReturnPartsView() throws Exception {
 
         UUID adminId = UUID.randomUUID();
-        User admin = mockAdmin(adminId);
+        UserSummaryView admin = mockAdmin(adminId);
         List<Part> parts = Collections.emptyList();
 
-        when(userService.findUserById(adminId)).thenReturn(admin);
-        when(partService.findAllParts()).thenReturn(parts);
+        when(userService.findUserSummaryById(adminId)).thenReturn(admin);
+        when(partService.findPartsPage(null)).thenReturn(new KeysetPage<>(parts, null));
 
         MockHttpServletRequestBuilder requestBuilder = get("/dashboard/admin/parts")
                 .with(user(mockAuth(adminId)));
@@ -423,10 +463,10 @@ public class AdminPanelControllerApiTest {
     void getPartsPage_shouldIncludeSuccessMessage_whenAdded() throws Exception {
 
         UUID adminId = UUID.randomUUID();
-        User admin = mockAdmin(adminId);
+        UserSummaryView admin = mockAdmin(adminId);
 
-        when(userService.findUserById(adminId)).thenReturn(admin);
-        when(partService.findAllParts()).thenReturn(Collections.emptyList());
+        when(userService.findUserSummaryById(adminId)).thenReturn(admin);
+        when(partService.findPartsPage(null)).thenReturn(new KeysetPage<>(Collections.emptyList(), null));
 
         MockHttpServletRequestBuilder requestBuilder = get("/dashboard/admin/parts")
                 .param("added", "true")
@@ -441,9 +481,9 @@ public class AdminPanelControllerApiTest {
     void getAddPartPage_shouldReturnAddPartView() throws Exception {
 
         UUID adminId = UUID.randomUUID();
-        User admin = mockAdmin(adminId);
+        UserSummaryView admin = mockAdmin(adminId);
 
-        when(userService.findUserById(adminId)).thenReturn(admin);
+        when(userService.findUserSummaryById(adminId)).thenReturn(admin);
 
         MockHttpServletRequestBuilder requestBuilder = get("/dashboard/admin/parts/add")
                 .with(user(mockAuth(adminId)));
@@ -459,9 +499,9 @@ public class AdminPanelControllerApiTest {
     void addPart_shouldRedirect_whenValidData() throws Exception {
 
         UUID adminId = UUID.randomUUID();
-        User admin = mockAdmin(adminId);
+        UserSummaryView admin = mockAdmin(adminId);
 
-        when(userService.findUserById(adminId)).thenReturn(admin);
+        when(userService.findUserSummaryById(adminId)).thenReturn(admin);
 
         MockHttpServletRequestBuilder requestBuilder = post("/dashboard/admin/parts/add")
                 .with(user(mockAuth(adminId)))
@@ -481,9 +521,9 @@ public class AdminPanelControllerApiTest {
     void addPart_shouldReturnView_whenInvalidData() throws Exception {
 
         UUID adminId = UUID.randomUUID();
-        User admin = mockAdmin(adminId);
+        UserSummaryView admin = mockAdmin(adminId);
 
-        when(userService.findUserById(adminId)).thenReturn(admin);
+        when(userService.findUserSummaryById(adminId)).thenReturn(admin);
 
         MockHttpServletRequestBuilder requestBuilder = post("/dashboard/admin/parts/add")
                 .with(user(mockAuth(adminId)))
@@ -506,10 +546,10 @@ public class AdminPanelControllerApiTest {
 
         UUID adminId = UUID.randomUUID();
         UUID partId = UUID.randomUUID();
-        User admin = mockAdmin(adminId);
+        UserSummaryView admin = mockAdmin(adminId);
         Part part = mockPart(partId);
 
-        when(userService.findUserById(adminId)).thenReturn(admin);
+        when(userService.findUserSummaryById(adminId)).thenReturn(admin);
         when(partService.findPartById(partId)).thenReturn(part);
 
         MockHttpServletRequestBuilder requestBuilder = get("/dashboard/admin/parts/edit/" + partId)
@@ -528,9 +568,9 @@ public class AdminPanelControllerApiTest {
 
         UUID adminId = UUID.randomUUID();
         UUID partId = UUID.randomUUID();
-        User admin = mockAdmin(adminId);
+        UserSummaryView admin = mockAdmin(adminId);
 
-        when(userService.findUserById(adminId)).thenReturn(admin);
+        when(userService.findUserSummaryById(adminId)).thenReturn(admin);
 
         MockHttpServletRequestBuilder requestBuilder = post("/dashboard/admin/parts/edit/" + partId)
                 .with(user(mockAuth(adminId)))
@@ -551,10 +591,10 @@ public class AdminPanelControllerApiTest {
 
         UUID adminId = UUID.randomUUID();
         UUID partId = UUID.randomUUID();
-        User admin = mockAdmin(adminId);
+        UserSummaryView admin = mockAdmin(adminId);
         Part part = mockPart(partId);
 
-        when(userService.findUserById(adminId)).thenReturn(admin);
+        when(userService.findUserSummaryById(adminId)).thenReturn(admin);
         when(partService.findPartById(partId)).thenReturn(part);
 
         MockHttpServletRequestBuilder requestBuilder = post("/dashboard/admin/parts/edit/" + partId)
@@ -593,11 +633,12 @@ public class AdminPanelControllerApiTest {
     void getUsersPage_shouldReturnUsersView() throws Exception {
 
         UUID adminId = UUID.randomUUID();
-        User admin = mockAdmin(adminId);
-        List<User> users = Collections.emptyList();
+        UserSummaryView admin = mockAdmin(adminId);
+        List<UserSummaryView> users = List.of(new UserSummaryView(UUID.randomUUID(), "ivan", "Ivan", "Petrov",
+                "ivan@test.com", "359888123456", UserRole.USER, true, LocalDateTime.now()));
 
-        when(userService.findUserById(adminId)).thenReturn(admin);
-        when(userService.findAllUsers()).thenReturn(users);
+        when(userService.findUserSummaryById(adminId)).thenReturn(admin);
+        when(userService.findUsersPage(null, null)).thenReturn(new KeysetPage<>(users, null));
 
         MockHttpServletRequestBuilder requestBuilder = get("/dashboard/admin/users")
                 .with(user(mockAuth(adminId)));
@@ -606,7 +647,9 @@ public class AdminPanelControllerApiTest {
                 .andExpect(status().isOk())
                 .andExpect(view().name("admin-users"))
                 .andExpect(model().attributeExists("user"))
-                .andExpect(model().attribute("users", users));
+                .andExpect(model().attribute("users", users))
+                .andExpect(content().string(containsString("ivan@test.com")))
+                .andExpect(content().string(containsString("Deactivate")));
     }
 
     @Test
@@ -630,10 +673,10 @@ public class AdminPanelControllerApiTest {
 
         UUID adminId = UUID.randomUUID();
         UUID userId = UUID.randomUUID();
-        User admin = mockAdmin(adminId);
+        UserSummaryView admin = mockAdmin(adminId);
         User userToEdit = mockUser(userId);
 
-        when(userService.findUserById(adminId)).thenReturn(admin);
+        when(userService.findUserSummaryById(adminId)).thenReturn(admin);
         when(userService.findUserById(userId)).thenReturn(userToEdit);
 
         MockHttpServletRequestBuilder requestBuilder = get("/dashboard/admin/users/edit/" + userId)
@@ -653,9 +696,9 @@ public class AdminPanelControllerApiTest {
 
         UUID adminId = UUID.randomUUID();
         UUID userId = UUID.randomUUID();
-        User admin = mockAdmin(adminId);
+        UserSummaryView admin = mockAdmin(adminId);
 
-        when(userService.findUserById(adminId)).thenReturn(admin);
+        when(userService.findUserSummaryById(adminId)).thenReturn(admin);
 
         MockHttpServletRequestBuilder requestBuilder = post("/dashboard/admin/users/edit/" + userId)
                 .with(user(mockAuth(adminId)))
@@ -675,10 +718,10 @@ public class AdminPanelControllerApiTest {
 
         UUID adminId = UUID.randomUUID();
         UUID userId = UUID.randomUUID();
-        User admin = mockAdmin(adminId);
+        UserSummaryView admin = mockAdmin(adminId);
         User userToEdit = mockUser(userId);
 
-        when(userService.findUserById(adminId)).thenReturn(admin);
+        when(userService.findUserSummaryById(adminId)).thenReturn(admin);
         when(userService.findUserById(userId)).thenReturn(userToEdit);
 
         MockHttpServletRequestBuilder requestBuilder = post("/dashboard/admin/users/edit/" + userId)
@@ -699,15 +742,13 @@ public class AdminPanelControllerApiTest {
     @Test
     void handleInvoiceServiceIssues_shouldRedirect_whenMicroserviceDontRespondException() throws Exception {
 
-        UUID adminId = UUID.randomUUID();
-        User admin = mockAdmin(adminId);
+        UUID repairId = UUID.randomUUID();
 
-        when(userService.findUserById(adminId)).thenReturn(admin);
-        when(invoiceHistoryService.getHistory())
+        when(pdfService.getLatestInvoice(repairId))
                 .thenThrow(new MicroserviceDontRespondException("Service down"));
 
-        MockHttpServletRequestBuilder requestBuilder = get("/dashboard/admin/invoices")
-                .with(user(mockAuth(adminId)));
+        MockHttpServletRequestBuilder requestBuilder = get("/dashboard/admin/invoices/download/" + repairId)
+                .with(user(mockAuth(UUID.randomUUID())));
 
         mockMvc.perform(requestBuilder)
                 .andExpect(status().is3xxRedirection())
@@ -719,13 +760,13 @@ public class AdminPanelControllerApiTest {
     void getOrdersPage_shouldReturnOrdersView_withOrders() throws Exception {
 
         UUID adminId = UUID.randomUUID();
-        User admin = mockAdmin(adminId);
+        UserSummaryView admin = mockAdmin(adminId);
         RepairOrder order1 = mockRepairOrder(UUID.randomUUID(), mockUser(UUID.randomUUID()));
         RepairOrder order2 = mockRepairOrder(UUID.randomUUID(), mockUser(UUID.randomUUID()));
         List<RepairOrder> orders = List.of(order1, order2);
 
-        when(userService.findUserById(adminId)).thenReturn(admin);
-        when(repairOrderService.findAllRepairOrders()).thenReturn(orders);
+        when(userService.findUserSummaryById(adminId)).thenReturn(admin);
+        when(repairOrderService.findRepairOrdersPage(null, null, null, null)).thenReturn(new KeysetPage<>(orders, null));
 
         MockHttpServletRequestBuilder requestBuilder = get("/dashboard/admin/orders")
                 .with(user(mockAuth(adminId)));
@@ -734,7 +775,62 @@ public class AdminPanelControllerApiTest {
                 .andExpect(status().isOk())
                 .andExpect(view().name("admin-orders"))
                 .andExpect(model().attributeExists("user"))
-                .andExpect(model().attribute("repairOrders", orders));
+                .andExpect(model().attribute("repairOrders", orders))
+                .andExpect(model().attribute("nextCursor", nullValue()));
+    }
+
+    @Test
+    void getOrdersPage_shouldPassFiltersAndCursor_andLinkNextPage() throws Exception {
+
+        UUID adminId = UUID.randomUUID();
+        UserSummaryView admin = mockAdmin(adminId);
+        RepairOrder order = mockRepairOrder(UUID.randomUUID(), mockUser(UUID.randomUUID()));
+        LocalDateTime before = LocalDateTime.of(2025, 3, 1, 12, 0);
+        UUID beforeId = UUID.randomUUID();
+        PageCursor next = new PageCursor(LocalDateTime.of(2025, 2, 20, 9, 30), UUID.randomUUID());
+
+        when(userService.findUserSummaryById(adminId)).thenReturn(admin);
+        when(repairOrderService.findRepairOrdersPage(eq(RepairStatus.COMPLETED), eq(LocalDate.of(2025, 2, 1)),
+                eq(LocalDate.of(2025, 2, 28)), any(PageCursor.class)))
+                .thenReturn(new KeysetPage<>(List.of(order), next));
+
+        MockHttpServletRequestBuilder requestBuilder = get("/dashboard/admin/orders")
+                .param("status", "COMPLETED")
+                .param("from", "2025-02-01")
+                .param("to", "2025-02-28")
+                .param("before", before.toString())
+                .param("beforeId", beforeId.toString())
+                .with(user(mockAuth(adminId)));
+
+        mockMvc.perform(requestBuilder)
+                .andExpect(status().isOk())
+                .andExpect(model().attribute("selectedStatus", RepairStatus.COMPLETED))
+                .andExpect(model().attribute("nextCursor", next))
+                .andExpect(content().string(containsString("beforeId=" + next.getId())))
+                .andExpect(content().string(containsString("status=COMPLETED")));
+
+        ArgumentCaptor<PageCursor> cursor = ArgumentCaptor.forClass(PageCursor.class);
+        verify(repairOrderService).findRepairOrdersPage(eq(RepairStatus.COMPLETED), any(), any(), cursor.capture());
+        assertEquals(before, cursor.getValue().getCreatedAt());
+        assertEquals(beforeId, cursor.getValue().getId());
+    }
+
+    @Test
+    void getUsersPage_shouldFilterByRole() throws Exception {
+
+        UUID adminId = UUID.randomUUID();
+        UserSummaryView admin = mockAdmin(adminId);
+
+        when(userService.findUserSummaryById(adminId)).thenReturn(admin);
+        when(userService.findUsersPage(UserRole.MECHANIC, null)).thenReturn(new KeysetPage<>(List.of(), null));
+
+        mockMvc.perform(get("/dashboard/admin/users")
+                        .param("role", "MECHANIC")
+                        .with(user(mockAuth(adminId))))
+                .andExpect(status().isOk())
+                .andExpect(model().attribute("selectedRole", UserRole.MECHANIC));
+
+        verify(userService).findUsersPage(UserRole.MECHANIC, null);
     }
 
     @Test
@@ -742,9 +838,9 @@ public class AdminPanelControllerApiTest {
 
         UUID adminId = UUID.randomUUID();
         UUID orderId = UUID.randomUUID();
-        User admin = mockAdmin(adminId);
+        UserSummaryView admin = mockAdmin(adminId);
 
-        when(userService.findUserById(adminId)).thenReturn(admin);
+        when(userService.findUserSummaryById(adminId)).thenReturn(admin);
         doNothing().when(repairOrderService).cancelRepairOrderByAdmin(orderId);
 
         MockHttpServletRequestBuilder requestBuilder = post("/dashboard/admin/orders/cancel/" + orderId)
@@ -763,9 +859,9 @@ public class AdminPanelControllerApiTest {
 
         UUID adminId = UUID.randomUUID();
         UUID orderId = UUID.randomUUID();
-        User admin = mockAdmin(adminId);
+        UserSummaryView admin = mockAdmin(adminId);
 
-        when(userService.findUserById(adminId)).thenReturn(admin);
+        when(userService.findUserSummaryById(adminId)).thenReturn(admin);
         doThrow(new IllegalStateException("Cannot cancel order"))
                 .when(repairOrderService).cancelRepairOrderByAdmin(orderId);
 
@@ -789,13 +885,10 @@ public class AdminPanelControllerApiTest {
                 , true);
     }
 
-    private User mockAdmin(UUID id) {
+    private UserSummaryView mockAdmin(UUID id) {
 
-        return User.builder()
-                .id(id)
-                .username("admin")
-                .role(UserRole.ADMIN)
-                .build();
+        return new UserSummaryView(id, "admin", "Admin", "Adminov", "admin@gms.bg", "359888000000",
+                UserRole.ADMIN, true, LocalDateTime.now());
     }
 
     private User mockUser(UUID id) {
@@ -844,4 +937,10 @@ public class AdminPanelControllerApiTest {
                 .updatedAt(LocalDateTime.now())
                 .build();
     }
+
+    private StoredInvoice storedInvoice(byte[] content) throws IOException {
+
+        Path file = Files.write(invoiceDir.resolve(UUID.randomUUID() + ".pdf"), content);
+        return new StoredInvoice(file, "hash-" + content.length, content.length);
+    }
 }
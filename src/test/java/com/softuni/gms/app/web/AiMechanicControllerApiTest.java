@@ -1,19 +1,28 @@
 package com.softuni.gms.app.web;
 
+import com.softuni.gms.app.ai.AiInferenceExecutor;
 import com.softuni.gms.app.ai.AiMechanicService;
+import com.softuni.gms.app.user.service.UserService;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
 
 import java.net.URLEncoder;
 import java.nio.charset.StandardCharsets;
 import java.util.UUID;
-
-import static org.mockito.Mockito.when;
-import static org.mockito.Mockito.anyString;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
@@ -29,6 +38,12 @@ public class AiMechanicControllerApiTest {
     @MockitoBean
     private AiMechanicService aiMechanicService;
 
+    @MockitoBean
+    private AiInferenceExecutor aiInferenceExecutor;
+
+    @MockitoBean
+    private UserService userService;
+
     private UUID randomCarId() {
         return UUID.randomUUID();
     }
@@ -178,4 +193,127 @@ public class AiMechanicControllerApiTest {
         mockMvc.perform(requestBuilder)
                 .andExpect(status().isBadRequest());
     }
+
+    @Test
+    void streamAnswer_shouldPushTokensAndFinalAnswer() throws Exception {
+
+        doAnswer(invocation -> {
+            invocation.<Runnable>getArgument(0).run();
+            return null;
+        }).when(aiInferenceExecutor).submit(any(Runnable.class));
+        when(aiMechanicService.streamMechanic(eq("Brake squeal"), any())).thenAnswer(invocation -> {
+            Consumer<String> onChunk = invocation.getArgument(1);
+            onChunk.accept("Worn");
+            onChunk.accept(" pads");
+            return "Worn pads";
+        });
+
+        MockHttpServletRequestBuilder requestBuilder = get("/ai/ask/stream")
+                .with(user("testUser").roles("USER"))
+                .param("carId", randomCarId().toString())
+                .param("question", "  Brake squeal ");
+
+        MvcResult result = mockMvc.perform(requestBuilder)
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        String body = result.getResponse().getContentAsString();
+        assertTrue(body.contains("event:token\ndata:{\"text\":\"Worn\"}"), body);
+        assertTrue(body.contains("event:token\ndata:{\"text\":\" pads\"}"), body);
+        assertTrue(body.contains("event:done\ndata:{\"text\":\"Worn pads\"}"), body);
+    }
+
+    @Test
+    void streamAnswer_cachedAnswer_shouldBeServedWithoutInferenceSlot() throws Exception {
+
+        when(aiMechanicService.findAnswer("Brake squeal")).thenReturn(CompletableFuture.completedFuture("Worn pads"));
+
+        MockHttpServletRequestBuilder requestBuilder = get("/ai/ask/stream")
+                .with(user("testUser").roles("USER"))
+                .param("carId", randomCarId().toString())
+                .param("question", "Brake squeal");
+
+        MvcResult result = mockMvc.perform(requestBuilder)
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        String body = result.getResponse().getContentAsString();
+        assertTrue(body.contains("event:token\ndata:{\"text\":\"Worn pads\"}"), body);
+        assertTrue(body.contains("event:done\ndata:{\"text\":\"Worn pads\"}"), body);
+        verifyNoInteractions(aiInferenceExecutor);
+        verify(aiMechanicService, never()).streamMechanic(anyString(), any());
+    }
+
+    @Test
+    void streamAnswer_answerInFlight_shouldCompleteWhenItIsGeneratedWithoutInferenceSlot() throws Exception {
+
+        CompletableFuture<String> inFlight = new CompletableFuture<>();
+        when(aiMechanicService.findAnswer("Brake squeal")).thenReturn(inFlight);
+
+        MockHttpServletRequestBuilder requestBuilder = get("/ai/ask/stream")
+                .with(user("testUser").roles("USER"))
+                .param("carId", randomCarId().toString())
+                .param("question", "Brake squeal");
+
+        MvcResult result = mockMvc.perform(requestBuilder)
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        assertTrue(result.getResponse().getContentAsString().isEmpty());
+        inFlight.complete("Worn pads");
+
+        assertTrue(result.getResponse().getContentAsString().contains("event:done\ndata:{\"text\":\"Worn pads\"}"));
+        verifyNoInteractions(aiInferenceExecutor);
+    }
+
+    @Test
+    void streamAnswer_answerInFlightFails_shouldSendFailureEvent() throws Exception {
+
+        when(aiMechanicService.findAnswer("Brake squeal"))
+                .thenReturn(CompletableFuture.failedFuture(new TimeoutException()));
+
+        MockHttpServletRequestBuilder requestBuilder = get("/ai/ask/stream")
+                .with(user("testUser").roles("USER"))
+                .param("carId", randomCarId().toString())
+                .param("question", "Brake squeal");
+
+        MvcResult result = mockMvc.perform(requestBuilder)
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        assertTrue(result.getResponse().getContentAsString().contains("event:failure"));
+        verifyNoInteractions(aiInferenceExecutor);
+    }
+
+    @Test
+    void streamAnswer_shouldReturn429_whenInferencePoolIsSaturated() throws Exception {
+
+        doThrow(new RejectedExecutionException("full"))
+                .when(aiInferenceExecutor).submit(any(Runnable.class));
+
+        MockHttpServletRequestBuilder requestBuilder = get("/ai/ask/stream")
+                .with(user("testUser").roles("USER"))
+                .param("carId", randomCarId().toString())
+                .param("question", "Brake squeal");
+
+        mockMvc.perform(requestBuilder)
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().string("Retry-After", "5"));
+
+        verify(aiMechanicService, never()).streamMechanic(anyString(), any());
+    }
+
+    @Test
+    void streamAnswer_shouldReturn400_whenQuestionBlank() throws Exception {
+
+        MockHttpServletRequestBuilder requestBuilder = get("/ai/ask/stream")
+                .with(user("testUser").roles("USER"))
+                .param("carId", randomCarId().toString())
+                .param("question", "   ");
+
+        mockMvc.perform(requestBuilder)
+                .andExpect(status().isBadRequest());
+
+        verify(aiInferenceExecutor, never()).submit(any(Runnable.class));
+    }
 }
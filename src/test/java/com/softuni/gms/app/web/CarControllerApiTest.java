@@ -7,6 +7,7 @@ import com.softuni.gms.app.exeption.CarAlreadyExistsException;
 import com.softuni.gms.app.security.AuthenticationMetadata;
 import com.softuni.gms.app.user.model.User;
 import com.softuni.gms.app.user.model.UserRole;
+import com.softuni.gms.app.user.model.UserSummaryView;
 import com.softuni.gms.app.user.service.UserService;
 import com.softuni.gms.app.web.dto.CarEditRequest;
 import com.softuni.gms.app.web.dto.CarRegisterRequest;
@@ -52,10 +53,9 @@ public class CarControllerApiTest {
     void getCarsPage_shouldReturnCarsView_withUserCars() throws Exception {
 
         UUID userId = UUID.randomUUID();
-        User user = mockUser(userId);
 
-        when(userService.findUserById(userId)).thenReturn(user);
-        when(carRepository.findByOwnerAndIsDeletedFalse(user)).thenReturn(Collections.emptyList());
+        when(userService.findUserSummaryById(userId)).thenReturn(mockCurrentUser(userId));
+        when(carRepository.findByOwnerIdAndIsDeletedFalse(userId)).thenReturn(Collections.emptyList());
 
         MockHttpServletRequestBuilder requestBuilder = get("/cars")
                 .with(user(mockAuth(userId)));
@@ -445,4 +445,10 @@ public class CarControllerApiTest {
                 .role(UserRole.USER)
                 .build();
     }
+
+    private UserSummaryView mockCurrentUser(UUID id) {
+
+        return new UserSummaryView(id, "testUser", "Test", "User", "test@gms.bg", "359888000000",
+                UserRole.USER, true, null);
+    }
 }
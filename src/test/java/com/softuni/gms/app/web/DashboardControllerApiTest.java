@@ -2,8 +2,8 @@ package com.softuni.gms.app.web;
 
 import com.softuni.gms.app.exeption.NotFoundException;
 import com.softuni.gms.app.security.AuthenticationMetadata;
-import com.softuni.gms.app.user.model.User;
 import com.softuni.gms.app.user.model.UserRole;
+import com.softuni.gms.app.user.model.UserSummaryView;
 import com.softuni.gms.app.user.service.UserService;
 import com.softuni.gms.app.web.dto.UserDashboardData;
 import org.junit.jupiter.api.Test;
@@ -15,6 +15,7 @@ import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilde
 import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
 
 import java.util.List;
+import java.util.Set;
 import java.util.UUID;
 
 import static org.mockito.Mockito.when;
@@ -34,24 +35,19 @@ public class DashboardControllerApiTest {
     void getDashboardPage_shouldReturnDashboardView_withUserData() throws Exception {
 
         UUID userId = UUID.randomUUID();
-        User mockUser = User.builder()
-                .id(userId)
-                .username("testUser")
-                .password("testPassword")
-                .role(UserRole.USER)
-                .isActive(true)
-                .build();
+        UserSummaryView currentUser = mockCurrentUser(userId);
 
         UserDashboardData dashboardData = new UserDashboardData(
                 List.of(),
-                List.of()
+                List.of(),
+                Set.of()
         );
 
-        when(userService.findUserById(userId)).thenReturn(mockUser);
+        when(userService.findUserSummaryById(userId)).thenReturn(currentUser);
         when(userService.getDashboardData(userId)).thenReturn(dashboardData);
 
         AuthenticationMetadata authenticationMetadata = new AuthenticationMetadata(
-                userId, mockUser.getUsername(), mockUser.getPassword(), mockUser.getRole(), mockUser.getIsActive());
+                userId, currentUser.username(), "testPassword", currentUser.role(), currentUser.isActive());
 
         MockHttpServletRequestBuilder requestBuilder = MockMvcRequestBuilders.get("/dashboard")
                 .with(user(authenticationMetadata));
@@ -62,7 +58,8 @@ public class DashboardControllerApiTest {
                 .andExpect(model().attributeExists("user"))
                 .andExpect(model().attributeExists("carList"))
                 .andExpect(model().attributeExists("repairList"))
-                .andExpect(model().attribute("user", mockUser));
+                .andExpect(model().attributeExists("activeCarIds"))
+                .andExpect(model().attribute("user", currentUser));
     }
 
     @Test
@@ -70,7 +67,7 @@ public class DashboardControllerApiTest {
 
         UUID userId = UUID.randomUUID();
 
-        when(userService.findUserById(userId))
+        when(userService.findUserSummaryById(userId))
                 .thenThrow(new NotFoundException("User not found"));
 
         AuthenticationMetadata authenticationMetadata = new AuthenticationMetadata(
@@ -91,7 +88,7 @@ public class DashboardControllerApiTest {
 
         UUID userId = UUID.randomUUID();
 
-        when(userService.findUserById(userId))
+        when(userService.findUserSummaryById(userId))
                 .thenThrow(new RuntimeException("Unexpected error"));
 
         AuthenticationMetadata authenticationMetadata = new AuthenticationMetadata(
@@ -106,4 +103,10 @@ public class DashboardControllerApiTest {
                 .andExpect(model().attributeExists("requestedPath"))
                 .andExpect(model().attributeExists("errorMessage"));
     }
+
+    private UserSummaryView mockCurrentUser(UUID id) {
+
+        return new UserSummaryView(id, "testUser", "Test", "User", "test@gms.bg", "359888000000",
+                UserRole.USER, true, null);
+    }
 }
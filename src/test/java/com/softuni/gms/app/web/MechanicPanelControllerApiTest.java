@@ -3,14 +3,16 @@ package com.softuni.gms.app.web;
 import com.softuni.gms.app.car.model.Car;
 import com.softuni.gms.app.client.RepairCompletionNotificationService;
 import com.softuni.gms.app.exeption.CarOwnershipException;
-import com.softuni.gms.app.exeption.MicroserviceDontRespondException;
 import com.softuni.gms.app.part.model.Part;
 import com.softuni.gms.app.part.service.PartService;
+import com.softuni.gms.app.repair.model.PendingRepairOrderView;
 import com.softuni.gms.app.repair.model.RepairOrder;
+import com.softuni.gms.app.repair.model.RepairStatus;
 import com.softuni.gms.app.repair.service.RepairOrderService;
 import com.softuni.gms.app.security.AuthenticationMetadata;
 import com.softuni.gms.app.user.model.User;
 import com.softuni.gms.app.user.model.UserRole;
+import com.softuni.gms.app.user.model.UserSummaryView;
 import com.softuni.gms.app.user.service.UserService;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -19,9 +21,11 @@ import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.UUID;
 
+import static org.hamcrest.Matchers.containsString;
 import static org.mockito.Mockito.*;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
@@ -55,7 +59,10 @@ public class MechanicPanelControllerApiTest {
 
         when(userService.findUserById(mechanicId)).thenReturn(mechanic);
         when(repairOrderService.findAcceptedRepairOrderByMechanic(mechanic)).thenReturn(null);
-        when(repairOrderService.findPendingRepairOrders()).thenReturn(List.of());
+        PendingRepairOrderView pending = new PendingRepairOrderView(id(), "BMW", "320d", "CA1234AB",
+                "WBA00000000000000", "/images/car.jpg", "Ivan", "Petrov", "359888123456",
+                "Strange noise", RepairStatus.PENDING, LocalDateTime.now());
+        when(repairOrderService.findPendingRepairOrders()).thenReturn(List.of(pending));
 
         MockHttpServletRequestBuilder requestBuilder = get("/dashboard/mechanic")
                 .with(user(mockAuth(mechanicId)))
@@ -65,7 +72,9 @@ public class MechanicPanelControllerApiTest {
                 .andExpect(status().isOk())
                 .andExpect(view().name("mechanic-panel"))
                 .andExpect(model().attributeExists("user"))
-                .andExpect(model().attributeExists("pendingOrders"));
+                .andExpect(model().attributeExists("pendingOrders"))
+                .andExpect(content().string(containsString("CA1234AB")))
+                .andExpect(content().string(containsString("Ivan Petrov")));
     }
 
     @Test
@@ -94,10 +103,8 @@ public class MechanicPanelControllerApiTest {
         UUID mechanicId = id();
         UUID repairId = id();
         User mechanic = mockMechanic(mechanicId);
-        RepairOrder order = mockOrder(repairId, mechanic);
 
         when(userService.findUserById(mechanicId)).thenReturn(mechanic);
-        when(repairOrderService.findRepairOrderById(repairId)).thenReturn(order);
 
         MockHttpServletRequestBuilder requestBuilder = post("/dashboard/mechanic/complete/" + repairId)
                 .with(user(mockAuth(mechanicId)))
@@ -108,29 +115,7 @@ public class MechanicPanelControllerApiTest {
                 .andExpect(redirectedUrl("/dashboard/mechanic"));
 
         verify(repairOrderService).completeRepairOrder(repairId, mechanic);
-        verify(notificationService).sendMessageForCompletion(any());
-    }
-
-    @Test
-    void completeRepairOrder_shouldRedirectWithError_whenMicroserviceDown() throws Exception {
-
-        UUID mechanicId = id();
-        UUID repairId = id();
-        User mechanic = mockMechanic(mechanicId);
-        RepairOrder order = mockOrder(repairId, mechanic);
-
-        when(userService.findUserById(mechanicId)).thenReturn(mechanic);
-        when(repairOrderService.findRepairOrderById(repairId)).thenReturn(order);
-        doThrow(new MicroserviceDontRespondException("Down"))
-                .when(notificationService).sendMessageForCompletion(any());
-
-        MockHttpServletRequestBuilder requestBuilder = post("/dashboard/mechanic/complete/" + repairId)
-                .with(user(mockAuth(mechanic.getId())))
-                .with(csrf());
-
-        mockMvc.perform(requestBuilder)
-                .andExpect(status().is3xxRedirection())
-                .andExpect(redirectedUrl("/dashboard/mechanic?notificationError=true"));
+        verifyNoInteractions(notificationService);
     }
 
     @Test
@@ -142,7 +127,7 @@ public class MechanicPanelControllerApiTest {
         User mechanic = mockMechanic(mechanicId);
         RepairOrder order = mockOrder(repairId, mechanic);
 
-        when(userService.findUserById(mechanicId)).thenReturn(mechanic);
+        when(userService.findUserSummaryById(mechanicId)).thenReturn(mockCurrentUser(mechanicId));
         when(repairOrderService.findRepairOrderById(repairId)).thenReturn(order);
         when(partService.findAllParts()).thenReturn(List.of(new Part()));
 
@@ -163,12 +148,11 @@ public class MechanicPanelControllerApiTest {
         UUID mechanicId = id();
         UUID repairId = id();
 
-        User mechanic = mockMechanic(mechanicId);
         User another = mockMechanic(id());
 
         RepairOrder order = mockOrder(repairId, another);
 
-        when(userService.findUserById(mechanicId)).thenReturn(mechanic);
+        when(userService.findUserSummaryById(mechanicId)).thenReturn(mockCurrentUser(mechanicId));
         when(repairOrderService.findRepairOrderById(repairId)).thenReturn(order);
 
         mockMvc.perform(get("/dashboard/mechanic/work/" + repairId)
@@ -286,4 +270,10 @@ public class MechanicPanelControllerApiTest {
 
         return UUID.randomUUID();
     }
+
+    private UserSummaryView mockCurrentUser(UUID id) {
+
+        return new UserSummaryView(id, "testUser", "Test", "User", "test@gms.bg", "359888000000",
+                UserRole.MECHANIC, true, null);
+    }
 }
@@ -7,7 +7,10 @@ import com.softuni.gms.app.repair.model.RepairStatus;
 import com.softuni.gms.app.security.AuthenticationMetadata;
 import com.softuni.gms.app.user.model.User;
 import com.softuni.gms.app.user.model.UserRole;
+import com.softuni.gms.app.user.model.UserSummaryView;
 import com.softuni.gms.app.user.service.UserService;
+import com.softuni.gms.app.web.dto.KeysetPage;
+import com.softuni.gms.app.web.dto.PageCursor;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
@@ -15,10 +18,14 @@ import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
 
+import java.time.LocalDateTime;
 import java.util.Collections;
 import java.util.List;
 import java.util.UUID;
 
+import static org.hamcrest.Matchers.containsString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
@@ -41,8 +48,8 @@ public class OrdersControllerApiTest {
         User user = mockUser(userId);
         List<RepairOrder> repairList = Collections.emptyList();
 
-        when(userService.findUserById(userId)).thenReturn(user);
-        when(userService.findUserOrdersSorted(userId)).thenReturn(repairList);
+        when(userService.findUserSummaryById(userId)).thenReturn(mockCurrentUser(userId));
+        when(userService.findUserOrdersPage(userId, null)).thenReturn(new KeysetPage<>(repairList, null));
 
         MockHttpServletRequestBuilder requestBuilder = get("/orders")
                 .with(user(mockAuth(userId)));
@@ -52,11 +59,11 @@ public class OrdersControllerApiTest {
                 .andExpect(view().name("orders"))
                 .andExpect(model().attributeExists("user"))
                 .andExpect(model().attributeExists("repairList"))
-                .andExpect(model().attribute("user", user))
+                .andExpect(model().attribute("user", mockCurrentUser(userId)))
                 .andExpect(model().attribute("repairList", repairList));
 
-        verify(userService).findUserById(userId);
-        verify(userService).findUserOrdersSorted(userId);
+        verify(userService).findUserSummaryById(userId);
+        verify(userService).findUserOrdersPage(userId, null);
     }
 
     @Test
@@ -68,8 +75,8 @@ public class OrdersControllerApiTest {
         RepairOrder order2 = mockRepairOrder(UUID.randomUUID(), user);
         List<RepairOrder> repairList = List.of(order1, order2);
 
-        when(userService.findUserById(userId)).thenReturn(user);
-        when(userService.findUserOrdersSorted(userId)).thenReturn(repairList);
+        when(userService.findUserSummaryById(userId)).thenReturn(mockCurrentUser(userId));
+        when(userService.findUserOrdersPage(userId, null)).thenReturn(new KeysetPage<>(repairList, null));
 
         MockHttpServletRequestBuilder requestBuilder = get("/orders")
                 .with(user(mockAuth(userId)));
@@ -80,12 +87,40 @@ public class OrdersControllerApiTest {
                 .andExpect(model().attribute("repairList", repairList));
     }
 
+    @Test
+    void getOrdersPage_shouldPassCursorAndRenderOlderOrdersLink() throws Exception {
+
+        UUID userId = UUID.randomUUID();
+        User user = mockUser(userId);
+        UUID beforeId = UUID.randomUUID();
+        LocalDateTime before = LocalDateTime.of(2025, 3, 1, 10, 15, 30);
+        PageCursor next = new PageCursor(LocalDateTime.of(2025, 2, 1, 9, 0, 0), UUID.randomUUID());
+        List<RepairOrder> repairList = List.of(mockRepairOrder(UUID.randomUUID(), user));
+
+        when(userService.findUserSummaryById(userId)).thenReturn(mockCurrentUser(userId));
+        when(userService.findUserOrdersPage(eq(userId), argThat(cursor -> cursor != null
+                && before.equals(cursor.getCreatedAt()) && beforeId.equals(cursor.getId()))))
+                .thenReturn(new KeysetPage<>(repairList, next));
+
+        MockHttpServletRequestBuilder requestBuilder = get("/orders")
+                .param("before", before.toString())
+                .param("beforeId", beforeId.toString())
+                .with(user(mockAuth(userId)));
+
+        mockMvc.perform(requestBuilder)
+                .andExpect(status().isOk())
+                .andExpect(view().name("orders"))
+                .andExpect(model().attribute("repairList", repairList))
+                .andExpect(model().attribute("nextCursor", next))
+                .andExpect(content().string(containsString("beforeId=" + next.getId())));
+    }
+
     @Test
     void handleMissingUser_shouldRedirectToDashboard_whenNotFoundException() throws Exception {
 
         UUID userId = UUID.randomUUID();
 
-        when(userService.findUserById(userId))
+        when(userService.findUserSummaryById(userId))
                 .thenThrow(new NotFoundException("User not found"));
 
         MockHttpServletRequestBuilder requestBuilder = get("/orders")
@@ -101,7 +136,7 @@ public class OrdersControllerApiTest {
 
         UUID userId = UUID.randomUUID();
 
-        when(userService.findUserById(userId))
+        when(userService.findUserSummaryById(userId))
                 .thenThrow(new RuntimeException("Unexpected error"));
 
         MockHttpServletRequestBuilder requestBuilder = get("/orders")
@@ -155,4 +190,10 @@ public class OrdersControllerApiTest {
                 .problemDescription("Test problem")
                 .build();
     }
+
+    private UserSummaryView mockCurrentUser(UUID id) {
+
+        return new UserSummaryView(id, "testUser", "Test", "User", "test@gms.bg", "359888000000",
+                UserRole.USER, true, null);
+    }
 }
@@ -3,6 +3,7 @@ package com.softuni.gms.app.web;
 import com.softuni.gms.app.car.model.Car;
 import com.softuni.gms.app.car.service.CarService;
 import com.softuni.gms.app.client.PdfService;
+import com.softuni.gms.app.client.StoredInvoice;
 import com.softuni.gms.app.exeption.CarOwnershipException;
 import com.softuni.gms.app.exeption.MicroserviceDontRespondException;
 import com.softuni.gms.app.exeption.NotFoundException;
@@ -12,9 +13,11 @@ import com.softuni.gms.app.repair.service.RepairOrderService;
 import com.softuni.gms.app.security.AuthenticationMetadata;
 import com.softuni.gms.app.user.model.User;
 import com.softuni.gms.app.user.model.UserRole;
+import com.softuni.gms.app.user.model.UserSummaryView;
 import com.softuni.gms.app.user.service.UserService;
 import jakarta.servlet.ServletException;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.http.MediaType;
@@ -22,6 +25,9 @@ import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
 
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.UUID;
 
 import static com.softuni.gms.app.exeption.MicroserviceDontRespondExceptionMessages.INVOICE_SERVICE_NOT_AVAILABLE_CANNOT_DOWNLOAD;
@@ -39,6 +45,9 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 @WebMvcTest(RepairOrderController.class)
 public class RepairOrderControllerApiTest {
 
+    @TempDir
+    Path invoiceDir;
+
     @MockitoBean
     private RepairOrderService repairOrderService;
 
@@ -63,7 +72,6 @@ public class RepairOrderControllerApiTest {
         Car car = mockCar(carId, user);
 
         when(carService.findCarById(carId)).thenReturn(car);
-        when(userService.findUserById(userId)).thenReturn(user);
 
         MockHttpServletRequestBuilder requestBuilder = get("/repairs/request/" + carId)
                 .with(user(mockAuth(userId)));
@@ -82,11 +90,9 @@ public class RepairOrderControllerApiTest {
         UUID strangerId = UUID.randomUUID();
         UUID carId = UUID.randomUUID();
         User owner = mockUser(ownerId);
-        User stranger = mockUser(strangerId);
         Car car = mockCar(carId, owner);
 
         when(carService.findCarById(carId)).thenReturn(car);
-        when(userService.findUserById(strangerId)).thenReturn(stranger);
 
         MockHttpServletRequestBuilder requestBuilder = get("/repairs/request/" + carId)
                 .with(user(mockAuth(strangerId)));
@@ -106,7 +112,6 @@ public class RepairOrderControllerApiTest {
         String aiSuggestion = "Change oil and filter";
 
         when(carService.findCarById(carId)).thenReturn(car);
-        when(userService.findUserById(userId)).thenReturn(user);
 
         MockHttpServletRequestBuilder requestBuilder = get("/repairs/request/" + carId)
                 .param("aiSuggestion", aiSuggestion)
@@ -195,7 +200,7 @@ public class RepairOrderControllerApiTest {
         User user = mockUser(userId);
         RepairOrder repairOrder = mockRepairOrder(repairId, user);
 
-        when(userService.findUserById(userId)).thenReturn(user);
+        when(userService.findUserSummaryById(userId)).thenReturn(mockCurrentUser(userId));
         when(repairOrderService.findRepairOrderById(repairId)).thenReturn(repairOrder);
 
         MockHttpServletRequestBuilder requestBuilder = get("/repairs/details/" + repairId)
@@ -207,7 +212,7 @@ public class RepairOrderControllerApiTest {
                 .andExpect(model().attributeExists("repairOrder"))
                 .andExpect(model().attributeExists("user"))
                 .andExpect(model().attribute("repairOrder", repairOrder))
-                .andExpect(model().attribute("user", user));
+                .andExpect(model().attribute("user", mockCurrentUser(userId)));
     }
 
     @Test
@@ -220,7 +225,7 @@ public class RepairOrderControllerApiTest {
         User stranger = mockUser(strangerId);
         RepairOrder repairOrder = mockRepairOrder(repairId, owner);
 
-        when(userService.findUserById(strangerId)).thenReturn(stranger);
+        when(userService.findUserSummaryById(strangerId)).thenReturn(mockCurrentUser(strangerId));
         when(repairOrderService.findRepairOrderById(repairId)).thenReturn(repairOrder);
 
         MockHttpServletRequestBuilder requestBuilder = get("/repairs/details/" + repairId)
@@ -239,7 +244,7 @@ public class RepairOrderControllerApiTest {
         User user = mockUser(userId);
         RepairOrder repairOrder = mockRepairOrder(repairId, user);
 
-        when(userService.findUserById(userId)).thenReturn(user);
+        when(userService.findUserSummaryById(userId)).thenReturn(mockCurrentUser(userId));
         when(repairOrderService.findRepairOrderById(repairId)).thenReturn(repairOrder);
 
         MockHttpServletRequestBuilder requestBuilder = get("/repairs/details/" + repairId)
@@ -259,7 +264,7 @@ public class RepairOrderControllerApiTest {
         User user = mockUser(userId);
         RepairOrder repairOrder = mockRepairOrder(repairId, user);
 
-        when(userService.findUserById(userId)).thenReturn(user);
+        when(userService.findUserSummaryById(userId)).thenReturn(mockCurrentUser(userId));
         when(repairOrderService.findRepairOrderById(repairId)).thenReturn(repairOrder);
 
         MockHttpServletRequestBuilder requestBuilder = get("/repairs/details/" + repairId)
@@ -279,7 +284,7 @@ public class RepairOrderControllerApiTest {
         User user = mockUser(userId);
         RepairOrder repairOrder = mockRepairOrder(repairId, user);
 
-        when(userService.findUserById(userId)).thenReturn(user);
+        when(userService.findUserSummaryById(userId)).thenReturn(mockCurrentUser(userId));
         when(repairOrderService.findRepairOrderById(repairId)).thenReturn(repairOrder);
 
         MockHttpServletRequestBuilder requestBuilder = get("/repairs/details/" + repairId)
@@ -320,9 +325,8 @@ public class RepairOrderControllerApiTest {
         RepairOrder repairOrder = mockRepairOrder(repairId, user);
         byte[] pdfContent = "PDF content".getBytes();
 
-        when(userService.findUserById(userId)).thenReturn(user);
         when(repairOrderService.findById(repairId)).thenReturn(repairOrder);
-        when(pdfService.downloadLatestInvoice(repairId)).thenReturn(pdfContent);
+        when(pdfService.getLatestInvoice(repairId)).thenReturn(storedInvoice(pdfContent));
 
         MockHttpServletRequestBuilder requestBuilder = get("/repairs/" + repairId + "/invoice")
                 .with(user(mockAuth(userId)));
@@ -334,6 +338,48 @@ public class RepairOrderControllerApiTest {
                 .andExpect(content().bytes(pdfContent));
     }
 
+    @Test
+    void downloadInvoice_shouldReturn304_whenETagMatches() throws Exception {
+
+        UUID userId = UUID.randomUUID();
+        UUID repairId = UUID.randomUUID();
+        User user = mockUser(userId);
+        RepairOrder repairOrder = mockRepairOrder(repairId, user);
+        StoredInvoice invoice = storedInvoice("PDF content".getBytes());
+
+        when(repairOrderService.findById(repairId)).thenReturn(repairOrder);
+        when(pdfService.getLatestInvoice(repairId)).thenReturn(invoice);
+
+        MockHttpServletRequestBuilder requestBuilder = get("/repairs/" + repairId + "/invoice")
+                .header("If-None-Match", "\"" + invoice.contentHash() + "\"")
+                .with(user(mockAuth(userId)));
+
+        mockMvc.perform(requestBuilder)
+                .andExpect(status().isNotModified())
+                .andExpect(content().bytes(new byte[0]));
+    }
+
+    @Test
+    void downloadInvoice_shouldReturnPartialContent_whenRangeRequested() throws Exception {
+
+        UUID userId = UUID.randomUUID();
+        UUID repairId = UUID.randomUUID();
+        User user = mockUser(userId);
+        RepairOrder repairOrder = mockRepairOrder(repairId, user);
+
+        when(repairOrderService.findById(repairId)).thenReturn(repairOrder);
+        when(pdfService.getLatestInvoice(repairId)).thenReturn(storedInvoice("PDF content".getBytes()));
+
+        MockHttpServletRequestBuilder requestBuilder = get("/repairs/" + repairId + "/invoice")
+                .header("Range", "bytes=4-10")
+                .with(user(mockAuth(userId)));
+
+        mockMvc.perform(requestBuilder)
+                .andExpect(status().isPartialContent())
+                .andExpect(header().string("Content-Range", "bytes 4-10/11"))
+                .andExpect(content().bytes("content".getBytes()));
+    }
+
     @Test
     void downloadInvoice_shouldReturn403_whenNotOwner() throws Exception {
 
@@ -341,10 +387,8 @@ public class RepairOrderControllerApiTest {
         UUID strangerId = UUID.randomUUID();
         UUID repairId = UUID.randomUUID();
         User owner = mockUser(ownerId);
-        User stranger = mockUser(strangerId);
         RepairOrder repairOrder = mockRepairOrder(repairId, owner);
 
-        when(userService.findUserById(strangerId)).thenReturn(stranger);
         when(repairOrderService.findById(repairId)).thenReturn(repairOrder);
 
         MockHttpServletRequestBuilder requestBuilder = get("/repairs/" + repairId + "/invoice")
@@ -362,9 +406,8 @@ public class RepairOrderControllerApiTest {
         User user = mockUser(userId);
         RepairOrder repairOrder = mockRepairOrder(repairId, user);
 
-        when(userService.findUserById(userId)).thenReturn(user);
         when(repairOrderService.findById(repairId)).thenReturn(repairOrder);
-        when(pdfService.downloadLatestInvoice(repairId)).thenReturn(null);
+        when(pdfService.getLatestInvoice(repairId)).thenReturn(null);
 
         MockHttpServletRequestBuilder requestBuilder = get("/repairs/" + repairId + "/invoice")
                 .with(user(mockAuth(userId)));
@@ -382,9 +425,8 @@ public class RepairOrderControllerApiTest {
         User user = mockUser(userId);
         RepairOrder repairOrder = mockRepairOrder(repairId, user);
 
-        when(userService.findUserById(userId)).thenReturn(user);
         when(repairOrderService.findById(repairId)).thenReturn(repairOrder);
-        when(pdfService.downloadLatestInvoice(repairId)).thenReturn(new byte[0]);
+        when(pdfService.getLatestInvoice(repairId)).thenReturn(storedInvoice(new byte[0]));
 
         MockHttpServletRequestBuilder requestBuilder = get("/repairs/" + repairId + "/invoice")
                 .with(user(mockAuth(userId)));
@@ -471,7 +513,7 @@ public class RepairOrderControllerApiTest {
 
         when(userService.findUserById(userId)).thenReturn(user);
         when(repairOrderService.findById(repairId)).thenReturn(repairOrder);
-        when(pdfService.downloadLatestInvoice(repairId))
+        when(pdfService.getLatestInvoice(repairId))
                 .thenThrow(new MicroserviceDontRespondException("Service down"));
 
         MockHttpServletRequestBuilder requestBuilder = get("/repairs/" + repairId + "/invoice")
@@ -492,7 +534,7 @@ public class RepairOrderControllerApiTest {
 
         when(userService.findUserById(userId)).thenReturn(user);
         when(repairOrderService.findById(repairId)).thenReturn(repairOrder);
-        when(pdfService.downloadLatestInvoice(repairId))
+        when(pdfService.getLatestInvoice(repairId))
                 .thenThrow(new RuntimeException("Unexpected error"));
 
         MockHttpServletRequestBuilder requestBuilder = get("/repairs/" + repairId + "/invoice")
@@ -573,4 +615,16 @@ public class RepairOrderControllerApiTest {
                 .problemDescription("Test problem")
                 .build();
     }
+
+    private UserSummaryView mockCurrentUser(UUID id) {
+
+        return new UserSummaryView(id, "testUser", "Test", "User", "test@gms.bg", "359888000000",
+                UserRole.USER, true, null);
+    }
+
+    private StoredInvoice storedInvoice(byte[] content) throws IOException {
+
+        Path file = Files.write(invoiceDir.resolve(UUID.randomUUID() + ".pdf"), content);
+        return new StoredInvoice(file, "hash-" + content.length, content.length);
+    }
 }
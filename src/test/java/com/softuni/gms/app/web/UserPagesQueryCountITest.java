@@ -0,0 +1,187 @@
+package com.softuni.gms.app.web;
+
+import com.softuni.gms.app.car.model.Car;
+import com.softuni.gms.app.car.repository.CarRepository;
+import com.softuni.gms.app.config.TestCacheConfig;
+import com.softuni.gms.app.config.TestSecurityConfig;
+import com.softuni.gms.app.kafka.KafkaProducerService;
+import com.softuni.gms.app.part.model.Part;
+import com.softuni.gms.app.part.repository.PartRepository;
+import com.softuni.gms.app.repair.model.RepairOrder;
+import com.softuni.gms.app.repair.model.RepairStatus;
+import com.softuni.gms.app.repair.model.UsedPart;
+import com.softuni.gms.app.repair.repository.RepairOrderRepository;
+import com.softuni.gms.app.security.AuthenticationMetadata;
+import com.softuni.gms.app.user.model.User;
+import com.softuni.gms.app.user.model.UserRole;
+import com.softuni.gms.app.user.repository.UserRepository;
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@Import({TestCacheConfig.class, TestSecurityConfig.class})
+@Transactional
+public class UserPagesQueryCountITest {
+
+    private static final int CARS = 5;
+    private static final int ORDERS_PER_CAR = 30;
+
+    private static final long MAX_STATEMENTS_DASHBOARD = 4;
+    private static final long MAX_STATEMENTS_ORDERS = 5;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CarRepository carRepository;
+
+    @Autowired
+    private PartRepository partRepository;
+
+    @Autowired
+    private RepairOrderRepository repairOrderRepository;
+
+    @MockitoBean
+    private KafkaProducerService kafkaProducerService;
+
+    private User customer;
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+
+        customer = userRepository.save(newUser("customer", "0898000001", UserRole.USER));
+        List<User> mechanics = List.of(
+                userRepository.save(newUser("mechanic1", "0898000002", UserRole.MECHANIC)),
+                userRepository.save(newUser("mechanic2", "0898000003", UserRole.MECHANIC)));
+        Part part = partRepository.save(Part.builder()
+                .name("Oil filter")
+                .manufacturer("Bosch")
+                .price(BigDecimal.TEN)
+                .createdAt(LocalDateTime.now())
+                .updatedAt(LocalDateTime.now())
+                .build());
+
+        List<RepairOrder> orders = new ArrayList<>();
+        for (int c = 0; c < CARS; c++) {
+            Car car = carRepository.save(car(customer, c));
+            for (int o = 0; o < ORDERS_PER_CAR; o++) {
+                RepairStatus status = o == 0 ? RepairStatus.PENDING : RepairStatus.COMPLETED;
+                RepairOrder order = RepairOrder.builder()
+                        .car(car)
+                        .user(customer)
+                        .mechanic(status == RepairStatus.PENDING ? null : mechanics.get(o % mechanics.size()))
+                        .status(status)
+                        .createdAt(LocalDateTime.now().minusHours((long) c * ORDERS_PER_CAR + o))
+                        .updatedAt(LocalDateTime.now())
+                        .price(BigDecimal.ONE)
+                        .problemDescription("Problem " + o)
+                        .usedParts(new ArrayList<>())
+                        .build();
+                order.getUsedParts().add(UsedPart.builder()
+                        .repairOrder(order)
+                        .part(part)
+                        .quantity(1)
+                        .totalPrice(BigDecimal.TEN)
+                        .build());
+                orders.add(order);
+            }
+        }
+        repairOrderRepository.saveAll(orders);
+        orders.forEach(order -> entityManager.persist(order.getUsedParts().get(0)));
+
+        entityManager.flush();
+        entityManager.clear();
+
+        statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void dashboard_shouldNotLoadOrderHistory() throws Exception {
+
+        mockMvc.perform(get("/dashboard").with(user(auth(customer))))
+                .andExpect(status().isOk());
+
+        long statements = statistics.getPrepareStatementCount();
+        Assertions.assertTrue(statements <= MAX_STATEMENTS_DASHBOARD,
+                "GET /dashboard executed " + statements + " statements");
+    }
+
+    @Test
+    void ordersPage_shouldUseBoundedNumberOfStatements() throws Exception {
+
+        mockMvc.perform(get("/orders").with(user(auth(customer))))
+                .andExpect(status().isOk());
+
+        long statements = statistics.getPrepareStatementCount();
+        Assertions.assertTrue(statements <= MAX_STATEMENTS_ORDERS,
+                "GET /orders executed " + statements + " statements");
+    }
+
+    private static AuthenticationMetadata auth(User user) {
+
+        return new AuthenticationMetadata(user.getId(), user.getUsername(), user.getPassword(), user.getRole(), true);
+    }
+
+    private static User newUser(String username, String phoneNumber, UserRole role) {
+
+        return User.builder()
+                .username(username)
+                .firstName(username)
+                .lastName("Testov")
+                .password("pass")
+                .email(username + "@test.bg")
+                .phoneNumber(phoneNumber)
+                .hourlyRate(BigDecimal.TEN)
+                .role(role)
+                .createdAt(LocalDateTime.now())
+                .updatedAt(LocalDateTime.now())
+                .isActive(true)
+                .build();
+    }
+
+    private static Car car(User owner, int index) {
+
+        return Car.builder()
+                .brand("BMW")
+                .model("e46")
+                .vin("VIN0000000000000" + index)
+                .plateNumber("CA000" + index + "AB")
+                .owner(owner)
+                .pictureUrl("")
+                .createdAt(LocalDateTime.now())
+                .updatedAt(LocalDateTime.now())
+                .isDeleted(false)
+                .build();
+    }
+}
@@ -94,6 +94,8 @@ public class DtoMapperUTest {
                 .car(car)
                 .usedParts(List.of(used))
                 .price(BigDecimal.valueOf(50))
+                .partsTotal(BigDecimal.valueOf(20))
+                .grandTotal(BigDecimal.valueOf(70))
                 .createdAt(LocalDateTime.now())
                 .completedAt(LocalDateTime.now())
                 .build();